@@ -210,6 +210,41 @@ public interface FormModel extends PropertyChangePublisher, Authorizable {
 	 */
 	void removeCommitListener(CommitListener listener);
 
+	/**
+	 * Starts a batch of changes. Until the matching {@link #endUpdate()} no value
+	 * change events are delivered to the views, and the dirty, committable,
+	 * enabled and readOnly states and validation are not updated. Calls may be
+	 * nested.
+	 * <p>
+	 * This default implementation does nothing, changes are applied immediately.
+	 *
+	 * @see org.springframework.binding.form.support.AbstractFormModel
+	 */
+	default void beginUpdate() {
+	}
+
+	/**
+	 * Ends a batch of changes started with {@link #beginUpdate()}. Ending the
+	 * outermost batch fires one value change event for each changed property,
+	 * updates the form states once and validates once.
+	 *
+	 * <p>
+	 * This default implementation does nothing.
+	 *
+	 * @throws IllegalStateException if no batch was started.
+	 */
+	default void endUpdate() {
+	}
+
+	/**
+	 * Returns <code>true</code> between {@link #beginUpdate()} and the matching
+	 * {@link #endUpdate()}. This default implementation returns
+	 * <code>false</code>.
+	 */
+	default boolean isUpdating() {
+		return false;
+	}
+
 	/**
 	 * FIXME: this should be on the FieldMetadata class
 	 */
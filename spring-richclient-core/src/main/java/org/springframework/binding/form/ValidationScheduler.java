@@ -0,0 +1,95 @@
+/*
+ * Copyright 2002-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.binding.form;
+
+import java.util.Set;
+
+/**
+ * Strategy deciding when and on which thread a {@link ValidatingFormModel}
+ * runs its validator. The form model hands over a {@link ValidationTask} each
+ * time a property changes; the scheduler may run it immediately or merge
+ * several requests into a single validation pass.
+ *
+ * @see org.springframework.binding.form.support.SynchronousValidationScheduler
+ * @see org.springframework.binding.form.support.BackgroundValidationScheduler
+ */
+public interface ValidationScheduler {
+
+	/**
+	 * Request a validation pass.
+	 *
+	 * @param task         the validation task of the form model.
+	 * @param formProperty the property that changed or <code>null</code> to
+	 *                     validate the complete form object.
+	 */
+	void scheduleValidation(ValidationTask task, String formProperty);
+
+	/**
+	 * Discard any pending validation of the given task. Results of a validation
+	 * pass that is already running will not be applied.
+	 *
+	 * @param task the validation task of the form model.
+	 */
+	void cancelValidation(ValidationTask task);
+
+	/**
+	 * A validation pass of a form model, split in the steps a scheduler needs to
+	 * move the actual validation to another thread.
+	 */
+	public interface ValidationTask {
+
+		/**
+		 * Returns the object to validate on the thread that scheduled the
+		 * validation. Called on that thread, right before validating.
+		 */
+		Object createSnapshot();
+
+		/**
+		 * Returns a copy of the form values needed to validate the given
+		 * properties, detached from the form, or <code>null</code> if the validator
+		 * reads the form itself. Called on the thread that scheduled the
+		 * validation, right before validating.
+		 *
+		 * @param formProperties the properties to validate or <code>null</code> to
+		 *                       validate all of them.
+		 */
+		Object createDetachedSnapshot(Set formProperties);
+
+		/**
+		 * Validate the given properties of the snapshot. Only a snapshot returned
+		 * by {@link #createDetachedSnapshot(Set)} may be validated on a background
+		 * thread. Must not touch the validation results of the form model.
+		 *
+		 * @param snapshot       the object returned by {@link #createSnapshot()} or
+		 *                       {@link #createDetachedSnapshot(Set)}.
+		 * @param formProperties the properties to validate or <code>null</code> to
+		 *                       validate all of them.
+		 * @return the {@link org.springframework.binding.validation.ValidationMessage}s
+		 *         reported by the validator.
+		 */
+		Set validate(Object snapshot, Set formProperties);
+
+		/**
+		 * Apply the outcome of {@link #validate(Object, Set)}. Called on the thread
+		 * that scheduled the validation.
+		 *
+		 * @param formProperties    the properties that were validated or
+		 *                          <code>null</code> if all of them were.
+		 * @param validatorMessages the messages reported by the validator.
+		 */
+		void applyResults(Set formProperties, Set validatorMessages);
+	}
+}
@@ -93,6 +93,10 @@ public abstract class AbstractFormModel extends AbstractPropertyChangePublisher
 
 	private boolean oldCommittable = true;
 
+	private int updateDepth;
+
+	private boolean clearDirtyOnEndUpdate;
+
 	private ConversionService conversionService;
 
 	private final CommitTrigger commitTrigger = new CommitTrigger();
@@ -126,6 +130,22 @@ public abstract class AbstractFormModel extends AbstractPropertyChangePublisher
 
 	protected final PropertyChangeListener childStateChangeHandler = new ChildStateChangeHandler();
 
+	private static final EventListenerListHelper.Dispatcher<CommitListener, FormModel> PRE_COMMIT =
+			new EventListenerListHelper.Dispatcher<CommitListener, FormModel>() {
+				@Override
+				public void dispatch(CommitListener listener, FormModel formModel) {
+					listener.preCommit(formModel);
+				}
+			};
+
+	private static final EventListenerListHelper.Dispatcher<CommitListener, FormModel> POST_COMMIT =
+			new EventListenerListHelper.Dispatcher<CommitListener, FormModel>() {
+				@Override
+				public void dispatch(CommitListener listener, FormModel formModel) {
+					listener.postCommit(formModel);
+				}
+			};
+
 	private final EventListenerListHelper commitListeners = new EventListenerListHelper(CommitListener.class);
 
 	private Class defaultInstanceClass;
@@ -191,36 +211,91 @@ public abstract class AbstractFormModel extends AbstractPropertyChangePublisher
 
 	@Override
 	public void setFormObject(Object formObject) {
-		setDeliverValueChangeEvents(false, false);
-		if (formObject == null) {
-			handleSetNullFormObject();
-		} else {
-			getFormObjectHolder().setValue(formObject);
-			setEnabled(true);
+		boolean nested = isUpdating();
+		beginUpdate();
+		try {
+			if (formObject == null) {
+				handleSetNullFormObject();
+			} else {
+				getFormObjectHolder().setValue(formObject);
+				setEnabled(true);
+			}
+			// this will cause all buffered value models to revert
+			// to the new form objects property values
+			commitTrigger.revert();
+			if (nested) {
+				// later changes of the enclosing batch must stay dirty
+				clearDirtyMediatingValueModels();
+			} else {
+				clearDirtyOnEndUpdate = true;
+			}
+		} finally {
+			endUpdate();
 		}
-		// this will cause all buffered value models to revert
-		// to the new form objects property values
-		commitTrigger.revert();
-		setDeliverValueChangeEvents(true, true);
+	}
+
+	@Override
+	public void beginUpdate() {
+		if (updateDepth++ == 0) {
+			setDeliverValueChangeEvents(false);
+		}
+	}
+
+	@Override
+	public void endUpdate() {
+		if (updateDepth == 0) {
+			throw new IllegalStateException("endUpdate called without beginUpdate on form model '" + this + "'");
+		}
+		if (updateDepth > 1) {
+			updateDepth--;
+			return;
+		}
+		try {
+			// value and dirty events of the value models are delivered while
+			// still updating, so the form states are only updated once
+			setDeliverValueChangeEvents(true);
+			if (clearDirtyOnEndUpdate) {
+				clearDirtyMediatingValueModels();
+			}
+		} finally {
+			updateDepth = 0;
+			clearDirtyOnEndUpdate = false;
+		}
+		updateEnded();
+	}
+
+	@Override
+	public boolean isUpdating() {
+		return updateDepth > 0;
+	}
+
+	/**
+	 * Called when the outermost batch of changes has ended, updates the states of
+	 * the form model that weren't updated during the batch.
+	 */
+	protected void updateEnded() {
+		dirtyUpdated();
+		readOnlyUpdated();
+		enabledUpdated();
+		committableUpdated();
 	}
 
 	/**
-	 * Disconnect view from data in MediatingValueModels, possibly clearing them
-	 * afterwards.
+	 * Disconnect view from data in MediatingValueModels.
 	 *
 	 * @param deliverValueChangeEvents <code>true</code> if events should be
 	 *                                 delivered.
-	 * @param clearValueModels         <code>true</code> if models should be cleared
-	 *                                 afterwards.
 	 */
-	private void setDeliverValueChangeEvents(boolean deliverValueChangeEvents, boolean clearValueModels) {
+	private void setDeliverValueChangeEvents(boolean deliverValueChangeEvents) {
 		formObjectHolder.setDeliverValueChangeEvents(deliverValueChangeEvents);
 		for (Iterator i = mediatingValueModels.values().iterator(); i.hasNext();) {
-			FormModelMediatingValueModel valueModel = (FormModelMediatingValueModel) i.next();
-			valueModel.setDeliverValueChangeEvents(deliverValueChangeEvents);
-			if (clearValueModels) {
-				valueModel.clearDirty();
-			}
+			((FormModelMediatingValueModel) i.next()).setDeliverValueChangeEvents(deliverValueChangeEvents);
+		}
+	}
+
+	private void clearDirtyMediatingValueModels() {
+		for (Iterator i = mediatingValueModels.values().iterator(); i.hasNext();) {
+			((FormModelMediatingValueModel) i.next()).clearDirty();
 		}
 	}
 
@@ -460,6 +535,9 @@ public abstract class AbstractFormModel extends AbstractPropertyChangePublisher
 		FormModelMediatingValueModel mediatingValueModel = new FormModelMediatingValueModel(valueModel,
 				metadataAccessStrategy.isWriteable(formProperty));
 		mediatingValueModels.put(formProperty, mediatingValueModel);
+		if (isUpdating()) {
+			mediatingValueModel.setDeliverValueChangeEvents(false);
+		}
 
 		FieldMetadata metadata = new DefaultFieldMetadata(this, mediatingValueModel,
 				metadataAccessStrategy.getPropertyType(formProperty), !metadataAccessStrategy.isWriteable(formProperty),
@@ -602,16 +680,12 @@ public abstract class AbstractFormModel extends AbstractPropertyChangePublisher
 			return;
 		}
 		if (isCommittable()) {
-			for (Iterator i = commitListeners.iterator(); i.hasNext();) {
-				((CommitListener) i.next()).preCommit(this);
-			}
+			commitListeners.dispatch(PRE_COMMIT, this);
 			preCommit();
 			if (isCommittable()) {
 				doCommit();
 				postCommit();
-				for (Iterator i = commitListeners.iterator(); i.hasNext();) {
-					((CommitListener) i.next()).postCommit(this);
-				}
+				commitListeners.dispatch(POST_COMMIT, this);
 			} else {
 				throw new IllegalStateException(
 						"Form model '" + this + "' became non-committable after preCommit phase");
@@ -691,9 +765,13 @@ public abstract class AbstractFormModel extends AbstractPropertyChangePublisher
 
 	/**
 	 * Fires the necessary property change event for changes to the dirty property.
-	 * Must be called whenever the value of dirty is changed.
+	 * Must be called whenever the value of dirty is changed. Deferred to the end of
+	 * a batch of changes, see {@link #beginUpdate()}.
 	 */
 	protected void dirtyUpdated() {
+		if (isUpdating()) {
+			return;
+		}
 		boolean dirty = isDirty();
 		if (hasChanged(oldDirty, dirty)) {
 			oldDirty = dirty;
@@ -738,6 +816,9 @@ public abstract class AbstractFormModel extends AbstractPropertyChangePublisher
 	 * property. Must be called whenever the value of readOnly is changed.
 	 */
 	protected void readOnlyUpdated() {
+		if (isUpdating()) {
+			return;
+		}
 		boolean localReadOnly = isReadOnly();
 		if (hasChanged(oldReadOnly, localReadOnly)) {
 			oldReadOnly = localReadOnly;
@@ -761,6 +842,9 @@ public abstract class AbstractFormModel extends AbstractPropertyChangePublisher
 	 * property. Must be called whenever the value of enabled is changed.
 	 */
 	protected void enabledUpdated() {
+		if (isUpdating()) {
+			return;
+		}
 		boolean enabled = isEnabled();
 		if (hasChanged(oldEnabled, enabled)) {
 			oldEnabled = enabled;
@@ -784,6 +868,9 @@ public abstract class AbstractFormModel extends AbstractPropertyChangePublisher
 	 * property. Must be called whenever the value of committable is changed.
 	 */
 	protected void committableUpdated() {
+		if (isUpdating()) {
+			return;
+		}
 		boolean committable = isCommittable();
 		if (hasChanged(oldCommittable, committable)) {
 			oldCommittable = committable;
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2002-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.binding.form.support;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.binding.form.ValidationScheduler;
+import org.springframework.richclient.util.Assert;
+
+/**
+ * Schedules validations on a background executor. Property changes arriving
+ * within the coalesce delay are merged into one validation pass, which runs on
+ * the executor; the results are applied back on the Event Dispatch Thread.
+ * <p>
+ * A validation pass is run against the snapshot taken on the EDT when the
+ * delay expires. If the form changes again while the pass is running, its
+ * results are considered stale and discarded; the properties are then
+ * revalidated together with the new changes. At most one pass per form model
+ * is running at any time.
+ * <p>
+ * The default executor uses a single daemon thread shared by all form models
+ * using this scheduler, so validators that keep state do not need to be
+ * thread safe. A task that can't create a detached snapshot, because its
+ * validator reads the form model itself, is validated on the EDT once the delay
+ * expires, see {@link ValidationTask#createDetachedSnapshot(Set)}. As long as
+ * a validation is pending the
+ * {@link org.springframework.binding.form.ValidatingFormModel#getHasErrors()}
+ * state reflects the last applied results.
+ */
+public class BackgroundValidationScheduler implements ValidationScheduler {
+
+	private static final Log logger = LogFactory.getLog(BackgroundValidationScheduler.class);
+
+	public static final int DEFAULT_COALESCE_DELAY = 250;
+
+	private static ExecutorService defaultExecutor;
+
+	/** Validation state keyed by task, only accessed on the EDT. */
+	private final Map states = new IdentityHashMap();
+
+	private Executor executor;
+
+	private int coalesceDelay = DEFAULT_COALESCE_DELAY;
+
+	public BackgroundValidationScheduler() {
+	}
+
+	public BackgroundValidationScheduler(Executor executor) {
+		setExecutor(executor);
+	}
+
+	/**
+	 * Set the executor running the validators. Defaults to a single daemon thread
+	 * shared by all instances.
+	 */
+	public void setExecutor(Executor executor) {
+		Assert.required(executor, "executor");
+		this.executor = executor;
+	}
+
+	public Executor getExecutor() {
+		if (executor == null) {
+			executor = getDefaultExecutor();
+		}
+		return executor;
+	}
+
+	/**
+	 * Set the time in milliseconds to wait for further changes before validating.
+	 * Each change restarts the delay.
+	 */
+	public void setCoalesceDelay(int coalesceDelay) {
+		Assert.isTrue(coalesceDelay >= 0, "coalesceDelay must not be negative");
+		this.coalesceDelay = coalesceDelay;
+	}
+
+	public int getCoalesceDelay() {
+		return coalesceDelay;
+	}
+
+	@Override
+	public void scheduleValidation(final ValidationTask task, final String formProperty) {
+		if (!SwingUtilities.isEventDispatchThread()) {
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					scheduleValidation(task, formProperty);
+				}
+			});
+			return;
+		}
+		ValidationState state = (ValidationState) states.get(task);
+		if (state == null) {
+			state = new ValidationState(task);
+			states.put(task, state);
+		}
+		state.addPendingProperty(formProperty);
+		state.generation++;
+		state.timer.restart();
+	}
+
+	@Override
+	public void cancelValidation(final ValidationTask task) {
+		if (!SwingUtilities.isEventDispatchThread()) {
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					cancelValidation(task);
+				}
+			});
+			return;
+		}
+		ValidationState state = (ValidationState) states.remove(task);
+		if (state != null) {
+			state.timer.stop();
+		}
+	}
+
+	private void startValidation(final ValidationState state) {
+		if (state.running || states.get(state.task) != state) {
+			// picked up again once the running pass completes
+			return;
+		}
+		final Set formProperties = state.takePendingProperties();
+		final int generation = state.generation;
+		final Object snapshot = state.task.createDetachedSnapshot(formProperties);
+		state.running = true;
+		if (snapshot == null) {
+			Set validatorMessages = validate(state.task, state.task.createSnapshot(), formProperties);
+			completeValidation(state, generation, formProperties, validatorMessages);
+			return;
+		}
+		getExecutor().execute(new Runnable() {
+			@Override
+			public void run() {
+				final Set results = validate(state.task, snapshot, formProperties);
+				SwingUtilities.invokeLater(new Runnable() {
+					@Override
+					public void run() {
+						completeValidation(state, generation, formProperties, results);
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Returns the messages of the validation pass or <code>null</code> if the
+	 * validator failed.
+	 */
+	private static Set validate(ValidationTask task, Object snapshot, Set formProperties) {
+		try {
+			return task.validate(snapshot, formProperties);
+		} catch (RuntimeException e) {
+			logger.error("Validation failed", e);
+			return null;
+		}
+	}
+
+	private void completeValidation(ValidationState state, int generation, Set formProperties,
+			Set validatorMessages) {
+		state.running = false;
+		if (states.get(state.task) != state) {
+			return;
+		}
+		if (generation == state.generation) {
+			// a failed pass is not retried until the form changes again
+			if (validatorMessages != null) {
+				state.task.applyResults(formProperties, validatorMessages);
+			}
+		} else {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Discarding stale validation results for " + formProperties);
+			}
+			state.addPendingProperties(formProperties);
+		}
+		if (!state.timer.isRunning()) {
+			if (state.hasPendingProperties()) {
+				startValidation(state);
+			} else {
+				states.remove(state.task);
+			}
+		}
+	}
+
+	private static synchronized ExecutorService getDefaultExecutor() {
+		if (defaultExecutor == null) {
+			defaultExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "BackgroundValidationScheduler");
+					thread.setDaemon(true);
+					thread.setPriority(Thread.NORM_PRIORITY - 1);
+					return thread;
+				}
+			});
+		}
+		return defaultExecutor;
+	}
+
+	private class ValidationState implements ActionListener {
+
+		private final ValidationTask task;
+
+		private final Timer timer;
+
+		private Set pendingProperties = new HashSet();
+
+		private boolean validateAll;
+
+		private boolean running;
+
+		private int generation;
+
+		public ValidationState(ValidationTask task) {
+			this.task = task;
+			this.timer = new Timer(coalesceDelay, this);
+			this.timer.setRepeats(false);
+		}
+
+		public void addPendingProperty(String formProperty) {
+			if (formProperty == null) {
+				validateAll = true;
+			} else {
+				pendingProperties.add(formProperty);
+			}
+		}
+
+		public void addPendingProperties(Set formProperties) {
+			if (formProperties == null) {
+				validateAll = true;
+			} else {
+				pendingProperties.addAll(formProperties);
+			}
+		}
+
+		public boolean hasPendingProperties() {
+			return validateAll || !pendingProperties.isEmpty();
+		}
+
+		/**
+		 * Returns the pending properties, <code>null</code> meaning all of them,
+		 * and clears them.
+		 */
+		public Set takePendingProperties() {
+			Set formProperties = validateAll ? null : pendingProperties;
+			pendingProperties = new HashSet();
+			validateAll = false;
+			return formProperties;
+		}
+
+		@Override
+		public void actionPerformed(ActionEvent e) {
+			startValidation(this);
+		}
+	}
+}
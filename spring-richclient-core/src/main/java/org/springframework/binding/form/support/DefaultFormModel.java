@@ -17,17 +17,26 @@ package org.springframework.binding.form.support;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
+import org.springframework.beans.NotReadablePropertyException;
 import org.springframework.beans.PropertyAccessException;
 import org.springframework.binding.MutablePropertyAccessStrategy;
 import org.springframework.binding.convert.ConversionException;
 import org.springframework.binding.form.BindingErrorMessageProvider;
 import org.springframework.binding.form.HierarchicalFormModel;
 import org.springframework.binding.form.ValidatingFormModel;
+import org.springframework.binding.form.ValidationScheduler;
+import org.springframework.binding.form.ValidationScheduler.ValidationTask;
 import org.springframework.binding.validation.RichValidator;
+import org.springframework.binding.validation.SnapshotValidator;
 import org.springframework.binding.validation.ValidationMessage;
+import org.springframework.binding.validation.ValidationResults;
 import org.springframework.binding.validation.ValidationResultsModel;
 import org.springframework.binding.validation.Validator;
 import org.springframework.binding.validation.support.DefaultValidationResults;
@@ -64,6 +73,12 @@ public class DefaultFormModel extends AbstractFormModel implements ValidatingFor
 
 	private final Map bindingErrorMessages = new HashMap();
 
+	/**
+	 * The messages returned by the validator during the last validation pass,
+	 * used to compute the delta on subsequent property validations.
+	 */
+	private Set validatorMessages = Collections.EMPTY_SET;
+
 	private boolean validating = true;
 
 	private boolean oldValidating = true;
@@ -74,6 +89,23 @@ public class DefaultFormModel extends AbstractFormModel implements ValidatingFor
 
 	private BindingErrorMessageProvider bindingErrorMessageProvider = new DefaultBindingErrorMessageProvider();
 
+	private ValidationScheduler validationScheduler = SynchronousValidationScheduler.INSTANCE;
+
+	private ValidationTask validationTask = new FormValidationTask();
+
+	/**
+	 * Returned by a validation pass that needs to be repeated on the EDT.
+	 */
+	private static final Set REVALIDATE_ALL = Collections.unmodifiableSet(new HashSet());
+
+	/**
+	 * The properties changed during the current batch of changes, validated once
+	 * the batch has ended.
+	 */
+	private final Set propertiesChangedDuringUpdate = new HashSet();
+
+	private boolean validateAllAfterUpdate;
+
 	public DefaultFormModel() {
 		init();
 	}
@@ -152,6 +184,8 @@ public class DefaultFormModel extends AbstractFormModel implements ValidatingFor
 			if (validating) {
 				validate();
 			} else {
+				validationScheduler.cancelValidation(validationTask);
+				validatorMessages = Collections.EMPTY_SET;
 				validationResultsModel.clearAllValidationResults();
 			}
 			oldValidating = validating;
@@ -287,6 +321,27 @@ public class DefaultFormModel extends AbstractFormModel implements ValidatingFor
 		validate();
 	}
 
+	public ValidationScheduler getValidationScheduler() {
+		return validationScheduler;
+	}
+
+	/**
+	 * Set the scheduler deciding when and on which thread the validator runs.
+	 * Defaults to {@link SynchronousValidationScheduler}, validating immediately
+	 * on each change.
+	 *
+	 * A validation pass of the previous scheduler that is still running is
+	 * cancelled; its results are discarded.
+	 *
+	 * @see BackgroundValidationScheduler
+	 */
+	public void setValidationScheduler(ValidationScheduler validationScheduler) {
+		Assert.required(validationScheduler, "validationScheduler");
+		this.validationScheduler.cancelValidation(validationTask);
+		this.validationTask = new FormValidationTask();
+		this.validationScheduler = validationScheduler;
+	}
+
 	@Override
 	public boolean isCommittable() {
 		final boolean superIsCommittable = super.isCommittable();
@@ -322,27 +377,90 @@ public class DefaultFormModel extends AbstractFormModel implements ValidatingFor
 	}
 
 	/**
+	 * Validate the form object after a property change. The validation is handed
+	 * to the {@link ValidationScheduler}, which may run it immediately (the
+	 * default) or later on.
 	 *
 	 * @param formProperty the name of the only property that has changed since the
 	 *                     last call to validateAfterPropertyChange or
 	 *                     <code>null</code> if this is not known/available.
+	 * @see #setValidationScheduler(ValidationScheduler)
+	 * @see #beginUpdate()
 	 */
 	protected void validateAfterPropertyChanged(String formProperty) {
+		if (isUpdating()) {
+			if (formProperty == null) {
+				validateAllAfterUpdate = true;
+			} else {
+				propertiesChangedDuringUpdate.add(formProperty);
+			}
+			return;
+		}
 		if (isValidating()) {
 			Validator validator = getValidator();
 			if (validator != null) {
-				DefaultValidationResults validationResults = new DefaultValidationResults(
-						bindingErrorMessages.values());
-				if (formProperty != null && validator instanceof RichValidator) {
-					validationResults
-							.addAllMessages(((RichValidator) validator).validate(getFormObject(), formProperty));
-				} else {
-					validationResults.addAllMessages(validator.validate(getFormObject()));
-				}
-				validationResults.addAllMessages(additionalValidationResults);
-				validationResultsModel.updateValidationResults(validationResults);
+				validationScheduler.scheduleValidation(validationTask, formProperty);
+			}
+		}
+	}
+
+	/**
+	 * Runs a single validation pass for the properties changed during the batch of
+	 * changes before updating the form states.
+	 */
+	@Override
+	protected void updateEnded() {
+		String formProperty = null;
+		boolean validate = validateAllAfterUpdate || !propertiesChangedDuringUpdate.isEmpty();
+		if (!validateAllAfterUpdate && propertiesChangedDuringUpdate.size() == 1) {
+			formProperty = (String) propertiesChangedDuringUpdate.iterator().next();
+		}
+		validateAllAfterUpdate = false;
+		propertiesChangedDuringUpdate.clear();
+		if (validate) {
+			validateAfterPropertyChanged(formProperty);
+		}
+		super.updateEnded();
+	}
+
+	/**
+	 * Replace all validation results with the binding errors, the given validator
+	 * messages and the additional validation messages.
+	 */
+	private void applyAllValidatorMessages(Set newValidatorMessages) {
+		DefaultValidationResults validationResults = new DefaultValidationResults(bindingErrorMessages.values());
+		validatorMessages = newValidatorMessages;
+		validationResults.addAllMessages(validatorMessages);
+		validationResults.addAllMessages(additionalValidationResults);
+		validationResultsModel.updateValidationResults(validationResults);
+	}
+
+	/**
+	 * Only apply the difference between the given validator messages and the
+	 * previous ones to the validation results.
+	 */
+	private void applyChangedValidatorMessages(Set newValidatorMessages) {
+		Set removedMessages = new HashSet();
+		for (Iterator i = validatorMessages.iterator(); i.hasNext();) {
+			ValidationMessage message = (ValidationMessage) i.next();
+			if (!newValidatorMessages.contains(message) && !isRaisedOutsideValidator(message)) {
+				removedMessages.add(message);
 			}
 		}
+		Set addedMessages = new HashSet(newValidatorMessages);
+		addedMessages.removeAll(validatorMessages);
+		validatorMessages = newValidatorMessages;
+		validationResultsModel.updateValidationResults(removedMessages, addedMessages);
+	}
+
+	/**
+	 * Messages raised through binding errors or
+	 * {@link #raiseValidationMessage(ValidationMessage)} must survive the
+	 * validator no longer reporting an equal message.
+	 */
+	private boolean isRaisedOutsideValidator(ValidationMessage message) {
+		return bindingErrorMessages.containsValue(message)
+				|| additionalValidationResults.getMessages().contains(message);
 	}
 
 	protected void raiseBindingError(ValidatingFormValueModel valueModel, Object valueBeingSet, Exception e) {
@@ -393,6 +511,107 @@ public class DefaultFormModel extends AbstractFormModel implements ValidatingFor
 				.append("validationResults", getValidationResults()).toString();
 	}
 
+	/**
+	 * Runs the validator for the scheduler and applies its messages to the
+	 * validation results model. Only a {@link SnapshotValidator} can validate a
+	 * detached {@link FormModelSnapshot} of the form values on a background
+	 * thread; other validators read the form model while validating the form
+	 * object. The snapshot holds only the properties the validated constraints
+	 * read. If a constraint reads a property that isn't in the snapshot, the
+	 * form object is validated completely on the EDT instead.
+	 * <p>
+	 * Validators aren't thread safe, so a validator validates one pass at a time.
+	 */
+	private class FormValidationTask implements ValidationTask {
+
+		@Override
+		public Object createSnapshot() {
+			return new ValidationSnapshot(getValidator(), getFormObject());
+		}
+
+		@Override
+		public Object createDetachedSnapshot(Set formProperties) {
+			Validator validator = getValidator();
+			if (validator instanceof SnapshotValidator) {
+				Set snapshotProperties = ((SnapshotValidator) validator).getSnapshotProperties(formProperties);
+				return new ValidationSnapshot(validator, new FormModelSnapshot(DefaultFormModel.this,
+						snapshotProperties));
+			}
+			return null;
+		}
+
+		@Override
+		public Set validate(Object snapshot, Set formProperties) {
+			Validator validator = ((ValidationSnapshot) snapshot).validator;
+			Object target = ((ValidationSnapshot) snapshot).target;
+			synchronized (validator) {
+				try {
+					return validate(validator, target, formProperties);
+				} catch (NotReadablePropertyException e) {
+					if (!(target instanceof FormModelSnapshot)) {
+						throw e;
+					}
+					if (logger.isDebugEnabled()) {
+						logger.debug("Snapshot lacks a property read by the validator, revalidating on the EDT: "
+								+ e.getMessage());
+					}
+					return REVALIDATE_ALL;
+				}
+			}
+		}
+
+		private Set validate(Validator validator, Object target, Set formProperties) {
+			ValidationResults validatorResults = null;
+			if (target instanceof FormModelSnapshot) {
+				SnapshotValidator snapshotValidator = (SnapshotValidator) validator;
+				if (formProperties == null) {
+					validatorResults = snapshotValidator.validateSnapshot((FormModelSnapshot) target, null);
+				} else {
+					for (Iterator i = formProperties.iterator(); i.hasNext();) {
+						validatorResults = snapshotValidator.validateSnapshot((FormModelSnapshot) target,
+								(String) i.next());
+					}
+				}
+			} else if (formProperties != null && validator instanceof RichValidator) {
+				for (Iterator i = formProperties.iterator(); i.hasNext();) {
+					validatorResults = ((RichValidator) validator).validate(target, (String) i.next());
+				}
+			} else {
+				validatorResults = validator.validate(target);
+			}
+			return validatorResults == null ? Collections.EMPTY_SET : new HashSet(validatorResults.getMessages());
+		}
+
+		@Override
+		public void applyResults(Set formProperties, Set validatorMessages) {
+			if (validationTask != this || !isValidating()) {
+				return;
+			}
+			if (validatorMessages == REVALIDATE_ALL) {
+				applyAllValidatorMessages(validate(createSnapshot(), null));
+			} else if (formProperties == null) {
+				applyAllValidatorMessages(validatorMessages);
+			} else {
+				applyChangedValidatorMessages(validatorMessages);
+			}
+		}
+	}
+
+	/**
+	 * The validator and the object it validates, taken together on the EDT.
+	 */
+	private static class ValidationSnapshot {
+
+		private final Validator validator;
+
+		private final Object target;
+
+		private ValidationSnapshot(Validator validator, Object target) {
+			this.validator = validator;
+			this.target = target;
+		}
+	}
+
 	protected class ValidatingFormValueModel extends AbstractValueModelWrapper {
 		private final String formProperty;
 
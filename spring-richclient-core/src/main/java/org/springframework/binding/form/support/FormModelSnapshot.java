@@ -0,0 +1,175 @@
+/*
+ * Copyright 2002-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.binding.form.support;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.NotReadablePropertyException;
+import org.springframework.binding.PropertyAccessStrategy;
+import org.springframework.binding.PropertyMetadataAccessStrategy;
+import org.springframework.binding.form.FieldMetadata;
+import org.springframework.binding.form.FormModel;
+
+/**
+ * Detached copy of the field values of a <code>FormModel</code>, accessible
+ * using the <code>PropertyAccessStrategy</code> interface. Unlike
+ * {@link FormModelPropertyAccessStrategy} the snapshot doesn't read the value
+ * models of the form model, so it can be read on any thread once it has been
+ * taken on the Event Dispatch Thread.
+ * <p>
+ * The snapshot holds the current, possibly uncommitted, values of the fields
+ * of the form model, their metadata and display names. The domain object is
+ * the form object the snapshot was taken from; validators may use its class
+ * and property constraints but must not read its property values.
+ *
+ * @see org.springframework.binding.validation.SnapshotValidator
+ */
+public class FormModelSnapshot implements PropertyAccessStrategy {
+
+	private final Object domainObject;
+
+	private final Map values = new HashMap();
+
+	private final Map metadata = new HashMap();
+
+	private final Map displayNames = new HashMap();
+
+	/**
+	 * Copies the values of all fields of the given form model. Must be called on
+	 * the Event Dispatch Thread.
+	 */
+	public FormModelSnapshot(FormModel formModel) {
+		this(formModel, null);
+	}
+
+	/**
+	 * Copies the values of the given fields of the form model. Names that aren't
+	 * fields of the form model are skipped. Must be called on the Event Dispatch
+	 * Thread.
+	 *
+	 * @param fieldNames the fields to copy or <code>null</code> to copy all
+	 *                   fields.
+	 */
+	public FormModelSnapshot(FormModel formModel, Set fieldNames) {
+		this.domainObject = formModel.getFormObject();
+		Set formFieldNames = formModel.getFieldNames();
+		for (Iterator i = (fieldNames != null ? fieldNames : formFieldNames).iterator(); i.hasNext();) {
+			String fieldName = (String) i.next();
+			if (!formFieldNames.contains(fieldName)) {
+				continue;
+			}
+			values.put(fieldName, formModel.getValueModel(fieldName).getValue());
+			metadata.put(fieldName, new FieldMetadataSnapshot(formModel.getFieldMetadata(fieldName)));
+			displayNames.put(fieldName, formModel.getFieldFace(fieldName).getDisplayName());
+		}
+	}
+
+	/**
+	 * Returns the names of the fields in this snapshot.
+	 */
+	public Set getFieldNames() {
+		return Collections.unmodifiableSet(values.keySet());
+	}
+
+	public boolean hasField(String fieldName) {
+		return values.containsKey(fieldName);
+	}
+
+	/**
+	 * Returns the display name of the field, or the field name itself if the
+	 * field isn't part of this snapshot.
+	 */
+	public String getDisplayName(String fieldName) {
+		String displayName = (String) displayNames.get(fieldName);
+		return displayName != null ? displayName : fieldName;
+	}
+
+	@Override
+	public Object getPropertyValue(String propertyPath) throws BeansException {
+		if (!values.containsKey(propertyPath)) {
+			throw new NotReadablePropertyException(domainObject.getClass(), propertyPath,
+					"Property is not a field of the form model snapshot");
+		}
+		return values.get(propertyPath);
+	}
+
+	@Override
+	public PropertyMetadataAccessStrategy getMetadataAccessStrategy() {
+		return new SnapshotMetadataAccessStrategy();
+	}
+
+	@Override
+	public Object getDomainObject() {
+		return domainObject;
+	}
+
+	private static class FieldMetadataSnapshot {
+
+		private final Class propertyType;
+
+		private final boolean readOnly;
+
+		private final Map userMetadata;
+
+		private FieldMetadataSnapshot(FieldMetadata fieldMetadata) {
+			this.propertyType = fieldMetadata.getPropertyType();
+			this.readOnly = fieldMetadata.isReadOnly();
+			this.userMetadata = new HashMap(fieldMetadata.getAllUserMetadata());
+		}
+	}
+
+	private class SnapshotMetadataAccessStrategy implements PropertyMetadataAccessStrategy {
+
+		private FieldMetadataSnapshot getFieldMetadata(String propertyName) {
+			FieldMetadataSnapshot fieldMetadata = (FieldMetadataSnapshot) metadata.get(propertyName);
+			if (fieldMetadata == null) {
+				throw new NotReadablePropertyException(domainObject.getClass(), propertyName,
+						"Property is not a field of the form model snapshot");
+			}
+			return fieldMetadata;
+		}
+
+		@Override
+		public boolean isReadable(String propertyName) {
+			return metadata.containsKey(propertyName);
+		}
+
+		@Override
+		public boolean isWriteable(String propertyName) {
+			return !getFieldMetadata(propertyName).readOnly;
+		}
+
+		@Override
+		public Class getPropertyType(String propertyName) {
+			return getFieldMetadata(propertyName).propertyType;
+		}
+
+		@Override
+		public Object getUserMetadata(String propertyName, String key) {
+			return getFieldMetadata(propertyName).userMetadata.get(key);
+		}
+
+		@Override
+		public Map getAllUserMetadata(String propertyName) {
+			return Collections.unmodifiableMap(getFieldMetadata(propertyName).userMetadata);
+		}
+	}
+}
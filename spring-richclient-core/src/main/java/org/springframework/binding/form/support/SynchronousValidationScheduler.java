@@ -0,0 +1,41 @@
+/*
+ * Copyright 2002-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.binding.form.support;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.springframework.binding.form.ValidationScheduler;
+
+/**
+ * Runs every validation immediately on the calling thread. This is the default
+ * scheduler of {@link DefaultFormModel}.
+ */
+public class SynchronousValidationScheduler implements ValidationScheduler {
+
+	public static final SynchronousValidationScheduler INSTANCE = new SynchronousValidationScheduler();
+
+	@Override
+	public void scheduleValidation(ValidationTask task, String formProperty) {
+		Set formProperties = formProperty == null ? null : Collections.singleton(formProperty);
+		task.applyResults(formProperties, task.validate(task.createSnapshot(), formProperties));
+	}
+
+	@Override
+	public void cancelValidation(ValidationTask task) {
+		// nothing is ever pending
+	}
+}
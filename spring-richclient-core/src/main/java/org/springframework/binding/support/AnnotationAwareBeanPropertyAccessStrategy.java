@@ -16,14 +16,9 @@
 
 package org.springframework.binding.support;
 
-import java.beans.PropertyDescriptor;
-import java.lang.annotation.Annotation;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.springframework.binding.value.ValueModel;
-import org.springframework.richclient.util.AnnotationUtils;
-import org.springframework.util.Assert;
 
 /**
  * A JavaBean {@link org.springframework.binding.PropertyAccessStrategy
@@ -44,7 +39,7 @@ import org.springframework.util.Assert;
  * @since May 8, 2006 1:57:46 PM
  */
 public class AnnotationAwareBeanPropertyAccessStrategy extends BeanPropertyAccessStrategy {
-	private AnnotationTranslator annotationTranslator;
+	private final AnnotationUserMetadataSupport userMetadataSupport = new AnnotationUserMetadataSupport();
 
 	public AnnotationAwareBeanPropertyAccessStrategy(Object bean) {
 		super(bean);
@@ -78,17 +73,7 @@ public class AnnotationAwareBeanPropertyAccessStrategy extends BeanPropertyAcces
 	 */
 	@Override
 	protected Map<String, Object> getAllUserMetadataFor(final String propertyPath) {
-		final PropertyDescriptor pd = getBeanWrapper().getPropertyDescriptor(propertyPath);
-		Assert.notNull(pd);
-
-		final AnnotationTranslator translator = getAnnotationTranslator();
-		final Map<String, Object> ret = new LinkedHashMap<String, Object>();
-
-		for (final Annotation annotation : AnnotationUtils.getAnnotationsFor(pd)) {
-			translator.translate(annotation, ret);
-		}
-
-		return ret;
+		return userMetadataSupport.getUserMetadata(getBeanWrapper().getPropertyDescriptor(propertyPath));
 	}
 
 	//
@@ -96,13 +81,10 @@ public class AnnotationAwareBeanPropertyAccessStrategy extends BeanPropertyAcces
 	//
 
 	public AnnotationTranslator getAnnotationTranslator() {
-		if (this.annotationTranslator == null) {
-			this.annotationTranslator = new ReflectionAnnotationTranslator();
-		}
-		return annotationTranslator;
+		return userMetadataSupport.getAnnotationTranslator();
 	}
 
 	public void setAnnotationTranslator(final AnnotationTranslator annotationTranslator) {
-		this.annotationTranslator = annotationTranslator;
+		userMetadataSupport.setAnnotationTranslator(annotationTranslator);
 	}
 }
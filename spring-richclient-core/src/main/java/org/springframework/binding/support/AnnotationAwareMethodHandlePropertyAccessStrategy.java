@@ -0,0 +1,80 @@
+/*
+ * Copyright 2002-2007 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.binding.support;
+
+import java.util.Map;
+
+import org.springframework.beans.BeansException;
+import org.springframework.binding.MutablePropertyAccessStrategy;
+import org.springframework.binding.value.ValueModel;
+
+/**
+ * A {@link MethodHandlePropertyAccessStrategy} that exposes the annotations of
+ * each property as user metadata, like
+ * {@link AnnotationAwareBeanPropertyAccessStrategy} does. It is a drop-in
+ * replacement for that strategy.
+ *
+ * @see AnnotationAwareBeanPropertyAccessStrategy
+ */
+public class AnnotationAwareMethodHandlePropertyAccessStrategy extends MethodHandlePropertyAccessStrategy {
+
+	private final AnnotationUserMetadataSupport userMetadataSupport = new AnnotationUserMetadataSupport();
+
+	public AnnotationAwareMethodHandlePropertyAccessStrategy(Object bean) {
+		super(bean);
+	}
+
+	public AnnotationAwareMethodHandlePropertyAccessStrategy(ValueModel domainObjectHolder) {
+		super(domainObjectHolder);
+	}
+
+	protected AnnotationAwareMethodHandlePropertyAccessStrategy(AnnotationAwareMethodHandlePropertyAccessStrategy parent,
+			String basePropertyPath) {
+		super(parent, basePropertyPath);
+		setAnnotationTranslator(parent.getAnnotationTranslator());
+	}
+
+	/**
+	 * Retrieves annotations for the specified property as user metadata, see
+	 * {@link AnnotationAwareBeanPropertyAccessStrategy#getAllUserMetadataFor(String)}.
+	 */
+	@Override
+	protected Map<String, Object> getAllUserMetadataFor(String propertyPath) {
+		return userMetadataSupport.getUserMetadata(getBeanWrapper().getPropertyDescriptor(
+				getFullPropertyPath(propertyPath)));
+	}
+
+	@Override
+	public MutablePropertyAccessStrategy getPropertyAccessStrategyForPath(String propertyPath) throws BeansException {
+		return new AnnotationAwareMethodHandlePropertyAccessStrategy(this, getFullPropertyPath(propertyPath));
+	}
+
+	@Override
+	public MutablePropertyAccessStrategy newPropertyAccessStrategy(ValueModel domainObjectHolder) {
+		AnnotationAwareMethodHandlePropertyAccessStrategy strategy = new AnnotationAwareMethodHandlePropertyAccessStrategy(
+				domainObjectHolder);
+		strategy.setAnnotationTranslator(getAnnotationTranslator());
+		return strategy;
+	}
+
+	public AnnotationTranslator getAnnotationTranslator() {
+		return userMetadataSupport.getAnnotationTranslator();
+	}
+
+	public void setAnnotationTranslator(AnnotationTranslator annotationTranslator) {
+		userMetadataSupport.setAnnotationTranslator(annotationTranslator);
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2002-2007 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.binding.support;
+
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.richclient.util.AnnotationUtils;
+import org.springframework.util.Assert;
+
+/**
+ * Translates the annotations of a property into user metadata for the
+ * annotation aware property access strategies.
+ *
+ * @see AnnotationAwareBeanPropertyAccessStrategy
+ * @see AnnotationAwareMethodHandlePropertyAccessStrategy
+ */
+class AnnotationUserMetadataSupport {
+
+	private AnnotationTranslator annotationTranslator;
+
+	public AnnotationTranslator getAnnotationTranslator() {
+		if (this.annotationTranslator == null) {
+			this.annotationTranslator = new ReflectionAnnotationTranslator();
+		}
+		return annotationTranslator;
+	}
+
+	public void setAnnotationTranslator(AnnotationTranslator annotationTranslator) {
+		this.annotationTranslator = annotationTranslator;
+	}
+
+	/**
+	 * Returns the annotations of the getter and setter of the property, as parsed
+	 * by the annotation translator. Annotations on the getter override the ones
+	 * on the setter.
+	 */
+	public Map<String, Object> getUserMetadata(PropertyDescriptor pd) {
+		Assert.notNull(pd);
+
+		AnnotationTranslator translator = getAnnotationTranslator();
+		Map<String, Object> ret = new LinkedHashMap<String, Object>();
+
+		for (Annotation annotation : AnnotationUtils.getAnnotationsFor(pd)) {
+			translator.translate(annotation, ret);
+		}
+
+		return ret;
+	}
+}
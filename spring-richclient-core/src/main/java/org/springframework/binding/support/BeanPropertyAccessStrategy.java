@@ -59,7 +59,7 @@ public class BeanPropertyAccessStrategy extends AbstractPropertyAccessStrategy {
 	 */
 	public BeanPropertyAccessStrategy(final ValueModel domainObjectHolder) {
 		super(domainObjectHolder);
-		this.beanWrapper = new BeanWrapperImpl(false);
+		this.beanWrapper = createBeanWrapper();
 		((BeanWrapperImpl) this.beanWrapper).setWrappedInstance(domainObjectHolder.getValue());
 	}
 
@@ -77,6 +77,17 @@ public class BeanPropertyAccessStrategy extends AbstractPropertyAccessStrategy {
 		this.beanWrapper = parent.beanWrapper;
 	}
 
+	/**
+	 * Creates the <code>BeanWrapper</code> used to access the bean. Called once
+	 * from the constructor of the root strategy, child strategies share the
+	 * wrapper of their parent.
+	 *
+	 * @return a new, empty <code>BeanWrapperImpl</code>.
+	 */
+	protected BeanWrapperImpl createBeanWrapper() {
+		return new BeanWrapperImpl(false);
+	}
+
 	/**
 	 * Provides <code>BeanWrapper</code> access to subclasses.
 	 *
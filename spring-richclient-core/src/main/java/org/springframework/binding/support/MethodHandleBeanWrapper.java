@@ -0,0 +1,212 @@
+/*
+ * Copyright 2002-2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.binding.support;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.InvalidPropertyException;
+import org.springframework.beans.MethodInvocationException;
+import org.springframework.beans.PropertyAccessor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * A <code>BeanWrapperImpl</code> that reads and writes simple and nested
+ * properties through {@link MethodHandle}s. The chain of getters (and the final
+ * setter) of a property path is resolved once per bean class and cached, so
+ * subsequent accesses skip the property path parsing and introspection of the
+ * regular bean wrapper.
+ * <p>
+ * Anything the compiled path can't handle is delegated to the regular bean
+ * wrapper: indexed/mapped properties, <code>null</code> values in the nested
+ * path, properties declared on subtypes of the nested property types and
+ * values that need type conversion.
+ *
+ * @see MethodHandlePropertyAccessStrategy
+ */
+public class MethodHandleBeanWrapper extends BeanWrapperImpl {
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	/** Marks a property path that can't be compiled. */
+	private static final Object NOT_COMPILABLE = new Object();
+
+	private static final ClassValue<ConcurrentMap<String, Object>> compiledPaths = new ClassValue<ConcurrentMap<String, Object>>() {
+		@Override
+		protected ConcurrentMap<String, Object> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<String, Object>();
+		}
+	};
+
+	private Object root;
+
+	public MethodHandleBeanWrapper() {
+		super(false);
+	}
+
+	@Override
+	public void setWrappedInstance(Object object) {
+		super.setWrappedInstance(object);
+		this.root = object;
+	}
+
+	@Override
+	public Object getPropertyValue(String propertyName) throws BeansException {
+		CompiledPropertyPath path = getCompiledPath(propertyName);
+		if (path != null) {
+			Object value = root;
+			for (int i = 0; i < path.getters.length; i++) {
+				if (value == null) {
+					return super.getPropertyValue(propertyName);
+				}
+				try {
+					value = path.getters[i].invokeExact(value);
+				} catch (Throwable e) {
+					throw new InvalidPropertyException(getRootClass(), propertyName,
+							"Getter for property '" + propertyName + "' threw exception", e);
+				}
+			}
+			return value;
+		}
+		return super.getPropertyValue(propertyName);
+	}
+
+	@Override
+	public void setPropertyValue(String propertyName, Object value) throws BeansException {
+		CompiledPropertyPath path = getCompiledPath(propertyName);
+		if (path == null || path.setter == null || !canSetWithoutConversion(path, propertyName, value)) {
+			super.setPropertyValue(propertyName, value);
+			return;
+		}
+		Object target = root;
+		for (int i = 0; i < path.getters.length - 1; i++) {
+			if (target == null) {
+				break;
+			}
+			try {
+				target = path.getters[i].invokeExact(target);
+			} catch (Throwable e) {
+				throw new InvalidPropertyException(getRootClass(), propertyName,
+						"Getter for property '" + propertyName + "' threw exception", e);
+			}
+		}
+		if (target == null) {
+			super.setPropertyValue(propertyName, value);
+			return;
+		}
+		try {
+			path.setter.invokeExact(target, value);
+		} catch (Throwable e) {
+			throw new MethodInvocationException(new PropertyChangeEvent(root, propertyName, null, value), e);
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the property path of the wrapped instance is
+	 * read and written through method handles rather than by the regular bean
+	 * wrapper.
+	 */
+	public boolean isCompiled(String propertyPath) {
+		return getCompiledPath(propertyPath) != null;
+	}
+
+	/**
+	 * Values are only set directly if the regular bean wrapper would not convert
+	 * them.
+	 */
+	private boolean canSetWithoutConversion(CompiledPropertyPath path, String propertyName, Object value) {
+		if (value == null ? path.setterType.isPrimitive() : !ClassUtils.isAssignableValue(path.setterType, value)) {
+			return false;
+		}
+		return getConversionService() == null && findCustomEditor(path.setterType, propertyName) == null;
+	}
+
+	private CompiledPropertyPath getCompiledPath(String propertyPath) {
+		if (root == null) {
+			return null;
+		}
+		ConcurrentMap<String, Object> classPaths = compiledPaths.get(root.getClass());
+		Object path = classPaths.get(propertyPath);
+		if (path == null) {
+			path = compile(root.getClass(), propertyPath);
+			classPaths.putIfAbsent(propertyPath, path);
+		}
+		return path == NOT_COMPILABLE ? null : (CompiledPropertyPath) path;
+	}
+
+	private static Object compile(Class<?> beanClass, String propertyPath) {
+		if (propertyPath.length() == 0 || propertyPath.indexOf(PropertyAccessor.PROPERTY_KEY_PREFIX_CHAR) != -1) {
+			return NOT_COMPILABLE;
+		}
+		String[] propertyNames = propertyPath.split("\\.", -1);
+		MethodHandle[] getters = new MethodHandle[propertyNames.length];
+		Class<?> type = beanClass;
+		PropertyDescriptor descriptor = null;
+		try {
+			for (int i = 0; i < propertyNames.length; i++) {
+				descriptor = BeanUtils.getPropertyDescriptor(type, propertyNames[i]);
+				if (descriptor == null || descriptor.getReadMethod() == null) {
+					return NOT_COMPILABLE;
+				}
+				getters[i] = unreflect(descriptor.getReadMethod()).asType(GETTER_TYPE);
+				type = descriptor.getPropertyType();
+			}
+			Method writeMethod = descriptor.getWriteMethod();
+			MethodHandle setter = writeMethod == null ? null : unreflect(writeMethod).asType(SETTER_TYPE);
+			return new CompiledPropertyPath(getters, setter, descriptor.getPropertyType());
+		} catch (IllegalAccessException e) {
+			return NOT_COMPILABLE;
+		} catch (RuntimeException e) {
+			return NOT_COMPILABLE;
+		}
+	}
+
+	private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+		ReflectionUtils.makeAccessible(method);
+		return MethodHandles.lookup().unreflect(method);
+	}
+
+	/**
+	 * The getters of each step in a property path and the setter of the last
+	 * property.
+	 */
+	private static class CompiledPropertyPath {
+
+		private final MethodHandle[] getters;
+
+		private final MethodHandle setter;
+
+		private final Class<?> setterType;
+
+		public CompiledPropertyPath(MethodHandle[] getters, MethodHandle setter, Class<?> setterType) {
+			this.getters = getters;
+			this.setter = setter;
+			this.setterType = setterType;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2002-2007 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.binding.support;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.BeansException;
+import org.springframework.binding.MutablePropertyAccessStrategy;
+import org.springframework.binding.value.ValueModel;
+import org.springframework.binding.value.support.ValueHolder;
+
+/**
+ * A {@link BeanPropertyAccessStrategy} that reads and writes the properties of
+ * the JavaBean through a {@link MethodHandleBeanWrapper}. Property paths are
+ * resolved into a chain of method handles once per bean class, which makes the
+ * value models created by this strategy considerably cheaper to read and write
+ * than the ones backed by a plain <code>BeanWrapperImpl</code>.
+ * <p>
+ * This strategy is a drop-in replacement for {@link BeanPropertyAccessStrategy}:
+ * type conversion, indexed properties and <code>null</code> values in a nested
+ * path are still handled by the regular bean wrapper.
+ *
+ * @see MethodHandleBeanWrapper
+ */
+public class MethodHandlePropertyAccessStrategy extends BeanPropertyAccessStrategy {
+
+	/**
+	 * Creates a new instance of MethodHandlePropertyAccessStrategy that will
+	 * provide access to the properties of the provided JavaBean.
+	 *
+	 * @param bean JavaBean to be accessed through this class.
+	 */
+	public MethodHandlePropertyAccessStrategy(Object bean) {
+		this(new ValueHolder(bean));
+	}
+
+	/**
+	 * Creates a new instance of MethodHandlePropertyAccessStrategy that will
+	 * provide access to the JavaBean contained by the provided value model.
+	 *
+	 * @param domainObjectHolder value model that holds the JavaBean to be accessed
+	 *                           through this class
+	 */
+	public MethodHandlePropertyAccessStrategy(ValueModel domainObjectHolder) {
+		super(domainObjectHolder);
+	}
+
+	/**
+	 * Creates a child instance of MethodHandlePropertyAccessStrategy that will
+	 * delegate to its parent for property access.
+	 *
+	 * @param parent           MethodHandlePropertyAccessStrategy which will be
+	 *                         used to provide property access
+	 * @param basePropertyPath property path that will as a base when accessing the
+	 *                         parent MethodHandlePropertyAccessStrategy
+	 */
+	protected MethodHandlePropertyAccessStrategy(MethodHandlePropertyAccessStrategy parent,
+			String basePropertyPath) {
+		super(parent, basePropertyPath);
+	}
+
+	@Override
+	protected BeanWrapperImpl createBeanWrapper() {
+		return new MethodHandleBeanWrapper();
+	}
+
+	@Override
+	public MutablePropertyAccessStrategy getPropertyAccessStrategyForPath(String propertyPath) throws BeansException {
+		return new MethodHandlePropertyAccessStrategy(this, getFullPropertyPath(propertyPath));
+	}
+
+	@Override
+	public MutablePropertyAccessStrategy newPropertyAccessStrategy(ValueModel domainObjectHolder) {
+		return new MethodHandlePropertyAccessStrategy(domainObjectHolder);
+	}
+}
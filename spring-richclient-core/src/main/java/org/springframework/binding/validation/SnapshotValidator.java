@@ -0,0 +1,57 @@
+/*
+ * Copyright 2002-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.binding.validation;
+
+import java.util.Set;
+
+import org.springframework.binding.form.support.FormModelSnapshot;
+
+/**
+ * Interface to be implemented by validators that can validate a detached
+ * {@link FormModelSnapshot} of their form model instead of reading the form
+ * model itself. Only such validators are run on a background thread by
+ * {@link org.springframework.binding.form.support.BackgroundValidationScheduler};
+ * other validators, such as {@link org.springframework.binding.validation.support.ValangRichValidator},
+ * {@link org.springframework.binding.validation.support.HibernateRulesValidator}
+ * and {@link org.springframework.binding.validation.support.CompositeRichValidator},
+ * read the form model and are run on the Event Dispatch Thread.
+ */
+public interface SnapshotValidator extends RichValidator {
+
+	/**
+	 * Returns the properties read when validating the given properties, so only
+	 * those are copied into the snapshot. Called on the Event Dispatch Thread.
+	 *
+	 * @param properties the properties to validate or <code>null</code> to
+	 *                   validate all of them.
+	 * @return the properties to copy or <code>null</code> to copy all fields.
+	 */
+	Set getSnapshotProperties(Set properties);
+
+	/**
+	 * Validates the given property of the snapshot. May be called on a background
+	 * thread; implementations must only read the snapshot and must not touch the
+	 * form model. Reading a property that isn't part of the snapshot throws a
+	 * {@link org.springframework.beans.NotReadablePropertyException}.
+	 *
+	 * @param snapshot the values of the form model.
+	 * @param property the name of the only property that has changed since the
+	 *                 last call to validate or <code>null</code> to validate all
+	 *                 properties.
+	 * @return the results on the validation
+	 */
+	ValidationResults validateSnapshot(FormModelSnapshot snapshot, String property);
+}
@@ -17,40 +17,31 @@ package org.springframework.binding.validation.support;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.binding.validation.ValidationMessage;
 import org.springframework.binding.validation.ValidationResults;
 import org.springframework.core.style.ToStringCreator;
 import org.springframework.richclient.core.Severity;
-import org.springframework.util.CachingMapDecorator;
-import org.springframework.util.ObjectUtils;
 
+/**
+ * Default implementation of {@link ValidationResults}. The messages are indexed
+ * by severity and by property as they are added and removed, so the counts and
+ * subsets of a severity or property are available without scanning the
+ * messages. The returned subsets are unmodifiable copies which don't reflect
+ * later changes.
+ */
 public class DefaultValidationResults implements ValidationResults {
 
 	private final Set messages = new HashSet();
 
-	private CachingMapDecorator messagesSubSets = new CachingMapDecorator() {
-
-		private static final long serialVersionUID = 1L;
-
-		@Override
-		protected Object create(Object key) {
-			Set messagesSubSet = new HashSet();
-			for (Iterator i = messages.iterator(); i.hasNext();) {
-				ValidationMessage message = (ValidationMessage) i.next();
-				if (key instanceof Severity && message.getSeverity().equals(key)) {
-					messagesSubSet.add(message);
-				} else if (ObjectUtils.nullSafeEquals(message.getProperty(), key)) {
-					messagesSubSet.add(message);
-				}
-			}
-			return Collections.unmodifiableSet(messagesSubSet);
-		}
+	private final Map messagesBySeverity = new HashMap();
 
-	};
+	private final Map messagesByProperty = new HashMap();
 
 	public DefaultValidationResults() {
 	}
@@ -68,14 +59,15 @@ public class DefaultValidationResults implements ValidationResults {
 	}
 
 	public void addAllMessages(Collection validationMessages) {
-		if (messages.addAll(validationMessages)) {
-			messagesSubSets.clear();
+		for (Iterator i = validationMessages.iterator(); i.hasNext();) {
+			addMessage((ValidationMessage) i.next());
 		}
 	}
 
 	public void addMessage(ValidationMessage validationMessage) {
 		if (messages.add(validationMessage)) {
-			messagesSubSets.clear();
+			addToIndex(messagesBySeverity, validationMessage.getSeverity(), validationMessage);
+			addToIndex(messagesByProperty, validationMessage.getProperty(), validationMessage);
 		}
 	}
 
@@ -84,8 +76,31 @@ public class DefaultValidationResults implements ValidationResults {
 	}
 
 	public void removeMessage(ValidationMessage message) {
-		messages.remove(message);
-		messagesSubSets.clear();
+		if (messages.remove(message)) {
+			removeFromIndex(messagesBySeverity, message.getSeverity(), message);
+			removeFromIndex(messagesByProperty, message.getProperty(), message);
+		}
+	}
+
+	private static void addToIndex(Map index, Object key, ValidationMessage message) {
+		Set subSet = (Set) index.get(key);
+		if (subSet == null) {
+			subSet = new HashSet();
+			index.put(key, subSet);
+		}
+		subSet.add(message);
+	}
+
+	private static void removeFromIndex(Map index, Object key, ValidationMessage message) {
+		Set subSet = (Set) index.get(key);
+		if (subSet != null && subSet.remove(message) && subSet.isEmpty()) {
+			index.remove(key);
+		}
+	}
+
+	private static Set getFromIndex(Map index, Object key) {
+		Set subSet = (Set) index.get(key);
+		return subSet == null ? Collections.EMPTY_SET : Collections.unmodifiableSet(new HashSet(subSet));
 	}
 
 	@Override
@@ -110,12 +125,14 @@ public class DefaultValidationResults implements ValidationResults {
 
 	@Override
 	public int getMessageCount(Severity severity) {
-		return getMessages(severity).size();
+		Set subSet = (Set) messagesBySeverity.get(severity);
+		return subSet == null ? 0 : subSet.size();
 	}
 
 	@Override
 	public int getMessageCount(String fieldName) {
-		return getMessages(fieldName).size();
+		Set subSet = (Set) messagesByProperty.get(fieldName);
+		return subSet == null ? 0 : subSet.size();
 	}
 
 	@Override
@@ -125,12 +142,12 @@ public class DefaultValidationResults implements ValidationResults {
 
 	@Override
 	public Set getMessages(Severity severity) {
-		return (Set) messagesSubSets.get(severity);
+		return getFromIndex(messagesBySeverity, severity);
 	}
 
 	@Override
 	public Set getMessages(String fieldName) {
-		return (Set) messagesSubSets.get(fieldName);
+		return getFromIndex(messagesByProperty, fieldName);
 	}
 
 	@Override
@@ -145,17 +162,21 @@ public class DefaultValidationResults implements ValidationResults {
 	 */
 	public void clearMessages() {
 		messages.clear();
-		messagesSubSets.clear();
+		messagesBySeverity.clear();
+		messagesByProperty.clear();
 	}
 
 	/**
 	 * Clear all messages of the given fieldName.
 	 */
 	public void clearMessages(String fieldName) {
-		Set messagesForFieldName = getMessages(fieldName);
-		for (Iterator mi = messagesForFieldName.iterator(); mi.hasNext();) {
-			messages.remove(mi.next());
+		Set messagesForFieldName = (Set) messagesByProperty.remove(fieldName);
+		if (messagesForFieldName != null) {
+			for (Iterator mi = messagesForFieldName.iterator(); mi.hasNext();) {
+				ValidationMessage message = (ValidationMessage) mi.next();
+				messages.remove(message);
+				removeFromIndex(messagesBySeverity, message.getSeverity(), message);
+			}
 		}
-		messagesSubSets.clear();
 	}
 }
\ No newline at end of file
@@ -18,6 +18,8 @@ package org.springframework.binding.validation.support;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -32,7 +34,6 @@ import org.springframework.richclient.core.Severity;
 import org.springframework.richclient.util.Assert;
 import org.springframework.richclient.util.EventListenerListHelper;
 import org.springframework.util.CachingMapDecorator;
-import org.springframework.util.ObjectUtils;
 
 /**
  * Default implementation of {@link ValidationResultsModel}. Several events are
@@ -98,6 +99,14 @@ import org.springframework.util.ObjectUtils;
 public class DefaultValidationResultsModel
 		implements ValidationResultsModel, ValidationListener, PropertyChangeListener {
 
+	private static final EventListenerListHelper.Dispatcher<ValidationListener, ValidationResults> VALIDATION_RESULTS_CHANGED =
+			new EventListenerListHelper.Dispatcher<ValidationListener, ValidationResults>() {
+				@Override
+				public void dispatch(ValidationListener listener, ValidationResults results) {
+					listener.validationResultsChanged(results);
+				}
+			};
+
 	private final EventListenerListHelper validationListeners = new EventListenerListHelper(ValidationListener.class);
 
 	private final CachingMapDecorator propertyValidationListeners = new CachingMapDecorator() {
@@ -129,6 +138,12 @@ public class DefaultValidationResultsModel
 	/** The actual results for this instance only. */
 	private ValidationResults validationResults = EmptyValidationResults.INSTANCE;
 
+	/**
+	 * Results owned by this model which can be modified in place when applying a
+	 * delta, <code>null</code> if the current results were supplied from outside.
+	 */
+	private DefaultValidationResults ownValidationResults;
+
 	/** Error bookkeeping. */
 	private boolean hasErrors = false;
 
@@ -138,6 +153,18 @@ public class DefaultValidationResultsModel
 	/** Info bookkeeping. */
 	private boolean hasInfo = false;
 
+	/**
+	 * Number of children with errors, kept up to date from the events of the
+	 * children so the children don't have to be scanned.
+	 */
+	private int childrenWithErrors;
+
+	/** Number of children with warnings. */
+	private int childrenWithWarnings;
+
+	/** Number of children with info. */
+	private int childrenWithInfo;
+
 	/**
 	 * Constructor without delegate. (Delegating for 'this').
 	 */
@@ -171,46 +198,71 @@ public class DefaultValidationResultsModel
 		}
 	}
 
+	/**
+	 * Apply a delta to the current validation results. Only the given messages
+	 * are removed or added, the remaining results are left untouched and property
+	 * specific listeners are only notified for properties that are affected by
+	 * the delta.
+	 *
+	 * @param removedMessages the {@link ValidationMessage}s to remove.
+	 * @param addedMessages   the {@link ValidationMessage}s to add.
+	 */
+	public void updateValidationResults(Collection removedMessages, Collection addedMessages) {
+		Assert.required(removedMessages, "removedMessages");
+		Assert.required(addedMessages, "addedMessages");
+		if (removedMessages.isEmpty() && addedMessages.isEmpty()) {
+			return;
+		}
+		DefaultValidationResults results = getOwnValidationResults();
+		Set changedProperties = new HashSet();
+		for (Iterator i = removedMessages.iterator(); i.hasNext();) {
+			ValidationMessage message = (ValidationMessage) i.next();
+			if (results.getMessages().contains(message)) {
+				results.removeMessage(message);
+				changedProperties.add(message.getProperty());
+			}
+		}
+		for (Iterator i = addedMessages.iterator(); i.hasNext();) {
+			ValidationMessage message = (ValidationMessage) i.next();
+			if (!results.getMessages().contains(message)) {
+				results.addMessage(message);
+				changedProperties.add(message.getProperty());
+			}
+		}
+		if (changedProperties.isEmpty()) {
+			return;
+		}
+		fireChangedEvents();
+		for (Iterator i = changedProperties.iterator(); i.hasNext();) {
+			fireValidationResultsChanged((String) i.next());
+		}
+	}
+
+	/**
+	 * Returns results that may be modified in place, copying the current results
+	 * first if they were not created by this model.
+	 */
+	private DefaultValidationResults getOwnValidationResults() {
+		if (ownValidationResults != validationResults) {
+			ownValidationResults = new DefaultValidationResults(validationResults);
+			validationResults = ownValidationResults;
+		}
+		return ownValidationResults;
+	}
+
 	// TODO: test
 	public void addMessage(ValidationMessage validationMessage) {
-		if (!validationResults.getMessages().contains(validationMessage)) {
-			ValidationResults oldValidationResults = validationResults;
-			List newMessages = new ArrayList(oldValidationResults.getMessages());
-			newMessages.add(validationMessage);
-			validationResults = new DefaultValidationResults(newMessages);
-			fireChangedEvents();
-			fireValidationResultsChanged(validationMessage.getProperty());
-		}
+		updateValidationResults(Collections.EMPTY_SET, Collections.singleton(validationMessage));
 	}
 
 	// TODO: test
 	public void removeMessage(ValidationMessage validationMessage) {
-		if (validationResults.getMessages().contains(validationMessage)) {
-			ValidationResults oldValidationResults = validationResults;
-			List newMessages = new ArrayList(oldValidationResults.getMessages());
-			newMessages.remove(validationMessage);
-			validationResults = new DefaultValidationResults(newMessages);
-			fireChangedEvents();
-			fireValidationResultsChanged(validationMessage.getProperty());
-		}
+		updateValidationResults(Collections.singleton(validationMessage), Collections.EMPTY_SET);
 	}
 
 	// TODO: test
 	public void replaceMessage(ValidationMessage messageToReplace, ValidationMessage replacementMessage) {
-		ValidationResults oldValidationResults = validationResults;
-		List newMessages = new ArrayList(oldValidationResults.getMessages());
-		final boolean containsMessageToReplace = validationResults.getMessages().contains(messageToReplace);
-		if (containsMessageToReplace) {
-			newMessages.remove(messageToReplace);
-		}
-		newMessages.add(replacementMessage);
-		validationResults = new DefaultValidationResults(newMessages);
-		fireChangedEvents();
-		if (containsMessageToReplace
-				&& !ObjectUtils.nullSafeEquals(messageToReplace.getProperty(), replacementMessage.getProperty())) {
-			fireValidationResultsChanged(messageToReplace.getProperty());
-		}
-		fireValidationResultsChanged(replacementMessage.getProperty());
+		updateValidationResults(Collections.singleton(messageToReplace), Collections.singleton(replacementMessage));
 	}
 
 	public void clearAllValidationResults() {
@@ -231,19 +283,7 @@ public class DefaultValidationResultsModel
 	 */
 	private void updateErrors() {
 		boolean oldErrors = hasErrors;
-		hasErrors = false;
-		if (validationResults.getHasErrors()) {
-			hasErrors = true;
-		} else {
-			Iterator childIter = children.iterator();
-			while (childIter.hasNext()) {
-				ValidationResultsModel childModel = (ValidationResultsModel) childIter.next();
-				if (childModel.getHasErrors()) {
-					hasErrors = true;
-					break;
-				}
-			}
-		}
+		hasErrors = childrenWithErrors > 0 || validationResults.getHasErrors();
 		firePropertyChange(HAS_ERRORS_PROPERTY, oldErrors, hasErrors);
 	}
 
@@ -261,19 +301,7 @@ public class DefaultValidationResultsModel
 	 */
 	private void updateInfo() {
 		boolean oldInfo = hasInfo;
-		hasInfo = false;
-		if (validationResults.getHasInfo()) {
-			hasInfo = true;
-		} else {
-			Iterator childIter = children.iterator();
-			while (childIter.hasNext()) {
-				ValidationResultsModel childModel = (ValidationResultsModel) childIter.next();
-				if (childModel.getHasInfo()) {
-					hasInfo = true;
-					break;
-				}
-			}
-		}
+		hasInfo = childrenWithInfo > 0 || validationResults.getHasInfo();
 		firePropertyChange(HAS_INFO_PROPERTY, oldInfo, hasInfo);
 	}
 
@@ -291,19 +319,7 @@ public class DefaultValidationResultsModel
 	 */
 	private void updateWarnings() {
 		boolean oldWarnings = hasWarnings;
-		hasWarnings = false;
-		if (validationResults.getHasWarnings()) {
-			hasWarnings = true;
-		} else {
-			Iterator childIter = children.iterator();
-			while (childIter.hasNext()) {
-				ValidationResultsModel childModel = (ValidationResultsModel) childIter.next();
-				if (childModel.getHasWarnings()) {
-					hasWarnings = true;
-					break;
-				}
-			}
-		}
+		hasWarnings = childrenWithWarnings > 0 || validationResults.getHasWarnings();
 		firePropertyChange(HAS_WARNINGS_PROPERTY, oldWarnings, hasWarnings);
 	}
 
@@ -366,12 +382,13 @@ public class DefaultValidationResultsModel
 
 	@Override
 	public Set getMessages(String propertyName) {
-		Set messages = new HashSet();
-		messages.addAll(validationResults.getMessages(propertyName));
+		Set messages = new HashSet(validationResults.getMessages(propertyName));
 		Iterator childIter = children.iterator();
 		while (childIter.hasNext()) {
 			ValidationResultsModel childModel = (ValidationResultsModel) childIter.next();
-			messages.addAll(childModel.getMessages(propertyName));
+			if (childModel.getMessageCount(propertyName) > 0) {
+				messages.addAll(childModel.getMessages(propertyName));
+			}
 		}
 		return messages;
 	}
@@ -424,13 +441,11 @@ public class DefaultValidationResultsModel
 	}
 
 	protected void fireValidationResultsChanged() {
-		validationListeners.fire("validationResultsChanged", delegateFor);
+		validationListeners.dispatch(VALIDATION_RESULTS_CHANGED, delegateFor);
 	}
 
 	protected void fireValidationResultsChanged(String propertyName) {
-		for (Iterator i = getValidationListeners(propertyName).iterator(); i.hasNext();) {
-			((ValidationListener) i.next()).validationResultsChanged(delegateFor);
-		}
+		getValidationListeners(propertyName).dispatch(VALIDATION_RESULTS_CHANGED, delegateFor);
 	}
 
 	protected EventListenerListHelper getValidationListeners(String propertyName) {
@@ -443,7 +458,7 @@ public class DefaultValidationResultsModel
 			if (propertyChangeListeners.hasListeners()) {
 				PropertyChangeEvent event = new PropertyChangeEvent(delegateFor, propertyName,
 						Boolean.valueOf(oldValue), Boolean.valueOf(newValue));
-				propertyChangeListeners.fire("propertyChange", event);
+				propertyChangeListeners.dispatch(EventListenerListHelper.PROPERTY_CHANGE, event);
 			}
 		}
 	}
@@ -470,6 +485,7 @@ public class DefaultValidationResultsModel
 			validationResultsModel.addPropertyChangeListener(HAS_ERRORS_PROPERTY, this);
 			validationResultsModel.addPropertyChangeListener(HAS_WARNINGS_PROPERTY, this);
 			validationResultsModel.addPropertyChangeListener(HAS_INFO_PROPERTY, this);
+			updateChildCounters(validationResultsModel, 1);
 			if ((validationResultsModel.getMessageCount() > 0)) {
 				fireChangedEvents();
 			}
@@ -489,12 +505,25 @@ public class DefaultValidationResultsModel
 			validationResultsModel.removePropertyChangeListener(HAS_ERRORS_PROPERTY, this);
 			validationResultsModel.removePropertyChangeListener(HAS_WARNINGS_PROPERTY, this);
 			validationResultsModel.removePropertyChangeListener(HAS_INFO_PROPERTY, this);
+			updateChildCounters(validationResultsModel, -1);
 			if (validationResultsModel.getMessageCount() > 0) {
 				fireChangedEvents();
 			}
 		}
 	}
 
+	private void updateChildCounters(ValidationResultsModel child, int delta) {
+		if (child.getHasErrors()) {
+			childrenWithErrors += delta;
+		}
+		if (child.getHasWarnings()) {
+			childrenWithWarnings += delta;
+		}
+		if (child.getHasInfo()) {
+			childrenWithInfo += delta;
+		}
+	}
+
 	/**
 	 * {@link DefaultValidationResultsModel} registers itself as a
 	 * validationListener on it's children to forward the event.
@@ -506,17 +535,28 @@ public class DefaultValidationResultsModel
 
 	/**
 	 * Forwarding of known property events coming from child models. Each event
-	 * triggers a specific evaluation of the parent property, which will trigger
-	 * events as needed.
+	 * updates the number of children with errors, warnings or info and triggers a
+	 * specific evaluation of the parent property, which will trigger events as
+	 * needed.
 	 */
 	@Override
 	public void propertyChange(PropertyChangeEvent evt) {
+		int delta = childDelta(evt);
 		if (evt.getPropertyName() == HAS_ERRORS_PROPERTY) {
+			childrenWithErrors += delta;
 			updateErrors();
 		} else if (evt.getPropertyName() == HAS_WARNINGS_PROPERTY) {
+			childrenWithWarnings += delta;
 			updateWarnings();
 		} else if (evt.getPropertyName() == HAS_INFO_PROPERTY) {
+			childrenWithInfo += delta;
 			updateInfo();
 		}
 	}
+
+	private static int childDelta(PropertyChangeEvent evt) {
+		boolean oldValue = Boolean.TRUE.equals(evt.getOldValue());
+		boolean newValue = Boolean.TRUE.equals(evt.getNewValue());
+		return oldValue == newValue ? 0 : (newValue ? 1 : -1);
+	}
 }
\ No newline at end of file
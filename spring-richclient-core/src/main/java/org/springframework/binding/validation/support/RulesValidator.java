@@ -16,14 +16,18 @@
 package org.springframework.binding.validation.support;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.binding.form.FormModel;
 import org.springframework.binding.form.support.FormModelPropertyAccessStrategy;
+import org.springframework.binding.form.support.FormModelSnapshot;
 import org.springframework.binding.validation.RichValidator;
+import org.springframework.binding.validation.SnapshotValidator;
 import org.springframework.binding.validation.ValidationMessage;
 import org.springframework.binding.validation.ValidationResults;
 import org.springframework.richclient.application.ApplicationServicesLocator;
@@ -54,10 +58,16 @@ import org.springframework.rules.reporting.PropertyResults;
  * accordingly and return <em>all</em> validation results of the object.
  * </p>
  *
+ * <p>
+ * The values are read from the form model, or from a {@link FormModelSnapshot}
+ * when validating a snapshot on a background thread. The validator must not be
+ * used by several threads at the same time.
+ * </p>
+ *
  * @author Keith Donald
  * @author Jan Hoskens
  */
-public class RulesValidator implements RichValidator, ObjectNameResolver {
+public class RulesValidator implements SnapshotValidator, ObjectNameResolver {
 
 	private static final Log logger = LogFactory.getLog(RulesValidator.class);
 
@@ -77,6 +87,9 @@ public class RulesValidator implements RichValidator, ObjectNameResolver {
 
 	private Class objectClass;
 
+	/** The snapshot being validated, if any. */
+	private FormModelSnapshot snapshot;
+
 	/**
 	 * Creates a RulesValidator for the given formModel. When no RulesSource is
 	 * given, a default/global RulesSource is retrieved by the ApplicationServices
@@ -128,7 +141,7 @@ public class RulesValidator implements RichValidator, ObjectNameResolver {
 				PropertyConstraint validationRule = propertyConstraintProvider.getPropertyConstraint(propertyName);
 				checkRule(validationRule);
 			} else {
-				for (Iterator fieldNamesIter = formModel.getFieldNames().iterator(); fieldNamesIter.hasNext();) {
+				for (Iterator fieldNamesIter = getFieldNames().iterator(); fieldNamesIter.hasNext();) {
 					PropertyConstraint validationRule = propertyConstraintProvider
 							.getPropertyConstraint((String) fieldNamesIter.next());
 					checkRule(validationRule);
@@ -138,14 +151,16 @@ public class RulesValidator implements RichValidator, ObjectNameResolver {
 			if (getRulesSource() != null) {
 				rules = getRulesSource().getRules(objectClass, getRulesContextId());
 				if (rules != null) {
-					for (Iterator i = rules.iterator(); i.hasNext();) {
-						PropertyConstraint validationRule = (PropertyConstraint) i.next();
-						if (propertyName == null) {
-							if (formModel.hasValueModel(validationRule.getPropertyName())) {
+					if (propertyName == null) {
+						for (Iterator i = rules.iterator(); i.hasNext();) {
+							PropertyConstraint validationRule = (PropertyConstraint) i.next();
+							if (hasField(validationRule.getPropertyName())) {
 								checkRule(validationRule);
 							}
-						} else if (validationRule.isDependentOn(propertyName)) {
-							checkRule(validationRule);
+						}
+					} else {
+						for (Iterator i = rules.getDependentConstraints(propertyName).iterator(); i.hasNext();) {
+							checkRule((PropertyConstraint) i.next());
 						}
 					}
 				}
@@ -157,6 +172,70 @@ public class RulesValidator implements RichValidator, ObjectNameResolver {
 		return results;
 	}
 
+	/**
+	 * Validates the values of the snapshot instead of the values of the form
+	 * model.
+	 */
+	@Override
+	public ValidationResults validateSnapshot(FormModelSnapshot snapshot, String propertyName) {
+		this.snapshot = snapshot;
+		try {
+			return validate(snapshot.getDomainObject(), propertyName);
+		} finally {
+			this.snapshot = null;
+		}
+	}
+
+	/**
+	 * Returns the validated properties and the fields the constraints of these
+	 * properties depend on.
+	 */
+	@Override
+	public Set getSnapshotProperties(Set properties) {
+		if (properties == null) {
+			return null;
+		}
+		Object formObject = formModel.getFormObject();
+		Set fieldNames = formModel.getFieldNames();
+		Set snapshotProperties = new HashSet(properties);
+		for (Iterator i = properties.iterator(); i.hasNext();) {
+			String propertyName = (String) i.next();
+			if (formObject instanceof PropertyConstraintProvider) {
+				addReadProperties(((PropertyConstraintProvider) formObject).getPropertyConstraint(propertyName),
+						fieldNames, snapshotProperties);
+			} else if (getRulesSource() != null) {
+				Rules rules = getRulesSource().getRules(formObject.getClass(), getRulesContextId());
+				if (rules != null) {
+					for (Iterator j = rules.getDependentConstraints(propertyName).iterator(); j.hasNext();) {
+						addReadProperties((PropertyConstraint) j.next(), fieldNames, snapshotProperties);
+					}
+				}
+			}
+		}
+		return snapshotProperties;
+	}
+
+	private void addReadProperties(PropertyConstraint constraint, Set fieldNames, Set readProperties) {
+		if (constraint == null) {
+			return;
+		}
+		readProperties.add(constraint.getPropertyName());
+		for (Iterator i = fieldNames.iterator(); i.hasNext();) {
+			String fieldName = (String) i.next();
+			if (constraint.isDependentOn(fieldName)) {
+				readProperties.add(fieldName);
+			}
+		}
+	}
+
+	private Set getFieldNames() {
+		return snapshot != null ? snapshot.getFieldNames() : formModel.getFieldNames();
+	}
+
+	private boolean hasField(String propertyName) {
+		return snapshot != null ? snapshot.hasField(propertyName) : formModel.hasValueModel(propertyName);
+	}
+
 	private void checkRule(PropertyConstraint validationRule) {
 		if (validationRule == null) {
 			return;
@@ -198,6 +277,9 @@ public class RulesValidator implements RichValidator, ObjectNameResolver {
 	}
 
 	private BeanValidationResultsCollector takeResultsCollector() {
+		if (snapshot != null) {
+			return new BeanValidationResultsCollector(snapshot);
+		}
 		BeanValidationResultsCollector resultsCollector = validationResultsCollector;
 		if (resultsCollector != null) {
 			validationResultsCollector = null;
@@ -208,7 +290,9 @@ public class RulesValidator implements RichValidator, ObjectNameResolver {
 	}
 
 	private void returnResultsCollector(BeanValidationResultsCollector resultsCollector) {
-		validationResultsCollector = resultsCollector;
+		if (snapshot == null) {
+			validationResultsCollector = resultsCollector;
+		}
 	}
 
 	/**
@@ -234,6 +318,9 @@ public class RulesValidator implements RichValidator, ObjectNameResolver {
 	 */
 	@Override
 	public String resolveObjectName(String objectName) {
+		if (snapshot != null) {
+			return snapshot.getDisplayName(objectName);
+		}
 		return formModel.getFieldFace(objectName).getDisplayName();
 	}
 
@@ -1,7 +1,6 @@
 package org.springframework.binding.value.support;
 
 import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
 import java.beans.PropertyVetoException;
 import java.beans.VetoableChangeListener;
 import java.beans.VetoableChangeSupport;
@@ -13,10 +12,13 @@ import org.springframework.util.ObjectUtils;
 
 /**
  * Base implementation of the {@link PropertyChangePublisher} interface
- * providing basic listener support.
+ * providing basic listener support. The listener support is only created when
+ * the first listener is added, see {@link PropertyChangeSupport}.
  */
 public abstract class AbstractPropertyChangePublisher implements PropertyChangePublisher {
 
+	private static final PropertyChangeListener[] NO_LISTENERS = new PropertyChangeListener[0];
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private transient PropertyChangeSupport changeSupport;
@@ -97,18 +99,32 @@ public abstract class AbstractPropertyChangePublisher implements PropertyChangeP
 
 	public final PropertyChangeListener[] getPropertyChangeListeners() {
 		if (changeSupport == null) {
-			return new PropertyChangeListener[0];
+			return NO_LISTENERS;
 		}
 		return changeSupport.getPropertyChangeListeners();
 	}
 
 	public final PropertyChangeListener[] getPropertyChangeListeners(String propertyName) {
 		if (changeSupport == null) {
-			return new PropertyChangeListener[0];
+			return NO_LISTENERS;
 		}
 		return changeSupport.getPropertyChangeListeners(propertyName);
 	}
 
+	/**
+	 * Returns the listeners of the named property without copying them, the
+	 * returned array must not be modified.
+	 *
+	 * @see PropertyChangeSupport#getListenerList(String)
+	 */
+	protected final PropertyChangeListener[] getPropertyChangeListenerList(String propertyName) {
+		PropertyChangeSupport aChangeSupport = this.changeSupport;
+		if (aChangeSupport == null) {
+			return NO_LISTENERS;
+		}
+		return aChangeSupport.getListenerList(propertyName);
+	}
+
 	public final VetoableChangeListener[] getVetoableChangeListeners() {
 		if (vetoSupport == null) {
 			return new VetoableChangeListener[0];
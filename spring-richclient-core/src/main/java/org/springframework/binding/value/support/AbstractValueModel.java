@@ -158,7 +158,7 @@ public abstract class AbstractValueModel extends AbstractPropertyChangePublisher
 		if (logger.isDebugEnabled()) {
 			logger.debug("Firing value changed event. Old value='" + oldValue + "' new value='" + newValue + "'");
 		}
-		final PropertyChangeListener[] propertyChangeListeners = getPropertyChangeListeners(VALUE_PROPERTY);
+		final PropertyChangeListener[] propertyChangeListeners = getPropertyChangeListenerList(VALUE_PROPERTY);
 		if (propertyChangeListeners.length > 0) {
 			final Object listenerToSkip = listenerToSkipHolder.get();
 			final PropertyChangeEvent propertyChangeEvent = new PropertyChangeEvent(this, VALUE_PROPERTY, oldValue,
@@ -14,29 +14,33 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
-
-import javax.swing.event.EventListenerList;
-
-import org.springframework.util.ObjectUtils;
 
 /**
  * Convenience class that provides propertyChange support. Listeners can be
  * (un)registered on specific properties while firing of
  * {@link PropertyChangeEvent}s is eased.
+ * <p>
+ * Value models are the most numerous objects of a form, so the listeners are
+ * kept in copy-on-write arrays instead of maps and listener lists: a support
+ * without listeners only holds its source, and firing an event to a property
+ * without listeners doesn't create the event. Property names are interned when
+ * a listener is added, so looking up the listeners of a property named by a
+ * constant is an identity check.
  */
 public final class PropertyChangeSupport implements Serializable {
 
+	private static final PropertyChangeListener[] NO_LISTENERS = new PropertyChangeListener[0];
+
+	private static final Object[] NO_NAMED_LISTENERS = new Object[0];
+
 	/** Lists all the generic listeners. */
-	transient private EventListenerList listeners;
+	transient private volatile PropertyChangeListener[] listeners = NO_LISTENERS;
 
-	/** Contains SwingPropertyChangeSupports for individual properties. */
-	private Map children;
+	/**
+	 * Pairs of interned property names and the array of listeners registered for
+	 * that property.
+	 */
+	transient private volatile Object[] namedListeners = NO_NAMED_LISTENERS;
 
 	/** Source of the events. */
 	private Object source;
@@ -62,15 +66,15 @@ public final class PropertyChangeSupport implements Serializable {
 	 *
 	 * @param listener The PropertyChangeListener to be added
 	 */
-	public void addPropertyChangeListener(PropertyChangeListener listener) {
+	public synchronized void addPropertyChangeListener(PropertyChangeListener listener) {
+		if (listener == null) {
+			return;
+		}
 		if (listener instanceof PropertyChangeListenerProxy) {
 			PropertyChangeListenerProxy proxy = (PropertyChangeListenerProxy) listener;
 			addPropertyChangeListener(proxy.getPropertyName(), proxy.getListener());
 		} else {
-			if (listeners == null) {
-				listeners = new EventListenerList();
-			}
-			listeners.add(PropertyChangeListener.class, listener);
+			listeners = add(listeners, listener);
 		}
 	}
 
@@ -80,15 +84,15 @@ public final class PropertyChangeSupport implements Serializable {
 	 *
 	 * @param listener The PropertyChangeListener to be removed
 	 */
-	public void removePropertyChangeListener(PropertyChangeListener listener) {
+	public synchronized void removePropertyChangeListener(PropertyChangeListener listener) {
+		if (listener == null) {
+			return;
+		}
 		if (listener instanceof PropertyChangeListenerProxy) {
 			PropertyChangeListenerProxy proxy = (PropertyChangeListenerProxy) listener;
 			removePropertyChangeListener(proxy.getPropertyName(), proxy.getListener());
 		} else {
-			if (listeners == null) {
-				return;
-			}
-			listeners.remove(PropertyChangeListener.class, listener);
+			listeners = remove(listeners, listener);
 		}
 	}
 
@@ -123,26 +127,23 @@ public final class PropertyChangeSupport implements Serializable {
 	 * @since 1.4
 	 */
 	public PropertyChangeListener[] getPropertyChangeListeners() {
-		List returnList = new ArrayList();
-
-		// Add all the PropertyChangeListeners
-		if (listeners != null) {
-			returnList.addAll(Arrays.asList(listeners.getListeners(PropertyChangeListener.class)));
+		PropertyChangeListener[] generic = listeners;
+		Object[] named = namedListeners;
+		int count = generic.length;
+		for (int i = 1; i < named.length; i += 2) {
+			count += ((PropertyChangeListener[]) named[i]).length;
 		}
-
-		// Add all the PropertyChangeListenerProxys
-		if (children != null) {
-			Iterator iterator = children.keySet().iterator();
-			while (iterator.hasNext()) {
-				String key = (String) iterator.next();
-				PropertyChangeSupport child = (PropertyChangeSupport) children.get(key);
-				PropertyChangeListener[] childListeners = child.getPropertyChangeListeners();
-				for (int index = childListeners.length - 1; index >= 0; index--) {
-					returnList.add(new PropertyChangeListenerProxy(key, childListeners[index]));
-				}
+		PropertyChangeListener[] result = new PropertyChangeListener[count];
+		System.arraycopy(generic, 0, result, 0, generic.length);
+		int index = generic.length;
+		for (int i = 0; i < named.length; i += 2) {
+			String propertyName = (String) named[i];
+			PropertyChangeListener[] propertyListeners = (PropertyChangeListener[]) named[i + 1];
+			for (int j = propertyListeners.length - 1; j >= 0; j--) {
+				result[index++] = new PropertyChangeListenerProxy(propertyName, propertyListeners[j]);
 			}
 		}
-		return (PropertyChangeListener[]) returnList.toArray(new PropertyChangeListener[returnList.size()]);
+		return result;
 	}
 
 	/**
@@ -152,16 +153,23 @@ public final class PropertyChangeSupport implements Serializable {
 	 * @param propertyName The name of the property to listen on.
 	 * @param listener     The PropertyChangeListener to be added
 	 */
-	public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener) {
-		if (children == null) {
-			children = new HashMap();
+	public synchronized void addPropertyChangeListener(String propertyName, PropertyChangeListener listener) {
+		if (listener == null || propertyName == null) {
+			return;
 		}
-		PropertyChangeSupport child = (PropertyChangeSupport) children.get(propertyName);
-		if (child == null) {
-			child = new PropertyChangeSupport(source);
-			children.put(propertyName, child);
+		Object[] named = namedListeners;
+		int index = indexOf(named, propertyName);
+		if (index < 0) {
+			Object[] newNamed = new Object[named.length + 2];
+			System.arraycopy(named, 0, newNamed, 0, named.length);
+			newNamed[named.length] = propertyName.intern();
+			newNamed[named.length + 1] = new PropertyChangeListener[] { listener };
+			namedListeners = newNamed;
+		} else {
+			Object[] newNamed = (Object[]) named.clone();
+			newNamed[index + 1] = add((PropertyChangeListener[]) named[index + 1], listener);
+			namedListeners = newNamed;
 		}
-		child.addPropertyChangeListener(listener);
 	}
 
 	/**
@@ -170,15 +178,28 @@ public final class PropertyChangeSupport implements Serializable {
 	 * @param propertyName The name of the property that was listened on.
 	 * @param listener     The PropertyChangeListener to be removed
 	 */
-	public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener) {
-		if (children == null) {
+	public synchronized void removePropertyChangeListener(String propertyName, PropertyChangeListener listener) {
+		if (listener == null || propertyName == null) {
 			return;
 		}
-		PropertyChangeSupport child = (PropertyChangeSupport) children.get(propertyName);
-		if (child == null) {
+		Object[] named = namedListeners;
+		int index = indexOf(named, propertyName);
+		if (index < 0) {
 			return;
 		}
-		child.removePropertyChangeListener(listener);
+		PropertyChangeListener[] propertyListeners = remove((PropertyChangeListener[]) named[index + 1], listener);
+		if (propertyListeners.length > 0) {
+			Object[] newNamed = (Object[]) named.clone();
+			newNamed[index + 1] = propertyListeners;
+			namedListeners = newNamed;
+		} else if (named.length == 2) {
+			namedListeners = NO_NAMED_LISTENERS;
+		} else {
+			Object[] newNamed = new Object[named.length - 2];
+			System.arraycopy(named, 0, newNamed, 0, index);
+			System.arraycopy(named, index + 2, newNamed, index, named.length - index - 2);
+			namedListeners = newNamed;
+		}
 	}
 
 	/**
@@ -189,27 +210,74 @@ public final class PropertyChangeSupport implements Serializable {
 	 *         named property or an empty array if no listeners have been added
 	 */
 	public PropertyChangeListener[] getPropertyChangeListeners(String propertyName) {
-		List returnList = new ArrayList();
+		PropertyChangeListener[] propertyListeners = getListenerList(propertyName);
+		return propertyListeners.length == 0 ? NO_LISTENERS
+				: (PropertyChangeListener[]) propertyListeners.clone();
+	}
 
-		if (children != null) {
-			PropertyChangeSupport support = (PropertyChangeSupport) children.get(propertyName);
-			if (support != null) {
-				returnList.addAll(Arrays.asList(support.getPropertyChangeListeners()));
-			}
+	/**
+	 * Returns the listeners which have been associated with the named property
+	 * without copying them. The returned array must not be modified; it is
+	 * replaced, not changed, when listeners are added or removed, so it can safely
+	 * be iterated while listeners are notified.
+	 *
+	 * @return the listeners of the named property or an empty array
+	 */
+	public PropertyChangeListener[] getListenerList(String propertyName) {
+		if (propertyName == null) {
+			return NO_LISTENERS;
 		}
-		return (PropertyChangeListener[]) (returnList.toArray(new PropertyChangeListener[0]));
+		Object[] named = namedListeners;
+		int index = indexOf(named, propertyName);
+		return index < 0 ? NO_LISTENERS : (PropertyChangeListener[]) named[index + 1];
 	}
 
 	/**
 	 * Report a bound property update to any registered listeners. No event is fired
-	 * if old and new are equal and non-null.
+	 * if old and new are equal and non-null, or if there are no listeners for the
+	 * property.
 	 *
 	 * @param propertyName The programmatic name of the property that was changed.
 	 * @param oldValue     The old value of the property.
 	 * @param newValue     The new value of the property.
 	 */
 	public void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
-		firePropertyChange(new PropertyChangeEvent(source, propertyName, oldValue, newValue));
+		if (oldValue != null && oldValue.equals(newValue)) {
+			return;
+		}
+		PropertyChangeListener[] generic = listeners;
+		PropertyChangeListener[] propertyListeners = getListenerList(propertyName);
+		if (generic.length > 0 || propertyListeners.length > 0) {
+			fire(generic, propertyListeners, new PropertyChangeEvent(source, propertyName, oldValue, newValue));
+		}
+	}
+
+	/**
+	 * Report a boolean bound property update to any registered listeners. No event
+	 * is fired if old and new are equal.
+	 *
+	 * @param propertyName The programmatic name of the property that was changed.
+	 * @param oldValue     The old value of the property.
+	 * @param newValue     The new value of the property.
+	 */
+	public void firePropertyChange(String propertyName, boolean oldValue, boolean newValue) {
+		if (oldValue != newValue) {
+			firePropertyChange(propertyName, Boolean.valueOf(oldValue), Boolean.valueOf(newValue));
+		}
+	}
+
+	/**
+	 * Report an int bound property update to any registered listeners. No event is
+	 * fired if old and new are equal.
+	 *
+	 * @param propertyName The programmatic name of the property that was changed.
+	 * @param oldValue     The old value of the property.
+	 * @param newValue     The new value of the property.
+	 */
+	public void firePropertyChange(String propertyName, int oldValue, int newValue) {
+		if (oldValue != newValue) {
+			firePropertyChange(propertyName, Integer.valueOf(oldValue), Integer.valueOf(newValue));
+		}
 	}
 
 	/**
@@ -220,30 +288,19 @@ public final class PropertyChangeSupport implements Serializable {
 	 */
 	public void firePropertyChange(PropertyChangeEvent evt) {
 		Object oldValue = evt.getOldValue();
-		Object newValue = evt.getNewValue();
-		if (ObjectUtils.nullSafeEquals(oldValue, newValue)) {
+		if (oldValue != null && oldValue.equals(evt.getNewValue())) {
 			return;
 		}
+		fire(listeners, getListenerList(evt.getPropertyName()), evt);
+	}
 
-		String propertyName = evt.getPropertyName();
-		PropertyChangeSupport child = null;
-		if (children != null) {
-			if (children != null && propertyName != null) {
-				child = (PropertyChangeSupport) children.get(propertyName);
-			}
+	private static void fire(PropertyChangeListener[] generic, PropertyChangeListener[] propertyListeners,
+			PropertyChangeEvent evt) {
+		for (int i = 0; i < generic.length; i++) {
+			generic[i].propertyChange(evt);
 		}
-
-		if (listeners != null) {
-			Object[] listenerList = listeners.getListenerList();
-			for (int i = 0; i <= listenerList.length - 2; i += 2) {
-				if (listenerList[i] == PropertyChangeListener.class) {
-					((PropertyChangeListener) listenerList[i + 1]).propertyChange(evt);
-				}
-			}
-		}
-
-		if (child != null) {
-			child.firePropertyChange(evt);
+		for (int i = 0; i < propertyListeners.length; i++) {
+			propertyListeners[i].propertyChange(evt);
 		}
 	}
 
@@ -254,42 +311,88 @@ public final class PropertyChangeSupport implements Serializable {
 	 * @return true if there are ore or more listeners for the given property
 	 */
 	public boolean hasListeners(String propertyName) {
-		if (listeners != null && listeners.getListenerCount(PropertyChangeListener.class) > 0) {
-			// there is a generic listener
-			return true;
+		return listeners.length > 0 || getListenerList(propertyName).length > 0;
+	}
+
+	private static int indexOf(Object[] named, String propertyName) {
+		// names are interned, so constants are found by identity
+		for (int i = 0; i < named.length; i += 2) {
+			if (named[i] == propertyName) {
+				return i;
+			}
 		}
-		if (children != null) {
-			PropertyChangeSupport child = (PropertyChangeSupport) children.get(propertyName);
-			if (child != null) {
-				// The child will always have a listeners ArrayList.
-				return child.hasListeners(propertyName);
+		for (int i = 0; i < named.length; i += 2) {
+			if (named[i].equals(propertyName)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static PropertyChangeListener[] add(PropertyChangeListener[] array, PropertyChangeListener listener) {
+		PropertyChangeListener[] newArray = new PropertyChangeListener[array.length + 1];
+		System.arraycopy(array, 0, newArray, 0, array.length);
+		newArray[array.length] = listener;
+		return newArray;
+	}
+
+	private static PropertyChangeListener[] remove(PropertyChangeListener[] array, PropertyChangeListener listener) {
+		// like EventListenerList, remove the last registration of the listener
+		for (int i = array.length - 1; i >= 0; i--) {
+			if (array[i] == listener) {
+				if (array.length == 1) {
+					return NO_LISTENERS;
+				}
+				PropertyChangeListener[] newArray = new PropertyChangeListener[array.length - 1];
+				System.arraycopy(array, 0, newArray, 0, i);
+				System.arraycopy(array, i + 1, newArray, i, array.length - i - 1);
+				return newArray;
 			}
 		}
-		return false;
+		return array;
 	}
 
 	private void writeObject(ObjectOutputStream s) throws IOException {
 		s.defaultWriteObject();
 
-		if (listeners != null) {
-			Object[] listenerList = listeners.getListenerList();
-			for (int i = 0; i <= listenerList.length - 2; i += 2) {
-				if (listenerList[i] == PropertyChangeListener.class
-						&& (PropertyChangeListener) listenerList[i + 1] instanceof Serializable) {
-					s.writeObject(listenerList[i + 1]);
+		PropertyChangeListener[] generic = listeners;
+		for (int i = 0; i < generic.length; i++) {
+			if (generic[i] instanceof Serializable) {
+				s.writeObject(null);
+				s.writeObject(generic[i]);
+			}
+		}
+		Object[] named = namedListeners;
+		for (int i = 0; i < named.length; i += 2) {
+			PropertyChangeListener[] propertyListeners = (PropertyChangeListener[]) named[i + 1];
+			for (int j = 0; j < propertyListeners.length; j++) {
+				if (propertyListeners[j] instanceof Serializable) {
+					s.writeObject(named[i]);
+					s.writeObject(propertyListeners[j]);
 				}
 			}
 		}
 		s.writeObject(null);
+		s.writeObject(null);
 	}
 
 	private void readObject(ObjectInputStream s) throws ClassNotFoundException, IOException {
 		s.defaultReadObject();
 
-		Object listenerOrNull;
-		while (null != (listenerOrNull = s.readObject())) {
-			addPropertyChangeListener((PropertyChangeListener) listenerOrNull);
+		listeners = NO_LISTENERS;
+		namedListeners = NO_NAMED_LISTENERS;
+		while (true) {
+			String propertyName = (String) s.readObject();
+			PropertyChangeListener listener = (PropertyChangeListener) s.readObject();
+			if (listener == null) {
+				break;
+			}
+			if (propertyName == null) {
+				addPropertyChangeListener(listener);
+			} else {
+				addPropertyChangeListener(propertyName, listener);
+			}
 		}
 	}
 
-}
\ No newline at end of file
+}
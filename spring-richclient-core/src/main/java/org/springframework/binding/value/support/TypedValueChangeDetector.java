@@ -0,0 +1,245 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.binding.value.support;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.binding.value.ValueChangeDetector;
+import org.springframework.util.Assert;
+
+/**
+ * ValueChangeDetector choosing how to compare values by the class of the old
+ * value. The detector for a class is looked up once, in the registered
+ * detectors for the class, its superclasses and its interfaces, and then cached
+ * by class.
+ * <p>
+ * By default immutable values like numbers, strings and dates are compared with
+ * <code>equals</code>, <code>BigDecimal</code>s regardless of their scale,
+ * arrays and lists element by element and sets by size, hash code and
+ * <code>equals</code>. All other values are compared by identity, like
+ * {@link DefaultValueChangeDetector} does. Elements of arrays and lists are
+ * compared with this detector. Elements of sets are compared with their own
+ * <code>equals</code>, as a set can only match its elements by their
+ * <code>equals</code> and <code>hashCode</code>; so two sets holding equal
+ * copies of a mutable element are the same value, while two such lists are
+ * not.
+ * <p>
+ * Unlike the {@link DefaultValueChangeDetector}, setting an equal copy of a
+ * list or array is not a change. Bindings that keep a reference to the
+ * collection of a value model won't see the new instance, so only register this
+ * detector, see
+ * {@link org.springframework.richclient.application.support.DefaultApplicationServices#setValueChangeDetector(ValueChangeDetector)},
+ * if collections are replaced rather than changed in place.
+ */
+public class TypedValueChangeDetector implements ValueChangeDetector {
+
+	/**
+	 * Compares values with <code>equals</code>.
+	 */
+	public static final ValueChangeDetector EQUALS = new EqualsValueChangeDetector();
+
+	/**
+	 * Compares values by identity.
+	 */
+	public static final ValueChangeDetector IDENTITY = new ValueChangeDetector() {
+		@Override
+		public boolean hasValueChanged(Object oldValue, Object newValue) {
+			return oldValue != newValue;
+		}
+	};
+
+	/**
+	 * Compares <code>BigDecimal</code>s with <code>compareTo</code>, so
+	 * <code>1.0</code> and <code>1.00</code> are the same value.
+	 */
+	public static final ValueChangeDetector BIG_DECIMAL = new ValueChangeDetector() {
+		@Override
+		public boolean hasValueChanged(Object oldValue, Object newValue) {
+			if (oldValue instanceof BigDecimal && newValue instanceof BigDecimal) {
+				return ((BigDecimal) oldValue).compareTo((BigDecimal) newValue) != 0;
+			}
+			return EQUALS.hasValueChanged(oldValue, newValue);
+		}
+	};
+
+	private final Map<Class<?>, ValueChangeDetector> detectors = new LinkedHashMap<Class<?>, ValueChangeDetector>();
+
+	private final Map<Class<?>, ValueChangeDetector> resolvedDetectors = new ConcurrentHashMap<Class<?>, ValueChangeDetector>();
+
+	private final ValueChangeDetector arrayDetector = new ValueChangeDetector() {
+		@Override
+		public boolean hasValueChanged(Object oldValue, Object newValue) {
+			if (newValue == null || oldValue.getClass() != newValue.getClass()) {
+				return true;
+			}
+			int length = Array.getLength(oldValue);
+			if (length != Array.getLength(newValue)) {
+				return true;
+			}
+			if (oldValue instanceof Object[]) {
+				Object[] oldArray = (Object[]) oldValue;
+				Object[] newArray = (Object[]) newValue;
+				for (int i = 0; i < length; i++) {
+					if (TypedValueChangeDetector.this.hasValueChanged(oldArray[i], newArray[i])) {
+						return true;
+					}
+				}
+				return false;
+			}
+			for (int i = 0; i < length; i++) {
+				if (!Array.get(oldValue, i).equals(Array.get(newValue, i))) {
+					return true;
+				}
+			}
+			return false;
+		}
+	};
+
+	private final ValueChangeDetector listDetector = new ValueChangeDetector() {
+		@Override
+		public boolean hasValueChanged(Object oldValue, Object newValue) {
+			if (!(newValue instanceof List)) {
+				return true;
+			}
+			List oldList = (List) oldValue;
+			List newList = (List) newValue;
+			int size = oldList.size();
+			if (size != newList.size()) {
+				return true;
+			}
+			if (oldList instanceof RandomAccess && newList instanceof RandomAccess) {
+				for (int i = 0; i < size; i++) {
+					if (TypedValueChangeDetector.this.hasValueChanged(oldList.get(i), newList.get(i))) {
+						return true;
+					}
+				}
+				return false;
+			}
+			for (Iterator i = oldList.iterator(), j = newList.iterator(); i.hasNext();) {
+				if (TypedValueChangeDetector.this.hasValueChanged(i.next(), j.next())) {
+					return true;
+				}
+			}
+			return false;
+		}
+	};
+
+	/**
+	 * Compares sets with <code>equals</code>, so unlike list elements the
+	 * elements are compared with their own <code>equals</code>.
+	 */
+	private final ValueChangeDetector setDetector = new ValueChangeDetector() {
+		@Override
+		public boolean hasValueChanged(Object oldValue, Object newValue) {
+			if (!(newValue instanceof Set)) {
+				return true;
+			}
+			Set oldSet = (Set) oldValue;
+			Set newSet = (Set) newValue;
+			return oldSet.size() != newSet.size() || oldSet.hashCode() != newSet.hashCode() || !oldSet.equals(newSet);
+		}
+	};
+
+	public TypedValueChangeDetector() {
+		Class<?>[] classesWithSafeEquals = new Class<?>[] { Boolean.class, Byte.class, Short.class, Integer.class,
+				Long.class, Float.class, Double.class, String.class, Character.class, BigInteger.class, Date.class,
+				Calendar.class };
+		for (int i = 0; i < classesWithSafeEquals.length; i++) {
+			detectors.put(classesWithSafeEquals[i], EQUALS);
+		}
+		detectors.put(BigDecimal.class, BIG_DECIMAL);
+		detectors.put(List.class, listDetector);
+		detectors.put(Set.class, setDetector);
+	}
+
+	/**
+	 * Registers the detector to use for values of the given class, its subclasses
+	 * and, for an interface, its implementations. A detector registered for a
+	 * class is preferred to one registered for a superclass or interface.
+	 */
+	public synchronized void registerDetector(Class<?> type, ValueChangeDetector detector) {
+		Assert.notNull(type, "type must not be null");
+		Assert.notNull(detector, "detector must not be null");
+		detectors.put(type, detector);
+		resolvedDetectors.clear();
+	}
+
+	@Override
+	public boolean hasValueChanged(Object oldValue, Object newValue) {
+		if (oldValue == newValue) {
+			return false;
+		}
+		if (oldValue == null || newValue == null) {
+			return true;
+		}
+		return getDetector(oldValue.getClass()).hasValueChanged(oldValue, newValue);
+	}
+
+	/**
+	 * Returns the detector used for values of the given class.
+	 */
+	public ValueChangeDetector getDetector(Class<?> type) {
+		ValueChangeDetector detector = resolvedDetectors.get(type);
+		if (detector == null) {
+			detector = resolveAndCacheDetector(type);
+		}
+		return detector;
+	}
+
+	/**
+	 * Resolves and caches the detector while holding the lock of
+	 * {@link #registerDetector(Class, ValueChangeDetector)}, so a detector
+	 * resolved before a registration is never cached after it.
+	 */
+	private synchronized ValueChangeDetector resolveAndCacheDetector(Class<?> type) {
+		ValueChangeDetector detector = resolvedDetectors.get(type);
+		if (detector == null) {
+			detector = resolveDetector(type);
+			resolvedDetectors.put(type, detector);
+		}
+		return detector;
+	}
+
+	private ValueChangeDetector resolveDetector(Class<?> type) {
+		if (type.isArray()) {
+			ValueChangeDetector detector = detectors.get(type);
+			return detector != null ? detector : arrayDetector;
+		}
+		for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+			ValueChangeDetector detector = detectors.get(c);
+			if (detector != null) {
+				return detector;
+			}
+		}
+		for (Map.Entry<Class<?>, ValueChangeDetector> entry : detectors.entrySet()) {
+			if (entry.getKey().isInterface() && entry.getKey().isAssignableFrom(type)) {
+				return entry.getValue();
+			}
+		}
+		return IDENTITY;
+	}
+}
@@ -16,6 +16,19 @@
 package org.springframework.richclient.application;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.SwingUtilities;
 
@@ -57,6 +70,15 @@ import org.springframework.util.StringUtils;
  * for displaying a splash screen.
  * </p>
  *
+ * <p>
+ * The application is started in phases: the main application context is
+ * loaded, the {@link StartupTask} beans in it are executed in parallel on a
+ * pool of worker threads and finally the application is started on the event
+ * dispatch thread. The progress of each phase and its duration are reported to
+ * the progress monitor of a {@link MonitoringSplashScreen}, the durations are
+ * also available through {@link #getPhaseTimes()}.
+ * </p>
+ *
  * @author Keith Donald
  * @see Application
  */
@@ -73,6 +95,31 @@ public class ApplicationLauncher {
 	 */
 	public static final String APPLICATION_BEAN_ID = "application";
 
+	/**
+	 * The message key of the name of the phase that loads the main application
+	 * context. {@value}
+	 */
+	public static final String CONTEXT_PHASE_KEY = "progress.startup.context";
+
+	/**
+	 * The message key of the name of the phase that executes the startup tasks.
+	 * {@value}
+	 */
+	public static final String STARTUP_TASKS_PHASE_KEY = "progress.startup.tasks";
+
+	/**
+	 * The message key of the name of the phase that starts the application on
+	 * the event dispatch thread. {@value}
+	 */
+	public static final String APPLICATION_PHASE_KEY = "progress.startup.application";
+
+	/**
+	 * The message key of the message reporting the duration of a phase, with
+	 * the name of the phase and its duration in milliseconds as arguments.
+	 * {@value}
+	 */
+	public static final String PHASE_FINISHED_KEY = "progress.startup.phaseFinished";
+
 	private final Log logger = LogFactory.getLog(getClass());
 
 	private ApplicationContext startupContext;
@@ -81,6 +128,8 @@ public class ApplicationLauncher {
 
 	private ApplicationContext rootApplicationContext;
 
+	private final Map phaseTimes = new LinkedHashMap();
+
 	/**
 	 * Launches the application defined by the Spring application context file at
 	 * the provided classpath-relative location.
@@ -155,7 +204,9 @@ public class ApplicationLauncher {
 			displaySplashScreen(startupContext);
 		}
 		try {
+			long start = System.nanoTime();
 			setRootApplicationContext(loadRootApplicationContext(rootContextConfigLocations, startupContext));
+			phaseFinished(CONTEXT_PHASE_KEY, "Loading application context", start);
 			launchMyRichClient();
 		} finally {
 			destroySplashScreen();
@@ -248,6 +299,17 @@ public class ApplicationLauncher {
 		return applicationContext;
 	}
 
+	/**
+	 * Returns the duration of each startup phase, in the order they were
+	 * executed.
+	 *
+	 * @return map of phase message keys, such as {@link #CONTEXT_PHASE_KEY}, to
+	 *         durations in milliseconds
+	 */
+	public Map getPhaseTimes() {
+		return Collections.unmodifiableMap(phaseTimes);
+	}
+
 	private void setRootApplicationContext(ApplicationContext context) {
 		org.springframework.util.Assert.notNull(context, "The root rich client application context is required");
 		this.rootApplicationContext = context;
@@ -277,6 +339,10 @@ public class ApplicationLauncher {
 					+ Application.class.getName() + " must be defined in the main application context", e);
 		}
 
+		executeStartupTasks();
+
+		long start = System.nanoTime();
+		reportPhaseStarted(APPLICATION_PHASE_KEY, "Starting application", 0);
 		try {
 			// To avoid deadlocks when events fire during initialization of some swing
 			// components
@@ -294,11 +360,119 @@ public class ApplicationLauncher {
 			Throwable cause = e.getCause();
 			throw new IllegalStateException("Application start thrown an exception: " + cause.getMessage(), cause);
 		}
+		phaseFinished(APPLICATION_PHASE_KEY, "Starting application", start);
 
+		if (logger.isInfoEnabled()) {
+			logger.info("Application started, startup phases (ms): " + phaseTimes);
+		}
 		logger.debug("Launcher thread exiting...");
 
 	}
 
+	/**
+	 * Executes the {@link StartupTask}s of the main application context in
+	 * parallel and waits until all of them are finished.
+	 *
+	 * @throws IllegalStateException if a startup task failed.
+	 */
+	private void executeStartupTasks() {
+		Map startupTasks = rootApplicationContext.getBeansOfType(StartupTask.class);
+		if (startupTasks.isEmpty()) {
+			return;
+		}
+		long start = System.nanoTime();
+		final ProgressMonitor progressMonitor = reportPhaseStarted(STARTUP_TASKS_PHASE_KEY, "Initializing services",
+				startupTasks.size());
+		// at least two threads, startup tasks often wait for remote services
+		int threads = Math.min(startupTasks.size(), Math.max(2, Runtime.getRuntime().availableProcessors()));
+		ExecutorService executor = Executors.newFixedThreadPool(threads, new StartupThreadFactory());
+		try {
+			CompletionService completionService = new ExecutorCompletionService(executor);
+			for (Iterator iter = startupTasks.entrySet().iterator(); iter.hasNext();) {
+				Map.Entry entry = (Map.Entry) iter.next();
+				final String beanName = (String) entry.getKey();
+				final StartupTask task = (StartupTask) entry.getValue();
+				completionService.submit(new Callable() {
+					@Override
+					public Object call() throws Exception {
+						long taskStart = System.nanoTime();
+						try {
+							task.execute();
+						} catch (Exception e) {
+							throw new StartupTaskException(beanName, e);
+						}
+						long nanos = System.nanoTime() - taskStart;
+						StartupProfiler.instance().record(StartupProfiler.STARTUP_TASK, beanName, nanos);
+						if (logger.isDebugEnabled()) {
+							logger.debug("Startup task '" + beanName + "' took " + (nanos / 1000000) + " ms");
+						}
+						return beanName;
+					}
+				});
+			}
+			for (int i = 0; i < startupTasks.size(); i++) {
+				Future finished = completionService.take();
+				String beanName = (String) finished.get();
+				if (progressMonitor != null) {
+					progressMonitor.subTaskStarted(beanName);
+					progressMonitor.worked(1);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while executing the startup tasks", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof StartupTaskException) {
+				throw new IllegalStateException("Startup task '" + ((StartupTaskException) cause).beanName
+						+ "' failed: " + cause.getCause().getMessage(), cause.getCause());
+			}
+			throw new IllegalStateException("Startup task failed: " + cause.getMessage(), cause);
+		} finally {
+			executor.shutdownNow();
+		}
+		phaseFinished(STARTUP_TASKS_PHASE_KEY, "Initializing services", start);
+	}
+
+	private ProgressMonitor getProgressMonitor() {
+		if (splashScreen instanceof MonitoringSplashScreen) {
+			return ((MonitoringSplashScreen) splashScreen).getProgressMonitor();
+		}
+		return null;
+	}
+
+	private ProgressMonitor reportPhaseStarted(String phaseKey, String defaultName, int totalWork) {
+		ProgressMonitor progressMonitor = getProgressMonitor();
+		if (progressMonitor != null) {
+			progressMonitor.taskStarted(getMessage(phaseKey, null, defaultName + " ..."), totalWork);
+		}
+		return progressMonitor;
+	}
+
+	private void phaseFinished(String phaseKey, String defaultName, long start) {
+		long nanos = System.nanoTime() - start;
+		long duration = nanos / 1000000;
+		phaseTimes.put(phaseKey, Long.valueOf(duration));
+		String phaseName = getMessage(phaseKey, null, defaultName);
+		StartupProfiler.instance().record(StartupProfiler.PHASE, phaseName, nanos);
+		ProgressMonitor progressMonitor = getProgressMonitor();
+		if (progressMonitor != null) {
+			progressMonitor.subTaskStarted(getMessage(PHASE_FINISHED_KEY, new Object[] { phaseName,
+					Long.valueOf(duration) }, phaseName + " took " + duration + " ms"));
+		}
+	}
+
+	/**
+	 * Resolves a message from the startup context, which is loaded before the
+	 * main application context.
+	 */
+	private String getMessage(String key, Object[] args, String defaultMessage) {
+		if (startupContext == null) {
+			return defaultMessage;
+		}
+		return startupContext.getMessage(key, args, defaultMessage, null);
+	}
+
 	/**
 	 * Searches the given bean factory for a {@link SplashScreen} defined with the
 	 * bean name {@link #SPLASH_SCREEN_BEAN_ID} and displays it, if found.
@@ -331,6 +505,36 @@ public class ApplicationLauncher {
 		}
 	}
 
+	/**
+	 * Creates the daemon worker threads that execute the startup tasks.
+	 */
+	private static class StartupThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "StartupTask-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	/**
+	 * Keeps the name of the startup task bean that failed.
+	 */
+	private static class StartupTaskException extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String beanName;
+
+		StartupTaskException(String beanName, Exception cause) {
+			super(cause);
+			this.beanName = beanName;
+		}
+	}
+
 	private void destroySplashScreen() {
 		if (splashScreen != null) {
 			logger.debug("Closing splash screen...");
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.application;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.util.Assert;
+
+/**
+ * Collects timings of the work done while the application starts: the
+ * startup phases of the {@link ApplicationLauncher} and its
+ * {@link StartupTask}s, the configuration of each bean and each configuration
+ * step, message, icon and image lookups, service resolution and page component
+ * creation.
+ * <p>
+ * Timings are aggregated by category and name: the number of times something
+ * was measured, the total and the maximum time. The profiler is disabled by
+ * default and then costs no more than a flag check; enable it with the
+ * {@value #ENABLED_PROPERTY} system property or {@link #setEnabled(boolean)}.
+ * The collected timings can be exported with {@link #writeCsv(Writer)} and
+ * {@link #writeJson(Writer)}, or shown with the
+ * {@link org.springframework.richclient.command.support.ShowStartupProfileCommand}.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * StartupProfiler profiler = StartupProfiler.instance();
+ * long start = profiler.start();
+ * doWork();
+ * profiler.stop(StartupProfiler.SERVICE, &quot;myService&quot;, start);
+ * </pre>
+ */
+public class StartupProfiler {
+
+	/**
+	 * System property that enables the profiler when set to <code>true</code>.
+	 * {@value}
+	 */
+	public static final String ENABLED_PROPERTY = "richclient.startupProfiler";
+
+	/** Category of the startup phases of the {@link ApplicationLauncher}. */
+	public static final String PHASE = "phase";
+
+	/** Category of the {@link StartupTask}s, by bean name. */
+	public static final String STARTUP_TASK = "startupTask";
+
+	/** Category of the configuration of a bean, by bean name. */
+	public static final String BEAN = "bean";
+
+	/** Category of the configuration steps, summed over all beans. */
+	public static final String CONFIGURER_STEP = "configurerStep";
+
+	/** Category of message lookups, by type of message. */
+	public static final String MESSAGE = "message";
+
+	/** Category of icon lookups, by type of icon. */
+	public static final String ICON = "icon";
+
+	/** Category of image lookups, by type of image. */
+	public static final String IMAGE = "image";
+
+	/** Category of service resolution, by service type. */
+	public static final String SERVICE = "service";
+
+	/** Category of page component creation, by page component id. */
+	public static final String PAGE_COMPONENT = "pageComponent";
+
+	/** Start value returned by {@link #start()} when the profiler is disabled. */
+	private static final long NOT_STARTED = Long.MIN_VALUE;
+
+	private static final StartupProfiler INSTANCE = new StartupProfiler(Boolean.getBoolean(ENABLED_PROPERTY));
+
+	private final ConcurrentHashMap<String, Timing> timings = new ConcurrentHashMap<String, Timing>();
+
+	private volatile boolean enabled;
+
+	/**
+	 * Returns the profiler shared by the framework classes.
+	 */
+	public static StartupProfiler instance() {
+		return INSTANCE;
+	}
+
+	public StartupProfiler() {
+		this(true);
+	}
+
+	public StartupProfiler(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Starts a measurement.
+	 *
+	 * @return the value to pass to {@link #stop(String, String, long)}.
+	 */
+	public long start() {
+		return enabled ? System.nanoTime() : NOT_STARTED;
+	}
+
+	/**
+	 * Ends a measurement started with {@link #start()}. Does nothing if the
+	 * profiler was disabled when the measurement started.
+	 *
+	 * @param category the category, e.g. {@link #BEAN}.
+	 * @param name     the name of what was measured within the category.
+	 * @param start    the value returned by {@link #start()}.
+	 */
+	public void stop(String category, String name, long start) {
+		if (start != NOT_STARTED) {
+			record(category, name, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Adds a measured time.
+	 *
+	 * @param category the category, e.g. {@link #BEAN}.
+	 * @param name     the name of what was measured within the category.
+	 * @param nanos    the time in nanoseconds.
+	 */
+	public void record(String category, String name, long nanos) {
+		if (!enabled) {
+			return;
+		}
+		Assert.notNull(category, "category must not be null");
+		String key = category + '\u0000' + name;
+		Timing timing = timings.get(key);
+		if (timing == null) {
+			timing = new Timing(category, String.valueOf(name));
+			Timing existing = timings.putIfAbsent(key, timing);
+			if (existing != null) {
+				timing = existing;
+			}
+		}
+		timing.add(nanos);
+	}
+
+	/**
+	 * Returns all timings, the most expensive first.
+	 */
+	public List<Timing> getTimings() {
+		return getTimings(null);
+	}
+
+	/**
+	 * Returns the timings of a category, the most expensive first.
+	 *
+	 * @param category the category, <code>null</code> for all categories.
+	 */
+	public List<Timing> getTimings(String category) {
+		List<Timing> result = new ArrayList<Timing>();
+		for (Iterator<Timing> iter = timings.values().iterator(); iter.hasNext();) {
+			Timing timing = iter.next().snapshot();
+			if (category == null || category.equals(timing.getCategory())) {
+				result.add(timing);
+			}
+		}
+		Collections.sort(result, new Comparator<Timing>() {
+			@Override
+			public int compare(Timing t1, Timing t2) {
+				return t1.totalTime > t2.totalTime ? -1 : (t1.totalTime == t2.totalTime ? 0 : 1);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Discards all collected timings.
+	 */
+	public void reset() {
+		timings.clear();
+	}
+
+	/**
+	 * Writes the timings as CSV, with a header line and times in milliseconds.
+	 */
+	public void writeCsv(Writer writer) throws IOException {
+		writer.write("category,name,count,totalMillis,averageMillis,maxMillis\n");
+		for (Iterator<Timing> iter = getTimings().iterator(); iter.hasNext();) {
+			Timing timing = iter.next();
+			writer.write(csvValue(timing.getCategory()));
+			writer.write(',');
+			writer.write(csvValue(timing.getName()));
+			writer.write(',');
+			writer.write(String.valueOf(timing.getCount()));
+			writer.write(',');
+			writer.write(toMillis(timing.getTotalTime()));
+			writer.write(',');
+			writer.write(toMillis(timing.getAverageTime()));
+			writer.write(',');
+			writer.write(toMillis(timing.getMaxTime()));
+			writer.write('\n');
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Writes the timings as a JSON array of objects, with times in milliseconds.
+	 */
+	public void writeJson(Writer writer) throws IOException {
+		writer.write('[');
+		for (Iterator<Timing> iter = getTimings().iterator(); iter.hasNext();) {
+			Timing timing = iter.next();
+			writer.write("\n  {\"category\": ");
+			writer.write(jsonString(timing.getCategory()));
+			writer.write(", \"name\": ");
+			writer.write(jsonString(timing.getName()));
+			writer.write(", \"count\": ");
+			writer.write(String.valueOf(timing.getCount()));
+			writer.write(", \"totalMillis\": ");
+			writer.write(toMillis(timing.getTotalTime()));
+			writer.write(", \"averageMillis\": ");
+			writer.write(toMillis(timing.getAverageTime()));
+			writer.write(", \"maxMillis\": ");
+			writer.write(toMillis(timing.getMaxTime()));
+			writer.write('}');
+			if (iter.hasNext()) {
+				writer.write(',');
+			}
+		}
+		writer.write("\n]\n");
+		writer.flush();
+	}
+
+	/**
+	 * Returns the timings as CSV.
+	 *
+	 * @see #writeCsv(Writer)
+	 */
+	public String toCsv() {
+		StringWriter writer = new StringWriter();
+		try {
+			writeCsv(writer);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * Returns the timings as JSON.
+	 *
+	 * @see #writeJson(Writer)
+	 */
+	public String toJson() {
+		StringWriter writer = new StringWriter();
+		try {
+			writeJson(writer);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return writer.toString();
+	}
+
+	private static String toMillis(long nanos) {
+		return String.valueOf(nanos / 1000 / 1000.0);
+	}
+
+	private static String csvValue(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	private static String jsonString(String value) {
+		StringBuilder sb = new StringBuilder(value.length() + 2);
+		sb.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c < 0x20) {
+				sb.append(String.format("\\u%04x", Integer.valueOf(c)));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.append('"').toString();
+	}
+
+	/**
+	 * The aggregated timing of something measured by the profiler. Times are
+	 * in nanoseconds.
+	 */
+	public static class Timing {
+
+		private final String category;
+
+		private final String name;
+
+		private long count;
+
+		private long totalTime;
+
+		private long maxTime;
+
+		Timing(String category, String name) {
+			this.category = category;
+			this.name = name;
+		}
+
+		synchronized void add(long nanos) {
+			count++;
+			totalTime += nanos;
+			if (nanos > maxTime) {
+				maxTime = nanos;
+			}
+		}
+
+		synchronized Timing snapshot() {
+			Timing snapshot = new Timing(category, name);
+			snapshot.count = count;
+			snapshot.totalTime = totalTime;
+			snapshot.maxTime = maxTime;
+			return snapshot;
+		}
+
+		public String getCategory() {
+			return category;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public long getTotalTime() {
+			return totalTime;
+		}
+
+		public long getAverageTime() {
+			return count == 0 ? 0 : totalTime / count;
+		}
+
+		public long getMaxTime() {
+			return maxTime;
+		}
+
+		@Override
+		public String toString() {
+			return category + " '" + name + "': " + count + " times, " + (totalTime / 1000000) + " ms";
+		}
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.application;
+
+/**
+ * Initialization work that has to be done before the application window is
+ * created, e.g. resolving services, loading rules or images or connecting to
+ * remote services.
+ * <p>
+ * The {@link ApplicationLauncher} executes all beans of this type in the main
+ * application context in parallel on a pool of worker threads while the splash
+ * screen is shown, before the application is started on the event dispatch
+ * thread. Startup tasks must therefore be thread safe and must not create or
+ * modify Swing components.
+ *
+ * @see ApplicationLauncher
+ */
+public interface StartupTask {
+
+	/**
+	 * Performs the initialization work.
+	 *
+	 * @throws Exception if the initialization failed, the application will not be
+	 *                   started.
+	 */
+	void execute() throws Exception;
+}
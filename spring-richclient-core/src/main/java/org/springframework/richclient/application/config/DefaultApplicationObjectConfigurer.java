@@ -29,6 +29,7 @@ import org.springframework.context.MessageSource;
 import org.springframework.context.NoSuchMessageException;
 import org.springframework.richclient.application.ApplicationServicesLocator;
 import org.springframework.richclient.application.ServiceNotFoundException;
+import org.springframework.richclient.application.StartupProfiler;
 import org.springframework.richclient.command.config.CommandButtonIconInfo;
 import org.springframework.richclient.command.config.CommandButtonLabelInfo;
 import org.springframework.richclient.command.config.CommandIconConfigurable;
@@ -311,42 +312,64 @@ public class DefaultApplicationObjectConfigurer implements ApplicationObjectConf
 
 		Assert.required(objectName, "objectName");
 
+		StartupProfiler profiler = StartupProfiler.instance();
+		long beanStart = profiler.start();
+
 		if (object instanceof TitleConfigurable) {
+			long start = profiler.start();
 			configureTitle((TitleConfigurable) object, objectName);
+			profiler.stop(StartupProfiler.CONFIGURER_STEP, "title", start);
 		}
 
 		if (object instanceof LabelConfigurable) {
+			long start = profiler.start();
 			configureLabel((LabelConfigurable) object, objectName);
+			profiler.stop(StartupProfiler.CONFIGURER_STEP, "label", start);
 		}
 
 		if (object instanceof ColorConfigurable) {
+			long start = profiler.start();
 			configureColor((ColorConfigurable) object, objectName);
+			profiler.stop(StartupProfiler.CONFIGURER_STEP, "color", start);
 		}
 
 		if (object instanceof CommandLabelConfigurable) {
+			long start = profiler.start();
 			configureCommandLabel((CommandLabelConfigurable) object, objectName);
+			profiler.stop(StartupProfiler.CONFIGURER_STEP, "commandLabel", start);
 		}
 
 		if (object instanceof DescriptionConfigurable) {
+			long start = profiler.start();
 			configureDescription((DescriptionConfigurable) object, objectName);
+			profiler.stop(StartupProfiler.CONFIGURER_STEP, "description", start);
 		}
 
 		if (object instanceof ImageConfigurable) {
+			long start = profiler.start();
 			configureImage((ImageConfigurable) object, objectName);
+			profiler.stop(StartupProfiler.CONFIGURER_STEP, "image", start);
 		}
 
 		if (object instanceof IconConfigurable) {
+			long start = profiler.start();
 			configureIcon((IconConfigurable) object, objectName);
+			profiler.stop(StartupProfiler.CONFIGURER_STEP, "icon", start);
 		}
 
 		if (object instanceof CommandIconConfigurable) {
+			long start = profiler.start();
 			configureCommandIcons((CommandIconConfigurable) object, objectName);
+			profiler.stop(StartupProfiler.CONFIGURER_STEP, "commandIcons", start);
 		}
 
 		if (object instanceof SecurityControllable) {
+			long start = profiler.start();
 			configureSecurityController((SecurityControllable) object, objectName);
+			profiler.stop(StartupProfiler.CONFIGURER_STEP, "securityController", start);
 		}
 
+		profiler.stop(StartupProfiler.BEAN, objectName, beanStart);
 	}
 
 	/**
@@ -740,9 +763,18 @@ public class DefaultApplicationObjectConfigurer implements ApplicationObjectConf
 			logger.debug("Resolving label with code '" + messageCode + "'");
 		}
 
+		StartupProfiler profiler = StartupProfiler.instance();
+		long start = profiler.start();
 		try {
-			return getMessageSource().getMessage(messageCode, null, getLocale());
+			String message = getMessageSource().getMessage(messageCode, null, getLocale());
+			if (profiler.isEnabled()) {
+				profiler.stop(StartupProfiler.MESSAGE, getKeyType(messageCode), start);
+			}
+			return message;
 		} catch (NoSuchMessageException e) {
+			if (profiler.isEnabled()) {
+				profiler.stop(StartupProfiler.MESSAGE, getKeyType(messageCode) + " (missing)", start);
+			}
 
 			if (logger.isInfoEnabled()) {
 				logger.info("The message source is unable to find message code [" + messageCode
@@ -754,6 +786,14 @@ public class DefaultApplicationObjectConfigurer implements ApplicationObjectConf
 
 	}
 
+	/**
+	 * Returns the last part of a message code, e.g. <code>label</code> for
+	 * <code>myCommand.label</code>.
+	 */
+	private static String getKeyType(String messageCode) {
+		return messageCode.substring(messageCode.lastIndexOf('.') + 1);
+	}
+
 	/**
 	 * Returns the system default locale.
 	 *
@@ -769,17 +809,31 @@ public class DefaultApplicationObjectConfigurer implements ApplicationObjectConf
 
 	private Icon loadIcon(String objectName, String iconType, boolean large) {
 		String key = objectName + (large ? ".large." : ".") + iconType;
-		return getIconSource().getIcon(key);
+		StartupProfiler profiler = StartupProfiler.instance();
+		long start = profiler.start();
+		Icon icon = getIconSource().getIcon(key);
+		if (profiler.isEnabled()) {
+			profiler.stop(StartupProfiler.ICON, (large ? "large." : "") + iconType + (icon == null ? " (missing)" : ""),
+					start);
+		}
+		return icon;
 	}
 
 	private Image loadImage(String objectName, String imageType) {
 		String key = objectName + "." + imageType;
+		StartupProfiler profiler = StartupProfiler.instance();
+		long start = profiler.start();
 		try {
 			if (logger.isDebugEnabled()) {
 				logger.debug("Resolving optional image with code '" + key + "'");
 			}
-			return getImageSource().getImage(key);
+			Image image = getImageSource().getImage(key);
+			profiler.stop(StartupProfiler.IMAGE, imageType, start);
+			return image;
 		} catch (NoSuchImageResourceException e) {
+			if (profiler.isEnabled()) {
+				profiler.stop(StartupProfiler.IMAGE, imageType + " (missing)", start);
+			}
 			if (logger.isInfoEnabled()) {
 				logger.info("Labelable object's image '" + key + "' does not exist in image bundle; continuing...");
 			}
@@ -35,6 +35,7 @@ import org.springframework.richclient.application.PageComponentListener;
 import org.springframework.richclient.application.PageComponentPane;
 import org.springframework.richclient.application.PageComponentPaneFactory;
 import org.springframework.richclient.application.PageDescriptor;
+import org.springframework.richclient.application.StartupProfiler;
 import org.springframework.richclient.application.View;
 import org.springframework.richclient.application.ViewDescriptor;
 import org.springframework.richclient.application.ViewDescriptorRegistry;
@@ -371,8 +372,11 @@ public abstract class AbstractApplicationPage extends AbstractControlFactory imp
 	 * @return the created PageComponent
 	 */
 	protected PageComponent createPageComponent(PageComponentDescriptor descriptor) {
+		StartupProfiler profiler = StartupProfiler.instance();
+		long start = profiler.start();
 		PageComponent pageComponent = descriptor.createPageComponent();
 		pageComponent.setContext(new DefaultViewContext(this, createPageComponentPane(pageComponent)));
+		profiler.stop(StartupProfiler.PAGE_COMPONENT, descriptor.getId(), start);
 		if (pageComponent instanceof ApplicationListener && getApplicationEventMulticaster() != null) {
 			getApplicationEventMulticaster().addApplicationListener((ApplicationListener) pageComponent);
 		}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.application.support;
+
+import org.springframework.richclient.application.ApplicationServices;
+import org.springframework.richclient.application.ApplicationServicesLocator;
+import org.springframework.richclient.application.StartupTask;
+
+/**
+ * A {@link StartupTask} that resolves application services before the
+ * application window is created, so their beans and default implementations
+ * are not created on the event dispatch thread.
+ * <p>
+ * Without explicit service types, all services registered with a
+ * {@link DefaultApplicationServices} and all services it has a default
+ * implementation for are resolved.
+ *
+ * @see DefaultApplicationServices#resolveAllServices()
+ */
+public class ApplicationServicesStartupTask implements StartupTask {
+
+	private ApplicationServices applicationServices;
+
+	private Class[] serviceTypes;
+
+	/**
+	 * Set the application services to resolve the services from. Defaults to the
+	 * services of the {@link ApplicationServicesLocator}.
+	 */
+	public void setApplicationServices(ApplicationServices applicationServices) {
+		this.applicationServices = applicationServices;
+	}
+
+	public ApplicationServices getApplicationServices() {
+		if (applicationServices == null) {
+			return ApplicationServicesLocator.services();
+		}
+		return applicationServices;
+	}
+
+	/**
+	 * Set the types of the services to resolve.
+	 */
+	public void setServiceTypes(Class[] serviceTypes) {
+		this.serviceTypes = serviceTypes;
+	}
+
+	public Class[] getServiceTypes() {
+		return serviceTypes;
+	}
+
+	@Override
+	public void execute() {
+		ApplicationServices services = getApplicationServices();
+		if (serviceTypes == null) {
+			if (services instanceof DefaultApplicationServices) {
+				((DefaultApplicationServices) services).resolveAllServices();
+			}
+			return;
+		}
+		for (int i = 0; i < serviceTypes.length; i++) {
+			services.getService(serviceTypes[i]);
+		}
+	}
+}
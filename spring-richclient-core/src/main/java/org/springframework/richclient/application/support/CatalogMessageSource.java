@@ -0,0 +1,508 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.application.support;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.context.HierarchicalMessageSource;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.core.io.UrlResource;
+import org.springframework.util.ClassUtils;
+
+/**
+ * <code>MessageSource</code> that flattens all properties files of its
+ * basenames into one immutable table per locale, so every message is found
+ * with a single hash lookup instead of walking the resource bundle chains.
+ * <p>
+ * Basenames follow the {@link java.util.ResourceBundle} conventions, as with
+ * Spring's <code>ResourceBundleMessageSource</code>: the basename
+ * <code>com.acme.ui.messages</code> loads
+ * <code>com/acme/ui/messages.properties</code> and its locale specific
+ * variants from the class path. Earlier basenames take precedence over later
+ * ones; if no file exists for the requested locale the files of the system
+ * locale are used, unless {@link #setFallbackToSystemLocale(boolean)} is
+ * disabled. Only properties files are supported.
+ * <p>
+ * Codes that are neither in the table nor in the parent message source are
+ * remembered, so later lookups of missing codes, like the optional messages of
+ * the {@link org.springframework.richclient.application.config.DefaultApplicationObjectConfigurer},
+ * don't go to the parent again. Missing messages are reported with a
+ * {@link NoSuchMessageException} without a stack trace. Call
+ * {@link #clearCache()} when the parent message source changes.
+ * <p>
+ * If a {@link #setCatalogDirectory(File) catalog directory} is set, the tables
+ * are saved there in a compact binary format and loaded from it on the next
+ * launch, as long as the properties files didn't change.
+ */
+public class CatalogMessageSource implements HierarchicalMessageSource, BeanClassLoaderAware {
+
+	private static final int CATALOG_FILE_MAGIC = 0x52435043;
+
+	private static final Object[] NO_ARGS = new Object[0];
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private String[] basenames = new String[0];
+
+	private String defaultEncoding;
+
+	private boolean fallbackToSystemLocale = true;
+
+	private File catalogDirectory;
+
+	private MessageSource parentMessageSource;
+
+	private ClassLoader beanClassLoader = ClassUtils.getDefaultClassLoader();
+
+	private final ConcurrentHashMap<Locale, Catalog> catalogs = new ConcurrentHashMap<Locale, Catalog>();
+
+	/**
+	 * Set a single basename.
+	 *
+	 * @see #setBasenames(String[])
+	 */
+	public void setBasename(String basename) {
+		setBasenames(new String[] { basename });
+	}
+
+	/**
+	 * Set the basenames of the properties files, in the notation of
+	 * {@link java.util.ResourceBundle}. Earlier basenames take precedence.
+	 */
+	public void setBasenames(String[] basenames) {
+		this.basenames = basenames == null ? new String[0] : basenames.clone();
+		clearCache();
+	}
+
+	/**
+	 * Set the encoding of the properties files, defaults to ISO-8859-1 like
+	 * {@link Properties#load(InputStream)}.
+	 */
+	public void setDefaultEncoding(String defaultEncoding) {
+		this.defaultEncoding = defaultEncoding;
+		clearCache();
+	}
+
+	/**
+	 * Set whether to use the files of the system locale if there are no files
+	 * for the requested locale. Default is <code>true</code>.
+	 */
+	public void setFallbackToSystemLocale(boolean fallbackToSystemLocale) {
+		this.fallbackToSystemLocale = fallbackToSystemLocale;
+		clearCache();
+	}
+
+	/**
+	 * Set the directory to save the compiled tables in, <code>null</code> (the
+	 * default) to compile them on each launch.
+	 */
+	public void setCatalogDirectory(File catalogDirectory) {
+		this.catalogDirectory = catalogDirectory;
+	}
+
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		this.beanClassLoader = classLoader;
+		clearCache();
+	}
+
+	@Override
+	public void setParentMessageSource(MessageSource parent) {
+		this.parentMessageSource = parent;
+		clearCache();
+	}
+
+	@Override
+	public MessageSource getParentMessageSource() {
+		return parentMessageSource;
+	}
+
+	/**
+	 * Discards the compiled tables and the remembered missing codes.
+	 */
+	public void clearCache() {
+		catalogs.clear();
+	}
+
+	/**
+	 * Returns the table of messages for a locale, compiling it if needed.
+	 *
+	 * @return unmodifiable map of codes to messages, without the messages of
+	 *         the parent message source.
+	 */
+	public Map<String, String> getMessages(Locale locale) {
+		return getCatalog(locale).messages;
+	}
+
+	@Override
+	public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+		String message = resolveMessage(code, args, locale);
+		if (message != null) {
+			return message;
+		}
+		return defaultMessage == null ? null : format(defaultMessage, args, locale);
+	}
+
+	@Override
+	public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+		String message = resolveMessage(code, args, locale);
+		if (message == null) {
+			throw new MissingMessageException(code, locale);
+		}
+		return message;
+	}
+
+	@Override
+	public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+		String[] codes = resolvable.getCodes();
+		if (codes != null) {
+			for (int i = 0; i < codes.length; i++) {
+				String message = resolveMessage(codes[i], resolvable.getArguments(), locale);
+				if (message != null) {
+					return message;
+				}
+			}
+		}
+		String defaultMessage = resolvable.getDefaultMessage();
+		if (defaultMessage != null) {
+			return format(defaultMessage, resolvable.getArguments(), locale);
+		}
+		throw new MissingMessageException(codes != null && codes.length > 0 ? codes[codes.length - 1] : "", locale);
+	}
+
+	private String resolveMessage(String code, Object[] args, Locale locale) {
+		if (code == null) {
+			return null;
+		}
+		if (locale == null) {
+			locale = Locale.getDefault();
+		}
+		Catalog catalog = getCatalog(locale);
+		String pattern = catalog.messages.get(code);
+		if (pattern != null) {
+			if (args == null || args.length == 0) {
+				return pattern;
+			}
+			MessageFormat messageFormat = catalog.getMessageFormat(code, pattern, locale);
+			Object[] resolvedArgs = resolveArguments(args, locale);
+			synchronized (messageFormat) {
+				return messageFormat.format(resolvedArgs);
+			}
+		}
+		if (parentMessageSource == null || catalog.missingCodes.contains(code)) {
+			return null;
+		}
+		String message = parentMessageSource.getMessage(code, args, null, locale);
+		if (message == null) {
+			catalog.missingCodes.add(code);
+		}
+		return message;
+	}
+
+	private Object[] resolveArguments(Object[] args, Locale locale) {
+		if (args == null) {
+			return NO_ARGS;
+		}
+		Object[] resolvedArgs = args;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i] instanceof MessageSourceResolvable) {
+				if (resolvedArgs == args) {
+					resolvedArgs = args.clone();
+				}
+				resolvedArgs[i] = getMessage((MessageSourceResolvable) args[i], locale);
+			}
+		}
+		return resolvedArgs;
+	}
+
+	private String format(String message, Object[] args, Locale locale) {
+		if (args == null || args.length == 0) {
+			return message;
+		}
+		return new MessageFormat(message, locale).format(resolveArguments(args, locale));
+	}
+
+	private Catalog getCatalog(Locale locale) {
+		Catalog catalog = catalogs.get(locale);
+		if (catalog == null) {
+			catalog = new Catalog(loadMessages(locale));
+			Catalog existing = catalogs.putIfAbsent(locale, catalog);
+			if (existing != null) {
+				catalog = existing;
+			}
+		}
+		return catalog;
+	}
+
+	private Map<String, String> loadMessages(Locale locale) {
+		List<URL> resources = new ArrayList<URL>();
+		for (int i = basenames.length - 1; i >= 0; i--) {
+			addResources(basenames[i], locale, resources);
+		}
+
+		File catalogFile = null;
+		String fingerprint = null;
+		if (catalogDirectory != null) {
+			fingerprint = getFingerprint(resources);
+			catalogFile = new File(catalogDirectory, "messages_" + locale + ".catalog");
+			Map<String, String> messages = readCatalogFile(catalogFile, fingerprint);
+			if (messages != null) {
+				return messages;
+			}
+		}
+
+		Map<String, String> messages = new HashMap<String, String>();
+		for (Iterator<URL> iter = resources.iterator(); iter.hasNext();) {
+			loadProperties(iter.next(), messages);
+		}
+		messages = Collections.unmodifiableMap(messages);
+		if (catalogFile != null) {
+			writeCatalogFile(catalogFile, fingerprint, messages);
+		}
+		return messages;
+	}
+
+	/**
+	 * Adds the properties files of a basename for a locale, least specific
+	 * first.
+	 */
+	private void addResources(String basename, Locale locale, List<URL> resources) {
+		String path = basename.replace('.', '/');
+		List<URL> localized = getLocalizedResources(path, locale);
+		if (localized.isEmpty() && fallbackToSystemLocale && !locale.equals(Locale.getDefault())) {
+			localized = getLocalizedResources(path, Locale.getDefault());
+		}
+		URL base = beanClassLoader.getResource(path + ".properties");
+		if (base != null) {
+			resources.add(base);
+		}
+		resources.addAll(localized);
+	}
+
+	private List<URL> getLocalizedResources(String path, Locale locale) {
+		List<URL> result = new ArrayList<URL>();
+		String language = locale.getLanguage();
+		String country = locale.getCountry();
+		String variant = locale.getVariant();
+		if (language.length() == 0) {
+			return result;
+		}
+		StringBuilder name = new StringBuilder(path).append('_').append(language);
+		addResource(name, result);
+		if (country.length() > 0) {
+			name.append('_').append(country);
+			addResource(name, result);
+		}
+		if (variant.length() > 0) {
+			if (country.length() == 0) {
+				name.append('_');
+			}
+			name.append('_').append(variant);
+			addResource(name, result);
+		}
+		return result;
+	}
+
+	private void addResource(StringBuilder name, List<URL> resources) {
+		URL url = beanClassLoader.getResource(name + ".properties");
+		if (url != null) {
+			resources.add(url);
+		}
+	}
+
+	private void loadProperties(URL url, Map<String, String> messages) {
+		Properties properties = new Properties();
+		try {
+			InputStream in = url.openStream();
+			try {
+				if (defaultEncoding == null) {
+					properties.load(in);
+				} else {
+					properties.load(new InputStreamReader(in, defaultEncoding));
+				}
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			logger.warn("Could not load messages from " + url, e);
+			return;
+		}
+		for (Iterator<String> iter = properties.stringPropertyNames().iterator(); iter.hasNext();) {
+			String key = iter.next();
+			messages.put(key, properties.getProperty(key));
+		}
+	}
+
+	private String getFingerprint(List<URL> resources) {
+		StringBuilder fingerprint = new StringBuilder();
+		for (Iterator<URL> iter = resources.iterator(); iter.hasNext();) {
+			URL url = iter.next();
+			long lastModified;
+			try {
+				lastModified = new UrlResource(url).lastModified();
+			} catch (IOException e) {
+				lastModified = -1;
+			}
+			fingerprint.append(url.toExternalForm()).append('@').append(lastModified).append('\n');
+		}
+		if (defaultEncoding != null) {
+			fingerprint.append(defaultEncoding);
+		}
+		return fingerprint.toString();
+	}
+
+	private Map<String, String> readCatalogFile(File file, String fingerprint) {
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				if (in.readInt() != CATALOG_FILE_MAGIC || !fingerprint.equals(readString(in))) {
+					return null;
+				}
+				int size = in.readInt();
+				Map<String, String> messages = new HashMap<String, String>(size * 4 / 3 + 1);
+				for (int i = 0; i < size; i++) {
+					messages.put(readString(in), readString(in));
+				}
+				return Collections.unmodifiableMap(messages);
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			logger.warn("Could not read message catalog " + file + ", compiling it again", e);
+			return null;
+		}
+	}
+
+	private void writeCatalogFile(File file, String fingerprint, Map<String, String> messages) {
+		File tempFile = new File(file.getPath() + ".tmp");
+		try {
+			file.getParentFile().mkdirs();
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+			try {
+				out.writeInt(CATALOG_FILE_MAGIC);
+				writeString(out, fingerprint);
+				out.writeInt(messages.size());
+				for (Iterator<Map.Entry<String, String>> iter = messages.entrySet().iterator(); iter.hasNext();) {
+					Map.Entry<String, String> entry = iter.next();
+					writeString(out, entry.getKey());
+					writeString(out, entry.getValue());
+				}
+			} finally {
+				out.close();
+			}
+			if (!tempFile.renameTo(file)) {
+				file.delete();
+				if (!tempFile.renameTo(file)) {
+					throw new IOException("Could not rename " + tempFile + " to " + file);
+				}
+			}
+		} catch (IOException e) {
+			tempFile.delete();
+			logger.warn("Could not save message catalog " + file, e);
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getName() + ": basenames=" + Arrays.asList(basenames);
+	}
+
+	/**
+	 * The compiled messages of one locale.
+	 */
+	private static final class Catalog {
+
+		private final Map<String, String> messages;
+
+		private final ConcurrentHashMap<String, MessageFormat> messageFormats = new ConcurrentHashMap<String, MessageFormat>();
+
+		private final Set<String> missingCodes = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+		Catalog(Map<String, String> messages) {
+			this.messages = messages;
+		}
+
+		MessageFormat getMessageFormat(String code, String pattern, Locale locale) {
+			MessageFormat messageFormat = messageFormats.get(code);
+			if (messageFormat == null) {
+				messageFormat = new MessageFormat(pattern, locale);
+				messageFormats.put(code, messageFormat);
+			}
+			return messageFormat;
+		}
+	}
+
+	/**
+	 * Reports a missing message without the cost of filling in a stack trace,
+	 * missing optional messages are common.
+	 */
+	private static final class MissingMessageException extends NoSuchMessageException {
+
+		private static final long serialVersionUID = 1L;
+
+		MissingMessageException(String code, Locale locale) {
+			super(code, locale);
+		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+	}
+}
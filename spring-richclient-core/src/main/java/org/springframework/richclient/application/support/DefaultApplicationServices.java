@@ -16,10 +16,14 @@
 package org.springframework.richclient.application.support;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -32,10 +36,12 @@ import org.springframework.binding.value.ValueChangeDetector;
 import org.springframework.binding.value.support.DefaultValueChangeDetector;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.MessageSource;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.context.support.MessageSourceAccessor;
-import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.context.support.ResourceMapFactoryBean;
 import org.springframework.core.enums.LabeledEnumResolver;
 import org.springframework.core.enums.StaticLabeledEnumResolver;
@@ -47,6 +53,7 @@ import org.springframework.richclient.application.DefaultConversionServiceFactor
 import org.springframework.richclient.application.PageComponentPaneFactory;
 import org.springframework.richclient.application.PageDescriptorRegistry;
 import org.springframework.richclient.application.ServiceNotFoundException;
+import org.springframework.richclient.application.StartupProfiler;
 import org.springframework.richclient.application.ViewDescriptorRegistry;
 import org.springframework.richclient.application.config.ApplicationObjectConfigurer;
 import org.springframework.richclient.application.config.DefaultApplicationObjectConfigurer;
@@ -127,15 +134,30 @@ import org.springframework.util.ClassUtils;
  * provided, it will be constructed at that time. Default implementations are
  * provided for essentially all services referenced by the platform.</li>
  * </ol>
+ * A service is resolved only once, after that it is returned without locking.
+ * Different services are resolved concurrently, only threads resolving the same
+ * service type wait for each other.
+ * Set {@link #setEagerInit(boolean) eagerInit} to resolve the registered
+ * services when the application context is refreshed instead of on first use.
+ * The number of lookups and the time it took to resolve each service are
+ * available through {@link #getServiceStatistics()}.
  *
  * @author Larry Streepy
  */
-public class DefaultApplicationServices implements ApplicationServices, ApplicationContextAware {
+public class DefaultApplicationServices implements ApplicationServices, ApplicationContextAware, ApplicationListener {
 
 	private static final Log logger = LogFactory.getLog(DefaultApplicationServices.class);
 
-	/** Map of services, keyed by service type (class). */
-	private final Map services = Collections.synchronizedMap(new HashMap());
+	/** Map of registered services or their bean ids, keyed by service type (class). */
+	private final ConcurrentMap services = new ConcurrentHashMap();
+
+	/** Map of resolved services, keyed by service type (class). */
+	private final ConcurrentMap resolvedServices = new ConcurrentHashMap();
+
+	/** Map of the monitors guarding the resolution of a service, keyed by service type (class). */
+	private final ConcurrentMap resolutionLocks = new ConcurrentHashMap();
+
+	private boolean eagerInit;
 
 	/** Map of service types to default implementation builders. */
 	private static final Map serviceImplBuilders = new HashMap();
@@ -181,6 +203,55 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 		return applicationContext;
 	}
 
+	public boolean isEagerInit() {
+		return eagerInit;
+	}
+
+	/**
+	 * Resolve all registered services when the application context is
+	 * refreshed, instead of on first use. Defaults to <code>false</code>.
+	 */
+	public void setEagerInit(boolean eagerInit) {
+		this.eagerInit = eagerInit;
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationEvent event) {
+		if (eagerInit && event instanceof ContextRefreshedEvent
+				&& ((ContextRefreshedEvent) event).getApplicationContext() == applicationContext) {
+			resolveRegisteredServices();
+		}
+	}
+
+	/**
+	 * Resolve all registered services that haven't been resolved yet.
+	 */
+	public void resolveRegisteredServices() {
+		resolveServices(services.keySet());
+	}
+
+	/**
+	 * Resolve all registered services and all services with a default
+	 * implementation that haven't been resolved yet.
+	 */
+	public void resolveAllServices() {
+		resolveServices(services.keySet());
+		resolveServices(serviceImplBuilders.keySet());
+	}
+
+	private void resolveServices(Collection serviceTypes) {
+		for (Iterator iter = serviceTypes.iterator(); iter.hasNext();) {
+			Class serviceType = (Class) iter.next();
+			if (!resolvedServices.containsKey(serviceType)) {
+				try {
+					resolveService(serviceType);
+				} catch (RuntimeException e) {
+					logger.warn("Unable to resolve service " + serviceType.getName(), e);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Get a service of the indicated type. If no service definition for the
 	 * requested type is found in the application context, then a reasonable default
@@ -192,37 +263,96 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 *                                  default implementation is available.
 	 */
 	@Override
-	public synchronized Object getService(Class serviceType) {
+	public Object getService(Class serviceType) {
 		Assert.required(serviceType, "serviceType");
-		Object service = services.get(serviceType);
-		if (service == null) {
-			service = getServiceForClassType(serviceType);
-			if (service == null) {
-				service = getDefaultImplementation(serviceType);
-			}
-			if (service != null) {
-				services.put(serviceType, service);
+		ResolvedService resolved = (ResolvedService) resolvedServices.get(serviceType);
+		if (resolved == null) {
+			resolved = resolveService(serviceType);
+		}
+		resolved.lookups.increment();
+		return resolved.service;
+	}
+
+	private ResolvedService resolveService(Class serviceType) {
+		synchronized (getResolutionLock(serviceType)) {
+			ResolvedService resolved = (ResolvedService) resolvedServices.get(serviceType);
+			if (resolved != null) {
+				return resolved;
 			}
-		} else {
-			// Runtime derefence of refid's
-			if (service instanceof String) {
+			long start = System.nanoTime();
+			Object service = services.get(serviceType);
+			if (service == null) {
+				service = getServiceForClassType(serviceType);
+				if (service == null) {
+					service = getDefaultImplementation(serviceType);
+				}
+			} else if (service instanceof String) {
+				// Runtime derefence of refid's
 				service = getApplicationContext().getBean((String) service, serviceType);
-				services.put(serviceType, service);
 			}
+
+			// If we still don't have an implementation, then it's a bust
+			if (service == null) {
+				throw new ServiceNotFoundException(serviceType);
+			}
+			resolved = new ResolvedService(serviceType, service, System.nanoTime() - start);
+			StartupProfiler.instance().record(StartupProfiler.SERVICE, serviceType.getName(), resolved.resolutionTime);
+			resolvedServices.put(serviceType, resolved);
+			return resolved;
 		}
+	}
 
-		// If we still don't have an implementation, then it's a bust
-		if (service == null) {
-			throw new ServiceNotFoundException(serviceType);
+	private Object getResolutionLock(Class serviceType) {
+		Object lock = resolutionLocks.get(serviceType);
+		if (lock == null) {
+			Object newLock = new Object();
+			lock = resolutionLocks.putIfAbsent(serviceType, newLock);
+			if (lock == null) {
+				lock = newLock;
+			}
 		}
-		return service;
+		return lock;
 	}
 
 	@Override
 	public boolean containsService(Class serviceType) {
 		Assert.required(serviceType, "serviceType");
-		return services.containsKey(serviceType) || containsServiceForClassType(serviceType)
-				|| containsDefaultImplementation(serviceType);
+		return resolvedServices.containsKey(serviceType) || services.containsKey(serviceType)
+				|| containsServiceForClassType(serviceType) || containsDefaultImplementation(serviceType);
+	}
+
+	/**
+	 * Returns the statistics of the resolved services.
+	 *
+	 * @return map of {@link ServiceStatistics}, keyed by service type
+	 */
+	public Map getServiceStatistics() {
+		Map statistics = new HashMap();
+		for (Iterator iter = resolvedServices.values().iterator(); iter.hasNext();) {
+			ResolvedService resolved = (ResolvedService) iter.next();
+			statistics.put(resolved.serviceType, new ServiceStatistics(resolved.serviceType,
+					resolved.lookups.sum(), resolved.resolutionTime));
+		}
+		return Collections.unmodifiableMap(statistics);
+	}
+
+	/**
+	 * Register a service implementation or the id of its bean, replacing any
+	 * service that was already resolved for the type.
+	 *
+	 * @param serviceType the service type
+	 * @param service     the implementation or bean id, <code>null</code> to
+	 *                    remove the registration
+	 */
+	protected void registerService(Class serviceType, Object service) {
+		synchronized (getResolutionLock(serviceType)) {
+			if (service == null) {
+				services.remove(serviceType);
+			} else {
+				services.put(serviceType, service);
+			}
+			resolvedServices.remove(serviceType);
+		}
 	}
 
 	/**
@@ -258,7 +388,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 
 			// If we got something usable, then add the map entry
 			if (serviceType != null) {
-				services.put(serviceType, entry.getValue());
+				registerService(serviceType, entry.getValue());
 			}
 		}
 	}
@@ -269,7 +399,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param applicationObjectConfigurer
 	 */
 	public void setApplicationObjectConfigurer(ApplicationObjectConfigurer applicationObjectConfigurer) {
-		services.put(ApplicationObjectConfigurer.class, applicationObjectConfigurer);
+		registerService(ApplicationObjectConfigurer.class, applicationObjectConfigurer);
 	}
 
 	/**
@@ -278,7 +408,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param applicationObjectConfigurerId bean id
 	 */
 	public void setApplicationObjectConfigurerId(String applicationObjectConfigurerId) {
-		services.put(ApplicationObjectConfigurer.class, applicationObjectConfigurerId);
+		registerService(ApplicationObjectConfigurer.class, applicationObjectConfigurerId);
 	}
 
 	/**
@@ -287,7 +417,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param applicationSecurityManager instance to use
 	 */
 	public void setApplicationSecurityManager(ApplicationSecurityManager applicationSecurityManager) {
-		services.put(ApplicationSecurityManager.class, applicationSecurityManager);
+		registerService(ApplicationSecurityManager.class, applicationSecurityManager);
 	}
 
 	/**
@@ -296,7 +426,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param applicationSecurityManagerId bean id
 	 */
 	public void setApplicationSecurityManagerId(String applicationSecurityManagerId) {
-		services.put(ApplicationSecurityManager.class, applicationSecurityManagerId);
+		registerService(ApplicationSecurityManager.class, applicationSecurityManagerId);
 	}
 
 	/**
@@ -305,7 +435,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param factory
 	 */
 	public void setApplicationWindowFactory(ApplicationWindowFactory factory) {
-		services.put(ApplicationWindowFactory.class, factory);
+		registerService(ApplicationWindowFactory.class, factory);
 	}
 
 	/**
@@ -314,7 +444,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param factoryId bean id
 	 */
 	public void setApplicationWindowFactoryId(String factoryId) {
-		services.put(ApplicationWindowFactory.class, factoryId);
+		registerService(ApplicationWindowFactory.class, factoryId);
 	}
 
 	/**
@@ -323,7 +453,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param factory
 	 */
 	public void setApplicationPageFactory(ApplicationPageFactory factory) {
-		services.put(ApplicationPageFactory.class, factory);
+		registerService(ApplicationPageFactory.class, factory);
 	}
 
 	/**
@@ -332,7 +462,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param factoryId bean id
 	 */
 	public void setApplicationPageFactoryId(String factoryId) {
-		services.put(ApplicationPageFactory.class, factoryId);
+		registerService(ApplicationPageFactory.class, factoryId);
 	}
 
 	/**
@@ -341,7 +471,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param factory bean id
 	 */
 	public void setPageComponentPaneFactory(PageComponentPaneFactory factory) {
-		services.put(PageComponentPaneFactory.class, factory);
+		registerService(PageComponentPaneFactory.class, factory);
 	}
 
 	/**
@@ -350,7 +480,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param factoryId bean id
 	 */
 	public void setPageComponentPaneFactoryId(String factoryId) {
-		services.put(PageComponentPaneFactory.class, factoryId);
+		registerService(PageComponentPaneFactory.class, factoryId);
 	}
 
 	/**
@@ -359,7 +489,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param binderSelectionStrategy
 	 */
 	public void setBinderSelectionStrategy(BinderSelectionStrategy binderSelectionStrategy) {
-		services.put(BinderSelectionStrategy.class, binderSelectionStrategy);
+		registerService(BinderSelectionStrategy.class, binderSelectionStrategy);
 	}
 
 	/**
@@ -368,7 +498,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param binderSelectionStrategyId bean id
 	 */
 	public void setBinderSelectionStrategyId(String binderSelectionStrategyId) {
-		services.put(BinderSelectionStrategy.class, binderSelectionStrategyId);
+		registerService(BinderSelectionStrategy.class, binderSelectionStrategyId);
 	}
 
 	/**
@@ -377,7 +507,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param bindingFactoryProvider
 	 */
 	public void setBindingFactoryProvider(BindingFactoryProvider bindingFactoryProvider) {
-		services.put(BindingFactoryProvider.class, bindingFactoryProvider);
+		registerService(BindingFactoryProvider.class, bindingFactoryProvider);
 	}
 
 	/**
@@ -386,7 +516,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param bindingFactoryProviderId bean id
 	 */
 	public void setBindingFactoryProviderId(String bindingFactoryProviderId) {
-		services.put(BindingFactoryProvider.class, bindingFactoryProviderId);
+		registerService(BindingFactoryProvider.class, bindingFactoryProviderId);
 	}
 
 	/**
@@ -395,7 +525,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param commandServices
 	 */
 	public void setCommandServices(CommandServices commandServices) {
-		services.put(CommandServices.class, commandServices);
+		registerService(CommandServices.class, commandServices);
 	}
 
 	/**
@@ -404,7 +534,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param commandServicesId bean id
 	 */
 	public void setCommandServicesId(String commandServicesId) {
-		services.put(CommandServices.class, commandServicesId);
+		registerService(CommandServices.class, commandServicesId);
 	}
 
 	/**
@@ -413,7 +543,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param commandConfigurer
 	 */
 	public void setCommandConfigurer(CommandConfigurer commandConfigurer) {
-		services.put(CommandConfigurer.class, commandConfigurer);
+		registerService(CommandConfigurer.class, commandConfigurer);
 	}
 
 	/**
@@ -422,7 +552,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param commandConfigurerId bean id
 	 */
 	public void setCommandConfigurerId(String commandConfigurerId) {
-		services.put(CommandConfigurer.class, commandConfigurerId);
+		registerService(CommandConfigurer.class, commandConfigurerId);
 	}
 
 	/**
@@ -431,7 +561,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param buttonFactory
 	 */
 	public void setButtonFactory(ButtonFactory buttonFactory) {
-		services.put(ButtonFactory.class, buttonFactory);
+		registerService(ButtonFactory.class, buttonFactory);
 	}
 
 	/**
@@ -440,7 +570,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param buttonFactoryId bean id
 	 */
 	public void setButtonFactoryId(String buttonFactoryId) {
-		services.put(ButtonFactory.class, buttonFactoryId);
+		registerService(ButtonFactory.class, buttonFactoryId);
 	}
 
 	/**
@@ -449,7 +579,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param menuFactory
 	 */
 	public void setMenuFactory(MenuFactory menuFactory) {
-		services.put(MenuFactory.class, menuFactory);
+		registerService(MenuFactory.class, menuFactory);
 	}
 
 	/**
@@ -458,7 +588,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param menuFactoryId bean id
 	 */
 	public void setMenuFactoryId(String menuFactoryId) {
-		services.put(MenuFactory.class, menuFactoryId);
+		registerService(MenuFactory.class, menuFactoryId);
 	}
 
 	/**
@@ -467,7 +597,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param componentFactory
 	 */
 	public void setComponentFactory(ComponentFactory componentFactory) {
-		services.put(ComponentFactory.class, componentFactory);
+		registerService(ComponentFactory.class, componentFactory);
 	}
 
 	/**
@@ -476,7 +606,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param componentFactoryId bean id
 	 */
 	public void setComponentFactoryId(String componentFactoryId) {
-		services.put(ComponentFactory.class, componentFactoryId);
+		registerService(ComponentFactory.class, componentFactoryId);
 	}
 
 	/**
@@ -485,7 +615,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param conversionService
 	 */
 	public void setConversionService(ConversionService conversionService) {
-		services.put(ConversionService.class, conversionService);
+		registerService(ConversionService.class, conversionService);
 	}
 
 	/**
@@ -494,7 +624,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param conversionServiceId bean id
 	 */
 	public void setConversionServiceId(String conversionServiceId) {
-		services.put(ConversionService.class, conversionServiceId);
+		registerService(ConversionService.class, conversionServiceId);
 	}
 
 	/**
@@ -503,7 +633,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param formComponentInterceptorFactory
 	 */
 	public void setFormComponentInterceptorFactory(FormComponentInterceptorFactory formComponentInterceptorFactory) {
-		services.put(FormComponentInterceptorFactory.class, formComponentInterceptorFactory);
+		registerService(FormComponentInterceptorFactory.class, formComponentInterceptorFactory);
 	}
 
 	/**
@@ -512,7 +642,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param formComponentInterceptorFactoryId bean id
 	 */
 	public void setFormComponentInterceptorFactoryId(String formComponentInterceptorFactoryId) {
-		services.put(FormComponentInterceptorFactory.class, formComponentInterceptorFactoryId);
+		registerService(FormComponentInterceptorFactory.class, formComponentInterceptorFactoryId);
 	}
 
 	/**
@@ -521,7 +651,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param fieldFaceSource
 	 */
 	public void setFieldFaceSource(FieldFaceSource fieldFaceSource) {
-		services.put(FieldFaceSource.class, fieldFaceSource);
+		registerService(FieldFaceSource.class, fieldFaceSource);
 	}
 
 	/**
@@ -530,7 +660,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param fieldFaceSourceId bean id
 	 */
 	public void setFieldFaceSourceId(String fieldFaceSourceId) {
-		services.put(FieldFaceSource.class, fieldFaceSourceId);
+		registerService(FieldFaceSource.class, fieldFaceSourceId);
 	}
 
 	/**
@@ -539,7 +669,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param iconSource
 	 */
 	public void setIconSource(IconSource iconSource) {
-		services.put(IconSource.class, iconSource);
+		registerService(IconSource.class, iconSource);
 	}
 
 	/**
@@ -548,7 +678,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param iconSourceId bean id
 	 */
 	public void setIconSourceId(String iconSourceId) {
-		services.put(IconSource.class, iconSourceId);
+		registerService(IconSource.class, iconSourceId);
 	}
 
 	/**
@@ -557,7 +687,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param imageSource
 	 */
 	public void setImageSource(ImageSource imageSource) {
-		services.put(ImageSource.class, imageSource);
+		registerService(ImageSource.class, imageSource);
 	}
 
 	/**
@@ -566,7 +696,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param imageSourceId bean id
 	 */
 	public void setImageSourceId(String imageSourceId) {
-		services.put(ImageSource.class, imageSourceId);
+		registerService(ImageSource.class, imageSourceId);
 	}
 
 	/**
@@ -575,7 +705,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param labeledEnumResolver
 	 */
 	public void setLabeledEnumResolver(LabeledEnumResolver labeledEnumResolver) {
-		services.put(LabeledEnumResolver.class, labeledEnumResolver);
+		registerService(LabeledEnumResolver.class, labeledEnumResolver);
 	}
 
 	/**
@@ -584,7 +714,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param labeledEnumResolverId bean id
 	 */
 	public void setLabeledEnumResolverId(String labeledEnumResolverId) {
-		services.put(LabeledEnumResolver.class, labeledEnumResolverId);
+		registerService(LabeledEnumResolver.class, labeledEnumResolverId);
 	}
 
 	/**
@@ -593,7 +723,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param messageSource
 	 */
 	public void setMessageSource(MessageSource messageSource) {
-		services.put(MessageSource.class, messageSource);
+		registerService(MessageSource.class, messageSource);
 	}
 
 	/**
@@ -602,7 +732,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param messageSourceId bean id
 	 */
 	public void setMessageSourceId(String messageSourceId) {
-		services.put(MessageSource.class, messageSourceId);
+		registerService(MessageSource.class, messageSourceId);
 	}
 
 	/**
@@ -611,7 +741,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param messageSourceAccessor
 	 */
 	public void setMessageSourceAccesor(MessageSourceAccessor messageSourceAccessor) {
-		services.put(MessageSourceAccessor.class, messageSourceAccessor);
+		registerService(MessageSourceAccessor.class, messageSourceAccessor);
 	}
 
 	/**
@@ -620,7 +750,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param messageSourceAccessorId bean id
 	 */
 	public void setMessageSourceAccesorId(String messageSourceAccessorId) {
-		services.put(MessageSourceAccessor.class, messageSourceAccessorId);
+		registerService(MessageSourceAccessor.class, messageSourceAccessorId);
 	}
 
 	/**
@@ -629,7 +759,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param rulesSource
 	 */
 	public void setRulesSource(RulesSource rulesSource) {
-		services.put(RulesSource.class, rulesSource);
+		registerService(RulesSource.class, rulesSource);
 	}
 
 	/**
@@ -638,7 +768,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param rulesSourceId bean id
 	 */
 	public void setRulesSourceId(String rulesSourceId) {
-		services.put(RulesSource.class, rulesSourceId);
+		registerService(RulesSource.class, rulesSourceId);
 	}
 
 	/**
@@ -647,7 +777,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param securityControllerManager instance to use
 	 */
 	public void setSecurityControllerManager(SecurityControllerManager securityControllerManager) {
-		services.put(SecurityControllerManager.class, securityControllerManager);
+		registerService(SecurityControllerManager.class, securityControllerManager);
 	}
 
 	/**
@@ -656,7 +786,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param securityControllerManagerId bean id
 	 */
 	public void setSecurityControllerManagerId(String securityControllerManagerId) {
-		services.put(SecurityControllerManager.class, securityControllerManagerId);
+		registerService(SecurityControllerManager.class, securityControllerManagerId);
 	}
 
 	/**
@@ -665,7 +795,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param valueChangeDetector instance to use
 	 */
 	public void setValueChangeDetector(ValueChangeDetector valueChangeDetector) {
-		services.put(ValueChangeDetector.class, valueChangeDetector);
+		registerService(ValueChangeDetector.class, valueChangeDetector);
 	}
 
 	/**
@@ -674,7 +804,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param valueChangeDetectorId bean id
 	 */
 	public void setValueChangeDetectorId(String valueChangeDetectorId) {
-		services.put(ValueChangeDetector.class, valueChangeDetectorId);
+		registerService(ValueChangeDetector.class, valueChangeDetectorId);
 	}
 
 	/**
@@ -683,7 +813,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param viewDescriptorRegistry
 	 */
 	public void setViewDescriptorRegistry(ViewDescriptorRegistry viewDescriptorRegistry) {
-		services.put(ViewDescriptorRegistry.class, viewDescriptorRegistry);
+		registerService(ViewDescriptorRegistry.class, viewDescriptorRegistry);
 	}
 
 	/**
@@ -692,7 +822,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param pageDescriptorRegistry
 	 */
 	public void setPageDescriptorRegistry(PageDescriptorRegistry pageDescriptorRegistry) {
-		services.put(PageDescriptorRegistry.class, pageDescriptorRegistry);
+		registerService(PageDescriptorRegistry.class, pageDescriptorRegistry);
 	}
 
 	/**
@@ -701,7 +831,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param messageTranslatorFactory
 	 */
 	public void setMessageTranslatorFactory(MessageTranslatorFactory messageTranslatorFactory) {
-		services.put(MessageTranslatorFactory.class, messageTranslatorFactory);
+		registerService(MessageTranslatorFactory.class, messageTranslatorFactory);
 	}
 
 	/**
@@ -710,7 +840,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param messageTranslatorFactory
 	 */
 	public void setMessageTranslatorFactoryId(String messageTranslatorFactoryId) {
-		services.put(MessageTranslatorFactory.class, messageTranslatorFactoryId);
+		registerService(MessageTranslatorFactory.class, messageTranslatorFactoryId);
 	}
 
 	/**
@@ -719,7 +849,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param viewDescriptorRegistryId bean id
 	 */
 	public void setViewDescriptorRegistryId(String viewDescriptorRegistryId) {
-		services.put(ViewDescriptorRegistry.class, viewDescriptorRegistryId);
+		registerService(ViewDescriptorRegistry.class, viewDescriptorRegistryId);
 	}
 
 	/**
@@ -728,7 +858,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 	 * @param pageDescriptorRegistryId bean id
 	 */
 	public void setPageDescriptorRegistryId(String pageDescriptorRegistryId) {
-		services.put(PageDescriptorRegistry.class, pageDescriptorRegistryId);
+		registerService(PageDescriptorRegistry.class, pageDescriptorRegistryId);
 	}
 
 	/**
@@ -801,6 +931,65 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 		return serviceImplBuilders.containsKey(serviceType);
 	}
 
+	/**
+	 * Lookup count and resolution time of a resolved service.
+	 */
+	public static class ServiceStatistics {
+
+		private final Class serviceType;
+
+		private final long lookupCount;
+
+		private final long resolutionTime;
+
+		public ServiceStatistics(Class serviceType, long lookupCount, long resolutionTime) {
+			this.serviceType = serviceType;
+			this.lookupCount = lookupCount;
+			this.resolutionTime = resolutionTime;
+		}
+
+		public Class getServiceType() {
+			return serviceType;
+		}
+
+		/**
+		 * @return the number of times the service was requested
+		 */
+		public long getLookupCount() {
+			return lookupCount;
+		}
+
+		/**
+		 * @return the time it took to resolve the service, in nanoseconds
+		 */
+		public long getResolutionTime() {
+			return resolutionTime;
+		}
+
+		@Override
+		public String toString() {
+			return serviceType.getName() + ": " + lookupCount + " lookups, resolved in "
+					+ (resolutionTime / 1000000) + " ms";
+		}
+	}
+
+	private static class ResolvedService {
+
+		private final Class serviceType;
+
+		private final Object service;
+
+		private final long resolutionTime;
+
+		private final LongAdder lookups = new LongAdder();
+
+		ResolvedService(Class serviceType, Object service, long resolutionTime) {
+			this.serviceType = serviceType;
+			this.service = service;
+			this.resolutionTime = resolutionTime;
+		}
+	}
+
 	/**
 	 * Internal interface used to provide default implementation builders.
 	 */
@@ -1030,7 +1219,7 @@ public class DefaultApplicationServices implements ApplicationServices, Applicat
 		public Object build(DefaultApplicationServices applicationServices) {
 			// The application context is our properly configured message source
 			logger.info("Using MessageSource from application context");
-			ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+			CatalogMessageSource messageSource = new CatalogMessageSource();
 			messageSource.setBasename("org.springframework.richclient.application.messages");
 			return messageSource;
 		}
@@ -21,7 +21,7 @@ import javax.swing.AbstractButton;
 import javax.swing.SwingConstants;
 
 import org.springframework.richclient.command.AbstractCommand;
-import org.springframework.richclient.image.ShadowedIcon;
+import org.springframework.richclient.image.RenderedIconCache;
 
 /**
  * Custom <code>CommandButtonConfigurer</code> for buttons on the toolbar.
@@ -103,7 +103,7 @@ public class ToolBarCommandButtonConfigurer extends DefaultCommandButtonConfigur
 
 		if (enableShadow && button.getIcon() != null && button.getRolloverIcon() == null) {
 			button.setRolloverEnabled(true);
-			button.setRolloverIcon(new ShadowedIcon(button.getIcon()));
+			button.setRolloverIcon(RenderedIconCache.getDefault().getIcon(button.getIcon(), RenderedIconCache.SHADOW));
 		}
 
 		button.setMargin(new Insets(2, 5, 2, 5));
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.command.support;
+
+import java.awt.Dimension;
+import java.awt.Toolkit;
+import java.awt.datatransfer.StringSelection;
+import java.util.List;
+
+import javax.swing.JFrame;
+import javax.swing.JOptionPane;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.table.AbstractTableModel;
+
+import org.springframework.richclient.application.ApplicationWindow;
+import org.springframework.richclient.application.StartupProfiler;
+import org.springframework.richclient.application.StartupProfiler.Timing;
+
+/**
+ * Debug command that shows the timings collected by the
+ * {@link StartupProfiler}, the most expensive first, and copies them to the
+ * clipboard as CSV or JSON.
+ * <p/>
+ * The profiler only collects timings when the
+ * {@link StartupProfiler#ENABLED_PROPERTY} system property is set to
+ * <code>true</code>; otherwise the dialog title says so and the table only
+ * shows what was recorded while it was enabled. Use
+ * {@link #setProfiler(StartupProfiler)} to show another profiler than the
+ * shared one.
+ */
+public class ShowStartupProfileCommand extends ApplicationWindowAwareCommand {
+
+	private static final String ID = "showStartupProfileCommand";
+
+	private static final String[] OPTIONS = { "Copy as CSV", "Copy as JSON", "Close" };
+
+	private StartupProfiler profiler = StartupProfiler.instance();
+
+	public ShowStartupProfileCommand() {
+		super(ID);
+	}
+
+	/**
+	 * Set the profiler to show, defaults to the shared
+	 * {@link StartupProfiler#instance() profiler}.
+	 */
+	public void setProfiler(StartupProfiler profiler) {
+		this.profiler = profiler;
+	}
+
+	public StartupProfiler getProfiler() {
+		return profiler;
+	}
+
+	@Override
+	protected void doExecuteCommand() {
+		final List<Timing> timings = profiler.getTimings();
+		JTable table = new JTable(new TimingTableModel(timings));
+		table.setAutoCreateRowSorter(true);
+		JScrollPane scrollPane = new JScrollPane(table);
+		scrollPane.setPreferredSize(new Dimension(700, 400));
+
+		String title = profiler.isEnabled() ? "Startup profile" : "Startup profile (profiler disabled, set -D"
+				+ StartupProfiler.ENABLED_PROPERTY + "=true)";
+		int option = JOptionPane.showOptionDialog(resolveParentFrame(), scrollPane, title,
+				JOptionPane.DEFAULT_OPTION, JOptionPane.PLAIN_MESSAGE, null, OPTIONS, OPTIONS[2]);
+		if (option == 0) {
+			copyToClipboard(profiler.toCsv());
+		} else if (option == 1) {
+			copyToClipboard(profiler.toJson());
+		}
+	}
+
+	private void copyToClipboard(String text) {
+		StringSelection selection = new StringSelection(text);
+		Toolkit.getDefaultToolkit().getSystemClipboard().setContents(selection, selection);
+	}
+
+	private JFrame resolveParentFrame() {
+		ApplicationWindow window = getApplicationWindow();
+		return (window == null) ? null : window.getControl();
+	}
+
+	private static class TimingTableModel extends AbstractTableModel {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final String[] COLUMNS = { "Category", "Name", "Count", "Total (ms)", "Average (ms)",
+				"Max (ms)" };
+
+		private final List<Timing> timings;
+
+		TimingTableModel(List<Timing> timings) {
+			this.timings = timings;
+		}
+
+		@Override
+		public int getRowCount() {
+			return timings.size();
+		}
+
+		@Override
+		public int getColumnCount() {
+			return COLUMNS.length;
+		}
+
+		@Override
+		public String getColumnName(int column) {
+			return COLUMNS[column];
+		}
+
+		@Override
+		public Class<?> getColumnClass(int column) {
+			if (column == 2) {
+				return Long.class;
+			}
+			return column < 2 ? String.class : Double.class;
+		}
+
+		@Override
+		public Object getValueAt(int row, int column) {
+			Timing timing = timings.get(row);
+			switch (column) {
+			case 0:
+				return timing.getCategory();
+			case 1:
+				return timing.getName();
+			case 2:
+				return Long.valueOf(timing.getCount());
+			case 3:
+				return toMillis(timing.getTotalTime());
+			case 4:
+				return toMillis(timing.getAverageTime());
+			default:
+				return toMillis(timing.getMaxTime());
+			}
+		}
+
+		private static Double toMillis(long nanos) {
+			return Double.valueOf(nanos / 1000 / 1000.0);
+		}
+	}
+}
@@ -91,7 +91,10 @@ public class DefaultMessageAreaModel implements Messagable {
 	}
 
 	protected void fireMessageUpdated(Message oldMsg, Message newMsg) {
-		listenerList.fire("propertyChange", new PropertyChangeEvent(delegate, MESSAGE_PROPERTY, oldMsg, newMsg));
+		if (listenerList.hasListeners()) {
+			listenerList.dispatch(EventListenerListHelper.PROPERTY_CHANGE,
+					new PropertyChangeEvent(delegate, MESSAGE_PROPERTY, oldMsg, newMsg));
+		}
 	}
 
 	@Override
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.form;
+
+import java.awt.Container;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.swing.JComponent;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.richclient.application.StartupTask;
+import org.springframework.richclient.util.IdleTaskScheduler;
+import org.springframework.util.Assert;
+
+/**
+ * Pool of built forms. Building a form, its form model, bindings and controls,
+ * is expensive; a pooled form is built once and rebound to the next form
+ * object with {@link AbstractForm#setFormObject(Object)}.
+ * <p>
+ * Forms can be built ahead of their first use with {@link #prebuild(int)}. As a
+ * {@link StartupTask} bean the pool schedules building
+ * {@link #setPrebuildCount(int) prebuildCount} forms on the
+ * {@link IdleTaskScheduler} once the application has started, so they are
+ * built one at a time while the event dispatch thread is idle.
+ *
+ * <pre>
+ * &lt;bean id="customerFormPool" class="org.springframework.richclient.form.FormPool"&gt;
+ *   &lt;constructor-arg&gt;
+ *     &lt;bean class="org.springframework.beans.factory.config.ObjectFactoryCreatingFactoryBean"&gt;
+ *       &lt;property name="targetBeanName" value="customerForm" /&gt;
+ *     &lt;/bean&gt;
+ *   &lt;/constructor-arg&gt;
+ * &lt;/bean&gt;
+ * </pre>
+ *
+ * with <code>customerForm</code> a prototype bean. The pool must only be used
+ * on the event dispatch thread.
+ */
+public class FormPool implements StartupTask {
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private final ObjectFactory formFactory;
+
+	private final Deque<AbstractForm> idleForms = new ArrayDeque<AbstractForm>();
+
+	private int prebuildCount = 1;
+
+	private int maxIdle = 4;
+
+	private IdleTaskScheduler idleTaskScheduler;
+
+	/**
+	 * Creates a pool of forms.
+	 *
+	 * @param formFactory creates a new {@link AbstractForm} on each call.
+	 */
+	public FormPool(ObjectFactory formFactory) {
+		Assert.notNull(formFactory, "formFactory must not be null");
+		this.formFactory = formFactory;
+	}
+
+	/**
+	 * Set the number of forms to build when the application starts. Defaults to
+	 * 1.
+	 */
+	public void setPrebuildCount(int prebuildCount) {
+		this.prebuildCount = prebuildCount;
+	}
+
+	/**
+	 * Set the maximum number of idle forms kept by the pool. Defaults to 4.
+	 */
+	public void setMaxIdle(int maxIdle) {
+		this.maxIdle = maxIdle;
+	}
+
+	/**
+	 * Set the scheduler used by {@link #prebuildLater()}. Defaults to the shared
+	 * {@link IdleTaskScheduler}.
+	 */
+	public void setIdleTaskScheduler(IdleTaskScheduler idleTaskScheduler) {
+		this.idleTaskScheduler = idleTaskScheduler;
+	}
+
+	/**
+	 * Returns a built form, an idle one if available, bound to the form object.
+	 *
+	 * @param formObject the form object, or <code>null</code> to leave the form
+	 *                   disabled until a form object is set.
+	 */
+	public AbstractForm acquire(Object formObject) {
+		AbstractForm form = idleForms.pollFirst();
+		if (form == null) {
+			form = build();
+		}
+		if (formObject != null) {
+			form.setFormObject(formObject);
+		}
+		return form;
+	}
+
+	/**
+	 * Returns a form to the pool. Uncommitted changes are reverted, the form
+	 * object is cleared and the control of the form is removed from its parent.
+	 * The form is dropped if the pool already holds {@link #setMaxIdle(int)
+	 * maxIdle} forms.
+	 */
+	public void release(AbstractForm form) {
+		Assert.notNull(form, "form must not be null");
+		if (form.isDirty()) {
+			form.revert();
+		}
+		form.setFormObject(null);
+		if (form.isControlCreated()) {
+			JComponent control = form.getControl();
+			Container parent = control.getParent();
+			if (parent != null) {
+				parent.remove(control);
+				parent.validate();
+				parent.repaint();
+			}
+		}
+		if (idleForms.size() < maxIdle && !idleForms.contains(form)) {
+			idleForms.addFirst(form);
+		}
+	}
+
+	/**
+	 * Builds forms until the pool holds the given number of idle forms.
+	 */
+	public void prebuild(int count) {
+		while (idleForms.size() < Math.min(count, maxIdle)) {
+			idleForms.addLast(build());
+		}
+	}
+
+	/**
+	 * Schedules building {@link #setPrebuildCount(int) prebuildCount} forms while
+	 * the event dispatch thread is idle, one form per step.
+	 */
+	public IdleTaskScheduler.ScheduledTask prebuildLater() {
+		IdleTaskScheduler scheduler = idleTaskScheduler != null ? idleTaskScheduler : IdleTaskScheduler
+				.getSharedInstance();
+		return scheduler.schedule(new IdleTaskScheduler.Task() {
+			@Override
+			public boolean run(long deadline) {
+				int count = Math.min(prebuildCount, maxIdle);
+				if (idleForms.size() < count) {
+					idleForms.addLast(build());
+				}
+				return idleForms.size() < count;
+			}
+		}, IdleTaskScheduler.LOW_PRIORITY, 0);
+	}
+
+	/**
+	 * Schedules building the forms.
+	 *
+	 * @see #prebuildLater()
+	 */
+	@Override
+	public void execute() {
+		prebuildLater();
+	}
+
+	public int getIdleCount() {
+		return idleForms.size();
+	}
+
+	/**
+	 * Creates a form and its control.
+	 */
+	protected AbstractForm build() {
+		long start = System.currentTimeMillis();
+		AbstractForm form = (AbstractForm) formFactory.getObject();
+		form.getControl();
+		if (logger.isDebugEnabled()) {
+			logger.debug("Built form '" + form.getId() + "' in " + (System.currentTimeMillis() - start) + " ms");
+		}
+		return form;
+	}
+}
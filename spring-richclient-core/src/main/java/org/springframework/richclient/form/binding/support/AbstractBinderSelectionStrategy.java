@@ -15,13 +15,16 @@
  */
 package org.springframework.richclient.form.binding.support;
 
+import java.beans.PropertyDescriptor;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.propertyeditors.ClassEditor;
 import org.springframework.binding.form.FormModel;
@@ -36,6 +39,12 @@ import org.springframework.util.Assert;
 /**
  * Default implementation of <code>BinderSelectionStrategy</code>. Provides for
  * registering of binders by control type, property type and property name.
+ * <p>
+ * Resolved binders are remembered per form object class and property name, per
+ * property type and per control type, including the lookups that found no
+ * binder, so the class hierarchies are searched only once. Registering a
+ * binder clears the resolved binders. Use {@link #prepareBinders(Class)} to
+ * resolve the binders of a form object class before its form is first shown.
  *
  * @author Oliver Hutchison
  * @author Jim Moore
@@ -55,6 +64,15 @@ public abstract class AbstractBinderSelectionStrategy
 
 	private List bindersForPropertyNames = new ArrayList();
 
+	/** Marks resolutions that found no binder. */
+	private static final Object NO_BINDER = new Object();
+
+	private final Map<Object, Object> resolvedPropertyNameBinders = new ConcurrentHashMap<Object, Object>();
+
+	private final Map<Object, Object> resolvedPropertyTypeBinders = new ConcurrentHashMap<Object, Object>();
+
+	private final Map<Object, Object> resolvedControlTypeBinders = new ConcurrentHashMap<Object, Object>();
+
 	private ApplicationContext applicationContext;
 
 	public AbstractBinderSelectionStrategy(Class defaultControlType) {
@@ -110,24 +128,24 @@ public abstract class AbstractBinderSelectionStrategy
 	 */
 	protected Binder findBinderByPropertyName(Class parentObjectType, String propertyName) {
 		PropertyNameKey key = new PropertyNameKey(parentObjectType, propertyName);
-		Binder binder = (Binder) propertyNameBinders.get(key);
-		if (binder == null) {
-			// if no direct match was found try to find a match in any super classes
-			final Map potentialMatchingBinders = new HashMap();
-			for (Iterator i = propertyNameBinders.entrySet().iterator(); i.hasNext();) {
-				Map.Entry entry = (Map.Entry) i.next();
-				if (((PropertyNameKey) entry.getKey()).getPropertyName().equals(propertyName)) {
-					potentialMatchingBinders.put(((PropertyNameKey) entry.getKey()).getParentObjectType(),
-							entry.getValue());
+		Object resolved = resolvedPropertyNameBinders.get(key);
+		if (resolved == null) {
+			resolved = propertyNameBinders.get(key);
+			if (resolved == null) {
+				// if no direct match was found try to find a match in any super classes
+				final Map potentialMatchingBinders = new HashMap();
+				for (Iterator i = propertyNameBinders.entrySet().iterator(); i.hasNext();) {
+					Map.Entry entry = (Map.Entry) i.next();
+					if (((PropertyNameKey) entry.getKey()).getPropertyName().equals(propertyName)) {
+						potentialMatchingBinders.put(((PropertyNameKey) entry.getKey()).getParentObjectType(),
+								entry.getValue());
+					}
 				}
+				resolved = ClassUtils.getValueFromMapForClass(parentObjectType, potentialMatchingBinders);
 			}
-			binder = (Binder) ClassUtils.getValueFromMapForClass(parentObjectType, potentialMatchingBinders);
-			if (binder != null) {
-				// remember the lookup so it doesn't have to be discovered again
-				registerBinderForPropertyName(parentObjectType, propertyName, binder);
-			}
+			resolved = remember(resolvedPropertyNameBinders, key, resolved);
 		}
-		return binder;
+		return toBinder(resolved);
 	}
 
 	/**
@@ -135,7 +153,7 @@ public abstract class AbstractBinderSelectionStrategy
 	 * try to find binder for closest superclass of the given control type.
 	 */
 	protected Binder findBinderByPropertyType(Class propertyType) {
-		return (Binder) ClassUtils.getValueFromMapForClass(propertyType, propertyTypeBinders);
+		return findBinderByClass(propertyType, propertyTypeBinders, resolvedPropertyTypeBinders);
 	}
 
 	/**
@@ -143,11 +161,64 @@ public abstract class AbstractBinderSelectionStrategy
 	 * try to find binder for closest superclass of the given control type.
 	 */
 	protected Binder findBinderByControlType(Class controlType) {
-		return (Binder) ClassUtils.getValueFromMapForClass(controlType, controlTypeBinders);
+		return findBinderByClass(controlType, controlTypeBinders, resolvedControlTypeBinders);
+	}
+
+	private Binder findBinderByClass(Class type, Map registeredBinders, Map<Object, Object> resolvedBinders) {
+		Object resolved = resolvedBinders.get(type);
+		if (resolved == null) {
+			// search a copy, getValueFromMapForClass adds its matches to the map
+			resolved = remember(resolvedBinders, type,
+					ClassUtils.getValueFromMapForClass(type, new HashMap(registeredBinders)));
+		}
+		return toBinder(resolved);
+	}
+
+	private Object remember(Map<Object, Object> resolvedBinders, Object key, Object binder) {
+		Object resolved = binder != null ? binder : NO_BINDER;
+		resolvedBinders.put(key, resolved);
+		return resolved;
+	}
+
+	private Binder toBinder(Object resolved) {
+		return resolved == NO_BINDER ? null : (Binder) resolved;
+	}
+
+	/**
+	 * Forget the resolved binders, called when a binder is registered.
+	 */
+	protected void clearResolvedBinders() {
+		resolvedPropertyNameBinders.clear();
+		resolvedPropertyTypeBinders.clear();
+		resolvedControlTypeBinders.clear();
+	}
+
+	/**
+	 * Resolve the binders of the properties of a form object class ahead of its
+	 * first binding, e.g. from a startup task. Only the readable top-level
+	 * properties are resolved.
+	 *
+	 * @param formObjectClass the class of the form object.
+	 */
+	public void prepareBinders(Class formObjectClass) {
+		Assert.notNull(formObjectClass, "formObjectClass must not be null");
+		PropertyDescriptor[] descriptors = BeanUtils.getPropertyDescriptors(formObjectClass);
+		for (int i = 0; i < descriptors.length; i++) {
+			PropertyDescriptor descriptor = descriptors[i];
+			if (descriptor.getReadMethod() == null || descriptor.getPropertyType() == null
+					|| "class".equals(descriptor.getName())) {
+				continue;
+			}
+			if (findBinderByPropertyName(formObjectClass, descriptor.getName()) == null) {
+				findBinderByPropertyType(descriptor.getPropertyType());
+			}
+		}
+		findBinderByControlType(defaultControlType);
 	}
 
 	protected void registerBinderForPropertyName(Class parentObjectType, String propertyName, Binder binder) {
 		propertyNameBinders.put(new PropertyNameKey(parentObjectType, propertyName), binder);
+		clearResolvedBinders();
 	}
 
 	/**
@@ -240,6 +311,7 @@ public abstract class AbstractBinderSelectionStrategy
 
 	protected void registerBinderForPropertyType(Class propertyType, Binder binder) {
 		propertyTypeBinders.put(propertyType, binder);
+		clearResolvedBinders();
 	}
 
 	/**
@@ -264,6 +336,7 @@ public abstract class AbstractBinderSelectionStrategy
 
 	protected void registerBinderForControlType(Class controlType, Binder binder) {
 		controlTypeBinders.put(controlType, binder);
+		clearResolvedBinders();
 	}
 
 	/**
@@ -232,9 +232,15 @@ public abstract class AbstractListBinding extends AbstractBinding {
 			notifyObservers();
 		}
 
+		/**
+		 * Passes the argument on, so a narrowed filter can be applied incrementally.
+		 *
+		 * @see FilteredListModel#CONSTRAINT_NARROWED
+		 */
 		@Override
 		public void update(Observable o, Object arg) {
-			update();
+			setChanged();
+			notifyObservers(arg);
 		}
 	}
 
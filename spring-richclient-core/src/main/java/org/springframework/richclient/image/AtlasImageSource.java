@@ -0,0 +1,295 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.image;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import javax.imageio.ImageIO;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.style.ToStringCreator;
+import org.springframework.richclient.application.StartupTask;
+import org.springframework.util.Assert;
+
+/**
+ * Image source serving the images of an atlas written by the
+ * {@link IconAtlasPacker}. Each atlas page is decoded once, the images are
+ * sub-images sharing the pixels of their page.
+ * <p>
+ * Pages are decoded on first use. As a {@link StartupTask} bean the atlas
+ * source decodes all pages in parallel while the application starts, see
+ * {@link #preload()}. Keys that aren't in the atlas, like images that were too
+ * large to pack, are looked up in the fallback image source.
+ *
+ * <pre>
+ * &lt;bean id="imageSource" class="org.springframework.richclient.image.AtlasImageSource"&gt;
+ *   &lt;constructor-arg value="classpath:images/images.atlas" /&gt;
+ *   &lt;constructor-arg ref="defaultImageSource" /&gt;
+ * &lt;/bean&gt;
+ * </pre>
+ *
+ * @see IconAtlasPacker
+ */
+public class AtlasImageSource implements ImageSource, StartupTask {
+
+	protected static final Log logger = LogFactory.getLog(AtlasImageSource.class);
+
+	private final Resource index;
+
+	private final ImageSource fallbackImageSource;
+
+	private final Map<String, Region> regions = new HashMap<String, Region>();
+
+	private final Resource[] pageResources;
+
+	private final BufferedImage[] pages;
+
+	private final Object[] pageLocks;
+
+	private final Map<String, Image> images = new ConcurrentHashMap<String, Image>();
+
+	/**
+	 * Creates an atlas image source without fallback.
+	 *
+	 * @param index the index written by the {@link IconAtlasPacker}, the pages
+	 *              are resolved relative to it.
+	 */
+	public AtlasImageSource(Resource index) throws IOException {
+		this(index, null);
+	}
+
+	/**
+	 * Creates an atlas image source.
+	 *
+	 * @param index               the index written by the
+	 *                            {@link IconAtlasPacker}, the pages are resolved
+	 *                            relative to it.
+	 * @param fallbackImageSource image source for the keys that aren't in the
+	 *                            atlas, may be <code>null</code>.
+	 */
+	public AtlasImageSource(Resource index, ImageSource fallbackImageSource) throws IOException {
+		Assert.notNull(index, "index must not be null");
+		this.index = index;
+		this.fallbackImageSource = fallbackImageSource;
+
+		Properties properties = new Properties();
+		InputStream in = index.getInputStream();
+		try {
+			properties.load(in);
+		} finally {
+			in.close();
+		}
+		List<Resource> resources = new ArrayList<Resource>();
+		for (int page = 0; properties.containsKey(IconAtlasPacker.PAGE_PREFIX + page); page++) {
+			resources.add(index.createRelative(properties.getProperty(IconAtlasPacker.PAGE_PREFIX + page)));
+		}
+		this.pageResources = resources.toArray(new Resource[resources.size()]);
+		this.pages = new BufferedImage[pageResources.length];
+		this.pageLocks = new Object[pageResources.length];
+		for (int i = 0; i < pageLocks.length; i++) {
+			pageLocks[i] = new Object();
+		}
+
+		for (Iterator<String> iter = properties.stringPropertyNames().iterator(); iter.hasNext();) {
+			String key = iter.next();
+			if (!key.startsWith(IconAtlasPacker.PAGE_PREFIX)) {
+				regions.put(key, Region.valueOf(key, properties.getProperty(key), pageResources.length));
+			}
+		}
+	}
+
+	@Override
+	public Image getImage(String key) {
+		Assert.notNull(key);
+		Image image = images.get(key);
+		if (image != null) {
+			return image;
+		}
+		Region region = regions.get(key);
+		if (region == null) {
+			if (fallbackImageSource == null) {
+				throw new NoSuchImageResourceException(key);
+			}
+			return fallbackImageSource.getImage(key);
+		}
+		image = getPage(region.page).getSubimage(region.x, region.y, region.width, region.height);
+		images.put(key, image);
+		return image;
+	}
+
+	/**
+	 * Returns a resource with the PNG encoded image of the key. This encodes the
+	 * image on each call, use {@link #getImage(String)} to get the image.
+	 */
+	@Override
+	public AwtImageResource getImageResource(String key) {
+		Assert.notNull(key);
+		if (!regions.containsKey(key)) {
+			if (fallbackImageSource == null) {
+				throw new NoSuchImageResourceException(key);
+			}
+			return fallbackImageSource.getImageResource(key);
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			ImageIO.write((BufferedImage) getImage(key), "png", out);
+		} catch (IOException e) {
+			throw new NoSuchImageResourceException(key, e);
+		}
+		return new AwtImageResource(new ByteArrayResource(out.toByteArray(), "image '" + key + "' in atlas " + index));
+	}
+
+	public boolean containsKey(String key) {
+		return regions.containsKey(key);
+	}
+
+	public int size() {
+		return regions.size();
+	}
+
+	/**
+	 * Decodes all atlas pages that aren't decoded yet, in parallel.
+	 */
+	public void preload() {
+		List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+		for (int i = 0; i < pages.length; i++) {
+			final int page = i;
+			tasks.add(new Callable<Object>() {
+				@Override
+				public Object call() {
+					return getPage(page);
+				}
+			});
+		}
+		try {
+			List<Future<Object>> results = ForkJoinPool.commonPool().invokeAll(tasks);
+			for (Iterator<Future<Object>> iter = results.iterator(); iter.hasNext();) {
+				iter.next().get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof NoSuchImageResourceException) {
+				throw (NoSuchImageResourceException) cause;
+			}
+			throw new IllegalStateException("Could not preload atlas " + index, cause);
+		}
+	}
+
+	/**
+	 * Preloads the atlas pages.
+	 *
+	 * @see #preload()
+	 */
+	@Override
+	public void execute() {
+		preload();
+	}
+
+	private BufferedImage getPage(int page) {
+		synchronized (pageLocks[page]) {
+			if (pages[page] == null) {
+				pages[page] = readPage(pageResources[page]);
+			}
+			return pages[page];
+		}
+	}
+
+	private BufferedImage readPage(Resource resource) {
+		long start = System.currentTimeMillis();
+		BufferedImage image;
+		try {
+			InputStream in = resource.getInputStream();
+			try {
+				image = ImageIO.read(in);
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			throw new NoSuchImageResourceException(resource, e);
+		}
+		if (image == null) {
+			throw new NoSuchImageResourceException(resource);
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Decoded atlas page " + resource + " in " + (System.currentTimeMillis() - start) + " ms");
+		}
+		return image;
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringCreator(this).append("index", index).append("images", regions.size())
+				.append("pages", pages.length).toString();
+	}
+
+	/**
+	 * The location of an image in the atlas.
+	 */
+	private static final class Region {
+
+		private final int page;
+
+		private final int x;
+
+		private final int y;
+
+		private final int width;
+
+		private final int height;
+
+		private Region(int page, int x, int y, int width, int height) {
+			this.page = page;
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+		}
+
+		static Region valueOf(String key, String value, int pageCount) {
+			String[] parts = value.split(",");
+			if (parts.length != 5) {
+				throw new IllegalArgumentException("Invalid atlas entry for key '" + key + "': " + value);
+			}
+			Region region = new Region(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()),
+					Integer.parseInt(parts[2].trim()), Integer.parseInt(parts[3].trim()), Integer
+							.parseInt(parts[4].trim()));
+			if (region.page < 0 || region.page >= pageCount) {
+				throw new IllegalArgumentException("Invalid atlas page for key '" + key + "': " + value);
+			}
+			return region;
+		}
+	}
+}
@@ -23,13 +23,13 @@ import javax.swing.ImageIcon;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.richclient.application.ApplicationServicesLocator;
-import org.springframework.util.CachingMapDecorator;
 
 /**
  * The default implementation of ImageIconRegistry. This implementation caches
- * all icons using soft references (TODO it just lazy loads them, but it doesn't
- * use SoftReference). More specifically, cached icons will remain in memory
- * unless there is a shortage of resources in the system.
+ * the icons by key in an {@link ImageCache}: recently used icons are kept up to
+ * a size limit, older icons are kept using soft references. More specifically,
+ * cached icons will remain in memory unless there is a shortage of resources in
+ * the system.
  *
  * @author Keith Donald
  */
@@ -74,6 +74,14 @@ public class DefaultIconSource implements IconSource {
 		cache.clear();
 	}
 
+	/**
+	 * Set the maximum memory, in bytes, the pixels of recently used icons may
+	 * take in the cache. Defaults to {@link ImageCache#DEFAULT_MAX_WEIGHT}.
+	 */
+	public void setCacheLimit(long bytes) {
+		cache.setMaxWeight(bytes);
+	}
+
 	protected String doProcessImageKeyBeforeLookup(String key) {
 		// subclasses can override
 		return key;
@@ -84,16 +92,14 @@ public class DefaultIconSource implements IconSource {
 	}
 
 	/**
-	 * Icon cache using soft references.
+	 * Icon cache, creating an icon for the image of the key.
 	 * 
 	 * @author Keith Donald
 	 */
-	protected static class IconCache extends CachingMapDecorator {
-		private static final long serialVersionUID = 1L;
+	protected static class IconCache extends ImageCache {
 		private ImageSource images;
 
 		public IconCache(ImageSource images) {
-			super(true);
 			this.images = images;
 		}
 
@@ -16,8 +16,10 @@
 package org.springframework.richclient.image;
 
 import java.awt.Image;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 
 import org.apache.commons.logging.Log;
@@ -26,16 +28,16 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.style.StylerUtils;
 import org.springframework.core.style.ToStringCreator;
 import org.springframework.util.Assert;
-import org.springframework.util.CachingMapDecorator;
 
 /**
  * A collection of image resources, each indexed by a common key alias.
  * <p>
  * For example, <code>action.edit.copy = /images/edit/copy.gif</code>
  * <p>
- * This class by default performs caching of all loaded image resources using
- * soft references (TODO it just lazy loads them, but it doesn't use
- * SoftReference).
+ * Whether the image resources exist is checked once, when the image source is
+ * created. Loaded images are cached by key in an {@link ImageCache}: recently
+ * used images are kept up to a size limit, older images are kept using soft
+ * references.
  *
  * <p>
  * An image {@link Handler} is available that handles the 'image' protocol.
@@ -49,7 +51,10 @@ public class DefaultImageSource implements ImageSource {
 
 	private Map imageResources;
 
-	private ImageCache imageCache;
+	/** The existing image resources, by key. */
+	private final Map<Object, AwtImageResource> awtImageResources = new HashMap<Object, AwtImageResource>();
+
+	private final ImageCache imageCache = new ImageCache();
 
 	private AwtImageResource brokenImageIndicatorResource;
 
@@ -81,7 +86,7 @@ public class DefaultImageSource implements ImageSource {
 		Assert.notNull(imageResources);
 		this.imageResources = new HashMap(imageResources);
 		debugPrintResources();
-		this.imageCache = new ImageCache();
+		checkImageResources();
 		if (installUrlHandler) {
 			Handler.installImageUrlHandler(this);
 		}
@@ -93,37 +98,61 @@ public class DefaultImageSource implements ImageSource {
 		}
 	}
 
+	/**
+	 * Checks which image resources exist, so lookups don't need to access them.
+	 */
+	private void checkImageResources() {
+		for (Iterator iter = imageResources.entrySet().iterator(); iter.hasNext();) {
+			Map.Entry entry = (Map.Entry) iter.next();
+			Resource resource = (Resource) entry.getValue();
+			if (resource != null && resource.exists()) {
+				awtImageResources.put(entry.getKey(), new AwtImageResource(resource));
+			} else if (logger.isDebugEnabled()) {
+				logger.debug("Image resource '" + resource + "' for key '" + entry.getKey() + "' does not exist");
+			}
+		}
+	}
+
 	@Override
 	public Image getImage(String key) {
 		Assert.notNull(key);
+		Image image = (Image) imageCache.getIfPresent(key);
+		if (image != null) {
+			return image;
+		}
 		AwtImageResource resource = getImageResource(key);
+		if (resource == brokenImageIndicatorResource) {
+			return brokenImageIndicator;
+		}
 		try {
-			return (Image) imageCache.get(resource);
-		} catch (RuntimeException e) {
+			image = resource.getImage();
+		} catch (IOException e) {
 			if (brokenImageIndicator != null) {
 				return returnBrokenImageIndicator(resource);
 			}
-			throw e;
+			throw new NoSuchImageResourceException("No image found at resource '" + resource + '"', e);
 		}
+		imageCache.put(key, image);
+		return image;
 	}
 
 	@Override
 	public AwtImageResource getImageResource(String key) {
 		Assert.notNull(key);
+		AwtImageResource awtImageResource = awtImageResources.get(key);
+		if (awtImageResource != null) {
+			return awtImageResource;
+		}
 		Resource resource = (Resource) imageResources.get(key);
 		if (resource == null) {
 			throw new NoSuchImageResourceException(key);
 		}
-		try {
-			resource.getInputStream();
-			return new AwtImageResource(resource);
-		} catch (IOException e) {
-			if (brokenImageIndicatorResource == null) {
-				throw new NoSuchImageResourceException(resource, e);
-			}
-			logger.warn("Unable to load image resource at '" + resource + "'; returning the broken image indicator.");
-			return brokenImageIndicatorResource;
+		if (brokenImageIndicatorResource == null) {
+			throw new NoSuchImageResourceException(resource, new FileNotFoundException(resource
+					+ " does not exist"));
 		}
+		logger.warn("Unable to load image resource at '" + resource + "'; returning the broken image indicator.");
+		return brokenImageIndicatorResource;
 	}
 
 	public boolean containsKey(Object key) {
@@ -150,6 +179,15 @@ public class DefaultImageSource implements ImageSource {
 		return imageResources.size();
 	}
 
+	/**
+	 * Set the maximum memory, in bytes, the pixels of recently used images may
+	 * take in the cache. Images above the limit are only softly referenced.
+	 * Defaults to {@link ImageCache#DEFAULT_MAX_WEIGHT}.
+	 */
+	public void setCacheLimit(long bytes) {
+		imageCache.setMaxWeight(bytes);
+	}
+
 	public void setBrokenImageIndicator(Resource resource) {
 		try {
 			brokenImageIndicatorResource = new AwtImageResource(resource);
@@ -164,21 +202,4 @@ public class DefaultImageSource implements ImageSource {
 	public String toString() {
 		return new ToStringCreator(this).append("imageResources", imageResources).toString();
 	}
-
-	private static class ImageCache extends CachingMapDecorator {
-		private static final long serialVersionUID = 1L;
-
-		public ImageCache() {
-			super(true);
-		}
-
-		@Override
-		public Object create(Object resource) {
-			try {
-				return ((AwtImageResource) resource).getImage();
-			} catch (IOException e) {
-				throw new NoSuchImageResourceException("No image found at resource '" + resource + '"', e);
-			}
-		}
-	}
 }
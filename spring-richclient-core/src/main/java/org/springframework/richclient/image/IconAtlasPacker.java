@@ -0,0 +1,261 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.image;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import javax.imageio.ImageIO;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.Assert;
+
+/**
+ * Packs the images of an image resources map into one or a few atlas images
+ * and writes an index, to be served by an {@link AtlasImageSource}.
+ * <p>
+ * The images are packed in rows ("shelves"), tallest first. Images that don't
+ * fit on an atlas page are left out, the {@link AtlasImageSource} can get them
+ * from its fallback image source. The index is a properties file:
+ *
+ * <pre>
+ * &#64;0=images-0.png
+ * action.edit.copy=0,16,0,16,16
+ * </pre>
+ *
+ * with the file names of the pages under <code>&#64;&lt;page&gt;</code> and
+ * for each image key its page, x, y, width and height.
+ * <p>
+ * Run it as part of the build with the properties file of the image resources,
+ * as read by <code>ResourceMapFactoryBean</code>:
+ *
+ * <pre>
+ * java org.springframework.richclient.image.IconAtlasPacker images.properties target/classes/images images [basePath]
+ * </pre>
+ *
+ * @see AtlasImageSource
+ */
+public class IconAtlasPacker {
+
+	/** Prefix of the index entries naming the atlas pages. */
+	public static final String PAGE_PREFIX = "@";
+
+	private static final Log logger = LogFactory.getLog(IconAtlasPacker.class);
+
+	private int pageWidth = 1024;
+
+	private int pageHeight = 1024;
+
+	public void setPageWidth(int pageWidth) {
+		this.pageWidth = pageWidth;
+	}
+
+	public void setPageHeight(int pageHeight) {
+		this.pageHeight = pageHeight;
+	}
+
+	/**
+	 * Packs the images and writes the atlas pages and the index
+	 * <code>&lt;name&gt;.atlas</code> to the output directory.
+	 *
+	 * @param imageResources the image resources by key.
+	 * @param outputDir      the directory to write to.
+	 * @param name           the name of the atlas files.
+	 * @return the index file.
+	 */
+	public File pack(Map imageResources, File outputDir, String name) throws IOException {
+		Assert.notNull(imageResources, "imageResources must not be null");
+		Assert.notNull(outputDir, "outputDir must not be null");
+		List<Sprite> sprites = new ArrayList<Sprite>();
+		for (Iterator iter = imageResources.entrySet().iterator(); iter.hasNext();) {
+			Map.Entry entry = (Map.Entry) iter.next();
+			BufferedImage image = readImage((Resource) entry.getValue());
+			if (image == null) {
+				logger.warn("Could not read image '" + entry.getValue() + "' for key '" + entry.getKey() + "'");
+			} else if (image.getWidth() > pageWidth || image.getHeight() > pageHeight) {
+				logger.info("Image '" + entry.getKey() + "' is larger than an atlas page, leaving it out");
+			} else {
+				sprites.add(new Sprite(String.valueOf(entry.getKey()), image));
+			}
+		}
+		Collections.sort(sprites, new Comparator<Sprite>() {
+			@Override
+			public int compare(Sprite s1, Sprite s2) {
+				int result = s2.image.getHeight() - s1.image.getHeight();
+				return result != 0 ? result : s1.key.compareTo(s2.key);
+			}
+		});
+
+		List<List<Sprite>> pages = layout(sprites);
+		outputDir.mkdirs();
+		Map<String, String> index = new TreeMap<String, String>();
+		for (int page = 0; page < pages.size(); page++) {
+			String fileName = name + "-" + page + ".png";
+			writePage(pages.get(page), new File(outputDir, fileName));
+			index.put(PAGE_PREFIX + page, fileName);
+			for (Iterator<Sprite> iter = pages.get(page).iterator(); iter.hasNext();) {
+				Sprite sprite = iter.next();
+				index.put(sprite.key, page + "," + sprite.x + "," + sprite.y + "," + sprite.image.getWidth() + ","
+						+ sprite.image.getHeight());
+			}
+		}
+		File indexFile = new File(outputDir, name + ".atlas");
+		Properties properties = new Properties();
+		properties.putAll(index);
+		OutputStream out = new FileOutputStream(indexFile);
+		try {
+			properties.store(out, "Icon atlas index, generated by " + getClass().getName());
+		} finally {
+			out.close();
+		}
+		if (logger.isInfoEnabled()) {
+			logger.info("Packed " + sprites.size() + " images in " + pages.size() + " atlas pages");
+		}
+		return indexFile;
+	}
+
+	/**
+	 * Assigns the positions of the sprites, sorted tallest first.
+	 */
+	private List<List<Sprite>> layout(List<Sprite> sprites) {
+		List<List<Sprite>> pages = new ArrayList<List<Sprite>>();
+		List<Sprite> page = null;
+		int x = 0;
+		int y = 0;
+		int shelfHeight = 0;
+		for (Iterator<Sprite> iter = sprites.iterator(); iter.hasNext();) {
+			Sprite sprite = iter.next();
+			int width = sprite.image.getWidth();
+			int height = sprite.image.getHeight();
+			if (page != null && x + width > pageWidth) {
+				x = 0;
+				y += shelfHeight;
+				shelfHeight = 0;
+			}
+			if (page == null || y + height > pageHeight) {
+				page = new ArrayList<Sprite>();
+				pages.add(page);
+				x = 0;
+				y = 0;
+				shelfHeight = 0;
+			}
+			sprite.x = x;
+			sprite.y = y;
+			page.add(sprite);
+			x += width;
+			shelfHeight = Math.max(shelfHeight, height);
+		}
+		return pages;
+	}
+
+	private void writePage(List<Sprite> sprites, File file) throws IOException {
+		int width = 1;
+		int height = 1;
+		for (Iterator<Sprite> iter = sprites.iterator(); iter.hasNext();) {
+			Sprite sprite = iter.next();
+			width = Math.max(width, sprite.x + sprite.image.getWidth());
+			height = Math.max(height, sprite.y + sprite.image.getHeight());
+		}
+		BufferedImage atlas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = atlas.createGraphics();
+		try {
+			for (Iterator<Sprite> iter = sprites.iterator(); iter.hasNext();) {
+				Sprite sprite = iter.next();
+				g.drawImage(sprite.image, sprite.x, sprite.y, null);
+			}
+		} finally {
+			g.dispose();
+		}
+		if (!ImageIO.write(atlas, "png", file)) {
+			throw new IOException("No PNG writer available for " + file);
+		}
+	}
+
+	private BufferedImage readImage(Resource resource) throws IOException {
+		if (resource == null || !resource.exists()) {
+			return null;
+		}
+		InputStream in = resource.getInputStream();
+		try {
+			return ImageIO.read(in);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Packs the images of an image resources properties file.
+	 *
+	 * @param args the properties file, the output directory, the name of the
+	 *             atlas and optionally the base path of the image locations.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3) {
+			System.err.println("Usage: IconAtlasPacker <imageResources.properties> <outputDir> <name> [basePath]");
+			System.exit(1);
+		}
+		Properties locations = new Properties();
+		InputStream in = new FileInputStream(args[0]);
+		try {
+			locations.load(in);
+		} finally {
+			in.close();
+		}
+		String basePath = args.length > 3 ? args[3] : "";
+		ResourceLoader resourceLoader = new DefaultResourceLoader();
+		Map<String, Resource> imageResources = new LinkedHashMap<String, Resource>();
+		for (Iterator<String> iter = locations.stringPropertyNames().iterator(); iter.hasNext();) {
+			String key = iter.next();
+			imageResources.put(key, resourceLoader.getResource(basePath + locations.getProperty(key).trim()));
+		}
+		new IconAtlasPacker().pack(imageResources, new File(args[1]), args[2]);
+	}
+
+	private static final class Sprite {
+
+		private final String key;
+
+		private final BufferedImage image;
+
+		private int x;
+
+		private int y;
+
+		Sprite(String key, BufferedImage image) {
+			this.key = key;
+			this.image = image;
+		}
+	}
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.image;
+
+import java.awt.Image;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.Icon;
+
+/**
+ * Cache of images and icons by key, in two tiers:
+ * <ul>
+ * <li>a strong tier of recently used values, bounded by the memory their pixels
+ * take (see {@link #weigh(Object)}) and evicting the least recently used values
+ * first,</li>
+ * <li>a soft tier for the evicted values, which stay available until the
+ * garbage collector needs the memory. A value found in the soft tier moves back
+ * to the strong tier.</li>
+ * </ul>
+ * Subclasses can implement {@link #create(Object)} to create the missing
+ * values on lookup. Values are created outside the lock of the cache, two
+ * threads may create the same value at the same time, the first one is kept.
+ *
+ * @see DefaultImageSource
+ * @see DefaultIconSource
+ */
+public class ImageCache {
+
+	/** Default limit of the strong tier: 4 MB, about a million pixels. */
+	public static final long DEFAULT_MAX_WEIGHT = 4 * 1024 * 1024;
+
+	private final LinkedHashMap<Object, Entry> strongEntries = new LinkedHashMap<Object, Entry>(16, 0.75f, true);
+
+	private final Map<Object, KeyedSoftReference> softEntries = new HashMap<Object, KeyedSoftReference>();
+
+	private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<Object>();
+
+	private long maxWeight;
+
+	private long weight;
+
+	public ImageCache() {
+		this(DEFAULT_MAX_WEIGHT);
+	}
+
+	/**
+	 * @param maxWeight the maximum weight of the strong tier, see
+	 *                  {@link #weigh(Object)}.
+	 */
+	public ImageCache(long maxWeight) {
+		this.maxWeight = maxWeight;
+	}
+
+	/**
+	 * Set the maximum weight of the strong tier, see {@link #weigh(Object)}.
+	 * Values above the limit move to the soft tier.
+	 */
+	public synchronized void setMaxWeight(long maxWeight) {
+		this.maxWeight = maxWeight;
+		evict();
+	}
+
+	public synchronized long getMaxWeight() {
+		return maxWeight;
+	}
+
+	/**
+	 * Returns the weight of the values in the strong tier.
+	 */
+	public synchronized long getWeight() {
+		return weight;
+	}
+
+	/**
+	 * Returns the value of a key, creating it with {@link #create(Object)} if it
+	 * isn't cached.
+	 *
+	 * @return the value, <code>null</code> if it isn't cached and
+	 *         {@link #create(Object)} returned <code>null</code>.
+	 */
+	public Object get(Object key) {
+		Object value = getIfPresent(key);
+		if (value == null) {
+			value = create(key);
+			if (value != null) {
+				value = putIfAbsent(key, value);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the cached value of a key, without creating it.
+	 */
+	public synchronized Object getIfPresent(Object key) {
+		Entry entry = strongEntries.get(key);
+		if (entry != null) {
+			return entry.value;
+		}
+		expungeClearedReferences();
+		KeyedSoftReference reference = softEntries.remove(key);
+		if (reference != null) {
+			Object value = reference.get();
+			if (value != null) {
+				addStrongEntry(key, value);
+				return value;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Adds a value to the cache, replacing the value of the key.
+	 */
+	public synchronized void put(Object key, Object value) {
+		remove(key);
+		addStrongEntry(key, value);
+	}
+
+	private synchronized Object putIfAbsent(Object key, Object value) {
+		Object existing = getIfPresent(key);
+		if (existing != null) {
+			return existing;
+		}
+		addStrongEntry(key, value);
+		return value;
+	}
+
+	public synchronized void remove(Object key) {
+		Entry entry = strongEntries.remove(key);
+		if (entry != null) {
+			weight -= entry.weight;
+		}
+		softEntries.remove(key);
+	}
+
+	public synchronized void clear() {
+		strongEntries.clear();
+		softEntries.clear();
+		weight = 0;
+	}
+
+	/**
+	 * Returns the keys of the cached values, most recently used last.
+	 */
+	public synchronized Set<Object> keySet() {
+		expungeClearedReferences();
+		Set<Object> keys = new LinkedHashSet<Object>(softEntries.keySet());
+		keys.addAll(strongEntries.keySet());
+		return keys;
+	}
+
+	/**
+	 * Returns the number of cached values, including soft references that may
+	 * have been cleared.
+	 */
+	public synchronized int size() {
+		expungeClearedReferences();
+		return strongEntries.size() + softEntries.size();
+	}
+
+	/**
+	 * Creates the value of a key that isn't cached. This implementation returns
+	 * <code>null</code>.
+	 */
+	protected Object create(Object key) {
+		return null;
+	}
+
+	/**
+	 * Returns the weight of a value, the memory its pixels take in bytes. Values
+	 * other than {@link Image}s and {@link Icon}s weigh 1.
+	 */
+	protected long weigh(Object value) {
+		int width = -1;
+		int height = -1;
+		if (value instanceof Image) {
+			width = ((Image) value).getWidth(null);
+			height = ((Image) value).getHeight(null);
+		} else if (value instanceof Icon) {
+			width = ((Icon) value).getIconWidth();
+			height = ((Icon) value).getIconHeight();
+		}
+		if (width <= 0 || height <= 0) {
+			return 1;
+		}
+		return 4L * width * height;
+	}
+
+	private void addStrongEntry(Object key, Object value) {
+		Entry entry = new Entry(value, weigh(value));
+		strongEntries.put(key, entry);
+		weight += entry.weight;
+		evict();
+	}
+
+	/**
+	 * Moves the least recently used values to the soft tier until the strong
+	 * tier is within its limit; the most recently used value always stays.
+	 */
+	private void evict() {
+		Iterator<Map.Entry<Object, Entry>> iter = strongEntries.entrySet().iterator();
+		while (weight > maxWeight && strongEntries.size() > 1) {
+			Map.Entry<Object, Entry> eldest = iter.next();
+			iter.remove();
+			weight -= eldest.getValue().weight;
+			softEntries.put(eldest.getKey(),
+					new KeyedSoftReference(eldest.getKey(), eldest.getValue().value, referenceQueue));
+		}
+	}
+
+	private void expungeClearedReferences() {
+		KeyedSoftReference reference;
+		while ((reference = (KeyedSoftReference) referenceQueue.poll()) != null) {
+			if (softEntries.get(reference.key) == reference) {
+				softEntries.remove(reference.key);
+			}
+		}
+	}
+
+	private static final class Entry {
+
+		private final Object value;
+
+		private final long weight;
+
+		Entry(Object value, long weight) {
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	private static final class KeyedSoftReference extends SoftReference<Object> {
+
+		private final Object key;
+
+		KeyedSoftReference(Object key, Object value, ReferenceQueue<Object> queue) {
+			super(value, queue);
+			this.key = key;
+		}
+	}
+}
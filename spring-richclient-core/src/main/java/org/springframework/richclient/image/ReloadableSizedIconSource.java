@@ -48,6 +48,11 @@ import org.springframework.util.Assert;
  * 
  * </pre>
  *
+ * <p>
+ * The images of each size are cached by the image source, see
+ * {@link DefaultImageSource}, so switching back to a previous size doesn't
+ * decode them again.
+ *
  * @author Keith Donald
  */
 public class ReloadableSizedIconSource extends DefaultIconSource implements SizedIconSource {
@@ -69,6 +74,9 @@ public class ReloadableSizedIconSource extends DefaultIconSource implements Size
 	@Override
 	public void reload(IconSize size) {
 		Assert.notNull(size);
+		if (size.equals(this.iconSize)) {
+			return;
+		}
 		this.iconSize = size;
 		Iterator keys = cache().keySet().iterator();
 		if (!keys.hasNext()) {
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.image;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import javax.swing.UIManager;
+
+import org.springframework.util.Assert;
+
+/**
+ * Cache of pre-rendered icon variants, keyed by the source image, the size, the
+ * scale factor of the screen, the decoration (like a shadow) and the state of
+ * the component the icon depends on, see
+ * {@link #getComponentState(Icon, Component)}. The icons
+ * returned by {@link #getIcon(Icon, String)} render their variant for the scale
+ * of the graphics they are painted on the first time and then only copy the
+ * cached image, so decorations aren't painted again and icons are drawn at the
+ * resolution of HiDPI screens.
+ * <p>
+ * Variants stay cached when the icon size changes, e.g. with
+ * {@link ReloadableSizedIconSource#reload(IconSize)}, so switching back to a
+ * previous size finds them again. The variants are stored in an
+ * {@link ImageCache}, which bounds the memory of recently used variants and
+ * keeps the others softly referenced. The hit rate is reported by
+ * {@link #getHitRate()}.
+ */
+public class RenderedIconCache {
+
+	/** Decoration painting the icon as it is. */
+	public static final String PLAIN = "plain";
+
+	/** Decoration adding a shadow, see {@link ShadowedIcon}. */
+	public static final String SHADOW = "shadow";
+
+	private static final RenderedIconCache DEFAULT_INSTANCE = new RenderedIconCache();
+
+	private final ImageCache variants = new ImageCache();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Returns the cache shared by the framework classes.
+	 */
+	public static RenderedIconCache getDefault() {
+		return DEFAULT_INSTANCE;
+	}
+
+	/**
+	 * Returns an icon painting the given icon from cached variants.
+	 */
+	public Icon getIcon(Icon icon) {
+		return getIcon(icon, PLAIN);
+	}
+
+	/**
+	 * Returns an icon painting the decorated icon from cached variants.
+	 *
+	 * @param icon       the icon.
+	 * @param decoration the decoration, {@link #PLAIN}, {@link #SHADOW} or a
+	 *                   decoration supported by {@link #decorate(Icon, String)}.
+	 */
+	public Icon getIcon(Icon icon, String decoration) {
+		Assert.notNull(icon, "icon must not be null");
+		Assert.notNull(decoration, "decoration must not be null");
+		return new RenderedIcon(icon, decoration);
+	}
+
+	/**
+	 * Set the maximum memory, in bytes, the pixels of recently used variants may
+	 * take. Defaults to {@link ImageCache#DEFAULT_MAX_WEIGHT}.
+	 */
+	public void setCacheLimit(long bytes) {
+		variants.setMaxWeight(bytes);
+	}
+
+	public void clear() {
+		variants.clear();
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Returns the fraction of the lookups that found a rendered variant,
+	 * <code>0</code> if there were no lookups.
+	 */
+	public double getHitRate() {
+		long hitCount = hits.sum();
+		long total = hitCount + misses.sum();
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+
+	/**
+	 * Applies a decoration to an icon. Override to support other decorations.
+	 *
+	 * @throws IllegalArgumentException if the decoration is unknown.
+	 */
+	protected Icon decorate(Icon icon, String decoration) {
+		if (PLAIN.equals(decoration)) {
+			return icon;
+		}
+		if (SHADOW.equals(decoration)) {
+			return new ShadowedIcon(icon);
+		}
+		throw new IllegalArgumentException("Unknown icon decoration '" + decoration + "'");
+	}
+
+	/**
+	 * Returns the state of the component the rendering of the icon depends on,
+	 * the variants are cached separately for each state. An
+	 * <code>ImageIcon</code> only uses the component to observe its image, so
+	 * this implementation returns <code>null</code> for it. For other icons it
+	 * returns the enabled state and the colours of the component and the current
+	 * look and feel. Override to cache icons that don't depend on the component
+	 * for all components.
+	 *
+	 * @param icon the icon to render.
+	 * @param c    the component the icon is painted on, may be <code>null</code>.
+	 * @return an object implementing <code>equals</code> and
+	 *         <code>hashCode</code>, or <code>null</code>.
+	 */
+	protected Object getComponentState(Icon icon, Component c) {
+		if (icon instanceof ImageIcon) {
+			return null;
+		}
+		String lookAndFeel = UIManager.getLookAndFeel() == null ? null : UIManager.getLookAndFeel().getID();
+		if (c == null) {
+			return lookAndFeel;
+		}
+		return Arrays.asList(new Object[] { Boolean.valueOf(c.isEnabled()), c.getForeground(), c.getBackground(),
+				lookAndFeel });
+	}
+
+	/**
+	 * Returns the rendered variant of an icon, rendering it if it isn't cached.
+	 */
+	BufferedImage getVariant(Icon icon, String decoration, double scale, Component c) {
+		Object source = icon instanceof ImageIcon ? ((ImageIcon) icon).getImage() : icon;
+		VariantKey key = new VariantKey(source, icon.getIconWidth(), icon.getIconHeight(), scale, decoration,
+				getComponentState(icon, c));
+		BufferedImage variant = (BufferedImage) variants.getIfPresent(key);
+		if (variant != null) {
+			hits.increment();
+			return variant;
+		}
+		misses.increment();
+		variant = render(decorate(icon, decoration), scale, c);
+		variants.put(key, variant);
+		return variant;
+	}
+
+	private BufferedImage render(Icon icon, double scale, Component c) {
+		int width = Math.max(1, (int) Math.ceil(icon.getIconWidth() * scale));
+		int height = Math.max(1, (int) Math.ceil(icon.getIconHeight() * scale));
+		BufferedImage image = createCompatibleImage(width, height, c);
+		Graphics2D g = image.createGraphics();
+		try {
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			g.scale(scale, scale);
+			icon.paintIcon(c, g, 0, 0);
+		} finally {
+			g.dispose();
+		}
+		return image;
+	}
+
+	/**
+	 * Creates an image in the format of the screen, so drawing it needs no
+	 * conversion.
+	 */
+	private BufferedImage createCompatibleImage(int width, int height, Component c) {
+		GraphicsConfiguration configuration = c == null ? null : c.getGraphicsConfiguration();
+		if (configuration == null && !GraphicsEnvironment.isHeadless()) {
+			configuration = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+					.getDefaultConfiguration();
+		}
+		if (configuration == null) {
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		}
+		return configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+	}
+
+	/**
+	 * Returns the scale of the graphics, rounded to avoid a variant for each
+	 * rounding error.
+	 */
+	static double getScale(Graphics g) {
+		if (!(g instanceof Graphics2D)) {
+			return 1;
+		}
+		AffineTransform transform = ((Graphics2D) g).getTransform();
+		double scale = Math.max(Math.abs(transform.getScaleX()), Math.abs(transform.getScaleY()));
+		return scale <= 0 ? 1 : Math.round(scale * 100) / 100.0;
+	}
+
+	/**
+	 * Icon painting the cached variant for the scale of the graphics. The size
+	 * follows the size of the icon, which changes when the image of an
+	 * <code>ImageIcon</code> is replaced.
+	 */
+	private class RenderedIcon implements Icon {
+
+		private final Icon icon;
+
+		private final String decoration;
+
+		private Object decoratedSource;
+
+		private int sourceWidth;
+
+		private int sourceHeight;
+
+		private Icon decorated;
+
+		RenderedIcon(Icon icon, String decoration) {
+			this.icon = icon;
+			this.decoration = decoration;
+		}
+
+		/**
+		 * Returns the decorated icon, decorating the icon again when its image or
+		 * size changed.
+		 */
+		private Icon getDecorated() {
+			Object source = icon instanceof ImageIcon ? ((ImageIcon) icon).getImage() : icon;
+			int width = icon.getIconWidth();
+			int height = icon.getIconHeight();
+			if (decorated == null || source != decoratedSource || width != sourceWidth || height != sourceHeight) {
+				decorated = decorate(icon, decoration);
+				decoratedSource = source;
+				sourceWidth = width;
+				sourceHeight = height;
+			}
+			return decorated;
+		}
+
+		@Override
+		public int getIconWidth() {
+			return getDecorated().getIconWidth();
+		}
+
+		@Override
+		public int getIconHeight() {
+			return getDecorated().getIconHeight();
+		}
+
+		@Override
+		public void paintIcon(Component c, Graphics g, int x, int y) {
+			Icon decoratedIcon = getDecorated();
+			BufferedImage variant = getVariant(icon, decoration, getScale(g), c);
+			g.drawImage(variant, x, y, decoratedIcon.getIconWidth(), decoratedIcon.getIconHeight(), null);
+		}
+	}
+
+	private static final class VariantKey {
+
+		private final Object source;
+
+		private final int width;
+
+		private final int height;
+
+		private final double scale;
+
+		private final String decoration;
+
+		private final Object componentState;
+
+		VariantKey(Object source, int width, int height, double scale, String decoration, Object componentState) {
+			this.source = source;
+			this.width = width;
+			this.height = height;
+			this.scale = scale;
+			this.decoration = decoration;
+			this.componentState = componentState;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof VariantKey)) {
+				return false;
+			}
+			VariantKey other = (VariantKey) o;
+			return source == other.source && width == other.width && height == other.height
+					&& scale == other.scale && decoration.equals(other.decoration)
+					&& (componentState == null ? other.componentState == null
+							: componentState.equals(other.componentState));
+		}
+
+		@Override
+		public int hashCode() {
+			int result = System.identityHashCode(source);
+			result = 31 * result + width;
+			result = 31 * result + height;
+			result = 31 * result + Double.hashCode(scale);
+			result = 31 * result + decoration.hashCode();
+			return 31 * result + (componentState == null ? 0 : componentState.hashCode());
+		}
+	}
+}
@@ -17,12 +17,18 @@ package org.springframework.richclient.image;
 
 import java.awt.Component;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
 
 import javax.swing.GrayFilter;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
 
 /**
+ * Icon with a gray shadow. Use {@link RenderedIconCache#getIcon(Icon, String)}
+ * with {@link RenderedIconCache#SHADOW} to paint it from a cached image.
+ * <p>
  * Code taken from
  * http://www.jroller.com/santhosh/entry/beautify_swing_applications_toolbar_with
  *
@@ -37,7 +43,7 @@ public class ShadowedIcon implements Icon {
 
 	public ShadowedIcon(Icon icon) {
 		this.icon = icon;
-		shadow = new ImageIcon(GrayFilter.createDisabledImage(((ImageIcon) icon).getImage()));
+		shadow = new ImageIcon(GrayFilter.createDisabledImage(toImage(icon)));
 	}
 
 	public ShadowedIcon(Icon icon, int shadowWidth, int shadowHeight) {
@@ -48,12 +54,12 @@ public class ShadowedIcon implements Icon {
 
 	@Override
 	public int getIconHeight() {
-		return icon.getIconWidth() + shadowWidth;
+		return icon.getIconHeight() + shadowHeight;
 	}
 
 	@Override
 	public int getIconWidth() {
-		return icon.getIconHeight() + shadowHeight;
+		return icon.getIconWidth() + shadowWidth;
 	}
 
 	@Override
@@ -61,4 +67,19 @@ public class ShadowedIcon implements Icon {
 		shadow.paintIcon(c, g, x + shadowWidth, y + shadowHeight);
 		icon.paintIcon(c, g, x, y);
 	}
+
+	private static Image toImage(Icon icon) {
+		if (icon instanceof ImageIcon) {
+			return ((ImageIcon) icon).getImage();
+		}
+		BufferedImage image = new BufferedImage(Math.max(1, icon.getIconWidth()), Math.max(1, icon.getIconHeight()),
+				BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		try {
+			icon.paintIcon(null, g, 0, 0);
+		} finally {
+			g.dispose();
+		}
+		return image;
+	}
 }
@@ -19,8 +19,6 @@ import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.HashMap;
-import java.util.Map;
 
 import javax.swing.ComboBoxModel;
 import javax.swing.JComboBox;
@@ -37,7 +35,8 @@ import org.springframework.util.Assert;
 /**
  * Provides AutoCompletion to a combobox. Works with the editor of the JComboBox
  * to make the conversion between strings and the objects of the JComboBox
- * model. <br>
+ * model. Items are looked up in a {@link PrefixIndex} that follows the changes
+ * of the model. <br>
  * Based on code contributed to the public domain by Thomas Bierhance
  * (http://www.orbital-computer.de/JComboBox/)
  *
@@ -58,10 +57,15 @@ public class ComboBoxAutoCompletion extends PlainDocument {
 
 	boolean hitBackspaceOnSelection;
 
-	private Map item2string = new HashMap();
+	private final PrefixIndex index;
 
 	private ComboBoxModel model;
 
+	/** The last item converted to a string, and its string. */
+	private Object lastItem;
+
+	private String lastItemString;
+
 	private boolean selectingValue;
 
 	/**
@@ -80,41 +84,53 @@ public class ComboBoxAutoCompletion extends PlainDocument {
 
 		model = comboBox.getModel();
 		model.addListDataListener(changeHandler);
+		index = new PrefixIndex(model) {
+			@Override
+			protected String[] getStrings(int index0, int index1) {
+				Object[] items = new Object[index1 - index0 + 1];
+				for (int i = 0; i < items.length; i++) {
+					items[i] = getModel().getElementAt(index0 + i);
+				}
+				return convertToStrings(items);
+			}
+		};
 
 		editor = (JTextComponent) comboBox.getEditor().getEditorComponent();
 		editor.setDocument(this);
 		editor.addFocusListener(changeHandler);
 		editor.addKeyListener(changeHandler);
 
-		fillItem2StringMap();
-
 		// Handle initially selected object
 		Object selected = comboBox.getSelectedItem();
 		comboBox.getEditor().setItem(selected);
 	}
 
-	private void fillItem2StringMap() {
+	/**
+	 * Converts items to strings with the editor of the combobox.
+	 */
+	private String[] convertToStrings(Object[] items) {
 		editor.setDocument(new PlainDocument());
 
-		item2string.clear();
-
-		JTextComponent editor = (JTextComponent) comboBox.getEditor().getEditorComponent();
-
+		String[] strings = new String[items.length];
 		// get current item of editor
 		Object currentItem = comboBox.getEditor().getItem();
-		for (int i = 0; i < comboBox.getItemCount(); i++) {
-			Object item = comboBox.getItemAt(i);
-			comboBox.getEditor().setItem(item);
-			item2string.put(item, editor.getText());
+		for (int i = 0; i < items.length; i++) {
+			comboBox.getEditor().setItem(items[i]);
+			strings[i] = editor.getText();
 		}
 		// reset item in editor
 		comboBox.getEditor().setItem(currentItem);
 
 		editor.setDocument(this);
+		return strings;
 	}
 
 	private String getStringFor(Object item) {
-		return (String) item2string.get(item);
+		if (item != lastItem || lastItemString == null) {
+			lastItemString = convertToStrings(new Object[] { item })[0];
+			lastItem = item;
+		}
+		return lastItemString;
 	}
 
 	private void highlightCompletedText(int start) {
@@ -193,17 +209,14 @@ public class ComboBoxAutoCompletion extends PlainDocument {
 			return selectedItem;
 		}
 
-		// iterate over all items
-		for (int i = 0, n = model.getSize(); i < n; i++) {
-			Object currentItem = model.getElementAt(i);
-			// current item starts with the pattern?
-			if (startsWithIgnoreCase(getStringFor(currentItem), pattern)) {
-				return currentItem;
-			}
+		int itemIndex = index.indexOf(pattern);
+		if (itemIndex == -1) {
+			// no item starts with the pattern => return null
+			return null;
 		}
-
-		// no item starts with the pattern => return null
-		return null;
+		lastItem = model.getElementAt(itemIndex);
+		lastItemString = index.getString(itemIndex);
+		return lastItem;
 	}
 
 	/**
@@ -301,18 +314,20 @@ public class ComboBoxAutoCompletion extends PlainDocument {
 		@Override
 		public void contentsChanged(ListDataEvent e) {
 			if (!selectingValue) {
-				fillItem2StringMap();
+				lastItem = null;
+				index.contentsChanged(e);
 			}
 		}
 
 		@Override
 		public void intervalAdded(ListDataEvent e) {
-			fillItem2StringMap();
+			index.intervalAdded(e);
 		}
 
 		@Override
 		public void intervalRemoved(ListDataEvent e) {
-			fillItem2StringMap();
+			lastItem = null;
+			index.intervalRemoved(e);
 		}
 	}
 }
\ No newline at end of file
@@ -19,14 +19,19 @@ import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 
 import javax.swing.JComboBox;
 import javax.swing.JTextField;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
 
 /**
  * Provides auto-completion for an editable combobox. Based on public domain
  * postings. Original author unknown. Also copied some code from
- * {@link ComboBoxAutoCompletion} to deal with focus loss.
+ * {@link ComboBoxAutoCompletion} to deal with focus loss. Items are looked up
+ * in a {@link PrefixIndex} on their <code>toString()</code>.
  *
  * @author Larry Streepy
  *
@@ -39,6 +44,12 @@ public class EditableComboBoxAutoCompletion extends KeyAdapter {
 
 	private final JTextField editor;
 
+	private final ModelHandler modelHandler = new ModelHandler();
+
+	private PrefixIndex index;
+
+	private boolean selectingItem;
+
 	/**
 	 * Adds autocompletion support to the given <code>combobox</code>.
 	 * 
@@ -49,6 +60,16 @@ public class EditableComboBoxAutoCompletion extends KeyAdapter {
 		editor = (JTextField) comboBox.getEditor().getEditorComponent();
 		editor.addKeyListener(this);
 		editor.addFocusListener(focusHandler);
+		comboBox.addPropertyChangeListener("model", modelHandler);
+		installIndex();
+	}
+
+	private void installIndex() {
+		if (index != null) {
+			index.getModel().removeListDataListener(modelHandler);
+		}
+		index = new PrefixIndex(comboBox.getModel());
+		comboBox.getModel().addListDataListener(modelHandler);
 	}
 
 	/**
@@ -70,41 +91,29 @@ public class EditableComboBoxAutoCompletion extends KeyAdapter {
 			return;
 		}
 
-		boolean matchFound = false;
-		for (int k = 0; k < comboBox.getItemCount(); k++) {
-			String item = comboBox.getItemAt(k).toString();
-			if (startsWithIgnoreCase(item, str)) {
+		int k = index.indexOf(str);
+		if (k != -1) {
+			String item = index.getString(k);
+			selectingItem = true;
+			try {
 				comboBox.setSelectedIndex(k);
-				editor.setText(item);
-				editor.setCaretPosition(item.length());
-				editor.moveCaretPosition(pos);
-
-				// show popup when the user types
-				if (comboBox.isDisplayable()) {
-					comboBox.setPopupVisible(true);
-				}
+			} finally {
+				selectingItem = false;
+			}
+			editor.setText(item);
+			editor.setCaretPosition(item.length());
+			editor.moveCaretPosition(pos);
 
-				matchFound = true;
-				break;
+			// show popup when the user types
+			if (comboBox.isDisplayable()) {
+				comboBox.setPopupVisible(true);
 			}
-		}
-		if (!matchFound) {
+		} else {
 			// hide popup when there is no match
 			comboBox.setPopupVisible(false);
 		}
 	}
 
-	/**
-	 * See if one string begins with another, ignoring case.
-	 * 
-	 * @param str1 The string to test
-	 * @param str2 The prefix to test for
-	 * @return true if str1 starts with str2, ingnoring case
-	 */
-	private boolean startsWithIgnoreCase(String str1, String str2) {
-		return str1 != null && str2 != null && str1.toUpperCase().startsWith(str2.toUpperCase());
-	}
-
 	/**
 	 * Highlight the text from the given start location to the end of the text.
 	 * 
@@ -115,6 +124,34 @@ public class EditableComboBoxAutoCompletion extends KeyAdapter {
 		editor.moveCaretPosition(start);
 	}
 
+	/**
+	 * Keeps the index up to date with the model of the combobox.
+	 */
+	private final class ModelHandler implements ListDataListener, PropertyChangeListener {
+
+		@Override
+		public void propertyChange(PropertyChangeEvent evt) {
+			installIndex();
+		}
+
+		@Override
+		public void contentsChanged(ListDataEvent e) {
+			if (!selectingItem) {
+				index.contentsChanged(e);
+			}
+		}
+
+		@Override
+		public void intervalAdded(ListDataEvent e) {
+			index.intervalAdded(e);
+		}
+
+		@Override
+		public void intervalRemoved(ListDataEvent e) {
+			index.intervalRemoved(e);
+		}
+	}
+
 	/**
 	 * This class handles focus events to provide a work-around for a java 1.5 bug.
 	 */
@@ -17,6 +17,7 @@ package org.springframework.richclient.list;
 
 import javax.swing.ComboBoxModel;
 import javax.swing.ListModel;
+import javax.swing.event.ListDataEvent;
 
 import org.springframework.rules.constraint.Constraint;
 import org.springframework.util.Assert;
@@ -32,6 +33,12 @@ public class FilteredComboBoxListModel extends FilteredListModel implements Comb
 
 	private boolean selectingItem;
 
+	/** Number of matching elements seen while the constraint is applied. */
+	private int matchCount;
+
+	/** The filtered index of the selected item, -1 if unknown. */
+	private int selectedPosition = -1;
+
 	public FilteredComboBoxListModel(ComboBoxModel filteredModel, Constraint filter) {
 		super(filteredModel, filter);
 	}
@@ -50,21 +57,87 @@ public class FilteredComboBoxListModel extends FilteredListModel implements Comb
 	protected void onMatchingElement(Object element) {
 		if (element == getSelectedItem()) {
 			matchedSelected = true;
+			selectedPosition = matchCount;
 		}
+		matchCount++;
 	}
 
 	@Override
 	protected void postConstraintApplied() {
+		matchCount = 0;
 		if (!matchedSelected) {
 			if (getSize() > 0) {
+				selectedPosition = 0;
 				setSelectedItem(getElementAt(0));
 			} else {
+				selectedPosition = -1;
 				setSelectedItem(null);
 			}
 		}
 		matchedSelected = false;
 	}
 
+	/**
+	 * Keeps the filtered index of the selected item in step with the change, only
+	 * the inserted elements are searched if the selected item was replaced.
+	 */
+	@Override
+	protected void matchesReplaced(int position, int removed, int added) {
+		if (selectedPosition < position) {
+			return;
+		}
+		if (selectedPosition >= position + removed) {
+			selectedPosition += added - removed;
+			return;
+		}
+		Object selectedItem = getComboBoxModel().getSelectedItem();
+		for (int i = position; i < position + added; i++) {
+			if (getElementAt(i) == selectedItem) {
+				selectedPosition = i;
+				return;
+			}
+		}
+		selectedPosition = -1;
+	}
+
+	@Override
+	public void contentsChanged(ListDataEvent e) {
+		super.contentsChanged(e);
+		checkSelectedItem();
+	}
+
+	@Override
+	public void intervalAdded(ListDataEvent e) {
+		super.intervalAdded(e);
+		checkSelectedItem();
+	}
+
+	@Override
+	public void intervalRemoved(ListDataEvent e) {
+		super.intervalRemoved(e);
+		checkSelectedItem();
+	}
+
+	/**
+	 * Selects the first matching element if the selected item no longer matches
+	 * after an incremental change of the filtered model. Called after the
+	 * events of the change are fired. The matching elements are only searched if
+	 * the selected item was removed or its filtered index is unknown.
+	 */
+	private void checkSelectedItem() {
+		Object selectedItem = getComboBoxModel().getSelectedItem();
+		if (selectedPosition >= 0 && selectedPosition < getSize() && getElementAt(selectedPosition) == selectedItem) {
+			return;
+		}
+		for (int i = 0, size = getSize(); i < size; i++) {
+			if (getElementAt(i) == selectedItem) {
+				selectedPosition = i;
+				return;
+			}
+		}
+		postConstraintApplied();
+	}
+
 	@Override
 	public Object getSelectedItem() {
 		if (getSize() == 0) {
@@ -28,6 +28,12 @@ import org.springframework.util.Assert;
  * Decorates an existing {@link ListModel} by applying a constraint. The
  * constraint can implement {@link Observable} to notify a change of the filter
  * condition.
+ * <p>
+ * Changes of the decorated list model are applied incrementally: only the
+ * added or changed elements are tested and the list data events fired by this
+ * model refer to the filtered indexes. A constraint that only got stricter can
+ * pass {@link #CONSTRAINT_NARROWED} to its observers, after which only the
+ * elements that matched before are tested again.
  *
  * @author Keith Donald
  * @author Mathias Broekelmann
@@ -36,9 +42,19 @@ public class FilteredListModel extends AbstractFilteredListModel implements Obse
 
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Argument for {@link Observable#notifyObservers(Object)} of a constraint
+	 * that no longer accepts some elements but doesn't accept any element it
+	 * rejected before, e.g. because more filter text was typed.
+	 */
+	public static final Object CONSTRAINT_NARROWED = new Object();
+
+	private static final int[] EMPTY_INDEXES = new int[0];
+
 	private Constraint constraint;
 
-	private int[] indexes;
+	/** The ascending element indexes of the matching elements. */
+	private int[] indexes = EMPTY_INDEXES;
 
 	private int filteredSize;
 
@@ -73,7 +89,7 @@ public class FilteredListModel extends AbstractFilteredListModel implements Obse
 		Assert.notNull(constraint);
 		if (!constraint.equals(this.constraint)) {
 			if (this.constraint instanceof Observable) {
-				((Observable) constraint).deleteObserver(this);
+				((Observable) this.constraint).deleteObserver(this);
 			}
 			this.constraint = constraint;
 			if (constraint instanceof Observable) {
@@ -95,19 +111,25 @@ public class FilteredListModel extends AbstractFilteredListModel implements Obse
 	 * when the filtered model changes its element size
 	 */
 	protected void reallocateIndexes() {
-		if (this.indexes == null || this.indexes.length != getFilteredModel().getSize()) {
-			this.indexes = new int[getFilteredModel().getSize()];
+		int size = getFilteredModel().getSize();
+		if (indexes.length < size) {
+			indexes = new int[size];
 		}
 		applyConstraint();
 	}
 
 	/**
 	 * If the constraint implements {@link Observable} this method is called and
-	 * will apply the constraint to the list model elements
+	 * will apply the constraint to the list model elements. If <code>arg</code>
+	 * is {@link #CONSTRAINT_NARROWED} only the matching elements are tested.
 	 */
 	@Override
 	public void update(Observable changed, Object arg) {
-		fireContentsChanged(this, -1, -1);
+		if (arg == CONSTRAINT_NARROWED) {
+			narrowConstraint();
+		} else {
+			fireContentsChanged(this, -1, -1);
+		}
 	}
 
 	private void applyConstraint() {
@@ -123,9 +145,48 @@ public class FilteredListModel extends AbstractFilteredListModel implements Obse
 		postConstraintApplied();
 	}
 
+	/**
+	 * Tests the matching elements again and removes the ones that no longer
+	 * match.
+	 */
+	private void narrowConstraint() {
+		ListModel filteredListModel = getFilteredModel();
+		int oldSize = filteredSize;
+		int removedFrom = -1;
+		int lastRemoved = -2;
+		int removedRuns = 0;
+		filteredSize = 0;
+		for (int i = 0; i < oldSize; i++) {
+			if (constraint.test(filteredListModel.getElementAt(indexes[i]))) {
+				indexes[filteredSize++] = indexes[i];
+			} else {
+				if (lastRemoved != i - 1) {
+					removedFrom = i;
+					removedRuns++;
+				}
+				lastRemoved = i;
+			}
+		}
+		// fire before the hooks, they may change the model, e.g. the selection
+		if (removedRuns == 1) {
+			super.fireIntervalRemoved(this, removedFrom, removedFrom + oldSize - filteredSize - 1);
+		} else if (removedRuns > 1) {
+			super.fireContentsChanged(this, -1, -1);
+		}
+		for (int i = 0; i < filteredSize; i++) {
+			onMatchingElement(filteredListModel.getElementAt(indexes[i]));
+		}
+		postConstraintApplied();
+	}
+
 	/**
 	 * Called to notify that an element has matched the filter constraint. This
 	 * implementation does nothing.
+	 * <p>
+	 * Called while the constraint is applied to all elements or, after a
+	 * {@link #CONSTRAINT_NARROWED} notification, to the elements that matched.
+	 * Changes of the filtered list model are applied incrementally without
+	 * calling this hook, see {@link #matchesReplaced(int, int, int)}.
 	 * 
 	 * @param element the element which was accepted by the filter
 	 */
@@ -141,6 +202,20 @@ public class FilteredListModel extends AbstractFilteredListModel implements Obse
 
 	}
 
+	/**
+	 * Called when a change of the filtered list model has been applied
+	 * incrementally, before the list data events are fired. This implementation
+	 * does nothing.
+	 *
+	 * @param position the filtered index of the first replaced element.
+	 * @param removed  the number of matching elements that were removed.
+	 * @param added    the number of matching elements inserted at
+	 *                 <code>position</code>.
+	 */
+	protected void matchesReplaced(int position, int removed, int added) {
+
+	}
+
 	/**
 	 * Returns the size of the elements which passes the filter constraint.
 	 */
@@ -162,20 +237,123 @@ public class FilteredListModel extends AbstractFilteredListModel implements Obse
 
 	@Override
 	public void contentsChanged(ListDataEvent e) {
-		reallocateIndexes();
-		super.contentsChanged(e);
+		int index0 = e.getIndex0();
+		int index1 = e.getIndex1();
+		if (index0 < 0 || index1 >= getFilteredModel().getSize()) {
+			fireContentsChanged(this, -1, -1);
+			return;
+		}
+		int position = findPosition(index0);
+		int oldCount = findPosition(index1 + 1) - position;
+		removeIndexes(position, oldCount, 0);
+		int newCount = insertMatches(position, index0, index1);
+		matchesReplaced(position, oldCount, newCount);
+		int changed = Math.min(oldCount, newCount);
+		if (changed > 0) {
+			super.fireContentsChanged(this, position, position + changed - 1);
+		}
+		if (newCount > oldCount) {
+			fireIntervalAdded(this, position + oldCount, position + newCount - 1);
+		} else if (oldCount > newCount) {
+			fireIntervalRemoved(this, position + newCount, position + oldCount - 1);
+		}
 	}
 
 	@Override
 	public void intervalAdded(ListDataEvent e) {
-		reallocateIndexes();
-		super.intervalAdded(e);
+		int index0 = e.getIndex0();
+		int index1 = e.getIndex1();
+		if (index0 < 0 || index1 >= getFilteredModel().getSize()) {
+			fireContentsChanged(this, -1, -1);
+			return;
+		}
+		int position = findPosition(index0);
+		int count = index1 - index0 + 1;
+		for (int i = position; i < filteredSize; i++) {
+			indexes[i] += count;
+		}
+		int added = insertMatches(position, index0, index1);
+		matchesReplaced(position, 0, added);
+		if (added > 0) {
+			fireIntervalAdded(this, position, position + added - 1);
+		}
 	}
 
 	@Override
 	public void intervalRemoved(ListDataEvent e) {
-		reallocateIndexes();
-		super.intervalRemoved(e);
+		int index0 = e.getIndex0();
+		int index1 = e.getIndex1();
+		if (index0 < 0) {
+			fireContentsChanged(this, -1, -1);
+			return;
+		}
+		int position = findPosition(index0);
+		int removed = findPosition(index1 + 1) - position;
+		removeIndexes(position, removed, index1 - index0 + 1);
+		matchesReplaced(position, removed, 0);
+		if (removed > 0) {
+			fireIntervalRemoved(this, position, position + removed - 1);
+		}
+	}
+
+	/**
+	 * @return the filtered index of the first matching element at or after the
+	 *         given element index.
+	 */
+	private int findPosition(int elementIndex) {
+		int low = 0;
+		int high = filteredSize;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (indexes[middle] < elementIndex) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Removes <code>count</code> filtered indexes and shifts the element indexes
+	 * after them by <code>shift</code>.
+	 */
+	private void removeIndexes(int position, int count, int shift) {
+		System.arraycopy(indexes, position + count, indexes, position, filteredSize - position - count);
+		filteredSize -= count;
+		if (shift != 0) {
+			for (int i = position; i < filteredSize; i++) {
+				indexes[i] -= shift;
+			}
+		}
+	}
+
+	/**
+	 * Tests the elements in the given range and inserts the matching ones at the
+	 * given filtered index.
+	 *
+	 * @return the number of matching elements.
+	 */
+	private int insertMatches(int position, int index0, int index1) {
+		ListModel filteredListModel = getFilteredModel();
+		int[] matches = new int[index1 - index0 + 1];
+		int count = 0;
+		for (int i = index0; i <= index1; i++) {
+			if (constraint.test(filteredListModel.getElementAt(i))) {
+				matches[count++] = i;
+			}
+		}
+		if (count > 0) {
+			if (filteredSize + count > indexes.length) {
+				int[] newIndexes = new int[Math.max(filteredSize + count, indexes.length + (indexes.length >> 1))];
+				System.arraycopy(indexes, 0, newIndexes, 0, filteredSize);
+				indexes = newIndexes;
+			}
+			System.arraycopy(indexes, position, indexes, position + count, filteredSize - position);
+			System.arraycopy(matches, 0, indexes, position, count);
+			filteredSize += count;
+		}
+		return count;
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.list;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.ListModel;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Index of the string representations of the elements of a {@link ListModel},
+ * to find the elements starting with a given prefix (ignoring case) without
+ * scanning the whole model.
+ * <p>
+ * The index keeps the upper case strings sorted and is updated incrementally
+ * from the {@link ListDataEvent}s of the model: register it as a listener of
+ * the model, or forward the events that change the contents of the model. A
+ * <code>contentsChanged</code> event with the interval <code>(-1, -1)</code>
+ * is ignored while the size of the model doesn't change, as it is fired by
+ * <code>DefaultComboBoxModel</code> each time the selection changes. Other
+ * events without a valid interval, or a model size that doesn't match the
+ * index, invalidate the index; it is rebuilt on the next lookup.
+ * <p>
+ * Finding the first element for a prefix takes <code>O(log n)</code>: the
+ * range of keys with the prefix is found by binary search and its lowest model
+ * index by a range-minimum tree over the sorted keys. Adding, removing or
+ * changing an element takes <code>O(n)</code>, as the following keys are moved
+ * and the model indexes after it shifted, and the tree is rebuilt in
+ * <code>O(n)</code> on the next lookup. The models of combo boxes only change
+ * when their items are edited, not on each keystroke.
+ * <p>
+ * Override {@link #getStringFor(Object)} or {@link #getStrings(int, int)} to
+ * change how elements are converted to strings; the default uses
+ * <code>toString()</code>.
+ *
+ * @see ComboBoxAutoCompletion
+ * @see EditableComboBoxAutoCompletion
+ */
+public class PrefixIndex implements ListDataListener {
+
+	/** Above this number of changed elements the keys are sorted again. */
+	private static final int MAX_INCREMENTAL_CHANGES = 32;
+
+	private final ListModel model;
+
+	/** The strings of the elements, by model index. */
+	private final List<String> strings = new ArrayList<String>();
+
+	/** Upper case strings, sorted; only the first {@link #size} are used. */
+	private String[] keys = new String[0];
+
+	/** The model index for each key. */
+	private int[] indexes = new int[0];
+
+	private int size;
+
+	/**
+	 * Range-minimum tree: the leaves, from <code>size</code>, are the key
+	 * positions and each node holds the position with the lowest model index of
+	 * its children. <code>null</code> after the keys changed.
+	 */
+	private int[] minPositions;
+
+	private boolean valid;
+
+	public PrefixIndex(ListModel model) {
+		Assert.notNull(model, "model must not be null");
+		this.model = model;
+	}
+
+	public ListModel getModel() {
+		return model;
+	}
+
+	/**
+	 * Returns the index of the first element whose string starts with the given
+	 * prefix, ignoring case.
+	 *
+	 * @param prefix the prefix
+	 * @return the model index, or <code>-1</code> if no element matches
+	 */
+	public int indexOf(String prefix) {
+		ensureValid();
+		String key = toKey(prefix);
+		int from = findKey(key, -1);
+		int position = findLowestIndex(from, findPrefixEnd(key, from));
+		return position == -1 ? -1 : indexes[position];
+	}
+
+	/**
+	 * Returns the indexes of all elements whose string starts with the given
+	 * prefix, ignoring case.
+	 *
+	 * @param prefix the prefix
+	 * @return the model indexes in ascending order
+	 */
+	public int[] getMatchingIndexes(String prefix) {
+		ensureValid();
+		String key = toKey(prefix);
+		int from = findKey(key, -1);
+		int to = findPrefixEnd(key, from);
+		int[] result = new int[to - from];
+		System.arraycopy(indexes, from, result, 0, result.length);
+		Arrays.sort(result);
+		return result;
+	}
+
+	/**
+	 * Returns the string of the element at the given model index.
+	 */
+	public String getString(int index) {
+		ensureValid();
+		return strings.get(index);
+	}
+
+	/**
+	 * Discards the index, it is rebuilt on the next lookup.
+	 */
+	public void invalidate() {
+		valid = false;
+	}
+
+	/**
+	 * Converts an element of the model to a string.
+	 *
+	 * @param element the element, may be <code>null</code>
+	 * @return the string, never <code>null</code>
+	 */
+	protected String getStringFor(Object element) {
+		return element == null ? "" : String.valueOf(element);
+	}
+
+	/**
+	 * Converts a range of elements of the model to strings. This implementation
+	 * calls {@link #getStringFor(Object)} for each element.
+	 *
+	 * @param index0 the index of the first element
+	 * @param index1 the index of the last element
+	 * @return the strings
+	 */
+	protected String[] getStrings(int index0, int index1) {
+		String[] result = new String[index1 - index0 + 1];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = getStringFor(model.getElementAt(index0 + i));
+		}
+		return result;
+	}
+
+	@Override
+	public void intervalAdded(ListDataEvent e) {
+		if (!valid) {
+			return;
+		}
+		int index0 = e.getIndex0();
+		int index1 = e.getIndex1();
+		int count = index1 - index0 + 1;
+		if (index0 < 0 || index0 > strings.size() || strings.size() + count != model.getSize()) {
+			invalidate();
+			return;
+		}
+		shiftIndexes(index0, count);
+		String[] added = getStrings(index0, index1);
+		strings.addAll(index0, Arrays.asList(added));
+		if (count > MAX_INCREMENTAL_CHANGES) {
+			rebuildKeys();
+		} else {
+			for (int i = 0; i < count; i++) {
+				insertKey(toKey(added[i]), index0 + i);
+			}
+		}
+	}
+
+	@Override
+	public void intervalRemoved(ListDataEvent e) {
+		if (!valid) {
+			return;
+		}
+		int index0 = e.getIndex0();
+		int index1 = e.getIndex1();
+		int count = index1 - index0 + 1;
+		if (index0 < 0 || index1 >= strings.size() || strings.size() - count != model.getSize()) {
+			invalidate();
+			return;
+		}
+		if (count > MAX_INCREMENTAL_CHANGES) {
+			strings.subList(index0, index1 + 1).clear();
+			rebuildKeys();
+			return;
+		}
+		for (int i = index0; i <= index1; i++) {
+			removeKey(toKey(strings.get(i)), i);
+		}
+		strings.subList(index0, index1 + 1).clear();
+		shiftIndexes(index1 + 1, -count);
+	}
+
+	@Override
+	public void contentsChanged(ListDataEvent e) {
+		if (!valid) {
+			return;
+		}
+		int index0 = e.getIndex0();
+		int index1 = e.getIndex1();
+		if (index0 == -1 && index1 == -1 && strings.size() == model.getSize()) {
+			// selection change of a combo box model
+			return;
+		}
+		if (index0 < 0 || index1 >= strings.size() || strings.size() != model.getSize()) {
+			invalidate();
+			return;
+		}
+		String[] changed = getStrings(index0, index1);
+		if (changed.length > MAX_INCREMENTAL_CHANGES) {
+			for (int i = 0; i < changed.length; i++) {
+				strings.set(index0 + i, changed[i]);
+			}
+			rebuildKeys();
+			return;
+		}
+		for (int i = 0; i < changed.length; i++) {
+			int index = index0 + i;
+			String old = strings.set(index, changed[i]);
+			if (!ObjectUtils.nullSafeEquals(old, changed[i])) {
+				removeKey(toKey(old), index);
+				insertKey(toKey(changed[i]), index);
+			}
+		}
+	}
+
+	private void ensureValid() {
+		if (!valid || strings.size() != model.getSize()) {
+			strings.clear();
+			if (model.getSize() > 0) {
+				strings.addAll(Arrays.asList(getStrings(0, model.getSize() - 1)));
+			}
+			rebuildKeys();
+			valid = true;
+		}
+	}
+
+	private void rebuildKeys() {
+		size = strings.size();
+		minPositions = null;
+		Entry[] entries = new Entry[size];
+		for (int i = 0; i < size; i++) {
+			entries[i] = new Entry(toKey(strings.get(i)), i);
+		}
+		Arrays.sort(entries);
+		keys = new String[size];
+		indexes = new int[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = entries[i].key;
+			indexes[i] = entries[i].index;
+		}
+	}
+
+	private static String toKey(String string) {
+		return string == null ? "" : string.toUpperCase();
+	}
+
+	/**
+	 * Binary search for the position of a key and model index; an index of
+	 * <code>-1</code> gives the first position of the key.
+	 */
+	private int findKey(String key, int index) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			int result = keys[middle].compareTo(key);
+			if (result < 0 || (result == 0 && indexes[middle] < index)) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Binary search for the end of the range of keys starting with the given key,
+	 * which starts at <code>from</code>.
+	 */
+	private int findPrefixEnd(String key, int from) {
+		int low = from;
+		int high = size;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (keys[middle].startsWith(key)) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the position of the lowest model index between <code>from</code>
+	 * (inclusive) and <code>to</code> (exclusive), or <code>-1</code> if the
+	 * range is empty.
+	 */
+	private int findLowestIndex(int from, int to) {
+		if (minPositions == null) {
+			minPositions = new int[2 * size];
+			for (int i = 0; i < size; i++) {
+				minPositions[size + i] = i;
+			}
+			for (int i = size - 1; i > 0; i--) {
+				minPositions[i] = lower(minPositions[2 * i], minPositions[2 * i + 1]);
+			}
+		}
+		int result = -1;
+		for (int low = from + size, high = to + size; low < high; low >>>= 1, high >>>= 1) {
+			if ((low & 1) == 1) {
+				result = lower(result, minPositions[low++]);
+			}
+			if ((high & 1) == 1) {
+				result = lower(result, minPositions[--high]);
+			}
+		}
+		return result;
+	}
+
+	private int lower(int position1, int position2) {
+		if (position1 == -1) {
+			return position2;
+		}
+		return indexes[position2] < indexes[position1] ? position2 : position1;
+	}
+
+	private void insertKey(String key, int index) {
+		int position = findKey(key, index);
+		if (size == keys.length) {
+			int capacity = Math.max(16, size + (size >> 1));
+			keys = Arrays.copyOf(keys, capacity);
+			indexes = Arrays.copyOf(indexes, capacity);
+		}
+		System.arraycopy(keys, position, keys, position + 1, size - position);
+		System.arraycopy(indexes, position, indexes, position + 1, size - position);
+		keys[position] = key;
+		indexes[position] = index;
+		size++;
+		minPositions = null;
+	}
+
+	private void removeKey(String key, int index) {
+		int position = findKey(key, index);
+		System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+		System.arraycopy(indexes, position + 1, indexes, position, size - position - 1);
+		size--;
+		keys[size] = null;
+		minPositions = null;
+	}
+
+	/**
+	 * Adds <code>delta</code> to all model indexes from <code>from</code>. The
+	 * order of the keys doesn't change.
+	 */
+	private void shiftIndexes(int from, int delta) {
+		for (int i = 0; i < size; i++) {
+			if (indexes[i] >= from) {
+				indexes[i] += delta;
+			}
+		}
+	}
+
+	private static class Entry implements Comparable<Entry> {
+
+		private final String key;
+
+		private final int index;
+
+		Entry(String key, int index) {
+			this.key = key;
+			this.index = index;
+		}
+
+		@Override
+		public int compareTo(Entry other) {
+			int result = key.compareTo(other.key);
+			return result != 0 ? result : (index < other.index ? -1 : (index == other.index ? 0 : 1));
+		}
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.table;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.swing.table.TableModel;
+
+/**
+ * Sorts an array of model row indexes on the {@link SortKeys} of one or more
+ * columns. The sort is a stable merge sort, switching to insertion sort for
+ * short runs and optionally running in parallel on the common fork/join pool.
+ */
+final class RowIndexSorter {
+
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	private final int[] columns;
+
+	private final SortKeys[] keys;
+
+	private final boolean[] descending;
+
+	RowIndexSorter(int[] columns, SortKeys[] keys, boolean[] descending) {
+		this.columns = columns;
+		this.keys = keys;
+		this.descending = descending;
+	}
+
+	int compare(int row1, int row2) {
+		for (int level = 0; level < keys.length; level++) {
+			int result = keys[level].compare(row1, row2);
+			if (result != 0) {
+				return descending[level] ? -result : result;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * @return <code>true</code> if the given column is one of the sorted columns.
+	 */
+	boolean sortsOn(int column) {
+		for (int i = 0; i < columns.length; i++) {
+			if (columns[i] == column) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Read the keys of a changed model row again.
+	 *
+	 * @return <code>false</code> if the new values don't fit the keys.
+	 */
+	boolean update(TableModel model, int row) {
+		for (int level = 0; level < keys.length; level++) {
+			if (!keys[level].update(row, model.getValueAt(row, columns[level]))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Sort the given model row indexes.
+	 *
+	 * @param indexes           the row indexes, sorted in place.
+	 * @param parallelThreshold minimum number of rows to sort in parallel,
+	 *                          <code>0</code> to always sort sequentially.
+	 */
+	void sort(int[] indexes, int parallelThreshold) {
+		int[] src = indexes.clone();
+		if (parallelThreshold > 0 && indexes.length >= parallelThreshold
+				&& ForkJoinPool.getCommonPoolParallelism() > 1) {
+			int granularity = Math.max(INSERTION_SORT_THRESHOLD,
+					indexes.length / (ForkJoinPool.getCommonPoolParallelism() * 4));
+			ForkJoinPool.commonPool().invoke(new MergeSortTask(src, indexes, 0, indexes.length, granularity));
+		} else {
+			mergeSort(src, indexes, 0, indexes.length);
+		}
+	}
+
+	/**
+	 * Sort <code>src[low, high)</code> into <code>dest</code>; both arrays
+	 * start out with the same contents.
+	 */
+	private void mergeSort(int[] src, int[] dest, int low, int high) {
+		int length = high - low;
+		if (length < INSERTION_SORT_THRESHOLD) {
+			for (int i = low + 1; i < high; i++) {
+				int row = dest[i];
+				int j = i;
+				while (j > low && compare(dest[j - 1], row) > 0) {
+					dest[j] = dest[j - 1];
+					j--;
+				}
+				dest[j] = row;
+			}
+			return;
+		}
+		int middle = (low + high) >>> 1;
+		mergeSort(dest, src, low, middle);
+		mergeSort(dest, src, middle, high);
+		merge(src, dest, low, middle, high);
+	}
+
+	private void merge(int[] src, int[] dest, int low, int middle, int high) {
+		// already ordered, no further comparisons are needed
+		if (compare(src[middle - 1], src[middle]) <= 0) {
+			System.arraycopy(src, low, dest, low, high - low);
+			return;
+		}
+		for (int i = low, p = low, q = middle; i < high; i++) {
+			if (q >= high || (p < middle && compare(src[p], src[q]) <= 0)) {
+				dest[i] = src[p++];
+			} else {
+				dest[i] = src[q++];
+			}
+		}
+	}
+
+	private class MergeSortTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] src;
+
+		private final int[] dest;
+
+		private final int low;
+
+		private final int high;
+
+		private final int granularity;
+
+		MergeSortTask(int[] src, int[] dest, int low, int high, int granularity) {
+			this.src = src;
+			this.dest = dest;
+			this.low = low;
+			this.high = high;
+			this.granularity = granularity;
+		}
+
+		@Override
+		protected void compute() {
+			if (high - low <= granularity) {
+				mergeSort(src, dest, low, high);
+				return;
+			}
+			int middle = (low + high) >>> 1;
+			invokeAll(new MergeSortTask(dest, src, low, middle, granularity),
+					new MergeSortTask(dest, src, middle, high, granularity));
+			merge(src, dest, low, middle, high);
+		}
+	}
+}
@@ -16,6 +16,7 @@
 package org.springframework.richclient.table;
 
 import java.awt.EventQueue;
+import java.text.Collator;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -43,6 +44,11 @@ import org.springframework.util.comparator.NullSafeComparator;
  * the table with the rows in a different order. The sorting algorthm used is
  * stable which means that it does not move around rows when its comparison
  * function returns 0 to denote that they are equivalent.
+ * <p>
+ * The values of the sorted columns are read once per sort and kept as sort
+ * keys, numeric columns in primitive arrays. When a single row is updated it is
+ * moved to its new position using these keys instead of sorting all rows
+ * again.
  */
 public class ShuttleSortableTableModel extends AbstractTableModelFilter implements SortableTableModel {
 	private static final long serialVersionUID = 1L;
@@ -57,7 +63,12 @@ public class ShuttleSortableTableModel extends AbstractTableModelFilter implemen
 
 	private int[] indexes;
 
-	private int compares;
+	/** Sorts on the keys of the last sort, <code>null</code> if they are stale. */
+	private RowIndexSorter sorter;
+
+	private Collator collator;
+
+	private int parallelSortThreshold;
 
 	private boolean autoSortEnabled = true;
 
@@ -98,6 +109,7 @@ public class ShuttleSortableTableModel extends AbstractTableModelFilter implemen
 	 *                    comparator.
 	 */
 	public void resetComparators(Map comparators) {
+		sorter = null;
 		int colCount = filteredModel.getColumnCount();
 		columnComparators = new Comparator[colCount];
 
@@ -129,6 +141,37 @@ public class ShuttleSortableTableModel extends AbstractTableModelFilter implemen
 		this.autoSortEnabled = autoSortEnabled;
 	}
 
+	public Collator getCollator() {
+		return collator;
+	}
+
+	/**
+	 * Set the collator used to compare strings in columns without a custom
+	 * comparator. Collation keys are computed once per value when sorting. By
+	 * default strings are compared on their characters.
+	 *
+	 * @param collator the collator, <code>null</code> to compare on characters.
+	 */
+	public void setCollator(Collator collator) {
+		this.collator = collator;
+		this.sorter = null;
+	}
+
+	public int getParallelSortThreshold() {
+		return parallelSortThreshold;
+	}
+
+	/**
+	 * Set the minimum number of rows for which the sort runs in parallel on the
+	 * common fork/join pool. Only enable this if the comparators of the sorted
+	 * columns are thread safe. Defaults to <code>0</code>: always sort on the
+	 * calling thread.
+	 */
+	public void setParallelSortThreshold(int parallelSortThreshold) {
+		Assert.isTrue(parallelSortThreshold >= 0, "parallelSortThreshold must not be negative");
+		this.parallelSortThreshold = parallelSortThreshold;
+	}
+
 	public Comparator getComparator(int columnIndex) {
 		return this.columnComparators[columnIndex];
 	}
@@ -137,6 +180,7 @@ public class ShuttleSortableTableModel extends AbstractTableModelFilter implemen
 	public void setComparator(int columnIndex, Comparator comparator) {
 		Assert.notNull(comparator);
 		this.columnComparators[columnIndex] = comparator;
+		this.sorter = null;
 	}
 
 	// The mapping only affects the contents of the model rows.
@@ -232,67 +276,43 @@ public class ShuttleSortableTableModel extends AbstractTableModelFilter implemen
 	private void sort() {
 		if (columnsToSort.size() > 0) {
 			checkModel();
-			compares = 0;
-			doShuttleSort(indexes.clone(), indexes, 0, indexes.length);
-		}
-	}
-
-	private void checkModel() {
-		if (indexes.length != filteredModel.getRowCount()) {
-			throw new IllegalStateException("Sorter not informed of a change in model.");
+			sorter = createSorter();
+			sorter.sort(indexes, parallelSortThreshold);
+		} else {
+			sorter = null;
 		}
 	}
 
-	// This is a home-grown implementation which we have not had time
-	// to research - it may perform poorly in some circumstances. It
-	// requires twice the space of an in-place algorithm and makes
-	// NlogN assigments shuttling the values between the two
-	// arrays. The number of compares appears to vary between N-1 and
-	// NlogN depending on the initial order but the main reason for
-	// using it here is that, unlike qsort, it is stable.
-	private void doShuttleSort(int from[], int to[], int low, int high) {
-		if (high - low < 2) {
-			return;
-		}
-		int middle = (low + high) / 2;
-		doShuttleSort(to, from, low, middle);
-		doShuttleSort(to, from, middle, high);
-
-		int p = low;
-		int q = middle;
-
-		/*
-		 * This is an optional short-cut; at each recursive call, check to see if the
-		 * elements in this subset are already ordered. If so, no further comparisons
-		 * are needed; the sub-array can just be copied. The array must be copied rather
-		 * than assigned otherwise sister calls in the recursion might get out of sinc.
-		 * When the number of elements is three they are partitioned so that the first
-		 * set, [low, mid), has one element and and the second, [mid, high), has two. We
-		 * skip the optimisation when the number of elements is three or less as the
-		 * first compare in the normal merge will produce the same sequence of steps.
-		 * This optimisation seems to be worthwhile for partially ordered lists but some
-		 * analysis is needed to find out how the performance drops to Nlog(N) as the
-		 * initial
-		 */
-		if (high - low >= 4 && compare(from[middle - 1], from[middle]) <= 0) {
-			for (int i = low; i < high; i++) {
-				to[i] = from[i];
+	/**
+	 * Read the sort keys of the columns to sort.
+	 */
+	private RowIndexSorter createSorter() {
+		int levels = columnsToSort.size();
+		int[] columns = new int[levels];
+		SortKeys[] keys = new SortKeys[levels];
+		boolean[] descending = new boolean[levels];
+		for (int level = 0; level < levels; level++) {
+			ColumnToSort columnToSort = (ColumnToSort) columnsToSort.get(level);
+			int column = columnToSort.getColumnIndex();
+			Comparator comparator = columnComparators[column];
+			boolean toStringKeys = comparator == OBJECT_COMPARATOR;
+			if (toStringKeys || comparator == COMPARABLE_COMPARATOR) {
+				comparator = null;
 			}
-			return;
+			columns[level] = column;
+			keys[level] = SortKeys.create(filteredModel, column, comparator, toStringKeys, collator);
+			descending[level] = columnToSort.getSortOrder() != SortOrder.ASCENDING;
 		}
+		return new RowIndexSorter(columns, keys, descending);
+	}
 
-		// A normal merge.
-		for (int i = low; i < high; i++) {
-			if (q >= high || (p < middle && compare(from[p], from[q]) <= 0)) {
-				to[i] = from[p++];
-			} else {
-				to[i] = from[q++];
-			}
+	private void checkModel() {
+		if (indexes.length != filteredModel.getRowCount()) {
+			throw new IllegalStateException("Sorter not informed of a change in model.");
 		}
 	}
 
 	public int compare(int row1, int row2) {
-		compares++;
 		for (int level = 0; level < columnsToSort.size(); level++) {
 			ColumnToSort column = (ColumnToSort) columnsToSort.get(level);
 			int result = compareRowsByColumn(row1, row2, column.getColumnIndex());
@@ -331,6 +351,7 @@ public class ShuttleSortableTableModel extends AbstractTableModelFilter implemen
 				}
 			} else {
 				reallocateIndexesOnInsert(e.getFirstRow(), e.getLastRow());
+				sorter = null;
 				super.tableChanged(e);
 			}
 		} else if (e.getType() == TableModelEvent.DELETE) {
@@ -346,9 +367,11 @@ public class ShuttleSortableTableModel extends AbstractTableModelFilter implemen
 			}
 			sort();
 		} else if (e.getType() == TableModelEvent.UPDATE) {
-			allocateIndexes();
-			sort();
-			fireTableDataChanged();
+			if (!updateRow(e)) {
+				allocateIndexes();
+				sort();
+				fireTableDataChanged();
+			}
 		} else {
 			logger.warn("Doing an unknown table change type: " + e.getType());
 			allocateIndexes();
@@ -357,6 +380,55 @@ public class ShuttleSortableTableModel extends AbstractTableModelFilter implemen
 		}
 	}
 
+	/**
+	 * Move a single updated row to its new position using the keys of the last
+	 * sort.
+	 *
+	 * @return <code>false</code> if all rows need to be sorted again.
+	 */
+	private boolean updateRow(TableModelEvent e) {
+		int row = e.getFirstRow();
+		if (sorter == null || row == TableModelEvent.HEADER_ROW || row != e.getLastRow()
+				|| indexes.length != filteredModel.getRowCount()) {
+			return false;
+		}
+		int position = -1;
+		for (int i = 0; i < indexes.length && position == -1; i++) {
+			if (indexes[i] == row) {
+				position = i;
+			}
+		}
+		if (position == -1) {
+			return false;
+		}
+		if (e.getColumn() != TableModelEvent.ALL_COLUMNS && !sorter.sortsOn(e.getColumn())) {
+			fireTableRowsUpdated(position, position);
+			return true;
+		}
+		if (!sorter.update(filteredModel, row)) {
+			sorter = null;
+			return false;
+		}
+		int last = indexes.length - 1;
+		System.arraycopy(indexes, position + 1, indexes, position, last - position);
+		// binary search, rows with equal keys stay in model order
+		int low = 0;
+		int high = last;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			int result = sorter.compare(indexes[middle], row);
+			if (result < 0 || (result == 0 && indexes[middle] < row)) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		System.arraycopy(indexes, low, indexes, low + 1, last - low);
+		indexes[low] = row;
+		fireTableRowsUpdated(Math.min(position, low), Math.max(position, low));
+		return true;
+	}
+
 	private void reallocateIndexesOnInsert(int firstRow, int lastRow) {
 		int rowCount = filteredModel.getRowCount();
 		int[] newIndexes = new int[rowCount];
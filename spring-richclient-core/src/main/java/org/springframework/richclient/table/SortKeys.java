@@ -0,0 +1,251 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.table;
+
+import java.text.Collator;
+import java.util.Comparator;
+
+import javax.swing.table.TableModel;
+
+/**
+ * The sort keys of one column, read from the table model once per sort and
+ * indexed by model row. Integral and floating point columns are kept in
+ * primitive arrays; string keys may be replaced by collation keys.
+ * <p>
+ * <code>null</code> values sort low, as with the default comparators of
+ * {@link ShuttleSortableTableModel}.
+ *
+ * @see RowIndexSorter
+ */
+abstract class SortKeys {
+
+	/**
+	 * Compare the keys of two model rows.
+	 */
+	abstract int compare(int row1, int row2);
+
+	/**
+	 * Replace the key of a model row.
+	 *
+	 * @return <code>false</code> if the value doesn't fit these keys, they need to
+	 *         be created again.
+	 */
+	abstract boolean update(int row, Object value);
+
+	/**
+	 * Read the sort keys of a column.
+	 *
+	 * @param model           the table model.
+	 * @param column          the column index.
+	 * @param comparator      the comparator of the column, <code>null</code> if the
+	 *                        values are {@link Comparable}.
+	 * @param toStringKeys    compare the <code>toString()</code> of the values.
+	 * @param collator        collator for string values, may be <code>null</code>.
+	 */
+	static SortKeys create(TableModel model, int column, Comparator comparator, boolean toStringKeys,
+			Collator collator) {
+		int rowCount = model.getRowCount();
+		Object[] values = new Object[rowCount];
+		for (int row = 0; row < rowCount; row++) {
+			values[row] = model.getValueAt(row, column);
+		}
+		if (comparator != null) {
+			return new ComparatorKeys(values, comparator);
+		}
+		if (!toStringKeys) {
+			if (LongKeys.accepts(values)) {
+				return new LongKeys(values);
+			}
+			if (DoubleKeys.accepts(values)) {
+				return new DoubleKeys(values);
+			}
+		}
+		return new ComparableKeys(values, toStringKeys, collator);
+	}
+
+	private static boolean isIntegral(Object value) {
+		return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+	}
+
+	private static boolean isFloating(Object value) {
+		return value instanceof Double || value instanceof Float;
+	}
+
+	private static final class LongKeys extends SortKeys {
+
+		private final long[] keys;
+
+		private final boolean[] nulls;
+
+		LongKeys(Object[] values) {
+			keys = new long[values.length];
+			nulls = new boolean[values.length];
+			for (int row = 0; row < values.length; row++) {
+				update(row, values[row]);
+			}
+		}
+
+		static boolean accepts(Object[] values) {
+			boolean found = false;
+			for (int i = 0; i < values.length; i++) {
+				if (values[i] != null) {
+					if (!isIntegral(values[i])) {
+						return false;
+					}
+					found = true;
+				}
+			}
+			return found;
+		}
+
+		@Override
+		int compare(int row1, int row2) {
+			if (nulls[row1] || nulls[row2]) {
+				return nulls[row1] == nulls[row2] ? 0 : (nulls[row1] ? -1 : 1);
+			}
+			long key1 = keys[row1];
+			long key2 = keys[row2];
+			return key1 < key2 ? -1 : (key1 == key2 ? 0 : 1);
+		}
+
+		@Override
+		boolean update(int row, Object value) {
+			if (value == null) {
+				nulls[row] = true;
+				return true;
+			}
+			if (!isIntegral(value)) {
+				return false;
+			}
+			nulls[row] = false;
+			keys[row] = ((Number) value).longValue();
+			return true;
+		}
+	}
+
+	private static final class DoubleKeys extends SortKeys {
+
+		private final double[] keys;
+
+		private final boolean[] nulls;
+
+		DoubleKeys(Object[] values) {
+			keys = new double[values.length];
+			nulls = new boolean[values.length];
+			for (int row = 0; row < values.length; row++) {
+				update(row, values[row]);
+			}
+		}
+
+		static boolean accepts(Object[] values) {
+			boolean found = false;
+			for (int i = 0; i < values.length; i++) {
+				if (values[i] != null) {
+					if (!isFloating(values[i])) {
+						return false;
+					}
+					found = true;
+				}
+			}
+			return found;
+		}
+
+		@Override
+		int compare(int row1, int row2) {
+			if (nulls[row1] || nulls[row2]) {
+				return nulls[row1] == nulls[row2] ? 0 : (nulls[row1] ? -1 : 1);
+			}
+			return Double.compare(keys[row1], keys[row2]);
+		}
+
+		@Override
+		boolean update(int row, Object value) {
+			if (value == null) {
+				nulls[row] = true;
+				return true;
+			}
+			if (!isFloating(value)) {
+				return false;
+			}
+			nulls[row] = false;
+			keys[row] = ((Number) value).doubleValue();
+			return true;
+		}
+	}
+
+	private static final class ComparableKeys extends SortKeys {
+
+		private final Comparable[] keys;
+
+		private final boolean toStringKeys;
+
+		private final Collator collator;
+
+		ComparableKeys(Object[] values, boolean toStringKeys, Collator collator) {
+			this.keys = new Comparable[values.length];
+			this.toStringKeys = toStringKeys;
+			this.collator = collator;
+			for (int row = 0; row < values.length; row++) {
+				update(row, values[row]);
+			}
+		}
+
+		@Override
+		int compare(int row1, int row2) {
+			Comparable key1 = keys[row1];
+			Comparable key2 = keys[row2];
+			if (key1 == null || key2 == null) {
+				return key1 == key2 ? 0 : (key1 == null ? -1 : 1);
+			}
+			return key1.compareTo(key2);
+		}
+
+		@Override
+		boolean update(int row, Object value) {
+			if (value != null && toStringKeys) {
+				value = value.toString();
+			}
+			if (value instanceof String && collator != null) {
+				value = collator.getCollationKey((String) value);
+			}
+			keys[row] = (Comparable) value;
+			return true;
+		}
+	}
+
+	private static final class ComparatorKeys extends SortKeys {
+
+		private final Object[] keys;
+
+		private final Comparator comparator;
+
+		ComparatorKeys(Object[] values, Comparator comparator) {
+			this.keys = values;
+			this.comparator = comparator;
+		}
+
+		@Override
+		int compare(int row1, int row2) {
+			return comparator.compare(keys[row1], keys[row2]);
+		}
+
+		@Override
+		boolean update(int row, Object value) {
+			keys[row] = value;
+			return true;
+		}
+	}
+}
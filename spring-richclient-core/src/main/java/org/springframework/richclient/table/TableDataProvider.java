@@ -18,16 +18,59 @@ package org.springframework.richclient.table;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Buffers rows produced by other threads until they are published to a table
+ * model, eg by a {@link TableUpdatePublisher}.
+ * <p>
+ * A provider may be given a capacity: {@link #put(Object)} then blocks while
+ * that many rows are waiting to be published, so a fast producer can't run
+ * away from the event dispatching thread.
+ */
 public class TableDataProvider {
 	private List currentTableData = new ArrayList();
 
 	private List lastTableData = new ArrayList();
 
+	private final int capacity;
+
+	private Runnable dataListener;
+
 	public TableDataProvider() {
+		this(0);
+	}
+
+	/**
+	 * @param capacity the maximum number of rows waiting to be published,
+	 *                 <code>0</code> for no limit.
+	 */
+	public TableDataProvider(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("capacity must not be negative");
+		}
+		this.capacity = capacity;
 	}
 
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Adds a row to be published. Blocks while the capacity of this provider is
+	 * reached.
+	 */
 	public synchronized void put(Object datum) {
+		while (capacity > 0 && currentTableData.size() >= capacity) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
 		currentTableData.add(datum);
+		if (currentTableData.size() == 1 && dataListener != null) {
+			dataListener.run();
+		}
 	}
 
 	/**
@@ -38,6 +81,24 @@ public class TableDataProvider {
 	public synchronized List takeData() {
 		List list = currentTableData;
 		currentTableData = lastTableData;
+		lastTableData = list;
+		notifyAll();
 		return list;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * @return <code>true</code> if there are rows waiting to be published.
+	 */
+	public synchronized boolean hasData() {
+		return !currentTableData.isEmpty();
+	}
+
+	/**
+	 * Set the callback to run when the first row is added to an empty provider.
+	 * The callback is run by the producing thread while holding the lock of this
+	 * provider.
+	 */
+	synchronized void setDataListener(Runnable dataListener) {
+		this.dataListener = dataListener;
+	}
+}
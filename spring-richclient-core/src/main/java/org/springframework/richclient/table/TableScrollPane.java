@@ -27,6 +27,10 @@ import javax.swing.event.ChangeListener;
 public class TableScrollPane {
 	JScrollPane scrollPane;
 
+	/**
+	 * @deprecated use {@link #TableScrollPane(JTable, TableUpdatePublisher.Registration)}
+	 */
+	@Deprecated
 	public TableScrollPane(JTable table, final TableUpdater tableUpdater) {
 		this.scrollPane = new JScrollPane(table);
 		ChangeListener changeListener = new ChangeListener() {
@@ -40,6 +44,23 @@ public class TableScrollPane {
 		this.scrollPane.getHorizontalScrollBar().getModel().addChangeListener(changeListener);
 	}
 
+	/**
+	 * Creates a scroll pane that suspends the publishing of new rows while the
+	 * user is dragging a scroll bar.
+	 */
+	public TableScrollPane(JTable table, final TableUpdatePublisher.Registration registration) {
+		this.scrollPane = new JScrollPane(table);
+		ChangeListener changeListener = new ChangeListener() {
+			@Override
+			public void stateChanged(ChangeEvent e) {
+				BoundedRangeModel m = (BoundedRangeModel) (e.getSource());
+				registration.setUpdatesEnabled(!(m.getValueIsAdjusting()));
+			}
+		};
+		this.scrollPane.getVerticalScrollBar().getModel().addChangeListener(changeListener);
+		this.scrollPane.getHorizontalScrollBar().getModel().addChangeListener(changeListener);
+	}
+
 	public JScrollPane getScrollPane() {
 		return scrollPane;
 	}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.table;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.SwingUtilities;
+
+import org.springframework.util.Assert;
+
+/**
+ * Publishes the rows collected by {@link TableDataProvider}s to their
+ * {@link MutableTableModel}s. One publisher, and its single scheduler thread,
+ * can serve any number of tables.
+ * <p>
+ * Nothing happens until a provider receives data. Rows arriving within the
+ * publish interval are coalesced and added to the table model with one
+ * <code>invokeLater</code>, at most {@link #getMaxRowsPerPublish()} rows at a
+ * time; the remaining rows follow in the next intervals. While rows are
+ * waiting on the event dispatching thread no new rows are taken from the
+ * provider, so a provider with a capacity blocks its producer until the table
+ * has caught up.
+ */
+public class TableUpdatePublisher {
+
+	public static final int DEFAULT_PUBLISH_INTERVAL = 100;
+
+	public static final int DEFAULT_MAX_ROWS_PER_PUBLISH = 1000;
+
+	private static TableUpdatePublisher sharedInstance;
+
+	private final ScheduledExecutorService scheduler;
+
+	private long publishInterval = DEFAULT_PUBLISH_INTERVAL;
+
+	private int maxRowsPerPublish = DEFAULT_MAX_ROWS_PER_PUBLISH;
+
+	private final AtomicLong publishedRows = new AtomicLong();
+
+	private final AtomicLong publishCount = new AtomicLong();
+
+	private volatile long firstPublishTime;
+
+	/**
+	 * @return a publisher shared by all tables that don't need their own settings.
+	 */
+	public static synchronized TableUpdatePublisher getSharedInstance() {
+		if (sharedInstance == null) {
+			sharedInstance = new TableUpdatePublisher();
+		}
+		return sharedInstance;
+	}
+
+	public TableUpdatePublisher() {
+		this(Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "TableUpdatePublisher");
+				thread.setDaemon(true);
+				thread.setPriority(Thread.MIN_PRIORITY);
+				return thread;
+			}
+		}));
+	}
+
+	public TableUpdatePublisher(ScheduledExecutorService scheduler) {
+		Assert.notNull(scheduler, "scheduler must not be null");
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Set the time in milliseconds rows are collected before they are published.
+	 */
+	public void setPublishInterval(long publishInterval) {
+		Assert.isTrue(publishInterval >= 0, "publishInterval must not be negative");
+		this.publishInterval = publishInterval;
+	}
+
+	public long getPublishInterval() {
+		return publishInterval;
+	}
+
+	/**
+	 * Set the maximum number of rows added to a table model in one go, to keep the
+	 * event dispatching thread responsive.
+	 */
+	public void setMaxRowsPerPublish(int maxRowsPerPublish) {
+		Assert.isTrue(maxRowsPerPublish > 0, "maxRowsPerPublish must be greater than zero");
+		this.maxRowsPerPublish = maxRowsPerPublish;
+	}
+
+	public int getMaxRowsPerPublish() {
+		return maxRowsPerPublish;
+	}
+
+	/**
+	 * Start publishing the rows of the given provider to the given table model.
+	 *
+	 * @return the registration, used to pause or stop the publishing.
+	 */
+	public Registration register(TableDataProvider provider, MutableTableModel tableModel) {
+		Assert.notNull(provider, "provider must not be null");
+		Assert.notNull(tableModel, "tableModel must not be null");
+		final Registration registration = new Registration(provider, tableModel);
+		provider.setDataListener(new Runnable() {
+			@Override
+			public void run() {
+				registration.schedule();
+			}
+		});
+		if (provider.hasData()) {
+			registration.schedule();
+		}
+		return registration;
+	}
+
+	/**
+	 * @return the number of rows published since this publisher was created.
+	 */
+	public long getPublishedRowCount() {
+		return publishedRows.get();
+	}
+
+	/**
+	 * @return the number of batches published since this publisher was created.
+	 */
+	public long getPublishCount() {
+		return publishCount.get();
+	}
+
+	/**
+	 * @return the average number of rows published per second since the first
+	 *         rows were published.
+	 */
+	public double getRowsPerSecond() {
+		long start = firstPublishTime;
+		if (start == 0) {
+			return 0;
+		}
+		long elapsed = Math.max(1, System.currentTimeMillis() - start);
+		return publishedRows.get() * 1000.0 / elapsed;
+	}
+
+	private void recordPublish(int rows) {
+		if (firstPublishTime == 0) {
+			firstPublishTime = System.currentTimeMillis();
+		}
+		publishedRows.addAndGet(rows);
+		publishCount.incrementAndGet();
+	}
+
+	/**
+	 * The link between a provider and a table model.
+	 */
+	public class Registration {
+
+		private final TableDataProvider provider;
+
+		private final MutableTableModel tableModel;
+
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		private volatile boolean updatesEnabled = true;
+
+		private volatile boolean active = true;
+
+		/** Rows taken from the provider but not yet published, EDT only. */
+		private final List backlog = new ArrayList();
+
+		private final Runnable publishRunnable = new Runnable() {
+			@Override
+			public void run() {
+				publish();
+			}
+		};
+
+		private final Runnable invokeLaterRunnable = new Runnable() {
+			@Override
+			public void run() {
+				SwingUtilities.invokeLater(publishRunnable);
+			}
+		};
+
+		Registration(TableDataProvider provider, MutableTableModel tableModel) {
+			this.provider = provider;
+			this.tableModel = tableModel;
+		}
+
+		/**
+		 * If enable is true, we are allowed to publish changes, otherwise we aren't.
+		 */
+		public void setUpdatesEnabled(boolean enable) {
+			updatesEnabled = enable;
+			if (enable && (!backlog.isEmpty() || provider.hasData())) {
+				schedule();
+			}
+		}
+
+		public boolean getUpdatesEnabled() {
+			return updatesEnabled;
+		}
+
+		/**
+		 * Stop publishing. Rows that weren't published yet are discarded.
+		 */
+		public void unregister() {
+			active = false;
+			provider.setDataListener(null);
+		}
+
+		void schedule() {
+			if (active && updatesEnabled && scheduled.compareAndSet(false, true)) {
+				scheduler.schedule(invokeLaterRunnable, publishInterval, TimeUnit.MILLISECONDS);
+			}
+		}
+
+		private void publish() {
+			if (!active) {
+				return;
+			}
+			if (updatesEnabled) {
+				if (backlog.isEmpty()) {
+					List rows = provider.takeData();
+					backlog.addAll(rows);
+					rows.clear();
+				}
+				int count = Math.min(backlog.size(), maxRowsPerPublish);
+				if (count > 0) {
+					List batchRows = backlog.subList(0, count);
+					List rows = new ArrayList(batchRows);
+					batchRows.clear();
+					tableModel.addRows(rows);
+					recordPublish(count);
+				}
+			}
+			scheduled.set(false);
+			// rows that arrived while publishing or didn't fit this batch
+			if (!backlog.isEmpty() || provider.hasData()) {
+				schedule();
+			}
+		}
+	}
+}
@@ -27,7 +27,11 @@ import javax.swing.SwingUtilities;
  * Thread responsible for publishing changes to the Model. Sleeps for a defined
  * amount of time, waits for no activity in the UI and then users invokeAndWait
  * to publish changes.
+ *
+ * @deprecated polls the event queue from a dedicated thread per table, use
+ *             {@link TableUpdatePublisher} instead.
  */
+@Deprecated
 public class TableUpdater extends Thread {
 	private int sleepTime = 3000;
 
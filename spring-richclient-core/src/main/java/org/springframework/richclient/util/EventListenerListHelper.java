@@ -15,6 +15,8 @@
  */
 package org.springframework.richclient.util;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
@@ -56,6 +58,21 @@ import org.springframework.util.CachingMapDecorator;
  * }
  * </pre>
  *
+ * Events fired often should use a {@link Dispatcher}, which calls the listener
+ * method directly instead of by reflection and doesn't allocate:
+ *
+ * <pre>
+ * private static final Dispatcher&lt;FooListener, Event&gt; FOO_XXX = new Dispatcher&lt;FooListener, Event&gt;() {
+ * 	public void dispatch(FooListener listener, Event event) {
+ * 		listener.fooXXX(event);
+ * 	}
+ * };
+ *
+ * protected void fireFooXXX() {
+ * 	fooListeners.dispatch(FOO_XXX, new Event());
+ * }
+ * </pre>
+ *
  * @author Oliver Hutchison
  * @author Keith Donald
  */
@@ -141,6 +158,29 @@ public class EventListenerListHelper implements Serializable {
 		}
 	};
 
+	/**
+	 * Dispatcher calling {@link PropertyChangeListener#propertyChange}.
+	 */
+	public static final Dispatcher<PropertyChangeListener, PropertyChangeEvent> PROPERTY_CHANGE =
+			new Dispatcher<PropertyChangeListener, PropertyChangeEvent>() {
+				@Override
+				public void dispatch(PropertyChangeListener listener, PropertyChangeEvent event) {
+					listener.propertyChange(event);
+				}
+			};
+
+	/**
+	 * Calls a listener method, see {@link #dispatch(Dispatcher, Object)}.
+	 * Implementations are usually constants, one for each listener method.
+	 */
+	public interface Dispatcher<L, E> {
+
+		/**
+		 * Calls the listener method with the event.
+		 */
+		void dispatch(L listener, E event);
+	}
+
 	private final Class listenerClass;
 
 	private volatile Object[] listeners = EMPTY_OBJECT_ARRAY;
@@ -285,6 +325,24 @@ public class EventListenerListHelper implements Serializable {
 		}
 	}
 
+	/**
+	 * Passes the event to the dispatcher for each of the listeners registered with
+	 * this list. Unlike the <code>fire</code> methods taking a method name,
+	 * exceptions thrown by listeners are not wrapped in an
+	 * {@link EventBroadcastException}.
+	 *
+	 * @param dispatcher calls the listener method, must accept listeners of the
+	 *                   class maintained by this list helper.
+	 * @param event      the event to pass, may be <code>null</code> for listener
+	 *                   methods without parameters.
+	 */
+	public <L, E> void dispatch(Dispatcher<L, E> dispatcher, E event) {
+		Object[] listenersCopy = listeners;
+		for (int i = 0; i < listenersCopy.length; i++) {
+			dispatcher.dispatch((L) listenersCopy[i], event);
+		}
+	}
+
 	/**
 	 * Adds <code>listener</code> to the list of registered listeners. If listener
 	 * is already registered this method will do nothing.
@@ -0,0 +1,359 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.util;
+
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.Timer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Runs low priority work on the event dispatching thread while it is idle,
+ * like building views ahead of their first use, warming caches or refreshing
+ * counts.
+ * <p>
+ * A timer checks the event queue every {@link #setTickInterval(int) tick
+ * interval}. When no events are waiting, tasks run for at most
+ * {@link #setSliceBudget(long) slice budget} milliseconds, highest priority
+ * first. A task does its work in small steps and is run again in later slices
+ * until it reports it is done, see {@link Task}. The slice ends early as soon
+ * as events are waiting, so the user interface stays responsive.
+ * <p>
+ * The timer only runs while tasks are scheduled. Tasks can be scheduled from
+ * any thread and are always run on the event dispatching thread.
+ */
+public class IdleTaskScheduler {
+
+	public static final int DEFAULT_TICK_INTERVAL = 50;
+
+	public static final long DEFAULT_SLICE_BUDGET = 10;
+
+	public static final int LOW_PRIORITY = 0;
+
+	public static final int NORMAL_PRIORITY = 5;
+
+	public static final int HIGH_PRIORITY = 10;
+
+	private static final Log logger = LogFactory.getLog(IdleTaskScheduler.class);
+
+	private static IdleTaskScheduler sharedInstance;
+
+	private final PriorityQueue<ScheduledTask> tasks = new PriorityQueue<ScheduledTask>();
+
+	private final Timer timer;
+
+	private long sliceBudget = DEFAULT_SLICE_BUDGET;
+
+	private long sequence;
+
+	private long idleTicks;
+
+	private long busyTicks;
+
+	private long slices;
+
+	private long taskTime;
+
+	private long completedTasks;
+
+	private long cancelledTasks;
+
+	/**
+	 * A unit of idle work, run in steps.
+	 */
+	public interface Task {
+
+		/**
+		 * Does a step of the work.
+		 *
+		 * @param deadline the {@link System#nanoTime()} by which the step should
+		 *                 return.
+		 * @return <code>true</code> if there is more work to do.
+		 */
+		boolean run(long deadline);
+	}
+
+	/**
+	 * @return a scheduler shared by the framework and the application.
+	 */
+	public static synchronized IdleTaskScheduler getSharedInstance() {
+		if (sharedInstance == null) {
+			sharedInstance = new IdleTaskScheduler();
+		}
+		return sharedInstance;
+	}
+
+	public IdleTaskScheduler() {
+		timer = new Timer(DEFAULT_TICK_INTERVAL, new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				tick();
+			}
+		});
+		timer.setCoalesce(true);
+	}
+
+	/**
+	 * Set the interval, in milliseconds, between the checks of the event queue.
+	 * Defaults to {@link #DEFAULT_TICK_INTERVAL}.
+	 */
+	public void setTickInterval(int tickInterval) {
+		timer.setDelay(tickInterval);
+	}
+
+	/**
+	 * Set the time, in milliseconds, tasks may run in one idle slice. Defaults to
+	 * {@link #DEFAULT_SLICE_BUDGET}.
+	 */
+	public synchronized void setSliceBudget(long sliceBudget) {
+		Assert.isTrue(sliceBudget > 0, "sliceBudget must be positive");
+		this.sliceBudget = sliceBudget;
+	}
+
+	/**
+	 * Schedules a runnable to be run once, with normal priority.
+	 */
+	public ScheduledTask schedule(Runnable runnable) {
+		return schedule(runnable, NORMAL_PRIORITY);
+	}
+
+	/**
+	 * Schedules a runnable to be run once.
+	 */
+	public ScheduledTask schedule(final Runnable runnable, int priority) {
+		Assert.notNull(runnable, "runnable must not be null");
+		return schedule(new Task() {
+			@Override
+			public boolean run(long deadline) {
+				runnable.run();
+				return false;
+			}
+		}, priority, 0);
+	}
+
+	/**
+	 * Schedules a task.
+	 *
+	 * @param task     the task.
+	 * @param priority the priority, tasks with a higher priority run first.
+	 * @param budget   the maximum time, in milliseconds, of a step of the task, or
+	 *                 0 to use the slice budget.
+	 */
+	public ScheduledTask schedule(Task task, int priority, long budget) {
+		Assert.notNull(task, "task must not be null");
+		ScheduledTask scheduledTask;
+		synchronized (this) {
+			scheduledTask = new ScheduledTask(task, priority, budget, sequence++);
+			tasks.add(scheduledTask);
+		}
+		if (!timer.isRunning()) {
+			timer.start();
+		}
+		return scheduledTask;
+	}
+
+	/**
+	 * Called on each tick of the timer, runs a slice if the event queue is idle.
+	 */
+	private void tick() {
+		if (hasPendingEvents()) {
+			synchronized (this) {
+				busyTicks++;
+			}
+			return;
+		}
+		synchronized (this) {
+			idleTicks++;
+		}
+		if (!runSlice()) {
+			synchronized (this) {
+				if (tasks.isEmpty()) {
+					timer.stop();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Runs tasks for at most the slice budget, must be called on the event
+	 * dispatching thread.
+	 *
+	 * @return <code>true</code> if tasks remain.
+	 */
+	protected boolean runSlice() {
+		long sliceStart = System.nanoTime();
+		long sliceEnd;
+		synchronized (this) {
+			sliceEnd = sliceStart + TimeUnit.MILLISECONDS.toNanos(sliceBudget);
+			slices++;
+		}
+		while (true) {
+			ScheduledTask task;
+			synchronized (this) {
+				task = tasks.poll();
+			}
+			if (task == null) {
+				return false;
+			}
+			long start = System.nanoTime();
+			long deadline = task.budget > 0 ? Math.min(sliceEnd, start + TimeUnit.MILLISECONDS.toNanos(task.budget))
+					: sliceEnd;
+			boolean more = task.runStep(deadline);
+			long end = System.nanoTime();
+			synchronized (this) {
+				taskTime += end - start;
+				if (task.isCancelled()) {
+					cancelledTasks++;
+				} else if (more) {
+					tasks.add(task);
+				} else {
+					completedTasks++;
+				}
+			}
+			if (end > deadline && logger.isDebugEnabled()) {
+				logger.debug("Idle task " + task.task + " overran its budget by "
+						+ TimeUnit.NANOSECONDS.toMillis(end - deadline) + " ms");
+			}
+			if (end >= sliceEnd || hasPendingEvents()) {
+				synchronized (this) {
+					return !tasks.isEmpty();
+				}
+			}
+		}
+	}
+
+	protected boolean hasPendingEvents() {
+		EventQueue queue = Toolkit.getDefaultToolkit().getSystemEventQueue();
+		return queue.peekEvent() != null;
+	}
+
+	public synchronized int getTaskCount() {
+		return tasks.size();
+	}
+
+	/**
+	 * Returns the fraction of the ticks that found the event dispatching thread
+	 * busy, <code>0</code> if there were no ticks.
+	 */
+	public synchronized double getOccupancy() {
+		long ticks = idleTicks + busyTicks;
+		return ticks == 0 ? 0 : (double) busyTicks / ticks;
+	}
+
+	public synchronized long getIdleTickCount() {
+		return idleTicks;
+	}
+
+	public synchronized long getBusyTickCount() {
+		return busyTicks;
+	}
+
+	public synchronized long getSliceCount() {
+		return slices;
+	}
+
+	/**
+	 * Returns the total time, in milliseconds, tasks ran on the event
+	 * dispatching thread.
+	 */
+	public synchronized long getTaskTime() {
+		return TimeUnit.NANOSECONDS.toMillis(taskTime);
+	}
+
+	public synchronized long getCompletedTaskCount() {
+		return completedTasks;
+	}
+
+	public synchronized long getCancelledTaskCount() {
+		return cancelledTasks;
+	}
+
+	/**
+	 * Handle of a scheduled task.
+	 */
+	public final class ScheduledTask implements Comparable<ScheduledTask> {
+
+		private final Task task;
+
+		private final int priority;
+
+		private final long budget;
+
+		private final long sequence;
+
+		private volatile boolean cancelled;
+
+		private volatile boolean done;
+
+		private ScheduledTask(Task task, int priority, long budget, long sequence) {
+			this.task = task;
+			this.priority = priority;
+			this.budget = budget;
+			this.sequence = sequence;
+		}
+
+		/**
+		 * Cancels the task, it won't be run again.
+		 */
+		public void cancel() {
+			cancelled = true;
+			synchronized (IdleTaskScheduler.this) {
+				if (tasks.remove(this)) {
+					cancelledTasks++;
+				}
+			}
+		}
+
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		public boolean isDone() {
+			return done;
+		}
+
+		private boolean runStep(long deadline) {
+			if (cancelled) {
+				return false;
+			}
+			boolean more;
+			try {
+				more = task.run(deadline);
+			} catch (RuntimeException e) {
+				logger.warn("Idle task " + task + " failed", e);
+				more = false;
+			}
+			done = !more;
+			return more;
+		}
+
+		@Override
+		public int compareTo(ScheduledTask other) {
+			if (priority != other.priority) {
+				return priority > other.priority ? -1 : 1;
+			}
+			return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+		}
+	}
+}
@@ -77,6 +77,7 @@ import org.springframework.richclient.widget.Widget;
 import org.springframework.richclient.widget.editor.provider.DataProviderEventSource;
 import org.springframework.richclient.widget.editor.provider.DataProviderListener;
 import org.springframework.richclient.widget.table.TableWidget;
+import org.springframework.util.Assert;
 
 import com.jgoodies.forms.factories.Borders;
 import com.jgoodies.forms.factories.FormFactory;
@@ -180,6 +181,8 @@ public abstract class AbstractDataEditorWidget extends AbstractTitledWidget impl
 
 	private Map dataProviderSources = null;
 
+	private boolean widgetContentCreated;
+
 	private final CommandConfigurer commandConfigurer = (CommandConfigurer) ApplicationServicesLocator.services()
 			.getService(CommandConfigurer.class);
 
@@ -245,10 +248,20 @@ public abstract class AbstractDataEditorWidget extends AbstractTitledWidget impl
 	 */
 	@Override
 	public JComponent createWidgetContent() {
+		widgetContentCreated = true;
 		return createDataEditorWidget();
 	}
 
+	/**
+	 * Returns <code>true</code> once the content of this dataeditor, the table
+	 * and the detail panel, has been created.
+	 */
+	protected boolean isWidgetContentCreated() {
+		return widgetContentCreated;
+	}
+
 	protected final JComponent createDataEditorWidget() {
+		Assert.state(getDetailForm() != null, "A detail form is required to create the dataeditor");
 		JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT);
 		splitPane.setBorder(BorderFactory.createEmptyBorder());
 		if (isSelectMode() == ON) {
@@ -463,7 +476,9 @@ public abstract class AbstractDataEditorWidget extends AbstractTitledWidget impl
 		};
 		command.setSecurityControllerId(getId() + "." + UPDATE_COMMAND_ID);
 		getCommandConfigurer().configure(command);
-		getDetailForm().addGuarded(command, FormGuard.LIKE_COMMITCOMMAND);
+		if (getDetailForm() != null) {
+			getDetailForm().addGuarded(command, FormGuard.LIKE_COMMITCOMMAND);
+		}
 		return command;
 	}
 
@@ -479,6 +494,9 @@ public abstract class AbstractDataEditorWidget extends AbstractTitledWidget impl
 	 * </ol>
 	 */
 	protected void doUpdate() {
+		if (getDetailForm() == null) {
+			return;
+		}
 		getDetailForm().commit();
 		Object savedObject = null;
 		try {
@@ -522,7 +540,9 @@ public abstract class AbstractDataEditorWidget extends AbstractTitledWidget impl
 		};
 		command.setSecurityControllerId(getId() + "." + CREATE_COMMAND_ID);
 		getCommandConfigurer().configure(command);
-		getDetailForm().addGuarded(command, FormGuard.LIKE_COMMITCOMMAND);
+		if (getDetailForm() != null) {
+			getDetailForm().addGuarded(command, FormGuard.LIKE_COMMITCOMMAND);
+		}
 		return command;
 	}
 
@@ -538,6 +558,9 @@ public abstract class AbstractDataEditorWidget extends AbstractTitledWidget impl
 	 * </ol>
 	 */
 	protected void doCreate() {
+		if (getDetailForm() == null) {
+			return;
+		}
 		getDetailForm().commit();
 		Object newObject = null;
 		try {
@@ -567,6 +590,25 @@ public abstract class AbstractDataEditorWidget extends AbstractTitledWidget impl
 		return getDetailForm().getRevertCommand();
 	}
 
+	/**
+	 * Detaches a detail form that is no longer used by this dataeditor. The
+	 * create and update commands are no longer guarded by the form and are
+	 * disabled.
+	 */
+	protected void detachDetailForm(AbstractForm form) {
+		if (createRowCommand != null) {
+			form.removeGuarded(createRowCommand);
+			createRowCommand.setEnabled(false);
+		}
+		if (updateCommand != null) {
+			form.removeGuarded(updateCommand);
+			updateCommand.setEnabled(false);
+		}
+		if (form.isControlCreated()) {
+			DefaultButtonFocusListener.setDefaultButton(form.getControl(), null);
+		}
+	}
+
 	abstract protected DefaultValidationResultsModel getValidationResults();
 
 	/**
@@ -888,6 +930,9 @@ public abstract class AbstractDataEditorWidget extends AbstractTitledWidget impl
 		getTableWidget().unSelectAll();
 		selectedRowObject = null;
 		AbstractForm detailForm = getDetailForm();
+		if (detailForm == null) {
+			return;
+		}
 
 		if (detailForm instanceof NewFormObjectAware) {
 			((NewFormObjectAware) detailForm).setNewFormObject(newClone);
@@ -1284,6 +1329,9 @@ public abstract class AbstractDataEditorWidget extends AbstractTitledWidget impl
 		boolean userBreak = false;
 		int answer = JOptionPane.NO_OPTION;
 
+		if (getDetailForm() == null) {
+			return true;
+		}
 		FormModel detailFormModel = getDetailForm().getFormModel();
 
 		if (detailFormModel.isEnabled() && detailFormModel.isDirty()) {
@@ -1325,6 +1373,12 @@ public abstract class AbstractDataEditorWidget extends AbstractTitledWidget impl
 			return true;
 		}
 
+		// the detail form has been released
+		if (getDetailForm() == null) {
+			selectedRowObject = null;
+			return false;
+		}
+
 		if (saveUpdateSwitcher != null) {
 			DefaultButtonFocusListener.setDefaultButton(getDetailForm().getControl(), getUpdateCommand());
 			saveUpdateSwitcher.show(saveUpdatePanel, UPDATE_COMMAND_ID);
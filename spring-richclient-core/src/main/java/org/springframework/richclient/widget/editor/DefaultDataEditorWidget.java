@@ -25,6 +25,8 @@ import org.springframework.richclient.core.DefaultMessage;
 import org.springframework.richclient.core.Severity;
 import org.springframework.richclient.form.AbstractForm;
 import org.springframework.richclient.form.FilterForm;
+import org.springframework.richclient.form.FormPool;
+import org.springframework.richclient.progress.ProgressMonitor;
 import org.springframework.richclient.util.RcpSupport;
 import org.springframework.richclient.widget.AbstractWidget;
 import org.springframework.richclient.widget.Widget;
@@ -32,9 +34,14 @@ import org.springframework.richclient.widget.editor.provider.DataProvider;
 import org.springframework.richclient.widget.editor.provider.DataProviderEvent;
 import org.springframework.richclient.widget.editor.provider.DataProviderListener;
 import org.springframework.richclient.widget.editor.provider.MaximumRowsExceededException;
+import org.springframework.richclient.widget.editor.provider.PagedDataProvider;
+import org.springframework.richclient.widget.editor.provider.PagedRetrieval;
+import org.springframework.richclient.widget.editor.provider.VirtualDataProvider;
 import org.springframework.richclient.widget.table.TableDescription;
 import org.springframework.richclient.widget.table.TableWidget;
 import org.springframework.richclient.widget.table.glazedlists.GlazedListTableWidget;
+import org.springframework.richclient.widget.table.glazedlists.VirtualEventList;
+import org.springframework.util.Assert;
 
 /**
  * DefaultDataEditorWidget is a basic implementation of a
@@ -50,6 +57,11 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget
 	 */
 	private AbstractForm detailForm;
 
+	/**
+	 * Pool the detailform was taken from, if any.
+	 */
+	private FormPool detailFormPool;
+
 	/**
 	 * Filterform of this dataeditor (next to table).
 	 */
@@ -89,6 +101,17 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget
 
 	private ListRetrievingWorker listWorker;
 
+	/**
+	 * The rows a paged retrieval has already shown in the table, only set while
+	 * {@link #listWorkerDone(List, Map)} is called.
+	 */
+	private List<Object> pagedRowsShown;
+
+	/**
+	 * Filter criteria passed to a {@link VirtualDataProvider}.
+	 */
+	private volatile Object virtualCriteria;
+
 	private final MaximumRowsExceededMessage maximumRowsExceededMessage = new MaximumRowsExceededMessage();
 
 	protected static class MaximumRowsExceededMessage extends DefaultValidationMessage {
@@ -115,9 +138,14 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget
 	 * {@link SwingWorker} which retrieves list from back-end and fills table with
 	 * result.
 	 * <p/>
+	 * If the {@link DataProvider} is a {@link PagedDataProvider}, the list is
+	 * fetched page by page and each page is appended to the table as soon as it
+	 * arrives. The retrieval stops after the current page when the user cancels it
+	 * through the progress monitor or {@link #cancelFilter()}.
+	 * <p/>
 	 * Remember to set criteria and launch this class in a synchronised block.
 	 */
-	private class ListRetrievingWorker extends SwingWorker<List<Object>, String> {
+	private class ListRetrievingWorker extends SwingWorker<List<Object>, List<Object>> {
 
 		/**
 		 * The filter criteria to use.
@@ -129,9 +157,73 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget
 		 */
 		protected Map<String, Object> parameters;
 
+		/**
+		 * Monitor showing the progress, checked for cancellation between pages.
+		 */
+		protected ProgressMonitor progressMonitor;
+
+		/**
+		 * Set when the retrieval should stop after the current page.
+		 */
+		private volatile boolean stopRequested;
+
+		/**
+		 * Number of rows already shown in the table, <code>-1</code> as long as the
+		 * previous rows are still shown. Only accessed on the EDT.
+		 */
+		private int shownRows = -1;
+
+		/**
+		 * Set once the complete list is shown, pages published afterwards are
+		 * ignored. Only accessed on the EDT.
+		 */
+		private boolean listShown;
+
 		@Override
 		protected List<Object> doInBackground() throws Exception {
-			return getDataProvider().getList(filterCriteria);
+			DataProvider provider = getDataProvider();
+			if (!(provider instanceof PagedDataProvider)) {
+				return provider.getList(filterCriteria);
+			}
+			PagedRetrieval retrieval = new PagedRetrieval((PagedDataProvider) provider, filterCriteria) {
+				@Override
+				public boolean isCancelled() {
+					return super.isCancelled() || isStopRequested();
+				}
+
+				@Override
+				protected void pageFetched(List page) {
+					publish(page);
+				}
+			};
+			return retrieval.retrieve();
+		}
+
+		private boolean isStopRequested() {
+			return stopRequested || (progressMonitor != null && progressMonitor.isCanceled());
+		}
+
+		/**
+		 * Append the pages that were fetched so far to the table.
+		 */
+		@Override
+		protected void process(List<List<Object>> pages) {
+			if (listShown) {
+				return;
+			}
+			for (List<Object> page : pages) {
+				showRows(page);
+			}
+		}
+
+		private void showRows(List<Object> rows) {
+			if (shownRows < 0) {
+				setRows(rows);
+				shownRows = rows.size();
+			} else {
+				tableWidget.addRows(rows);
+				shownRows += rows.size();
+			}
 		}
 
 		/**
@@ -140,10 +232,28 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget
 		@Override
 		protected void done() {
 			try {
-				listWorkerDone(get(), parameters);
+				List<Object> rows = get();
+				if (getDataProvider() instanceof PagedDataProvider) {
+					// pages may still be on their way to process()
+					if (shownRows < 0) {
+						showRows(rows);
+					} else if (rows.size() > shownRows) {
+						showRows(rows.subList(shownRows, rows.size()));
+					}
+					listShown = true;
+					pagedRowsShown = rows;
+					try {
+						listWorkerDone(rows, parameters);
+					} finally {
+						pagedRowsShown = null;
+					}
+				} else {
+					listWorkerDone(rows, parameters);
+				}
 			} catch (InterruptedException e) {
 				// someone cancelled the retrieval?
 			} catch (ExecutionException e) {
+				listShown = true;
 				if (e.getCause() instanceof MaximumRowsExceededException) {
 					MaximumRowsExceededException mre = (MaximumRowsExceededException) e.getCause();
 					setRows(Collections.EMPTY_LIST);
@@ -166,15 +276,49 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget
 		}
 	}
 
+	/**
+	 * Fetches the rows of a virtual table from the {@link VirtualDataProvider}
+	 * using the current filter criteria.
+	 */
+	private class VirtualDataProviderRowSource implements VirtualEventList.RowSource<Object> {
+
+		@Override
+		public int getRowCount(String filterText) {
+			return ((VirtualDataProvider) getDataProvider()).getCount(virtualCriteria, filterText);
+		}
+
+		@Override
+		public List<Object> getRows(String filterText, int sortColumn, boolean ascending, int offset, int limit) {
+			return ((VirtualDataProvider) getDataProvider()).getPage(virtualCriteria, filterText, sortColumn,
+					ascending, offset, limit);
+		}
+	}
+
 	/**
 	 * This method is called on the gui-thread when the worker ends. As default it
-	 * will check for the PARAMETER_DEFAULT_SELECTED_OBJECT parameter in the map.
+	 * will set the rows and call {@link #listLoaded(List, Map)}. Rows fetched
+	 * from a {@link PagedDataProvider} are already shown page by page when this
+	 * method is called, so they aren't set again.
 	 *
 	 * @param rows       fetched by the listWorker.
 	 * @param parameters a map of parameters specific to this listWorker instance.
 	 */
 	protected void listWorkerDone(List<Object> rows, Map<String, Object> parameters) {
-		setRows(rows);
+		if (rows != pagedRowsShown) {
+			setRows(rows);
+		}
+		listLoaded(rows, parameters);
+	}
+
+	/**
+	 * This method is called on the gui-thread when the rows fetched by the worker
+	 * are shown in the table. As default it will check for the
+	 * PARAMETER_DEFAULT_SELECTED_OBJECT parameter in the map.
+	 *
+	 * @param rows       fetched by the listWorker.
+	 * @param parameters a map of parameters specific to this listWorker instance.
+	 */
+	protected void listLoaded(List<Object> rows, Map<String, Object> parameters) {
 		// remove maximumRowsExceededMessages if needed
 		validationResultsModel.removeMessage(maximumRowsExceededMessage);
 		if ((rows == null) || (rows.size() == 0)) {
@@ -295,6 +439,35 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget
 		}
 	}
 
+	/**
+	 * Take the form that will handle one detail item from a pool of built forms.
+	 * Must be set before the component of this dataeditor is created. Call
+	 * {@link #releaseDetailForm()} to return it when this dataeditor is
+	 * discarded.
+	 */
+	public void setDetailFormPool(FormPool detailFormPool) {
+		Assert.state(!isWidgetContentCreated(), "The detail form pool must be set before the dataeditor is created");
+		releaseDetailForm();
+		this.detailFormPool = detailFormPool;
+		if (detailFormPool != null) {
+			setDetailForm(detailFormPool.acquire(null));
+		}
+	}
+
+	/**
+	 * Return the detailform to the pool it was taken from, see
+	 * {@link #setDetailFormPool(FormPool)}. The dataeditor has no detailform
+	 * afterwards.
+	 */
+	public void releaseDetailForm() {
+		if (detailFormPool != null && detailForm != null) {
+			AbstractForm form = detailForm;
+			detachDetailForm(form);
+			setDetailForm(null);
+			detailFormPool.release(form);
+		}
+	}
+
 	@Override
 	public AbstractForm getDetailForm() {
 		return this.detailForm;
@@ -334,7 +507,13 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget
 	 */
 	protected void setTableWidget(TableDescription tableDescription) {
 		if (tableDescription != null) {
-			TableWidget tableWidget = new GlazedListTableWidget(null, tableDescription);
+			TableWidget tableWidget;
+			if (dataProvider instanceof VirtualDataProvider) {
+				tableWidget = GlazedListTableWidget.createVirtualTable(
+						new VirtualEventList<Object>(new VirtualDataProviderRowSource()), tableDescription);
+			} else {
+				tableWidget = new GlazedListTableWidget(null, tableDescription);
+			}
 			setTableWidget(tableWidget);
 		}
 	}
@@ -423,7 +602,9 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget
 	 */
 	@Override
 	public synchronized void executeFilter(Map<String, Object> parameters) {
-		if (listWorker == null) {
+		if (dataProvider instanceof VirtualDataProvider) {
+			executeVirtualFilter(parameters);
+		} else if (listWorker == null) {
 			if (dataProvider.supportsBaseCriteria()) {
 				dataProvider.setBaseCriteria(getBaseCriteria());
 			}
@@ -436,6 +617,7 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget
 			// getRefreshCommand().setEnabled(false);
 
 			listWorker = new ListRetrievingWorker();
+			listWorker.progressMonitor = statusBar.getProgressMonitor();
 			if (dataProvider.supportsFiltering()) {
 				if (parameters.containsKey(PARAMETER_FILTER)) {
 					setFilterModel(parameters.get(PARAMETER_FILTER));
@@ -450,6 +632,42 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget
 		}
 	}
 
+	/**
+	 * Passes the filter criteria to the virtual table, which only fetches the rows
+	 * in view from the {@link VirtualDataProvider}.
+	 */
+	private void executeVirtualFilter(Map<String, Object> parameters) {
+		if (dataProvider.supportsBaseCriteria()) {
+			dataProvider.setBaseCriteria(getBaseCriteria());
+		}
+		Object criteria = null;
+		if (dataProvider.supportsFiltering()) {
+			if (parameters.containsKey(PARAMETER_FILTER)) {
+				setFilterModel(parameters.get(PARAMETER_FILTER));
+			}
+			criteria = getFilterForm().getFilterCriteria();
+		}
+		virtualCriteria = criteria;
+		log.debug("Execute virtual Filter with criteria: " + criteria + " and parameters: " + parameters);
+		// setRows reloads a virtual table from its source
+		setRows(Collections.EMPTY_LIST);
+		validationResultsModel.removeMessage(maximumRowsExceededMessage);
+		if (!tableWidget.isEmpty()) {
+			tableWidget.selectRowObject(0, null);
+		}
+	}
+
+	/**
+	 * Stops a running retrieval of a {@link PagedDataProvider} after the current
+	 * page. The rows fetched so far remain in the table. A non-paged retrieval
+	 * can't be stopped and will run to completion.
+	 */
+	public synchronized void cancelFilter() {
+		if (listWorker != null) {
+			listWorker.stopRequested = true;
+		}
+	}
+
 	/**
 	 * @see #executeFilter(Map)
 	 */
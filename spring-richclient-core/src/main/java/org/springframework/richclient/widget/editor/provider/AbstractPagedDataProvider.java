@@ -0,0 +1,45 @@
+package org.springframework.richclient.widget.editor.provider;
+
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * Base implementation for {@link PagedDataProvider}s. Subclasses only need to
+ * implement {@link #getPage(Object, int, int)}, the complete list is assembled
+ * from the pages.
+ */
+public abstract class AbstractPagedDataProvider extends AbstractDataProvider implements PagedDataProvider {
+
+	public static final int DEFAULT_PAGE_SIZE = 100;
+
+	private int pageSize = DEFAULT_PAGE_SIZE;
+
+	public AbstractPagedDataProvider() {
+		super();
+	}
+
+	public AbstractPagedDataProvider(String id) {
+		super(id);
+	}
+
+	@Override
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	public void setPageSize(int pageSize) {
+		Assert.isTrue(pageSize > 0, "pageSize must be greater than zero");
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Fetches all pages for the given criteria.
+	 *
+	 * @see PagedRetrieval
+	 */
+	@Override
+	public List getList(Object criteria) {
+		return new PagedRetrieval(this, criteria).retrieve();
+	}
+}
@@ -0,0 +1,36 @@
+package org.springframework.richclient.widget.editor.provider;
+
+import java.util.List;
+
+/**
+ * <p>
+ * A {@link DataProvider} that can fetch its list in pages. A
+ * {@link org.springframework.richclient.widget.editor.DefaultDataEditorWidget}
+ * will load the pages one after another in the background and show each page
+ * as soon as it arrives, so the first rows are visible while the rest is still
+ * loading and the user can stop the retrieval halfway.
+ * </p>
+ *
+ * <p>
+ * {@link #getList(Object)} must still return the complete list, it is used
+ * whenever the list is retrieved synchronously.
+ * </p>
+ */
+public interface PagedDataProvider extends DataProvider {
+
+	/**
+	 * @return the number of rows to fetch per page, must be greater than zero.
+	 */
+	public int getPageSize();
+
+	/**
+	 * Fetch one page of the list matching the given criteria. A page holding less
+	 * than <code>limit</code> rows marks the end of the list.
+	 *
+	 * @param criteria the filter criteria, as passed to {@link #getList(Object)}.
+	 * @param offset   index of the first row to fetch.
+	 * @param limit    maximum number of rows to fetch.
+	 * @return the rows of the page, an empty list if there are no more rows.
+	 */
+	public List getPage(Object criteria, int offset, int limit);
+}
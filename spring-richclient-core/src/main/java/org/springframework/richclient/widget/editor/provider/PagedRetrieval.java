@@ -0,0 +1,82 @@
+package org.springframework.richclient.widget.editor.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * Retrieves the list of a {@link PagedDataProvider} page after page. Each page
+ * is passed to {@link #pageFetched(List)} as soon as it arrives, and the
+ * retrieval stops after the current page once it is cancelled.
+ *
+ * @see AbstractPagedDataProvider#getList(Object)
+ */
+public class PagedRetrieval {
+
+	private final PagedDataProvider dataProvider;
+
+	private final Object criteria;
+
+	private volatile boolean cancelled;
+
+	/**
+	 * @param dataProvider the provider to fetch the pages from.
+	 * @param criteria     the filter criteria, passed to
+	 *                     {@link PagedDataProvider#getPage(Object, int, int)}.
+	 */
+	public PagedRetrieval(PagedDataProvider dataProvider, Object criteria) {
+		Assert.notNull(dataProvider, "dataProvider must not be null");
+		this.dataProvider = dataProvider;
+		this.criteria = criteria;
+	}
+
+	/**
+	 * Fetches the pages until a page holds less rows than the page size or the
+	 * retrieval is cancelled.
+	 *
+	 * @return the rows of all fetched pages.
+	 */
+	public List retrieve() {
+		int pageSize = dataProvider.getPageSize();
+		Assert.isTrue(pageSize > 0, "pageSize must be greater than zero");
+		List rows = new ArrayList();
+		while (!isCancelled()) {
+			List page = dataProvider.getPage(criteria, rows.size(), pageSize);
+			if (page == null || page.isEmpty()) {
+				break;
+			}
+			rows.addAll(page);
+			pageFetched(page);
+			if (page.size() < pageSize) {
+				break;
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Stops the retrieval after the current page. The rows fetched so far are
+	 * still returned by {@link #retrieve()}.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * @return <code>true</code> if no more pages should be fetched. Checked before
+	 *         each page.
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * Called on the retrieving thread for each fetched page. This implementation
+	 * does nothing.
+	 *
+	 * @param page the rows of the page.
+	 */
+	protected void pageFetched(List page) {
+	}
+}
@@ -0,0 +1,47 @@
+package org.springframework.richclient.widget.editor.provider;
+
+import java.util.List;
+
+/**
+ * <p>
+ * A {@link DataProvider} for lists too large to hold in memory. A
+ * {@link org.springframework.richclient.widget.editor.DefaultDataEditorWidget}
+ * using this provider shows its rows in a virtual table, which only fetches
+ * the rows in view and leaves sorting and text filtering to the provider.
+ * </p>
+ *
+ * <p>
+ * Pages are prefetched on a background thread, so implementations must be
+ * thread safe.
+ * </p>
+ *
+ * @see org.springframework.richclient.widget.table.glazedlists.VirtualEventList
+ */
+public interface VirtualDataProvider extends DataProvider {
+
+	/**
+	 * @param criteria   the filter criteria, as passed to
+	 *                   {@link #getList(Object)}.
+	 * @param filterText text entered in the quick filter field of the table,
+	 *                   <code>null</code> if empty.
+	 * @return the number of rows matching the criteria and filter text.
+	 */
+	public int getCount(Object criteria, String filterText);
+
+	/**
+	 * Fetch one page of the rows matching the criteria and filter text.
+	 *
+	 * @param criteria   the filter criteria, as passed to
+	 *                   {@link #getList(Object)}.
+	 * @param filterText text entered in the quick filter field of the table,
+	 *                   <code>null</code> if empty.
+	 * @param sortColumn the index of the table column to sort on, <code>-1</code>
+	 *                   for the default order.
+	 * @param ascending  sort order.
+	 * @param offset     index of the first row to fetch.
+	 * @param limit      maximum number of rows to fetch.
+	 * @return the rows of the page.
+	 */
+	public List getPage(Object criteria, String filterText, int sortColumn, boolean ascending, int offset,
+			int limit);
+}
@@ -0,0 +1,346 @@
+package org.springframework.richclient.widget.table;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.commons.beanutils.MethodUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Creates and caches {@link Accessor}s and {@link Writer}s per type and
+ * property path. The getter and setter methods of the accessors are compiled
+ * into lambdas using {@link LambdaMetafactory}, so reading a cell value is a
+ * plain interface call instead of a reflective {@link Method#invoke}. When a
+ * method can't be compiled (eg a type that isn't visible from this class
+ * loader), the accessor falls back to reflection.
+ *
+ * @since 0.5.0
+ */
+public final class AccessorFactory {
+
+	private static final Log log = LogFactory.getLog(AccessorFactory.class);
+
+	private static final ClassValue<ConcurrentMap<String, Accessor>> accessors = new PropertyCache();
+
+	private static final ClassValue<ConcurrentMap<String, Accessor>> writers = new PropertyCache();
+
+	/**
+	 * No instantiation possible.
+	 */
+	private AccessorFactory() {
+	}
+
+	/**
+	 * Returns the (cached) {@link Accessor} for the given property. A property may
+	 * be nested using the dot character.
+	 *
+	 * @param clazz        the type containing the property.
+	 * @param propertyName the name of the property.
+	 * @return an Accessor for the property.
+	 */
+	public static Accessor getAccessor(final Class<?> clazz, final String propertyName) {
+		ConcurrentMap<String, Accessor> classAccessors = accessors.get(clazz);
+		Accessor accessor = classAccessors.get(propertyName);
+		if (accessor == null) {
+			int splitPoint = propertyName.indexOf('.');
+			if (splitPoint > 0) {
+				accessor = new NestedAccessor(clazz, propertyName.substring(0, splitPoint),
+						propertyName.substring(splitPoint + 1));
+			} else {
+				accessor = new SimpleAccessor(clazz, propertyName);
+			}
+			Accessor existing = classAccessors.putIfAbsent(propertyName, accessor);
+			if (existing != null) {
+				accessor = existing;
+			}
+		}
+		return accessor;
+	}
+
+	/**
+	 * Returns the (cached) {@link Writer} for the given property. A property may be
+	 * nested using the dot character.
+	 *
+	 * @param beanClass    the type containing the property.
+	 * @param propertyName the name of the property.
+	 * @return a Writer for the property.
+	 */
+	public static Writer getWriter(final Class<?> beanClass, final String propertyName) {
+		ConcurrentMap<String, Accessor> classWriters = writers.get(beanClass);
+		Writer writer = (Writer) classWriters.get(propertyName);
+		if (writer == null) {
+			int splitPoint = propertyName.indexOf('.');
+			if (splitPoint > 0) {
+				writer = new NestedWriter(beanClass, propertyName.substring(0, splitPoint),
+						propertyName.substring(splitPoint + 1));
+			} else {
+				writer = new SimpleWriter(beanClass, propertyName);
+			}
+			Writer existing = (Writer) classWriters.putIfAbsent(propertyName, writer);
+			if (existing != null) {
+				writer = existing;
+			}
+		}
+		return writer;
+	}
+
+	/**
+	 * Compile the given getter into a function taking the bean and returning the
+	 * (boxed) property value. Exceptions thrown by the getter are carried to
+	 * {@link #invoke(Function, Object)}, which reports them as an
+	 * {@link InvocationTargetException}.
+	 *
+	 * @param getter a public method without parameters.
+	 * @return a function invoking the getter.
+	 */
+	@SuppressWarnings("unchecked")
+	public static Function<Object, Object> compileGetter(final Method getter) {
+		Class<?> beanClass = getter.getDeclaringClass();
+		if (isCompilable(getter)) {
+			try {
+				MethodHandles.Lookup lookup = MethodHandles.lookup();
+				MethodHandle handle = lookup.unreflect(getter);
+				Class<?> returnType = getter.getReturnType();
+				MethodType instantiatedType = MethodType.methodType(
+						returnType.isPrimitive() ? MethodUtils.getPrimitiveWrapper(returnType) : Object.class,
+						beanClass);
+				CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+						MethodType.methodType(Object.class, Object.class), handle, instantiatedType);
+				return new CompiledGetter(getter, (Function<Object, Object>) site.getTarget().invoke());
+			} catch (Throwable e) {
+				log.debug("Could not compile getter " + getter + ", using reflection", e);
+			}
+		}
+		return new Function<Object, Object>() {
+			@Override
+			public Object apply(Object bean) {
+				return invokeReflectively(getter, bean, new Object[0]);
+			}
+		};
+	}
+
+	/**
+	 * Compile the given setter into a consumer taking the bean and the new
+	 * (boxed) property value. Exceptions thrown by the setter are carried to
+	 * {@link #invoke(BiConsumer, Object, Object)}, which reports them as an
+	 * {@link InvocationTargetException}.
+	 *
+	 * @param setter a public method with one parameter.
+	 * @return a consumer invoking the setter.
+	 */
+	@SuppressWarnings("unchecked")
+	public static BiConsumer<Object, Object> compileSetter(final Method setter) {
+		Class<?> beanClass = setter.getDeclaringClass();
+		if (isCompilable(setter)) {
+			try {
+				MethodHandles.Lookup lookup = MethodHandles.lookup();
+				MethodHandle handle = lookup.unreflect(setter);
+				Class<?> parameterType = setter.getParameterTypes()[0];
+				MethodType instantiatedType = MethodType.methodType(void.class, beanClass,
+						parameterType.isPrimitive() ? MethodUtils.getPrimitiveWrapper(parameterType) : parameterType);
+				CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+						MethodType.methodType(void.class, Object.class, Object.class), handle, instantiatedType);
+				return new CompiledSetter(setter, (BiConsumer<Object, Object>) site.getTarget().invoke());
+			} catch (Throwable e) {
+				log.debug("Could not compile setter " + setter + ", using reflection", e);
+			}
+		}
+		return new BiConsumer<Object, Object>() {
+			@Override
+			public void accept(Object bean, Object value) {
+				invokeReflectively(setter, bean, new Object[] { value });
+			}
+		};
+	}
+
+	/**
+	 * Invoke a compiled getter, translating any exception thrown by the getter into
+	 * an {@link InvocationTargetException} as {@link Method#invoke} would. Other
+	 * exceptions, like an <code>IllegalArgumentException</code> for a bean of the
+	 * wrong type, are thrown unchanged.
+	 */
+	static Object invoke(Function<Object, Object> getter, Object bean) throws InvocationTargetException {
+		try {
+			return getter.apply(bean);
+		} catch (CompiledInvocationException e) {
+			throw new InvocationTargetException(e.getCause());
+		}
+	}
+
+	/**
+	 * Invoke a compiled setter, translating any exception thrown by the setter into
+	 * an {@link InvocationTargetException} as {@link Method#invoke} would. Other
+	 * exceptions, like an <code>IllegalArgumentException</code> for a
+	 * <code>null</code> value of a primitive property, are thrown unchanged.
+	 */
+	static void invoke(BiConsumer<Object, Object> setter, Object bean, Object value)
+			throws InvocationTargetException {
+		try {
+			setter.accept(bean, value);
+		} catch (CompiledInvocationException e) {
+			throw new InvocationTargetException(e.getCause());
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the getter or setter was compiled into a lambda,
+	 *         <code>false</code> if it uses reflection.
+	 */
+	static boolean isCompiled(Object getterOrSetter) {
+		return getterOrSetter instanceof CompiledGetter || getterOrSetter instanceof CompiledSetter;
+	}
+
+	/**
+	 * Invoke a method through reflection, carrying the exception thrown by the
+	 * method in a {@link CompiledInvocationException}.
+	 */
+	private static Object invokeReflectively(Method method, Object bean, Object[] args) {
+		try {
+			return method.invoke(bean, args);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		} catch (InvocationTargetException e) {
+			throw new CompiledInvocationException(e.getCause());
+		}
+	}
+
+	/**
+	 * A lambda can only be spun for public methods of public types that are
+	 * visible to the class loader of this class.
+	 */
+	private static boolean isCompilable(Method method) {
+		Class<?> declaringClass = method.getDeclaringClass();
+		if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(declaringClass.getModifiers())) {
+			return false;
+		}
+		if (!isVisible(declaringClass)) {
+			return false;
+		}
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (!parameterTypes[i].isPrimitive() && !isVisible(parameterTypes[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isVisible(Class<?> type) {
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+		if (type.isPrimitive()) {
+			return true;
+		}
+		try {
+			return Class.forName(type.getName(), false, AccessorFactory.class.getClassLoader()) == type;
+		} catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Carries the exception thrown by an invoked getter or setter through the
+	 * functional interfaces.
+	 */
+	private static class CompiledInvocationException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		public CompiledInvocationException(Throwable cause) {
+			super(cause);
+		}
+	}
+
+	/**
+	 * Calls a compiled getter. Beans the lambda can't take, which would fail in the
+	 * lambda before reaching the getter, are passed to {@link Method#invoke}, so
+	 * every exception of the lambda comes from the getter.
+	 */
+	private static final class CompiledGetter implements Function<Object, Object> {
+
+		private final Method getter;
+
+		private final Class<?> beanClass;
+
+		private final Function<Object, Object> target;
+
+		CompiledGetter(Method getter, Function<Object, Object> target) {
+			this.getter = getter;
+			this.beanClass = getter.getDeclaringClass();
+			this.target = target;
+		}
+
+		@Override
+		public Object apply(Object bean) {
+			if (!beanClass.isInstance(bean)) {
+				return invokeReflectively(getter, bean, new Object[0]);
+			}
+			try {
+				return target.apply(bean);
+			} catch (Throwable e) {
+				throw new CompiledInvocationException(e);
+			}
+		}
+	}
+
+	/**
+	 * Calls a compiled setter. Beans and values the lambda can't take, like
+	 * <code>null</code> for a primitive or a value that needs a widening
+	 * conversion, are passed to {@link Method#invoke}, so every exception of the
+	 * lambda comes from the setter.
+	 */
+	private static final class CompiledSetter implements BiConsumer<Object, Object> {
+
+		private final Method setter;
+
+		private final Class<?> beanClass;
+
+		private final Class<?> valueClass;
+
+		private final boolean primitive;
+
+		private final BiConsumer<Object, Object> target;
+
+		CompiledSetter(Method setter, BiConsumer<Object, Object> target) {
+			this.setter = setter;
+			this.beanClass = setter.getDeclaringClass();
+			Class<?> parameterType = setter.getParameterTypes()[0];
+			this.primitive = parameterType.isPrimitive();
+			this.valueClass = primitive ? MethodUtils.getPrimitiveWrapper(parameterType) : parameterType;
+			this.target = target;
+		}
+
+		@Override
+		public void accept(Object bean, Object value) {
+			if (!beanClass.isInstance(bean) || (value == null ? primitive : !valueClass.isInstance(value))) {
+				invokeReflectively(setter, bean, new Object[] { value });
+				return;
+			}
+			try {
+				target.accept(bean, value);
+			} catch (Throwable e) {
+				throw new CompiledInvocationException(e);
+			}
+		}
+	}
+
+	private static class PropertyCache extends ClassValue<ConcurrentMap<String, Accessor>> {
+
+		@Override
+		protected ConcurrentMap<String, Accessor> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<String, Accessor>();
+		}
+	}
+}
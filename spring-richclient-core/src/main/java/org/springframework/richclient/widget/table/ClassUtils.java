@@ -91,38 +91,28 @@ public class ClassUtils {
 	}
 
 	/**
-	 * Create an {@link Accessor} for the given property. A property may be nested
-	 * using the dot character.
+	 * Returns an {@link Accessor} for the given property. A property may be nested
+	 * using the dot character. Accessors are cached per type and property.
 	 * 
 	 * @param clazz        the type containing the property.
 	 * @param propertyName the name of the property.
 	 * @return an Accessor for the property.
+	 * @see AccessorFactory#getAccessor(Class, String)
 	 */
 	public static Accessor getAccessorForProperty(final Class<?> clazz, final String propertyName) {
-		int splitPoint = propertyName.indexOf('.');
-		if (splitPoint > 0) {
-			String firstPart = propertyName.substring(0, splitPoint);
-			String secondPart = propertyName.substring(splitPoint + 1);
-			return new NestedAccessor(clazz, firstPart, secondPart);
-		}
-		return new SimpleAccessor(clazz, propertyName);
+		return AccessorFactory.getAccessor(clazz, propertyName);
 	}
 
 	/**
-	 * Create a {@link Writer} for the given property. A property may be nested
-	 * using the dot character.
+	 * Returns a {@link Writer} for the given property. A property may be nested
+	 * using the dot character. Writers are cached per type and property.
 	 * 
 	 * @param clazz        the type containing the property.
 	 * @param propertyName the name of the property.
 	 * @return a Writer for the property.
+	 * @see AccessorFactory#getWriter(Class, String)
 	 */
 	public static Writer getWriterForProperty(final Class<?> beanClass, final String propertyName) {
-		int splitPoint = propertyName.indexOf('.');
-		if (splitPoint > 0) {
-			String firstPart = propertyName.substring(0, splitPoint);
-			String secondPart = propertyName.substring(splitPoint + 1);
-			return new NestedWriter(beanClass, firstPart, secondPart);
-		}
-		return new SimpleWriter(beanClass, propertyName);
+		return AccessorFactory.getWriter(beanClass, propertyName);
 	}
-}
\ No newline at end of file
+}
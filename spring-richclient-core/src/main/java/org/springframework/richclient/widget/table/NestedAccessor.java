@@ -2,6 +2,7 @@ package org.springframework.richclient.widget.table;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.function.Function;
 
 /**
  * This {@link Accessor} uses a chaining implementation of getter methods to
@@ -13,10 +14,19 @@ import java.lang.reflect.Method;
 public class NestedAccessor implements Accessor {
 
 	/**
-	 * Lazily created accessor to access the nested property on the top level
-	 * property object.
+	 * Lazily created accessor to access the nested property on the return type of
+	 * the getter.
 	 */
-	private Accessor wrappedAccessor;
+	private volatile Accessor wrappedAccessor;
+
+	/**
+	 * Set when the return type of the getter doesn't have the nested property, the
+	 * accessor is then looked up for the runtime type of each value.
+	 */
+	private volatile boolean runtimeTyped;
+
+	/** The accessor for the runtime type of the last value. */
+	private volatile Accessor runtimeAccessor;
 
 	/**
 	 * The nested property. Will be used to create an accessor together with the
@@ -27,6 +37,9 @@ public class NestedAccessor implements Accessor {
 	/** Getter method to access the top level property object. */
 	final private Method getter;
 
+	/** The getter compiled by the {@link AccessorFactory}. */
+	final private Function<Object, Object> compiledGetter;
+
 	/**
 	 * Convenience constructor. Creates a getter method for the given class and
 	 * property and reroutes to
@@ -55,6 +68,7 @@ public class NestedAccessor implements Accessor {
 	public NestedAccessor(final Method getter, final String nestedProperty) {
 		this.nestedProperty = nestedProperty;
 		this.getter = getter;
+		this.compiledGetter = AccessorFactory.compileGetter(getter);
 	}
 
 	/**
@@ -67,7 +81,7 @@ public class NestedAccessor implements Accessor {
 	 */
 	@Override
 	public Object getValue(Object fromEntity) throws IllegalAccessException, InvocationTargetException {
-		Object propertyValue = getter.invoke(fromEntity);
+		Object propertyValue = AccessorFactory.invoke(compiledGetter, fromEntity);
 		return propertyValue == null ? null : getWrappedAccessor(propertyValue.getClass()).getValue(propertyValue);
 	}
 
@@ -81,16 +95,14 @@ public class NestedAccessor implements Accessor {
 	 * which the nested property can be found. There is however a specific case in
 	 * which this isn't true. It may be that a specific type is only known at
 	 * runtime and that you need to access a property of that specific type. The
-	 * specific type can be found at runtime when the wrapped accessor is
-	 * constructed. But it does imply that all other access will result in the same
-	 * type.
+	 * accessor is then looked up for the runtime type of each value, so values of
+	 * different types each use the accessor of their own type.
 	 * </p>
 	 * 
 	 * <p>
 	 * A specific type implementation is found in
 	 * PeriodicValueAdapter->BTWPercentage, here a property of BTWPercentage can be
-	 * accessed through the adapter, but all other adapters should contain a
-	 * BTWPercentage.
+	 * accessed through the adapter.
 	 * </p>
 	 * 
 	 * @param propertyType property type to use if getter doesn't yield the correct
@@ -98,18 +110,28 @@ public class NestedAccessor implements Accessor {
 	 * @return an {@link Accessor} for the wrapped property.
 	 */
 	private Accessor getWrappedAccessor(Class<?> propertyType) {
-		if (wrappedAccessor == null) {
+		if (!runtimeTyped) {
+			if (wrappedAccessor != null) {
+				return wrappedAccessor;
+			}
 			try {
 				wrappedAccessor = ClassUtils.getAccessorForProperty(getter.getReturnType(), nestedProperty);
+				return wrappedAccessor;
 			} catch (NoSuchMethodError nsme) {
 				if (propertyType == null) {
 					throw nsme;
 				}
-				wrappedAccessor = ClassUtils.getAccessorForProperty(propertyType, nestedProperty);
+				runtimeAccessor = ClassUtils.getAccessorForProperty(propertyType, nestedProperty);
+				runtimeTyped = true;
+				return runtimeAccessor;
 			}
 		}
-
-		return wrappedAccessor;
+		if (propertyType == null) {
+			return runtimeAccessor;
+		}
+		Accessor accessor = ClassUtils.getAccessorForProperty(propertyType, nestedProperty);
+		runtimeAccessor = accessor;
+		return accessor;
 	}
 
 	/**
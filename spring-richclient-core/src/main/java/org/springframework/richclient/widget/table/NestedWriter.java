@@ -2,6 +2,7 @@ package org.springframework.richclient.widget.table;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.function.Function;
 
 /**
  * This {@link Writer} uses a chaining implementation of getter methods to allow
@@ -18,6 +19,9 @@ public class NestedWriter implements Writer {
 	/** The getter to access the first level object. */
 	private final Method getter;
 
+	/** The getter compiled by the {@link AccessorFactory}. */
+	private final Function<Object, Object> compiledGetter;
+
 	/**
 	 * Convenience constructor. Creates a getter method for the given class and
 	 * property and reroutes to {@link NestedWriter#NestedWriter(Method, String)}.
@@ -42,6 +46,7 @@ public class NestedWriter implements Writer {
 	 */
 	public NestedWriter(Method getter, String nestedPropertyName) {
 		this.getter = getter;
+		this.compiledGetter = AccessorFactory.compileGetter(getter);
 		this.nestedWriter = ClassUtils.getWriterForProperty(getter.getReturnType(), nestedPropertyName);
 	}
 
@@ -54,7 +59,7 @@ public class NestedWriter implements Writer {
 	 */
 	@Override
 	public void setValue(Object toEntity, Object newValue) throws IllegalAccessException, InvocationTargetException {
-		Object propertyValue = getter.invoke(toEntity);
+		Object propertyValue = AccessorFactory.invoke(compiledGetter, toEntity);
 		if (propertyValue != null) {
 			nestedWriter.setValue(propertyValue, newValue);
 		}
@@ -78,7 +83,7 @@ public class NestedWriter implements Writer {
 	 */
 	@Override
 	public Object getValue(Object fromEntity) throws IllegalAccessException, InvocationTargetException {
-		Object propertyValue = getter.invoke(fromEntity);
+		Object propertyValue = AccessorFactory.invoke(compiledGetter, fromEntity);
 		return propertyValue == null ? null : nestedWriter.getValue(propertyValue);
 	}
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package org.springframework.richclient.widget.table;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.function.Function;
 
 /**
  * Basic implementation of an {@link Accessor}.
@@ -14,6 +15,9 @@ public class SimpleAccessor implements Accessor {
 	/** The getter method. */
 	private final Method accessor;
 
+	/** The getter compiled by the {@link AccessorFactory}. */
+	private final Function<Object, Object> compiledAccessor;
+
 	/**
 	 * Constructor. Retrieves the getter of the given property.
 	 * 
@@ -26,6 +30,7 @@ public class SimpleAccessor implements Accessor {
 			throw new IllegalArgumentException(
 					"propertyName " + propertyName + " does not represent a readable property.");
 		}
+		this.compiledAccessor = AccessorFactory.compileGetter(accessor);
 	}
 
 	/**
@@ -33,7 +38,7 @@ public class SimpleAccessor implements Accessor {
 	 */
 	@Override
 	public Object getValue(Object fromEntity) throws IllegalAccessException, InvocationTargetException {
-		return accessor.invoke(fromEntity);
+		return AccessorFactory.invoke(compiledAccessor, fromEntity);
 	}
 
 	/**
@@ -2,6 +2,7 @@ package org.springframework.richclient.widget.table;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
 
 /**
  * Basic implementation of a {@link Writer}.
@@ -14,6 +15,9 @@ public class SimpleWriter extends SimpleAccessor implements Writer {
 	/** Setter method for the property. */
 	private Method writeMethod;
 
+	/** The setter compiled by the {@link AccessorFactory}. */
+	private BiConsumer<Object, Object> compiledWriteMethod;
+
 	/**
 	 * Constructor. Uses the return type of the getter to find a matching setter.
 	 * 
@@ -24,6 +28,9 @@ public class SimpleWriter extends SimpleAccessor implements Writer {
 	public SimpleWriter(Class<?> beanClass, String propertyName) {
 		super(beanClass, propertyName);
 		writeMethod = ClassUtils.getWriteMethod(beanClass, propertyName, getPropertyType());
+		if (writeMethod != null) {
+			compiledWriteMethod = AccessorFactory.compileSetter(writeMethod);
+		}
 	}
 
 	/**
@@ -31,7 +38,10 @@ public class SimpleWriter extends SimpleAccessor implements Writer {
 	 */
 	@Override
 	public void setValue(Object toEntity, Object newValue) throws IllegalAccessException, InvocationTargetException {
-		writeMethod.invoke(toEntity, new Object[] { newValue });
+		if (compiledWriteMethod == null) {
+			throw new IllegalAccessException("No setter available for " + getPropertyType());
+		}
+		AccessorFactory.invoke(compiledWriteMethod, toEntity, newValue);
 	}
 
 }
\ No newline at end of file
@@ -9,6 +9,8 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.FocusAdapter;
 import java.awt.event.FocusEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
@@ -99,6 +101,11 @@ public final class GlazedListTableWidget extends AbstractWidget implements Table
 
 	private SortedList<Object> sortedList;
 
+	/**
+	 * The rows of a virtual table, <code>null</code> for a regular table.
+	 */
+	private VirtualEventList<Object> virtualList;
+
 	private JTextField textFilterField;
 
 	private AbstractCommand[] navigationCommands;
@@ -160,6 +167,35 @@ public final class GlazedListTableWidget extends AbstractWidget implements Table
 	public GlazedListTableWidget(List<? extends Object> rows, TableDescription tableDesc, Comparator comparator) {
 		this(tableDesc.getDataType(), rows, GlazedListsSupport.makeTableFormat(tableDesc),
 				GlazedListsSupport.makeFilterProperties(tableDesc), comparator, tableDesc.hasSelectColumn());
+		configureColumns(tableDesc);
+	}
+
+	/**
+	 * Creates a table showing a {@link VirtualEventList}. Only the rows in view are
+	 * fetched; sorting by clicking a column header and the text filter field are
+	 * passed on to the list's row source.
+	 * <p/>
+	 * For a virtual table {@link #setRows(Collection)}, {@link #addRows(Collection)}
+	 * and the other methods adding or removing rows don't change the list, they
+	 * {@link VirtualEventList#refresh() refresh} it from its source. Rows whose
+	 * page hasn't been fetched yet are shown as empty rows.
+	 *
+	 * @param rows      the virtual list of rows.
+	 * @param tableDesc description of the columns.
+	 * @return the table widget.
+	 */
+	public static GlazedListTableWidget createVirtualTable(VirtualEventList<Object> rows, TableDescription tableDesc) {
+		GlazedListTableWidget tableWidget = new GlazedListTableWidget(rows,
+				GlazedListsSupport.makeTableFormat(tableDesc),
+				GlazedListsSupport.makeFilterProperties(tableDesc) != null, tableDesc.hasSelectColumn());
+		tableWidget.configureColumns(tableDesc);
+		return tableWidget;
+	}
+
+	/**
+	 * Set width/resizable/renderer and editor of the columns as described.
+	 */
+	private void configureColumns(TableDescription tableDesc) {
 		// Als de tablewidget met ons eigen TableDescription class is gemaakt
 		// kunnen we additionele dingen als width/resizable/renderer en editor
 		// zetten
@@ -224,26 +260,71 @@ public final class GlazedListTableWidget extends AbstractWidget implements Table
 
 	public GlazedListTableWidget(Class dataType, List<? extends Object> rows, TableFormat format,
 			String[] filterProperties, Comparator comparator, boolean addHighlightSelectColumn) {
-		theTable.setColumnControlVisible(true);
-		theTable.getSelectionMapper().setEnabled(false);
-		commandConfigurer = (CommandConfigurer) Application.services().getService(CommandConfigurer.class);
 		dataList = rows == null ? new BasicEventList<Object>() : GlazedLists.eventList(rows);
 
 		sortedList = new SortedList<Object>(dataList, comparator);
 		this.shownList = sortedList;
 
 		if (filterProperties != null) {
-			textFilterField = new JXSearchField(RcpSupport.getMessage("glazedListTableWidget.textFilterField.prompt"));
-			textFilterField.addFocusListener(new FocusAdapter() {
+			textFilterField = createTextFilterField();
+			shownList = new FilterList<Object>(shownList, new TextComponentMatcherEditor(textFilterField,
+					GlazedLists.textFilterator(dataType, filterProperties)));
+		}
+
+		initialize(format, addHighlightSelectColumn);
+	}
+
+	private GlazedListTableWidget(final VirtualEventList<Object> rows, TableFormat format, boolean textFilter,
+			boolean addHighlightSelectColumn) {
+		virtualList = rows;
+		dataList = rows;
+		shownList = rows;
+
+		if (textFilter) {
+			textFilterField = createTextFilterField();
+			textFilterField.addActionListener(new ActionListener() {
 				@Override
-				public void focusGained(FocusEvent e) {
-					textFilterField.selectAll();
+				public void actionPerformed(ActionEvent e) {
+					rows.setFilterText(textFilterField.getText());
 				}
 			});
-			shownList = new FilterList<Object>(shownList, new TextComponentMatcherEditor(textFilterField,
-					GlazedLists.textFilterator(dataType, filterProperties)));
 		}
 
+		initialize(format, addHighlightSelectColumn);
+
+		theTable.setSortable(false);
+		theTable.getTableHeader().setDefaultRenderer(TableCellRenderers.LEFT_ALIGNED_HEADER_RENDERER);
+		theTable.getTableHeader().addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				int viewColumn = theTable.getTableHeader().columnAtPoint(e.getPoint());
+				if (viewColumn == -1) {
+					return;
+				}
+				int column = theTable.convertColumnIndexToModel(viewColumn);
+				theTable.clearSelection();
+				rows.setSort(column, column == rows.getSortColumn() ? !rows.isSortAscending() : true);
+			}
+		});
+	}
+
+	private JTextField createTextFilterField() {
+		final JTextField filterField = new JXSearchField(
+				RcpSupport.getMessage("glazedListTableWidget.textFilterField.prompt"));
+		filterField.addFocusListener(new FocusAdapter() {
+			@Override
+			public void focusGained(FocusEvent e) {
+				filterField.selectAll();
+			}
+		});
+		return filterField;
+	}
+
+	private void initialize(TableFormat format, boolean addHighlightSelectColumn) {
+		theTable.setColumnControlVisible(true);
+		theTable.getSelectionMapper().setEnabled(false);
+		commandConfigurer = (CommandConfigurer) Application.services().getService(CommandConfigurer.class);
+
 		selectionModel = new EventSelectionModel<Object>(shownList);
 		selectionModel.addListSelectionListener(new SelectionNavigationListener());
 		theTable.setSelectionModel(selectionModel);
@@ -479,6 +560,13 @@ public final class GlazedListTableWidget extends AbstractWidget implements Table
 
 	@Override
 	public final void setRows(Collection newRows) {
+		if (virtualList != null) {
+			this.dirtyRows.clear();
+			theTable.clearSelection();
+			virtualList.refresh();
+			scrollToSelectedRow();
+			return;
+		}
 		this.dataList.getReadWriteLock().writeLock().lock();
 		try {
 			this.dirtyRows.clear();
@@ -504,6 +592,10 @@ public final class GlazedListTableWidget extends AbstractWidget implements Table
 
 	@Override
 	public void addRowObject(Object newObject) {
+		if (virtualList != null) {
+			virtualList.refresh();
+			return;
+		}
 		this.dataList.getReadWriteLock().writeLock().lock();
 		try {
 			this.dataList.add(newObject);
@@ -514,6 +606,10 @@ public final class GlazedListTableWidget extends AbstractWidget implements Table
 
 	@Override
 	public void addRows(Collection rows) {
+		if (virtualList != null) {
+			virtualList.refresh();
+			return;
+		}
 		this.dataList.getReadWriteLock().writeLock().lock();
 		try {
 			this.dataList.addAll(rows);
@@ -524,6 +620,11 @@ public final class GlazedListTableWidget extends AbstractWidget implements Table
 
 	@Override
 	public void removeRowObject(Object objectToRemove) {
+		if (virtualList != null) {
+			dirtyRows.remove(objectToRemove);
+			virtualList.refresh();
+			return;
+		}
 		this.dataList.getReadWriteLock().writeLock().lock();
 		try {
 			dirtyRows.remove(objectToRemove);
@@ -663,6 +764,11 @@ public final class GlazedListTableWidget extends AbstractWidget implements Table
 		Runnable doReplaceRows = new Runnable() {
 			@Override
 			public void run() {
+				if (virtualList != null) {
+					dirtyRows.clear();
+					virtualList.refresh();
+					return;
+				}
 				dataList.getReadWriteLock().writeLock().lock();
 				try {
 					dirtyRows.clear();
@@ -66,12 +66,13 @@ public class GlazedListsSupport {
 
 			@Override
 			public Object getColumnValue(Object obj, int i) {
-				return desc.getValue(obj, i);
+				// rows of a virtual list are null until they have been fetched
+				return obj == null ? null : desc.getValue(obj, i);
 			}
 
 			@Override
 			public boolean isEditable(Object baseObject, int column) {
-				return desc.getColumnEditor(column) != null;
+				return baseObject != null && desc.getColumnEditor(column) != null;
 			}
 
 			@Override
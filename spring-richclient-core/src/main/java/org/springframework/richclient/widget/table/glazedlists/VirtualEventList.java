@@ -0,0 +1,459 @@
+package org.springframework.richclient.widget.table.glazedlists;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+import ca.odell.glazedlists.AbstractEventList;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+
+/**
+ * An {@link ca.odell.glazedlists.EventList} that only holds a window of the
+ * rows in memory. Rows are fetched page by page from a {@link RowSource} when
+ * they are first accessed, the neighbouring pages are prefetched in the
+ * background and the least recently used pages are evicted once more than
+ * {@link #getMaxCachedPages()} pages are cached.
+ * <p/>
+ * Pages are always fetched on the {@link #getPrefetchExecutor() prefetch
+ * executor}, so accessing a row never waits for the row source: until its page
+ * has been fetched a row is <code>null</code>. Once the page is cached an update
+ * event for its rows is published while holding the write lock of the list.
+ * <p/>
+ * Sorting and text filtering are pushed to the row source: use
+ * {@link #setSort(int, boolean)} and {@link #setFilterText(String)} instead of
+ * wrapping this list in a <code>SortedList</code> or <code>FilterList</code>,
+ * as these would access every row. For the same reason
+ * {@link #indexOf(Object)} only searches the cached pages.
+ * <p/>
+ * The list starts out empty, call {@link #refresh()} to fetch the row count and
+ * again after rows were added or removed in the back-end. The list is read-only
+ * apart from {@link #set(int, Object)}, which replaces a row in the cache.
+ *
+ * @see GlazedListTableWidget#createVirtualTable(VirtualEventList,
+ *      org.springframework.richclient.widget.table.TableDescription)
+ */
+public class VirtualEventList<E> extends AbstractEventList<E> {
+
+	private static final Log log = LogFactory.getLog(VirtualEventList.class);
+
+	public static final int DEFAULT_PAGE_SIZE = 100;
+
+	public static final int DEFAULT_MAX_CACHED_PAGES = 20;
+
+	/**
+	 * Supplies the rows of a {@link VirtualEventList}. Pages are prefetched on a
+	 * background thread, so implementations must be thread safe.
+	 */
+	public interface RowSource<E> {
+
+		/**
+		 * @param filterText the text to filter on, <code>null</code> for no
+		 *                   filtering.
+		 * @return the number of rows matching the filter.
+		 */
+		int getRowCount(String filterText);
+
+		/**
+		 * Fetch a page of rows.
+		 *
+		 * @param filterText the text to filter on, <code>null</code> for no
+		 *                   filtering.
+		 * @param sortColumn the index of the column to sort on, <code>-1</code> for
+		 *                   the natural order of the source.
+		 * @param ascending  sort order.
+		 * @param offset     index of the first row to fetch.
+		 * @param limit      maximum number of rows to fetch.
+		 * @return the rows.
+		 */
+		List<E> getRows(String filterText, int sortColumn, boolean ascending, int offset, int limit);
+	}
+
+	private static ExecutorService defaultExecutor;
+
+	private final RowSource<E> source;
+
+	private final int pageSize;
+
+	private final int maxCachedPages;
+
+	/** Cached pages in access order, guarded by itself. */
+	private final Map<Integer, List<E>> pages;
+
+	/** Pages currently being prefetched, guarded by {@link #pages}. */
+	private final Set<Integer> prefetching = new HashSet<Integer>();
+
+	/**
+	 * Pages being prefetched whose rows were returned as <code>null</code>,
+	 * guarded by {@link #pages}.
+	 */
+	private final Set<Integer> missed = new HashSet<Integer>();
+
+	/** Incremented whenever the cache is invalidated, guarded by {@link #pages}. */
+	private int generation;
+
+	private Query query = new Query(null, -1, true);
+
+	private int size;
+
+	private int prefetchPages = 1;
+
+	private Executor prefetchExecutor;
+
+	public VirtualEventList(RowSource<E> source) {
+		this(source, DEFAULT_PAGE_SIZE, DEFAULT_MAX_CACHED_PAGES);
+	}
+
+	public VirtualEventList(RowSource<E> source, int pageSize, int maxCachedPages) {
+		super(null);
+		Assert.notNull(source, "source must not be null");
+		Assert.isTrue(pageSize > 0, "pageSize must be greater than zero");
+		Assert.isTrue(maxCachedPages > 0, "maxCachedPages must be greater than zero");
+		this.source = source;
+		this.pageSize = pageSize;
+		this.maxCachedPages = maxCachedPages;
+		this.readWriteLock = LockFactory.DEFAULT.createReadWriteLock();
+		this.pages = new LinkedHashMap<Integer, List<E>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, List<E>> eldest) {
+				return size() > VirtualEventList.this.maxCachedPages;
+			}
+		};
+	}
+
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	public int getMaxCachedPages() {
+		return maxCachedPages;
+	}
+
+	/**
+	 * Set the number of pages before and after an accessed page to fetch in the
+	 * background. Defaults to 1, 0 disables prefetching.
+	 */
+	public void setPrefetchPages(int prefetchPages) {
+		Assert.isTrue(prefetchPages >= 0, "prefetchPages must not be negative");
+		this.prefetchPages = prefetchPages;
+	}
+
+	public int getPrefetchPages() {
+		return prefetchPages;
+	}
+
+	/**
+	 * Set the executor used to fetch pages. Defaults to a single daemon thread
+	 * shared by all instances.
+	 */
+	public void setPrefetchExecutor(Executor prefetchExecutor) {
+		Assert.notNull(prefetchExecutor, "prefetchExecutor must not be null");
+		this.prefetchExecutor = prefetchExecutor;
+	}
+
+	public Executor getPrefetchExecutor() {
+		if (prefetchExecutor == null) {
+			prefetchExecutor = getDefaultExecutor();
+		}
+		return prefetchExecutor;
+	}
+
+	public String getFilterText() {
+		return query.filterText;
+	}
+
+	/**
+	 * Filter the rows of the source on the given text and reload the list.
+	 */
+	public void setFilterText(String filterText) {
+		if (filterText != null && filterText.length() == 0) {
+			filterText = null;
+		}
+		if (filterText == null ? query.filterText != null : !filterText.equals(query.filterText)) {
+			reload(new Query(filterText, query.sortColumn, query.ascending));
+		}
+	}
+
+	public int getSortColumn() {
+		return query.sortColumn;
+	}
+
+	public boolean isSortAscending() {
+		return query.ascending;
+	}
+
+	/**
+	 * Sort the rows of the source on the given column and reload the list.
+	 *
+	 * @param sortColumn the index of the column, <code>-1</code> for the natural
+	 *                   order of the source.
+	 * @param ascending  sort order.
+	 */
+	public void setSort(int sortColumn, boolean ascending) {
+		if (sortColumn != query.sortColumn || ascending != query.ascending) {
+			reload(new Query(query.filterText, sortColumn, ascending));
+		}
+	}
+
+	/**
+	 * Discard all cached pages and fetch the row count again. The row count is
+	 * fetched on the calling thread before the write lock of the list is taken,
+	 * so callers should not hold that lock themselves.
+	 */
+	public void refresh() {
+		reload(query);
+	}
+
+	private void reload(Query newQuery) {
+		int newSize = source.getRowCount(newQuery.filterText);
+		readWriteLock.writeLock().lock();
+		try {
+			synchronized (pages) {
+				query = newQuery;
+				generation++;
+				pages.clear();
+				prefetching.clear();
+				missed.clear();
+			}
+			int oldSize = size;
+			size = newSize;
+			updates.beginEvent();
+			int common = Math.min(oldSize, newSize);
+			if (common > 0) {
+				updates.addUpdate(0, common - 1);
+			}
+			if (newSize > oldSize) {
+				updates.addInsert(oldSize, newSize - 1);
+			} else if (oldSize > newSize) {
+				updates.addDelete(newSize, oldSize - 1);
+			}
+			updates.commitEvent();
+		} finally {
+			readWriteLock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the row, or <code>null</code> if its page isn't cached yet. The page
+	 * is then fetched in the background and an update event is published once it
+	 * is available.
+	 */
+	@Override
+	public E get(int index) {
+		checkIndex(index);
+		int pageIndex = index / pageSize;
+		List<E> page;
+		synchronized (pages) {
+			page = pages.get(Integer.valueOf(pageIndex));
+		}
+		if (page == null) {
+			prefetch(pageIndex, true);
+			// the executor may have fetched the page on this thread
+			synchronized (pages) {
+				page = pages.get(Integer.valueOf(pageIndex));
+			}
+		}
+		for (int i = 1; i <= prefetchPages; i++) {
+			prefetch(pageIndex + i, false);
+			prefetch(pageIndex - i, false);
+		}
+		int offset = index - pageIndex * pageSize;
+		return page != null && offset < page.size() ? page.get(offset) : null;
+	}
+
+	/**
+	 * Replaces the row in the cached page, if any. The row is not written to the
+	 * source.
+	 */
+	@Override
+	public E set(int index, E value) {
+		checkIndex(index);
+		E previous = null;
+		synchronized (pages) {
+			List<E> page = pages.get(Integer.valueOf(index / pageSize));
+			int offset = index % pageSize;
+			if (page != null && offset < page.size()) {
+				previous = page.set(offset, value);
+			}
+		}
+		updates.beginEvent();
+		updates.addUpdate(index);
+		updates.commitEvent();
+		return previous;
+	}
+
+	/**
+	 * Only searches the cached pages.
+	 */
+	@Override
+	public int indexOf(Object object) {
+		int result = -1;
+		synchronized (pages) {
+			for (Iterator<Map.Entry<Integer, List<E>>> entries = pages.entrySet().iterator(); entries.hasNext();) {
+				Map.Entry<Integer, List<E>> entry = entries.next();
+				int offset = entry.getValue().indexOf(object);
+				if (offset != -1) {
+					int index = entry.getKey().intValue() * pageSize + offset;
+					if (result == -1 || index < result) {
+						result = index;
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Only searches the cached pages.
+	 */
+	@Override
+	public boolean contains(Object object) {
+		return indexOf(object) != -1;
+	}
+
+	@Override
+	public void dispose() {
+		synchronized (pages) {
+			generation++;
+			pages.clear();
+			prefetching.clear();
+			missed.clear();
+		}
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	/**
+	 * Fetches the page on the prefetch executor unless it is cached or already
+	 * being fetched.
+	 *
+	 * @param missed whether rows of the page were returned as <code>null</code>,
+	 *               these rows are updated once the page is cached.
+	 */
+	private void prefetch(final int pageIndex, boolean missed) {
+		if (pageIndex < 0 || pageIndex * pageSize >= size) {
+			return;
+		}
+		final Integer key = Integer.valueOf(pageIndex);
+		final Query pageQuery;
+		final int pageGeneration;
+		synchronized (pages) {
+			if (pages.containsKey(key)) {
+				return;
+			}
+			if (missed) {
+				this.missed.add(key);
+			}
+			if (!prefetching.add(key)) {
+				return;
+			}
+			pageQuery = query;
+			pageGeneration = generation;
+		}
+		getPrefetchExecutor().execute(new Runnable() {
+			@Override
+			public void run() {
+				List<E> page = null;
+				try {
+					page = fetchPage(pageQuery, pageIndex);
+				} catch (RuntimeException e) {
+					log.warn("Could not fetch page " + pageIndex, e);
+				}
+				pageFetched(key, page, pageGeneration);
+			}
+		});
+	}
+
+	/**
+	 * Caches the fetched page and, if its rows were returned as <code>null</code>,
+	 * publishes an update for them while holding the write lock.
+	 */
+	private void pageFetched(Integer key, List<E> page, int pageGeneration) {
+		readWriteLock.writeLock().lock();
+		try {
+			boolean update;
+			synchronized (pages) {
+				if (pageGeneration != generation) {
+					return;
+				}
+				prefetching.remove(key);
+				update = missed.remove(key) && page != null;
+				if (page != null && !pages.containsKey(key)) {
+					pages.put(key, page);
+				}
+			}
+			int first = key.intValue() * pageSize;
+			if (update && first < size) {
+				updates.beginEvent();
+				updates.addUpdate(first, Math.min(first + pageSize, size) - 1);
+				updates.commitEvent();
+			}
+		} finally {
+			readWriteLock.writeLock().unlock();
+		}
+	}
+
+	private List<E> fetchPage(Query pageQuery, int pageIndex) {
+		List<E> rows = source.getRows(pageQuery.filterText, pageQuery.sortColumn, pageQuery.ascending,
+				pageIndex * pageSize, pageSize);
+		if (rows == null) {
+			return Collections.emptyList();
+		}
+		return new ArrayList<E>(rows);
+	}
+
+	private static synchronized ExecutorService getDefaultExecutor() {
+		if (defaultExecutor == null) {
+			defaultExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "VirtualEventList");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return defaultExecutor;
+	}
+
+	/**
+	 * The filter and sort order the rows are fetched with.
+	 */
+	private static final class Query {
+
+		private final String filterText;
+
+		private final int sortColumn;
+
+		private final boolean ascending;
+
+		Query(String filterText, int sortColumn, boolean ascending) {
+			this.filterText = filterText;
+			this.sortColumn = sortColumn;
+			this.ascending = ascending;
+		}
+	}
+}
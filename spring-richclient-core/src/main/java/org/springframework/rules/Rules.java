@@ -16,10 +16,12 @@
 package org.springframework.rules;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -57,6 +59,12 @@ public class Rules extends ConstraintsAccessor
 	 */
 	private List orderedConstraints = new ArrayList();
 
+	/**
+	 * Index of the constraints depending on a property, keyed by property name.
+	 * Built lazily and discarded whenever a constraint is added.
+	 */
+	private final Map dependentConstraints = new ConcurrentHashMap();
+
 	public Rules() {
 
 	}
@@ -136,6 +144,34 @@ public class Rules extends ConstraintsAccessor
 		return orderedConstraints.iterator();
 	}
 
+	/**
+	 * Returns the constraints that should be retested when the given property
+	 * changes, in the order they were added. The result is computed once per
+	 * property name and cached until the rules are modified, so validating a
+	 * single property doesn't need to query every constraint.
+	 *
+	 * @param propertyName the name of the changed property.
+	 * @return an unmodifiable list of {@link PropertyConstraint}s, never
+	 *         <code>null</code>.
+	 * @see PropertyConstraint#isDependentOn(String)
+	 */
+	public List getDependentConstraints(String propertyName) {
+		Assert.notNull(propertyName, "propertyName is required");
+		List dependents = (List) dependentConstraints.get(propertyName);
+		if (dependents == null) {
+			dependents = new ArrayList();
+			for (Iterator i = iterator(); i.hasNext();) {
+				PropertyConstraint propertyConstraint = (PropertyConstraint) i.next();
+				if (propertyConstraint.isDependentOn(propertyName)) {
+					dependents.add(propertyConstraint);
+				}
+			}
+			dependents = Collections.unmodifiableList(dependents);
+			dependentConstraints.put(propertyName, dependents);
+		}
+		return dependents;
+	}
+
 	/**
 	 * Adds the provided bean property expression (constraint) to the list of
 	 * constraints for the constrained property.
@@ -151,6 +187,7 @@ public class Rules extends ConstraintsAccessor
 		} else {
 			and.add(constraint);
 		}
+		dependentConstraints.clear();
 		return this;
 	}
 
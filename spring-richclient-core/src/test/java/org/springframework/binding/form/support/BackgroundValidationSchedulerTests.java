@@ -0,0 +1,226 @@
+/*
+ * Copyright 2002-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.binding.form.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.binding.form.ValidationScheduler.ValidationTask;
+
+public class BackgroundValidationSchedulerTests {
+
+	@Test
+	public void testChangesAreCoalesced() throws Exception {
+		final BackgroundValidationScheduler scheduler = new BackgroundValidationScheduler();
+		scheduler.setCoalesceDelay(50);
+		final TestValidationTask task = new TestValidationTask(1);
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				scheduler.scheduleValidation(task, "a");
+				scheduler.scheduleValidation(task, "b");
+				scheduler.scheduleValidation(task, "a");
+			}
+		});
+		assertTrue(task.applied.await(5, TimeUnit.SECONDS));
+		assertEquals(1, task.validated.size());
+		assertEquals(new HashSet(Arrays.asList(new String[] { "a", "b" })), task.validated.get(0));
+		assertEquals(task.validated.get(0), task.appliedProperties.get(0));
+	}
+
+	@Test
+	public void testNullPropertyValidatesAll() throws Exception {
+		final BackgroundValidationScheduler scheduler = new BackgroundValidationScheduler();
+		scheduler.setCoalesceDelay(0);
+		final TestValidationTask task = new TestValidationTask(1);
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				scheduler.scheduleValidation(task, "a");
+				scheduler.scheduleValidation(task, null);
+			}
+		});
+		assertTrue(task.applied.await(5, TimeUnit.SECONDS));
+		assertNull(task.appliedProperties.get(0));
+	}
+
+	@Test
+	public void testStaleResultsAreDiscarded() throws Exception {
+		final BackgroundValidationScheduler scheduler = new BackgroundValidationScheduler();
+		scheduler.setCoalesceDelay(0);
+		final CountDownLatch validationStarted = new CountDownLatch(1);
+		final CountDownLatch releaseValidation = new CountDownLatch(1);
+		scheduler.setExecutor(new Executor() {
+			@Override
+			public void execute(final Runnable command) {
+				new Thread(new Runnable() {
+					@Override
+					public void run() {
+						validationStarted.countDown();
+						try {
+							releaseValidation.await(5, TimeUnit.SECONDS);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+						command.run();
+					}
+				}).start();
+			}
+		});
+		final TestValidationTask task = new TestValidationTask(1);
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				scheduler.scheduleValidation(task, "a");
+			}
+		});
+		assertTrue(validationStarted.await(5, TimeUnit.SECONDS));
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				scheduler.scheduleValidation(task, "b");
+			}
+		});
+		releaseValidation.countDown();
+		assertTrue(task.applied.await(5, TimeUnit.SECONDS));
+		// the first pass was stale, its property is validated again with the new change
+		assertEquals(1, task.appliedProperties.size());
+		assertEquals(new HashSet(Arrays.asList(new String[] { "a", "b" })), task.appliedProperties.get(0));
+	}
+
+	@Test
+	public void testCancelDiscardsPendingValidation() throws Exception {
+		final BackgroundValidationScheduler scheduler = new BackgroundValidationScheduler();
+		scheduler.setCoalesceDelay(50);
+		final TestValidationTask task = new TestValidationTask(1);
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				scheduler.scheduleValidation(task, "a");
+				scheduler.cancelValidation(task);
+			}
+		});
+		assertTrue(!task.applied.await(200, TimeUnit.MILLISECONDS));
+		assertEquals(0, task.validated.size());
+	}
+
+	@Test
+	public void testTaskWithoutDetachedSnapshotIsValidatedOnEdt() throws Exception {
+		final BackgroundValidationScheduler scheduler = new BackgroundValidationScheduler();
+		scheduler.setCoalesceDelay(0);
+		scheduler.setExecutor(new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				fail("the validation must not be run on the executor");
+			}
+		});
+		final TestValidationTask task = new TestValidationTask(1) {
+			@Override
+			public Object createDetachedSnapshot(Set formProperties) {
+				return null;
+			}
+
+			@Override
+			public Set validate(Object snapshot, Set formProperties) {
+				assertTrue(SwingUtilities.isEventDispatchThread());
+				return super.validate(snapshot, formProperties);
+			}
+		};
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				scheduler.scheduleValidation(task, "a");
+			}
+		});
+		assertTrue(task.applied.await(5, TimeUnit.SECONDS));
+		assertEquals(Collections.singleton("a"), task.validated.get(0));
+	}
+
+	@Test
+	public void testFailedValidationIsNotRetried() throws Exception {
+		final BackgroundValidationScheduler scheduler = new BackgroundValidationScheduler();
+		scheduler.setCoalesceDelay(0);
+		final TestValidationTask task = new TestValidationTask(1) {
+			@Override
+			public Set validate(Object snapshot, Set formProperties) {
+				super.validate(snapshot, formProperties);
+				throw new IllegalStateException("validator failure");
+			}
+		};
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				scheduler.scheduleValidation(task, "a");
+			}
+		});
+		assertFalse(task.applied.await(200, TimeUnit.MILLISECONDS));
+		assertEquals(1, task.validated.size());
+	}
+
+	private static class TestValidationTask implements ValidationTask {
+
+		private final List validated = Collections.synchronizedList(new ArrayList());
+
+		private final List appliedProperties = new ArrayList();
+
+		private final CountDownLatch applied;
+
+		public TestValidationTask(int expectedApplies) {
+			applied = new CountDownLatch(expectedApplies);
+		}
+
+		@Override
+		public Object createSnapshot() {
+			assertTrue(SwingUtilities.isEventDispatchThread());
+			return this;
+		}
+
+		@Override
+		public Object createDetachedSnapshot(Set formProperties) {
+			assertTrue(SwingUtilities.isEventDispatchThread());
+			return this;
+		}
+
+		@Override
+		public Set validate(Object snapshot, Set formProperties) {
+			validated.add(formProperties);
+			return Collections.EMPTY_SET;
+		}
+
+		@Override
+		public void applyResults(Set formProperties, Set validatorMessages) {
+			assertTrue(SwingUtilities.isEventDispatchThread());
+			appliedProperties.add(formProperties);
+			applied.countDown();
+		}
+	}
+}
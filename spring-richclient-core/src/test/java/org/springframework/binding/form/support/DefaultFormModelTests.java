@@ -16,7 +16,9 @@
 package org.springframework.binding.form.support;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.Set;
 
@@ -265,6 +267,60 @@ public class DefaultFormModelTests extends AbstractFormModelTests {
 		assertEquals(2, pcl.eventCount());
 	}
 
+	@Test
+	public void testBatchUpdate() {
+		DefaultFormModel fm = (DefaultFormModel) getFormModel(new TestBean());
+		TestValidator v = (TestValidator) fm.getValidator();
+		ValueModel simple = fm.getValueModel("simpleProperty");
+		ValueModel number = fm.getValueModel("numberProperty");
+		TestPropertyChangeListener valueListener = new TestPropertyChangeListener(ValueModel.VALUE_PROPERTY);
+		simple.addValueChangeListener(valueListener);
+		TestPropertyChangeListener dirtyListener = new TestPropertyChangeListener(FormModel.DIRTY_PROPERTY);
+		fm.addPropertyChangeListener(FormModel.DIRTY_PROPERTY, dirtyListener);
+		int count = v.count;
+
+		fm.beginUpdate();
+		fm.beginUpdate();
+		simple.setValue("1");
+		simple.setValue("2");
+		number.setValue(Integer.valueOf(3));
+		fm.endUpdate();
+		assertTrue(fm.isUpdating());
+		assertEquals("2", simple.getValue());
+		assertEquals(0, valueListener.eventCount());
+		assertEquals(0, dirtyListener.eventCount());
+		assertEquals(count, v.count);
+
+		fm.endUpdate();
+		assertFalse(fm.isUpdating());
+		valueListener.assertLastEvent(1, null, "2");
+		dirtyListener.assertLastEvent(1, false, true);
+		assertEquals(count + 1, v.count);
+
+		try {
+			fm.endUpdate();
+			fail("endUpdate without beginUpdate should fail");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testSetFormObjectValidatesOnce() {
+		DefaultFormModel fm = (DefaultFormModel) getFormModel(new TestBean());
+		TestValidator v = (TestValidator) fm.getValidator();
+		fm.getValueModel("simpleProperty");
+		fm.getValueModel("numberProperty");
+		int count = v.count;
+
+		TestBean bean = new TestBean();
+		bean.setSimpleProperty("1");
+		bean.setNumberProperty(Integer.valueOf(2));
+		fm.setFormObject(bean);
+		assertEquals(count + 1, v.count);
+		assertFalse(fm.isDirty());
+	}
+
 	@Test
 	public void testReadOnlyRevert() {
 		FormModel fm = getFormModel(new TestBean());
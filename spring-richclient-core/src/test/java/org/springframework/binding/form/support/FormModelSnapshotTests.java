@@ -0,0 +1,93 @@
+/*
+ * Copyright 2002-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.binding.form.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.NotReadablePropertyException;
+import org.springframework.binding.PropertyMetadataAccessStrategy;
+import org.springframework.binding.form.FieldFace;
+import org.springframework.binding.support.TestBean;
+import org.springframework.richclient.core.LabelInfo;
+
+public class FormModelSnapshotTests {
+
+	private AbstractFormModel getFormModel(Object formObject) {
+		return new TestAbstractFormModel(formObject) {
+			@Override
+			public FieldFace getFieldFace(String field) {
+				return new DefaultFieldFace(field + " label", "", "", new LabelInfo(field + " label"), null);
+			}
+		};
+	}
+
+	@Test
+	public void testValuesAreDetachedFromTheFormModel() {
+		TestBean bean = new TestBean();
+		AbstractFormModel formModel = getFormModel(bean);
+		formModel.getValueModel("simpleProperty").setValue("before");
+
+		FormModelSnapshot snapshot = new FormModelSnapshot(formModel);
+		formModel.getValueModel("simpleProperty").setValue("after");
+
+		assertEquals("before", snapshot.getPropertyValue("simpleProperty"));
+		assertTrue(snapshot.hasField("simpleProperty"));
+		assertEquals("simpleProperty label", snapshot.getDisplayName("simpleProperty"));
+		assertSame(bean, snapshot.getDomainObject());
+	}
+
+	@Test
+	public void testCopiesOnlyTheGivenFields() {
+		AbstractFormModel formModel = getFormModel(new TestBean());
+		formModel.getValueModel("simpleProperty").setValue("value");
+		formModel.getValueModel("readOnly");
+
+		FormModelSnapshot snapshot = new FormModelSnapshot(formModel,
+				new HashSet(Arrays.asList(new String[] { "simpleProperty", "notAField" })));
+		assertEquals(Collections.singleton("simpleProperty"), snapshot.getFieldNames());
+		assertEquals("value", snapshot.getPropertyValue("simpleProperty"));
+		assertFalse(snapshot.hasField("readOnly"));
+	}
+
+	@Test
+	public void testOnlyFieldsAreReadable() {
+		AbstractFormModel formModel = getFormModel(new TestBean());
+		formModel.getValueModel("readOnly");
+		FormModelSnapshot snapshot = new FormModelSnapshot(formModel);
+		PropertyMetadataAccessStrategy metadataAccessStrategy = snapshot.getMetadataAccessStrategy();
+
+		assertTrue(metadataAccessStrategy.isReadable("readOnly"));
+		assertFalse(metadataAccessStrategy.isWriteable("readOnly"));
+		assertFalse(snapshot.hasField("simpleProperty"));
+		assertFalse(metadataAccessStrategy.isReadable("simpleProperty"));
+		assertEquals("simpleProperty", snapshot.getDisplayName("simpleProperty"));
+		try {
+			snapshot.getPropertyValue("simpleProperty");
+			fail("simpleProperty is not a field of the form model");
+		} catch (NotReadablePropertyException e) {
+			// expected
+		}
+	}
+}
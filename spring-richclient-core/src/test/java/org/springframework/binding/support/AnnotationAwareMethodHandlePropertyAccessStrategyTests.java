@@ -0,0 +1,90 @@
+/*
+ * Copyright 2002-2007 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.binding.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.binding.PropertyMetadataAccessStrategy;
+import org.springframework.binding.support.AnnotationAwareBeanPropertyAccessStrategyTests.NoAnnotationTestBean;
+import org.springframework.binding.support.AnnotationAwareBeanPropertyAccessStrategyTests.TestBean;
+
+public class AnnotationAwareMethodHandlePropertyAccessStrategyTests {
+
+	@Test
+	public void testBeanWithNoAnnotations() {
+		AnnotationAwareMethodHandlePropertyAccessStrategy pas = new AnnotationAwareMethodHandlePropertyAccessStrategy(
+				new NoAnnotationTestBean());
+		Map<String, Object> um = pas.getMetadataAccessStrategy().getAllUserMetadata("name");
+		assertTrue(um == null || um.size() == 0);
+	}
+
+	@Test
+	public void testBeanWithAnnotations() {
+		TestBean bean = new TestBean();
+		AnnotationAwareMethodHandlePropertyAccessStrategy pas = new AnnotationAwareMethodHandlePropertyAccessStrategy(
+				bean);
+		assertTrue(pas.getBeanWrapper() instanceof MethodHandleBeanWrapper);
+		PropertyMetadataAccessStrategy mas = pas.getMetadataAccessStrategy();
+
+		Map<String, Object> um = mas.getAllUserMetadata("age");
+		assertEquals(4, um.size());
+		assertEquals("The Age Method", um.get("org.springframework.binding.support.SingleValueAnnotation"));
+
+		um = mas.getAllUserMetadata("rank");
+		assertEquals(9, um.size());
+		assertEquals(10, um.get("org.springframework.binding.support.MultiValueAnnotation.rank"));
+
+		pas.getPropertyValueModel("rank").setValue(Integer.valueOf(3));
+		assertEquals(3, bean.getRank());
+	}
+
+	@Test
+	public void testValuesAreReadThroughMethodHandles() {
+		StackRecordingBean bean = new StackRecordingBean();
+		AnnotationAwareMethodHandlePropertyAccessStrategy pas = new AnnotationAwareMethodHandlePropertyAccessStrategy(
+				bean);
+		assertTrue(((MethodHandleBeanWrapper) pas.getBeanWrapper()).isCompiled("name"));
+
+		assertEquals("name", pas.getPropertyValue("name"));
+		assertNotNull(bean.getterStack);
+		for (int i = 0; i < bean.getterStack.length; i++) {
+			String className = bean.getterStack[i].getClassName();
+			assertFalse(className.startsWith("org.springframework.beans."), className);
+			assertFalse(className.startsWith("java.lang.reflect.") || className.startsWith("jdk.internal.reflect."),
+					className);
+		}
+	}
+
+	public static class StackRecordingBean {
+
+		private StackTraceElement[] getterStack;
+
+		@SingleValueAnnotation("The Name Method")
+		public String getName() {
+			getterStack = new Throwable().getStackTrace();
+			return "name";
+		}
+
+		public void setName(String name) {
+		}
+	}
+}
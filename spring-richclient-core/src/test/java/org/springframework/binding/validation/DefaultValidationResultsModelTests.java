@@ -17,6 +17,8 @@ package org.springframework.binding.validation;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.Collections;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.binding.support.TestPropertyChangeListener;
@@ -151,6 +153,35 @@ public class DefaultValidationResultsModelTests {
 		assertEquals(3, nullListener.eventCount());
 	}
 
+	@Test
+	public void testDeltaUpdateOnlyNotifiesAffectedProperties() {
+		ValidationMessage field1Message = new DefaultValidationMessage("field1", Severity.ERROR, "");
+		ValidationMessage globalMessage = new DefaultValidationMessage(ValidationMessage.GLOBAL_PROPERTY,
+				Severity.INFO, "");
+		vrm.updateValidationResults(getResults("field1", Severity.ERROR));
+		assertEquals(1, listener.eventCount());
+		assertEquals(1, field1Listener.eventCount());
+
+		vrm.updateValidationResults(Collections.EMPTY_SET, Collections.singleton(globalMessage));
+		assertEquals(2, listener.eventCount());
+		assertEquals(1, field1Listener.eventCount());
+		assertEquals(1, nullListener.eventCount());
+		assertEquals(2, vrm.getMessageCount());
+		assertEquals(1, infoListener.eventCount());
+
+		// nothing changes, no events
+		vrm.updateValidationResults(Collections.EMPTY_SET, Collections.singleton(globalMessage));
+		assertEquals(2, listener.eventCount());
+
+		vrm.updateValidationResults(Collections.singleton(field1Message), Collections.EMPTY_SET);
+		assertEquals(3, listener.eventCount());
+		assertEquals(2, field1Listener.eventCount());
+		assertEquals(1, nullListener.eventCount());
+		assertEquals(1, vrm.getMessageCount());
+		assertEquals(2, errorsListener.eventCount());
+		assertEquals(Boolean.FALSE, errorsListener.lastEvent().getNewValue());
+	}
+
 	/**
 	 * Simply check if {@link DefaultValidationResultsModel} counts its messages
 	 * correctly.
@@ -230,6 +261,41 @@ public class DefaultValidationResultsModelTests {
 		assertEquals(Boolean.FALSE, infoListener.lastEvent().getNewValue(), "Child removed, revalidate InfoMessages.");
 	}
 
+	/**
+	 * Check that the state of nested children is propagated as they change.
+	 */
+	@Test
+	public void testNestedChildState() {
+		DefaultValidationResultsModel childModel = new DefaultValidationResultsModel();
+		DefaultValidationResultsModel grandChildModel = new DefaultValidationResultsModel();
+		DefaultValidationResultsModel otherChildModel = new DefaultValidationResultsModel();
+		childModel.add(grandChildModel);
+		vrm.add(childModel);
+		vrm.add(otherChildModel);
+
+		ValidationMessage error = new DefaultValidationMessage("childProperty1", Severity.ERROR, "error");
+		ValidationMessage otherError = new DefaultValidationMessage("childProperty1", Severity.ERROR, "other");
+		grandChildModel.addMessage(error);
+		otherChildModel.addMessage(otherError);
+		assertEquals(true, vrm.getHasErrors());
+		assertEquals(1, errorsListener.eventCount());
+		assertEquals(2, vrm.getMessages("childProperty1").size());
+
+		grandChildModel.removeMessage(error);
+		assertEquals(false, childModel.getHasErrors());
+		assertEquals(true, vrm.getHasErrors());
+		assertEquals(1, errorsListener.eventCount());
+
+		vrm.remove(otherChildModel);
+		assertEquals(false, vrm.getHasErrors());
+		assertEquals(2, errorsListener.eventCount());
+
+		grandChildModel.replaceMessage(error, new DefaultValidationMessage("childProperty1", Severity.WARNING, "w"));
+		assertEquals(false, vrm.getHasErrors());
+		assertEquals(true, vrm.getHasWarnings());
+		assertEquals(1, vrm.getMessageCount(Severity.WARNING));
+	}
+
 	private ValidationResults getResults(String field, Severity severity) {
 		DefaultValidationResults vr = new DefaultValidationResults();
 		vr.addMessage(field, severity, "");
@@ -131,6 +131,32 @@ public class DefaultValidationResultsTests {
 		assertEquals(1, vr.getMessageCount("field2"));
 	}
 
+	@Test
+	public void testRemoveAndClearMessages() {
+		ValidationMessage error = new DefaultValidationMessage("field1", Severity.ERROR, "error");
+		ValidationMessage warning = new DefaultValidationMessage("field1", Severity.WARNING, "warning");
+		ValidationMessage otherError = new DefaultValidationMessage("field2", Severity.ERROR, "error");
+		vr.addMessage(error);
+		vr.addMessage(warning);
+		vr.addMessage(otherError);
+
+		vr.removeMessage(error);
+		vr.removeMessage(null);
+		assertEquals(2, vr.getMessageCount());
+		assertEquals(1, vr.getMessageCount(Severity.ERROR));
+		assertEquals(1, vr.getMessageCount("field1"));
+
+		vr.clearMessages("field1");
+		assertEquals(1, vr.getMessageCount());
+		assertEquals(false, vr.getHasWarnings());
+		assertEquals(0, vr.getMessages("field1").size());
+		assertContainsMessage(otherError, vr.getMessages(Severity.ERROR));
+
+		vr.clearMessages();
+		assertEquals(false, vr.getHasErrors());
+		assertEquals(0, vr.getMessageCount("field2"));
+	}
+
 	private void assertContainsMessage(ValidationMessage vm, Set messages) {
 		assertTrue(messages.contains(vm), "Set of messages does not contain expected message '" + vm + "'");
 	}
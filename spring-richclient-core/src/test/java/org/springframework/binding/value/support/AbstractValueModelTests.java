@@ -26,6 +26,7 @@ import java.math.BigInteger;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.binding.support.TestPropertyChangeListener;
+import org.springframework.binding.value.ValueChangeDetector;
 import org.springframework.binding.value.ValueModel;
 import org.springframework.richclient.test.SpringRichTestCase;
 
@@ -171,6 +172,19 @@ public abstract class AbstractValueModelTests extends SpringRichTestCase {
 		testChecksEqualityForSafeClasses("1", "2", new String("1"));
 	}
 
+	@Test
+	public void testHasValueChangedLeavesTheIdentityCheckToTheDetector() {
+		vm.setValueChangeDetector(new ValueChangeDetector() {
+			public boolean hasValueChanged(Object oldValue, Object newValue) {
+				return true;
+			}
+		});
+		Object o1 = new Object();
+
+		assertTrue(vm.hasValueChanged(o1, o1));
+		assertTrue(vm.hasValueChanged(null, null));
+	}
+
 	@Test
 	private void testChecksEqualityForSafeClasses(Object o1, Object o2, Object o3) {
 		Object other = new Object();
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.binding.value.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+
+import org.junit.jupiter.api.Test;
+
+public class PropertyChangeSupportTests {
+
+	private final Object source = new Object();
+
+	@Test
+	public void testNamedAndGenericListeners() {
+		PropertyChangeSupport support = new PropertyChangeSupport(source);
+		CountingListener generic = new CountingListener();
+		CountingListener value = new CountingListener();
+		CountingListener dirty = new CountingListener();
+		support.addPropertyChangeListener(generic);
+		support.addPropertyChangeListener("value", value);
+		support.addPropertyChangeListener(new PropertyChangeListenerProxy("dirty", dirty));
+
+		support.firePropertyChange("value", "a", "b");
+		assertEquals(1, generic.count);
+		assertEquals(1, value.count);
+		assertEquals(0, dirty.count);
+		assertSame(source, value.lastEvent.getSource());
+
+		// a property name that isn't a constant is found too
+		support.firePropertyChange(new String("dirty"), false, true);
+		assertEquals(2, generic.count);
+		assertEquals(1, dirty.count);
+
+		assertTrue(support.hasListeners("other"));
+		assertEquals(3, support.getPropertyChangeListeners().length);
+		assertEquals(1, support.getPropertyChangeListeners("value").length);
+
+		support.removePropertyChangeListener(generic);
+		support.removePropertyChangeListener(new PropertyChangeListenerProxy("dirty", dirty));
+		assertFalse(support.hasListeners("dirty"));
+		assertTrue(support.hasListeners("value"));
+		assertEquals(0, support.getPropertyChangeListeners("dirty").length);
+	}
+
+	@Test
+	public void testNoEventForEqualValues() {
+		PropertyChangeSupport support = new PropertyChangeSupport(source);
+		CountingListener listener = new CountingListener();
+		support.addPropertyChangeListener("value", listener);
+
+		support.firePropertyChange("value", "a", new String("a"));
+		support.firePropertyChange("value", 1, 1);
+		assertEquals(0, listener.count);
+
+		// like java.beans, null values are always reported
+		support.firePropertyChange("value", null, null);
+		assertEquals(1, listener.count);
+	}
+
+	@Test
+	public void testListenerListIsReplacedOnChange() {
+		PropertyChangeSupport support = new PropertyChangeSupport(source);
+		assertEquals(0, support.getListenerList("value").length);
+
+		CountingListener first = new CountingListener();
+		CountingListener second = new CountingListener();
+		support.addPropertyChangeListener("value", first);
+		PropertyChangeListener[] list = support.getListenerList("value");
+		assertSame(list, support.getListenerList("value"));
+
+		support.addPropertyChangeListener("value", second);
+		assertEquals(1, list.length);
+		assertEquals(2, support.getListenerList("value").length);
+
+		support.removePropertyChangeListener("value", first);
+		assertSame(second, support.getListenerList("value")[0]);
+	}
+
+	private static class CountingListener implements PropertyChangeListener {
+
+		int count;
+
+		PropertyChangeEvent lastEvent;
+
+		@Override
+		public void propertyChange(PropertyChangeEvent evt) {
+			count++;
+			lastEvent = evt;
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.binding.value.support;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TypedValueChangeDetectorTests {
+
+	private final TypedValueChangeDetector detector = new TypedValueChangeDetector();
+
+	@Test
+	public void testImmutableValues() {
+		assertFalse(detector.hasValueChanged(null, null));
+		assertTrue(detector.hasValueChanged(null, "1"));
+		assertTrue(detector.hasValueChanged("1", null));
+		assertFalse(detector.hasValueChanged("1", new String("1")));
+		assertFalse(detector.hasValueChanged(new Integer(1), new Integer(1)));
+		assertTrue(detector.hasValueChanged(new Integer(1), new Long(1)));
+		assertFalse(detector.hasValueChanged(new BigDecimal("1.0"), new BigDecimal("1.00")));
+		assertTrue(detector.hasValueChanged(new BigDecimal("1.0"), new BigDecimal("1.01")));
+
+		// other values are compared by identity
+		assertTrue(detector.hasValueChanged(new StringBuffer("1"), new StringBuffer("1")));
+	}
+
+	@Test
+	public void testArraysAndCollections() {
+		assertFalse(detector.hasValueChanged(new int[] { 1, 2 }, new int[] { 1, 2 }));
+		assertTrue(detector.hasValueChanged(new int[] { 1, 2 }, new int[] { 1, 3 }));
+		assertFalse(detector.hasValueChanged(new Object[] { "1", null, new BigDecimal("2.0") }, new Object[] { "1",
+				null, new BigDecimal("2") }));
+		assertTrue(detector.hasValueChanged(new Object[] { "1" }, new String[] { "1" }));
+
+		List<String> list = new ArrayList<String>(Arrays.asList("1", "2"));
+		assertFalse(detector.hasValueChanged(list, new LinkedList<String>(list)));
+		assertTrue(detector.hasValueChanged(list, Arrays.asList("1", "3")));
+		assertTrue(detector.hasValueChanged(list, Arrays.asList("1")));
+		assertTrue(detector.hasValueChanged(list, new HashSet<String>(list)));
+
+		assertFalse(detector.hasValueChanged(new HashSet<String>(list), new HashSet<String>(list)));
+		assertTrue(detector.hasValueChanged(new HashSet<String>(list), new HashSet<String>(Arrays.asList("1", "3"))));
+	}
+
+	@Test
+	public void testSetElementsAreComparedWithTheirEquals() {
+		// mutable elements are compared by identity in lists, with equals in sets
+		assertTrue(detector.hasValueChanged(Arrays.asList(new Point(1, 1)), Arrays.asList(new Point(1, 1))));
+		assertFalse(detector.hasValueChanged(new HashSet<Point>(Arrays.asList(new Point(1, 1))), new HashSet<Point>(
+				Arrays.asList(new Point(1, 1)))));
+	}
+
+	@Test
+	public void testRegisterDetector() {
+		assertSame(TypedValueChangeDetector.IDENTITY, detector.getDetector(StringBuffer.class));
+		detector.registerDetector(CharSequence.class, TypedValueChangeDetector.EQUALS);
+		assertSame(TypedValueChangeDetector.EQUALS, detector.getDetector(StringBuffer.class));
+		assertSame(TypedValueChangeDetector.BIG_DECIMAL, detector.getDetector(BigDecimal.class));
+	}
+}
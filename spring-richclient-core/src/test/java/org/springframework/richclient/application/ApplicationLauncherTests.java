@@ -0,0 +1,129 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+
+public class ApplicationLauncherTests {
+
+	private final List events = Collections.synchronizedList(new ArrayList());
+
+	private StaticApplicationContext context;
+
+	@BeforeEach
+	protected void setUp() throws Exception {
+		Application.load(null);
+		context = new StaticApplicationContext();
+		context.getBeanFactory().registerSingleton(ApplicationLauncher.APPLICATION_BEAN_ID, new TestApplication());
+	}
+
+	@AfterEach
+	protected void tearDown() throws Exception {
+		Application.load(null);
+	}
+
+	@Test
+	public void testStartupTasksRunInParallel() {
+		final CountDownLatch bothStarted = new CountDownLatch(2);
+		StartupTask task = new StartupTask() {
+			@Override
+			public void execute() throws Exception {
+				bothStarted.countDown();
+				// only returns in time if the other task runs at the same time
+				assertTrue(bothStarted.await(10, TimeUnit.SECONDS), "startup tasks are not executed in parallel");
+				assertFalse(SwingUtilities.isEventDispatchThread());
+				events.add("task");
+			}
+		};
+		context.getBeanFactory().registerSingleton("firstTask", task);
+		context.getBeanFactory().registerSingleton("secondTask", task);
+
+		launch();
+		assertEquals("[task, task, start]", events.toString());
+	}
+
+	@Test
+	public void testFailingStartupTask() {
+		final Exception failure = new Exception("no connection");
+		context.getBeanFactory().registerSingleton("failingTask", new StartupTask() {
+			@Override
+			public void execute() throws Exception {
+				throw failure;
+			}
+		});
+
+		try {
+			launch();
+			fail("A failing startup task should stop the launch");
+		} catch (IllegalStateException e) {
+			assertSame(failure, e.getCause());
+			assertTrue(e.getMessage().indexOf("failingTask") >= 0, e.getMessage());
+		}
+		assertEquals(0, events.size());
+	}
+
+	@Test
+	public void testPhaseOrder() {
+		context.getBeanFactory().registerSingleton("task", new StartupTask() {
+			@Override
+			public void execute() {
+				events.add("task");
+			}
+		});
+
+		ApplicationLauncher launcher = launch();
+		assertEquals("[task, start]", events.toString());
+		assertEquals("[" + ApplicationLauncher.STARTUP_TASKS_PHASE_KEY + ", " + ApplicationLauncher.APPLICATION_PHASE_KEY
+				+ "]", launcher.getPhaseTimes().keySet().toString());
+	}
+
+	@Test
+	public void testWithoutStartupTasks() {
+		ApplicationLauncher launcher = launch();
+		assertEquals("[start]", events.toString());
+		assertEquals("[" + ApplicationLauncher.APPLICATION_PHASE_KEY + "]", launcher.getPhaseTimes().keySet().toString());
+	}
+
+	private ApplicationLauncher launch() {
+		context.refresh();
+		return new ApplicationLauncher(context);
+	}
+
+	private class TestApplication extends Application {
+
+		@Override
+		public void start() {
+			events.add("start");
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.richclient.application.StartupProfiler.Timing;
+
+public class StartupProfilerTests {
+
+	@Test
+	public void testAggregatesTimings() {
+		StartupProfiler profiler = new StartupProfiler();
+		profiler.record(StartupProfiler.MESSAGE, "label", 3000000);
+		profiler.record(StartupProfiler.MESSAGE, "label", 1000000);
+		profiler.record(StartupProfiler.MESSAGE, "title", 5000000);
+		profiler.record(StartupProfiler.SERVICE, "label", 1000000);
+
+		List<Timing> timings = profiler.getTimings(StartupProfiler.MESSAGE);
+		assertEquals(2, timings.size());
+		Timing label = timings.get(1);
+		assertEquals("label", label.getName());
+		assertEquals(2, label.getCount());
+		assertEquals(4000000, label.getTotalTime());
+		assertEquals(2000000, label.getAverageTime());
+		assertEquals(3000000, label.getMaxTime());
+		assertEquals("title", timings.get(0).getName());
+		assertEquals(3, profiler.getTimings().size());
+
+		profiler.reset();
+		assertEquals(0, profiler.getTimings().size());
+	}
+
+	@Test
+	public void testDisabled() {
+		StartupProfiler profiler = new StartupProfiler(false);
+		long start = profiler.start();
+		profiler.stop(StartupProfiler.BEAN, "bean", start);
+		profiler.record(StartupProfiler.BEAN, "bean", 1000);
+		assertEquals(0, profiler.getTimings().size());
+
+		profiler.setEnabled(true);
+		profiler.stop(StartupProfiler.BEAN, "bean", start);
+		assertEquals(0, profiler.getTimings().size());
+		profiler.stop(StartupProfiler.BEAN, "bean", profiler.start());
+		assertEquals(1, profiler.getTimings().size());
+	}
+
+	@Test
+	public void testExport() {
+		StartupProfiler profiler = new StartupProfiler();
+		profiler.record(StartupProfiler.BEAN, "a,\"b\"", 2500000);
+
+		assertEquals("category,name,count,totalMillis,averageMillis,maxMillis\n"
+				+ "bean,\"a,\"\"b\"\"\",1,2.5,2.5,2.5\n", profiler.toCsv());
+		String json = profiler.toJson();
+		assertTrue(json.contains("{\"category\": \"bean\", \"name\": \"a,\\\"b\\\"\", \"count\": 1, "
+				+ "\"totalMillis\": 2.5, \"averageMillis\": 2.5, \"maxMillis\": 2.5}"), json);
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.application.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.MessageSource;
+import org.springframework.richclient.application.ApplicationServices;
+import org.springframework.rules.RulesSource;
+
+public class ApplicationServicesStartupTaskTests {
+
+	@Test
+	public void testResolvesServiceTypes() {
+		final List requested = new ArrayList();
+		ApplicationServicesStartupTask task = new ApplicationServicesStartupTask();
+		task.setApplicationServices(new ApplicationServices() {
+			@Override
+			public Object getService(Class serviceType) {
+				requested.add(serviceType);
+				return null;
+			}
+
+			@Override
+			public boolean containsService(Class serviceType) {
+				return true;
+			}
+		});
+		task.setServiceTypes(new Class[] { MessageSource.class, RulesSource.class });
+
+		task.execute();
+		assertEquals(2, requested.size());
+		assertEquals(MessageSource.class, requested.get(0));
+		assertEquals(RulesSource.class, requested.get(1));
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.application.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.File;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.StaticMessageSource;
+
+public class CatalogMessageSourceTests {
+
+	private static final String BASENAME = "org.springframework.richclient.application.support.catalog";
+
+	private static final String OVERRIDE_BASENAME = "org.springframework.richclient.application.support.catalog-override";
+
+	@Test
+	public void testLocalizedMessages() {
+		CatalogMessageSource messageSource = new CatalogMessageSource();
+		messageSource.setBasename(BASENAME);
+
+		assertEquals("Hallo", messageSource.getMessage("greeting", null, Locale.GERMAN));
+		assertEquals("Gruezi", messageSource.getMessage("greeting", null, new Locale("de", "CH")));
+		assertEquals("Goodbye", messageSource.getMessage("farewell", null, new Locale("de", "CH")));
+		assertEquals("Welcome John", messageSource.getMessage("welcome", new Object[] { "John" }, Locale.GERMAN));
+		assertEquals(3, messageSource.getMessages(Locale.GERMAN).size());
+	}
+
+	@Test
+	public void testBasenamePrecedence() {
+		CatalogMessageSource messageSource = new CatalogMessageSource();
+		messageSource.setBasenames(new String[] { OVERRIDE_BASENAME, BASENAME });
+
+		assertEquals("Bye", messageSource.getMessage("farewell", null, Locale.GERMAN));
+		assertEquals("Extra", messageSource.getMessage("extra", null, Locale.GERMAN));
+		assertEquals("Hallo", messageSource.getMessage("greeting", null, Locale.GERMAN));
+	}
+
+	@Test
+	public void testMissingMessages() {
+		CountingMessageSource parent = new CountingMessageSource();
+		parent.addMessage("parent", Locale.GERMAN, "From parent");
+		CatalogMessageSource messageSource = new CatalogMessageSource();
+		messageSource.setBasename(BASENAME);
+		messageSource.setParentMessageSource(parent);
+
+		assertEquals("From parent", messageSource.getMessage("parent", null, Locale.GERMAN));
+		assertNull(messageSource.getMessage("missing", null, null, Locale.GERMAN));
+		assertEquals("default", messageSource.getMessage("missing", null, "default", Locale.GERMAN));
+		try {
+			messageSource.getMessage("missing", null, Locale.GERMAN);
+			fail("missing message must be reported");
+		} catch (NoSuchMessageException e) {
+			// expected
+		}
+		assertEquals(2, parent.lookups);
+
+		DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(new String[] { "missing",
+				"farewell" });
+		assertEquals("Goodbye", messageSource.getMessage(resolvable, Locale.GERMAN));
+		assertEquals(2, parent.lookups);
+	}
+
+	@Test
+	public void testCatalogFile() throws Exception {
+		File directory = File.createTempFile("catalog", "");
+		directory.delete();
+		try {
+			CatalogMessageSource messageSource = new CatalogMessageSource();
+			messageSource.setBasename(BASENAME);
+			messageSource.setCatalogDirectory(directory);
+			assertEquals("Hallo", messageSource.getMessage("greeting", null, Locale.GERMAN));
+			File catalogFile = new File(directory, "messages_de.catalog");
+			assertTrue(catalogFile.isFile());
+
+			CatalogMessageSource reloaded = new CatalogMessageSource();
+			reloaded.setBasename(BASENAME);
+			reloaded.setCatalogDirectory(directory);
+			assertEquals(messageSource.getMessages(Locale.GERMAN), reloaded.getMessages(Locale.GERMAN));
+
+			CatalogMessageSource changed = new CatalogMessageSource();
+			changed.setBasenames(new String[] { OVERRIDE_BASENAME, BASENAME });
+			changed.setCatalogDirectory(directory);
+			assertEquals("Bye", changed.getMessage("farewell", null, Locale.GERMAN));
+		} finally {
+			File[] files = directory.listFiles();
+			for (int i = 0; files != null && i < files.length; i++) {
+				files[i].delete();
+			}
+			directory.delete();
+		}
+	}
+
+	private static class CountingMessageSource extends StaticMessageSource {
+
+		private int lookups;
+
+		@Override
+		protected String resolveCodeWithoutArguments(String code, Locale locale) {
+			lookups++;
+			return super.resolveCodeWithoutArguments(code, locale);
+		}
+	}
+}
@@ -1,71 +1,121 @@
-package org.springframework.richclient.application.support;
-
-import static org.junit.jupiter.api.Assertions.assertSame;
-import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.junit.jupiter.api.Assertions.fail;
-
-import java.util.HashMap;
-
-import org.junit.jupiter.api.Test;
-import org.springframework.binding.value.ValueChangeDetector;
-import org.springframework.binding.value.support.DefaultValueChangeDetector;
-import org.springframework.context.MessageSource;
-import org.springframework.context.support.StaticMessageSource;
-import org.springframework.richclient.application.ServiceNotFoundException;
-import org.springframework.richclient.image.IconSource;
-import org.springframework.richclient.test.SpringRichTestCase;
-import org.springframework.rules.RulesSource;
-
-/**
- * Test cases for {@link DefaultApplicationServices}
- * 
- * @author Larry Streepy
- * 
- */
-public class DefaultApplicationServicesTests extends SpringRichTestCase {
-
-	@Test
-	public void testRegisteredServiceIsReturned() {
-		ValueChangeDetector vcd = new DefaultValueChangeDetector();
-		getApplicationServices().setValueChangeDetector(vcd);
-		assertSame(vcd, getApplicationServices().getService(ValueChangeDetector.class), "Expected same object back");
-
-		MessageSource msrc = new StaticMessageSource();
-		getApplicationServices().setMessageSource(msrc);
-		assertSame(msrc, getApplicationServices().getService(MessageSource.class), "Expected same object back");
-	}
-
-	@Test
-	public void testUnknownServiceFails() {
-		try {
-			getApplicationServices().getService(getClass());
-			fail("Unknown service should have caused an exception");
-		} catch (ServiceNotFoundException e) {
-			; // expected
-		}
-	}
-
-	@Test
-	public void testSetRegistryEntries() {
-		ValueChangeDetector vcd = new DefaultValueChangeDetector();
-		MessageSource msrc = new StaticMessageSource();
-
-		HashMap entries = new HashMap();
-		entries.put("org.springframework.binding.value.ValueChangeDetector", vcd);
-		entries.put("org.springframework.context.MessageSource", msrc);
-
-		getApplicationServices().setRegistryEntries(entries);
-
-		assertSame(vcd, getApplicationServices().getService(ValueChangeDetector.class), "Expected same object back");
-		assertSame(msrc, getApplicationServices().getService(MessageSource.class), "Expected same object back");
-	}
-
-	@Test
-	public void testDefaultServicesImplementInterface() {
-		Object rulesSource = getApplicationServices().getService(RulesSource.class);
-		assertTrue(rulesSource instanceof RulesSource, "Returned service must implement service type");
-
-		Object iconSource = getApplicationServices().getService(IconSource.class);
-		assertTrue(iconSource instanceof IconSource, "Returned service must implement service type");
-	}
-}
+package org.springframework.richclient.application.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.HashMap;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.binding.value.ValueChangeDetector;
+import org.springframework.binding.value.support.DefaultValueChangeDetector;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.richclient.application.ServiceNotFoundException;
+import org.springframework.richclient.image.IconSource;
+import org.springframework.richclient.test.SpringRichTestCase;
+import org.springframework.rules.RulesSource;
+
+/**
+ * Test cases for {@link DefaultApplicationServices}
+ * 
+ * @author Larry Streepy
+ * 
+ */
+public class DefaultApplicationServicesTests extends SpringRichTestCase {
+
+	@Test
+	public void testRegisteredServiceIsReturned() {
+		ValueChangeDetector vcd = new DefaultValueChangeDetector();
+		getApplicationServices().setValueChangeDetector(vcd);
+		assertSame(vcd, getApplicationServices().getService(ValueChangeDetector.class), "Expected same object back");
+
+		MessageSource msrc = new StaticMessageSource();
+		getApplicationServices().setMessageSource(msrc);
+		assertSame(msrc, getApplicationServices().getService(MessageSource.class), "Expected same object back");
+	}
+
+	@Test
+	public void testUnknownServiceFails() {
+		try {
+			getApplicationServices().getService(getClass());
+			fail("Unknown service should have caused an exception");
+		} catch (ServiceNotFoundException e) {
+			; // expected
+		}
+	}
+
+	@Test
+	public void testSetRegistryEntries() {
+		ValueChangeDetector vcd = new DefaultValueChangeDetector();
+		MessageSource msrc = new StaticMessageSource();
+
+		HashMap entries = new HashMap();
+		entries.put("org.springframework.binding.value.ValueChangeDetector", vcd);
+		entries.put("org.springframework.context.MessageSource", msrc);
+
+		getApplicationServices().setRegistryEntries(entries);
+
+		assertSame(vcd, getApplicationServices().getService(ValueChangeDetector.class), "Expected same object back");
+		assertSame(msrc, getApplicationServices().getService(MessageSource.class), "Expected same object back");
+	}
+
+	@Test
+	public void testDefaultServicesImplementInterface() {
+		Object rulesSource = getApplicationServices().getService(RulesSource.class);
+		assertTrue(rulesSource instanceof RulesSource, "Returned service must implement service type");
+
+		Object iconSource = getApplicationServices().getService(IconSource.class);
+		assertTrue(iconSource instanceof IconSource, "Returned service must implement service type");
+	}
+
+	@Test
+	public void testServiceStatistics() {
+		ValueChangeDetector vcd = new DefaultValueChangeDetector();
+		getApplicationServices().setValueChangeDetector(vcd);
+		for (int i = 0; i < 3; i++) {
+			getApplicationServices().getService(ValueChangeDetector.class);
+		}
+		DefaultApplicationServices.ServiceStatistics statistics = (DefaultApplicationServices.ServiceStatistics) getApplicationServices()
+				.getServiceStatistics().get(ValueChangeDetector.class);
+		assertEquals(3, statistics.getLookupCount());
+		assertTrue(statistics.getResolutionTime() >= 0);
+
+		// registering another implementation replaces the resolved service
+		ValueChangeDetector otherVcd = new DefaultValueChangeDetector();
+		getApplicationServices().setValueChangeDetector(otherVcd);
+		assertNull(getApplicationServices().getServiceStatistics().get(ValueChangeDetector.class));
+		assertSame(otherVcd, getApplicationServices().getService(ValueChangeDetector.class));
+	}
+
+	@Test
+	public void testEagerInit() {
+		StaticApplicationContext context = new StaticApplicationContext();
+		context.registerSingleton("vcd", DefaultValueChangeDetector.class);
+		DefaultApplicationServices services = new DefaultApplicationServices(context);
+		services.setValueChangeDetectorId("vcd");
+		services.setEagerInit(true);
+
+		services.onApplicationEvent(new ContextRefreshedEvent(context));
+		assertTrue(services.getServiceStatistics().containsKey(ValueChangeDetector.class));
+		assertSame(context.getBean("vcd"), services.getService(ValueChangeDetector.class));
+		assertEquals(1, ((DefaultApplicationServices.ServiceStatistics) services.getServiceStatistics()
+				.get(ValueChangeDetector.class)).getLookupCount());
+	}
+
+	@Test
+	public void testResolveAllServicesIncludesDefaultImplementations() {
+		DefaultApplicationServices services = new DefaultApplicationServices(new StaticApplicationContext());
+		MessageSource msrc = new StaticMessageSource();
+		services.setMessageSource(msrc);
+
+		services.resolveAllServices();
+		assertTrue(services.getServiceStatistics().containsKey(MessageSource.class));
+		assertTrue(services.getServiceStatistics().containsKey(ValueChangeDetector.class));
+		assertSame(msrc, services.getService(MessageSource.class));
+	}
+}
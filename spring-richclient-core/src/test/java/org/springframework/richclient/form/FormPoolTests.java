@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.form;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.binding.support.TestBean;
+import org.springframework.richclient.test.SpringRichTestCase;
+
+public class FormPoolTests extends SpringRichTestCase {
+
+	private int built;
+
+	private FormPool pool;
+
+	@Override
+	protected void doSetUp() {
+		built = 0;
+		pool = new FormPool(new ObjectFactory() {
+			@Override
+			public Object getObject() {
+				return new TestForm();
+			}
+		});
+	}
+
+	@Test
+	public void testPrebuildAndReuse() {
+		pool.prebuild(2);
+		assertEquals(2, built);
+		assertEquals(2, pool.getIdleCount());
+
+		TestBean first = new TestBean();
+		AbstractForm form = pool.acquire(first);
+		assertSame(first, form.getFormObject());
+		assertEquals(1, pool.getIdleCount());
+
+		form.getValueModel("simpleProperty").setValue("changed");
+		pool.release(form);
+		assertEquals(null, first.getSimpleProperty());
+		assertEquals(2, pool.getIdleCount());
+
+		TestBean second = new TestBean();
+		assertSame(form, pool.acquire(second));
+		assertSame(second, form.getFormObject());
+		assertEquals(2, built);
+	}
+
+	@Test
+	public void testReleaseClearsFormObjectAndDetachesControl() {
+		TestBean bean = new TestBean();
+		AbstractForm form = pool.acquire(bean);
+		JPanel detailPanel = new JPanel();
+		detailPanel.add(form.getControl());
+
+		pool.release(form);
+		assertNotSame(bean, form.getFormObject());
+		assertFalse(form.isEnabled());
+		assertNull(form.getControl().getParent());
+		assertEquals(0, detailPanel.getComponentCount());
+	}
+
+	@Test
+	public void testMaxIdle() {
+		pool.setMaxIdle(1);
+		AbstractForm form1 = pool.acquire(new TestBean());
+		AbstractForm form2 = pool.acquire(new TestBean());
+		assertNotSame(form1, form2);
+		pool.release(form1);
+		pool.release(form2);
+		assertEquals(1, pool.getIdleCount());
+		assertSame(form2, pool.acquire(null));
+	}
+
+	private class TestForm extends AbstractForm {
+
+		TestForm() {
+			super(FormModelHelper.createFormModel(new TestBean()));
+		}
+
+		@Override
+		protected JComponent createFormControl() {
+			built++;
+			return new JPanel();
+		}
+	}
+}
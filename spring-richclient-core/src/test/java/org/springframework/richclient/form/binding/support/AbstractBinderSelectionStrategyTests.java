@@ -0,0 +1,91 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.form.binding.support;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Map;
+
+import javax.swing.JComponent;
+import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import javax.swing.text.JTextComponent;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.binding.form.FormModel;
+import org.springframework.binding.support.TestBean;
+import org.springframework.richclient.form.binding.Binder;
+import org.springframework.richclient.form.binding.Binding;
+
+public class AbstractBinderSelectionStrategyTests {
+
+	@Test
+	public void testResolvedBindersAreClearedOnRegistration() {
+		TestStrategy strategy = new TestStrategy();
+		Binder textBinder = new TestBinder();
+		strategy.registerBinderForControlType(JTextComponent.class, textBinder);
+		assertSame(textBinder, strategy.findBinderByControlType(JTextArea.class));
+		assertNull(strategy.findBinderByPropertyType(Integer.class));
+
+		Binder numberBinder = new TestBinder();
+		strategy.registerBinderForPropertyType(Number.class, numberBinder);
+		assertSame(numberBinder, strategy.findBinderByPropertyType(Integer.class));
+
+		Binder textAreaBinder = new TestBinder();
+		strategy.registerBinderForControlType(JTextArea.class, textAreaBinder);
+		assertSame(textAreaBinder, strategy.findBinderByControlType(JTextArea.class));
+		assertSame(textBinder, strategy.findBinderByControlType(JTextField.class));
+	}
+
+	@Test
+	public void testPropertyNameBinderOfSuperClass() {
+		TestStrategy strategy = new TestStrategy();
+		Binder binder = new TestBinder();
+		strategy.registerBinderForPropertyName(Object.class, "simpleProperty", binder);
+		strategy.prepareBinders(TestBean.class);
+		assertSame(binder, strategy.findBinderByPropertyName(TestBean.class, "simpleProperty"));
+		assertNull(strategy.findBinderByPropertyName(TestBean.class, "numberProperty"));
+
+		Binder numberBinder = new TestBinder();
+		strategy.registerBinderForPropertyName(TestBean.class, "numberProperty", numberBinder);
+		assertSame(numberBinder, strategy.findBinderByPropertyName(TestBean.class, "numberProperty"));
+	}
+
+	private static class TestStrategy extends AbstractBinderSelectionStrategy {
+
+		TestStrategy() {
+			super(JTextField.class);
+		}
+
+		@Override
+		protected void registerDefaultBinders() {
+		}
+	}
+
+	private static class TestBinder implements Binder {
+
+		@Override
+		public Binding bind(FormModel formModel, String formPropertyPath, Map context) {
+			return null;
+		}
+
+		@Override
+		public Binding bind(JComponent control, FormModel formModel, String formPropertyPath, Map context) {
+			return null;
+		}
+	}
+}
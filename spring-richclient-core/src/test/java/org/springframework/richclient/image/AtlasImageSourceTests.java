@@ -0,0 +1,125 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.FileSystemResource;
+
+public class AtlasImageSourceTests {
+
+	private File directory;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		directory = File.createTempFile("atlas", "");
+		directory.delete();
+		directory.mkdirs();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		File[] files = directory.listFiles();
+		for (int i = 0; files != null && i < files.length; i++) {
+			files[i].delete();
+		}
+		directory.delete();
+	}
+
+	@Test
+	public void testPackAndLoad() throws IOException {
+		Map<String, FileSystemResource> imageResources = new HashMap<String, FileSystemResource>();
+		Color[] colors = { Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW, Color.CYAN };
+		for (int i = 0; i < colors.length; i++) {
+			imageResources.put("icon" + i, createImage("icon" + i, 16, 8 + i * 4, colors[i]));
+		}
+		imageResources.put("large", createImage("large", 64, 64, Color.BLACK));
+
+		IconAtlasPacker packer = new IconAtlasPacker();
+		packer.setPageWidth(40);
+		packer.setPageHeight(40);
+		File index = packer.pack(imageResources, directory, "icons");
+
+		AtlasImageSource source = new AtlasImageSource(new FileSystemResource(index));
+		assertEquals(5, source.size());
+		assertFalse(source.containsKey("large"));
+		source.preload();
+		for (int i = 0; i < colors.length; i++) {
+			BufferedImage image = (BufferedImage) source.getImage("icon" + i);
+			assertEquals(16, image.getWidth());
+			assertEquals(8 + i * 4, image.getHeight());
+			assertEquals(colors[i].getRGB(), image.getRGB(0, 0));
+			assertEquals(colors[i].getRGB(), image.getRGB(15, image.getHeight() - 1));
+		}
+		assertSame(source.getImage("icon1"), source.getImage("icon1"));
+		try {
+			source.getImage("large");
+			fail("large image is not in the atlas");
+		} catch (NoSuchImageResourceException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testFallback() throws IOException {
+		Map<String, FileSystemResource> imageResources = new HashMap<String, FileSystemResource>();
+		imageResources.put("icon", createImage("icon", 16, 16, Color.RED));
+		File index = new IconAtlasPacker().pack(imageResources, directory, "icons");
+
+		final BufferedImage fallbackImage = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+		ImageSource fallback = new ImageSource() {
+			@Override
+			public java.awt.Image getImage(String key) {
+				return fallbackImage;
+			}
+
+			@Override
+			public AwtImageResource getImageResource(String key) {
+				throw new NoSuchImageResourceException(key);
+			}
+		};
+		AtlasImageSource source = new AtlasImageSource(new FileSystemResource(index), fallback);
+		assertSame(fallbackImage, source.getImage("other"));
+		assertEquals(Color.RED.getRGB(), ((BufferedImage) source.getImage("icon")).getRGB(8, 8));
+	}
+
+	private FileSystemResource createImage(String name, int width, int height, Color color) throws IOException {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				image.setRGB(x, y, color.getRGB());
+			}
+		}
+		File file = new File(directory, name + "-source.png");
+		ImageIO.write(image, "png", file);
+		return new FileSystemResource(file);
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+public class ImageCacheTests {
+
+	@Test
+	public void testWeightLimit() {
+		ImageCache cache = new ImageCache(3 * 4 * 16 * 16);
+		BufferedImage image1 = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+		BufferedImage image2 = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+		BufferedImage image3 = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+		BufferedImage image4 = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+
+		cache.put("1", image1);
+		cache.put("2", image2);
+		cache.put("3", image3);
+		assertEquals(3 * 1024, cache.getWeight());
+
+		// using 1 makes 2 the least recently used
+		assertSame(image1, cache.getIfPresent("1"));
+		cache.put("4", image4);
+		assertEquals(3 * 1024, cache.getWeight());
+		assertEquals(4, cache.size());
+
+		// 2 is softly referenced, and moves back on lookup
+		assertSame(image2, cache.getIfPresent("2"));
+		assertEquals(3 * 1024, cache.getWeight());
+
+		cache.remove("2");
+		assertNull(cache.getIfPresent("2"));
+		assertEquals(3, cache.size());
+
+		cache.setMaxWeight(1024);
+		assertEquals(1024, cache.getWeight());
+		assertSame(image4, cache.getIfPresent("4"));
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getWeight());
+	}
+
+	@Test
+	public void testCreate() {
+		final int[] created = new int[1];
+		ImageCache cache = new ImageCache() {
+			@Override
+			protected Object create(Object key) {
+				created[0]++;
+				return "missing".equals(key) ? null : key + " value";
+			}
+		};
+
+		assertEquals("a value", cache.get("a"));
+		assertEquals("a value", cache.get("a"));
+		assertEquals(1, created[0]);
+		assertNull(cache.get("missing"));
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getWeight());
+	}
+}
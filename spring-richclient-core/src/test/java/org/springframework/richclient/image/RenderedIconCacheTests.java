@@ -0,0 +1,148 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+
+import org.junit.jupiter.api.Test;
+
+public class RenderedIconCacheTests {
+
+	@Test
+	public void testVariantsByScale() {
+		final int[] painted = new int[1];
+		Icon icon = new Icon() {
+			@Override
+			public void paintIcon(Component c, Graphics g, int x, int y) {
+				painted[0]++;
+				g.setColor(Color.RED);
+				g.fillRect(x, y, 16, 16);
+			}
+
+			@Override
+			public int getIconWidth() {
+				return 16;
+			}
+
+			@Override
+			public int getIconHeight() {
+				return 16;
+			}
+		};
+		RenderedIconCache cache = new RenderedIconCache();
+		Icon rendered = cache.getIcon(icon);
+		assertEquals(16, rendered.getIconWidth());
+
+		paint(rendered, 1);
+		paint(rendered, 1);
+		assertEquals(1, painted[0]);
+
+		BufferedImage target = paint(rendered, 2);
+		assertEquals(2, painted[0]);
+		assertEquals(Color.RED.getRGB(), target.getRGB(31, 31));
+		assertSame(cache.getVariant(icon, RenderedIconCache.PLAIN, 2, null), cache.getVariant(icon,
+				RenderedIconCache.PLAIN, 2, null));
+		assertEquals(32, cache.getVariant(icon, RenderedIconCache.PLAIN, 2, null).getWidth());
+
+		assertEquals(2, cache.getMissCount());
+		assertEquals(4, cache.getHitCount());
+		assertEquals(4 / 6.0, cache.getHitRate(), 0.0001);
+	}
+
+	@Test
+	public void testVariantsByComponentState() {
+		Icon icon = new Icon() {
+			@Override
+			public void paintIcon(Component c, Graphics g, int x, int y) {
+				g.setColor(c.isEnabled() ? Color.RED : Color.GRAY);
+				g.fillRect(x, y, 16, 16);
+			}
+
+			@Override
+			public int getIconWidth() {
+				return 16;
+			}
+
+			@Override
+			public int getIconHeight() {
+				return 16;
+			}
+		};
+		RenderedIconCache cache = new RenderedIconCache();
+		JLabel enabled = new JLabel();
+		JLabel disabled = new JLabel();
+		disabled.setEnabled(false);
+
+		assertEquals(Color.RED.getRGB(), cache.getVariant(icon, RenderedIconCache.PLAIN, 1, enabled).getRGB(0, 0));
+		assertEquals(Color.GRAY.getRGB(), cache.getVariant(icon, RenderedIconCache.PLAIN, 1, disabled).getRGB(0, 0));
+		assertEquals(2, cache.getMissCount());
+
+		// an image icon doesn't depend on the component
+		ImageIcon imageIcon = new ImageIcon(new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB));
+		assertSame(cache.getVariant(imageIcon, RenderedIconCache.PLAIN, 1, enabled),
+				cache.getVariant(imageIcon, RenderedIconCache.PLAIN, 1, disabled));
+	}
+
+	@Test
+	public void testVariantsBySourceImage() {
+		BufferedImage small = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+		BufferedImage large = new BufferedImage(24, 24, BufferedImage.TYPE_INT_ARGB);
+		ImageIcon icon = new ImageIcon(small);
+		RenderedIconCache cache = new RenderedIconCache();
+
+		BufferedImage smallVariant = cache.getVariant(icon, RenderedIconCache.SHADOW, 1, null);
+		assertEquals(18, smallVariant.getWidth());
+		icon.setImage(large);
+		assertEquals(26, cache.getVariant(icon, RenderedIconCache.SHADOW, 1, null).getHeight());
+		icon.setImage(small);
+		assertSame(smallVariant, cache.getVariant(icon, RenderedIconCache.SHADOW, 1, null));
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void testSizeFollowsReloadedImage() {
+		ImageIcon icon = new ImageIcon(new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB));
+		Icon rendered = new RenderedIconCache().getIcon(icon, RenderedIconCache.SHADOW);
+		assertEquals(18, rendered.getIconWidth());
+
+		icon.setImage(new BufferedImage(24, 24, BufferedImage.TYPE_INT_ARGB));
+		assertEquals(26, rendered.getIconWidth());
+		assertEquals(26, rendered.getIconHeight());
+	}
+
+	private BufferedImage paint(Icon icon, double scale) {
+		BufferedImage target = new BufferedImage((int) (16 * scale), (int) (16 * scale), BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = target.createGraphics();
+		try {
+			g.scale(scale, scale);
+			icon.paintIcon(null, g, 0, 0);
+		} finally {
+			g.dispose();
+		}
+		return target;
+	}
+}
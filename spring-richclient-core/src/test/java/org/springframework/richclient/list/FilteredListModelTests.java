@@ -16,15 +16,22 @@
 package org.springframework.richclient.list;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Observable;
+import java.util.List;
 import java.util.Observer;
 
+import javax.swing.DefaultComboBoxModel;
 import javax.swing.DefaultListModel;
 import javax.swing.ListModel;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -116,7 +123,7 @@ public class FilteredListModelTests {
 		assertEquals(2, filteredModel.getSize());
 		filter.testCalled = 0;
 		listModel.addElement("1234");
-		assertEquals(listModel.getSize(), filter.testCalled);
+		assertEquals(1, filter.testCalled);
 		assertEquals("2", filteredModel.getElementAt(0));
 		assertEquals("4", filteredModel.getElementAt(1));
 		listModel.addElement("9999");
@@ -143,6 +150,162 @@ public class FilteredListModelTests {
 		assertEquals(filter.elements.size(), filteredModel.getSize());
 	}
 
+	@Test
+	public void testEventsUseFilteredIndexes() throws Exception {
+		filter.elements = new ArrayList(Arrays.asList(new Object[] { "2", "4", "5", "6" }));
+		FilteredListModel filteredModel = new FilteredListModel(listModel, filter);
+		EventRecorder recorder = new EventRecorder();
+		filteredModel.addListDataListener(recorder);
+
+		listModel.add(0, "5");
+		recorder.assertEvent(ListDataEvent.INTERVAL_ADDED, 0, 0);
+		assertEquals("5", filteredModel.getElementAt(0));
+		assertEquals("2", filteredModel.getElementAt(1));
+
+		listModel.add(2, "1");
+		assertEquals(0, recorder.events.size());
+
+		listModel.setElementAt("6", 1);
+		recorder.assertEvent(ListDataEvent.INTERVAL_ADDED, 1, 1);
+		assertEquals("6", filteredModel.getElementAt(1));
+
+		listModel.setElementAt("3", 3);
+		recorder.assertEvent(ListDataEvent.INTERVAL_REMOVED, 2, 2);
+		assertEquals(3, filteredModel.getSize());
+
+		listModel.setElementAt("2", 0);
+		recorder.assertEvent(ListDataEvent.CONTENTS_CHANGED, 0, 0);
+
+		listModel.remove(1);
+		recorder.assertEvent(ListDataEvent.INTERVAL_REMOVED, 1, 1);
+		assertEquals(2, filteredModel.getSize());
+		assertEquals("2", filteredModel.getElementAt(0));
+		assertEquals("4", filteredModel.getElementAt(1));
+		assertEquals(4, filteredModel.getElementIndex(1));
+	}
+
+	@Test
+	public void testNarrowedConstraint() throws Exception {
+		filter.elements = new ArrayList(Arrays.asList(elements));
+		filter.elements.add("5");
+		FilteredListModel filteredModel = new FilteredListModel(listModel, filter);
+		listModel.addElement("5");
+		EventRecorder recorder = new EventRecorder();
+		filteredModel.addListDataListener(recorder);
+		assertEquals(5, filteredModel.getSize());
+
+		filter.elements.remove("5");
+		filter.testCalled = 0;
+		filter.changed();
+		filter.notifyObservers(FilteredListModel.CONSTRAINT_NARROWED);
+		assertEquals(5, filter.testCalled);
+		recorder.assertEvent(ListDataEvent.INTERVAL_REMOVED, 4, 4);
+
+		filter.elements.remove("1");
+		filter.elements.remove("3");
+		filter.testCalled = 0;
+		filter.changed();
+		filter.notifyObservers(FilteredListModel.CONSTRAINT_NARROWED);
+		assertEquals(4, filter.testCalled);
+		recorder.assertEvent(ListDataEvent.CONTENTS_CHANGED, -1, -1);
+		assertEquals(2, filteredModel.getSize());
+		assertEquals("2", filteredModel.getElementAt(0));
+		assertEquals("4", filteredModel.getElementAt(1));
+	}
+
+	@Test
+	public void testComboBoxSelectionFollowsIncrementalChanges() throws Exception {
+		filter.elements = new ArrayList(Arrays.asList(new Object[] { "2", "4" }));
+		TestComboBoxModel comboBoxModel = new TestComboBoxModel(elements);
+		FilteredComboBoxListModel filteredModel = new FilteredComboBoxListModel(comboBoxModel, filter);
+		filteredModel.setSelectedItem("4");
+		assertEquals("4", filteredModel.getSelectedItem());
+
+		// the selected item no longer matches
+		filter.elements.remove("4");
+		comboBoxModel.elementChanged(3);
+		assertEquals(1, filteredModel.getSize());
+		assertEquals("2", filteredModel.getSelectedItem());
+
+		filter.elements.remove("2");
+		filter.changed();
+		filter.notifyObservers(FilteredListModel.CONSTRAINT_NARROWED);
+		assertEquals(0, filteredModel.getSize());
+		assertNull(filteredModel.getSelectedItem());
+	}
+
+	@Test
+	public void testComboBoxSelectionIsNotSearchedAfterIncrementalChanges() throws Exception {
+		filter.filter = false;
+		Object[] items = new Object[1000];
+		for (int i = 0; i < items.length; i++) {
+			items[i] = "item " + i;
+		}
+		TestComboBoxModel comboBoxModel = new TestComboBoxModel(items);
+		FilteredComboBoxListModel filteredModel = new FilteredComboBoxListModel(comboBoxModel, filter);
+		filteredModel.setSelectedItem(items[500]);
+
+		comboBoxModel.elementAtCalls = 0;
+		comboBoxModel.insertElementAt("first", 0);
+		comboBoxModel.addElement("last");
+		comboBoxModel.elementChanged(10);
+		assertTrue(comboBoxModel.elementAtCalls < 10, "elements were searched: " + comboBoxModel.elementAtCalls);
+		assertEquals(items[500], filteredModel.getSelectedItem());
+		assertEquals(1002, filteredModel.getSize());
+
+		comboBoxModel.removeElementAt(0);
+		assertEquals(items[500], filteredModel.getSelectedItem());
+		assertEquals(items[500], filteredModel.getElementAt(500));
+	}
+
+	@Test
+	public void testNarrowedConstraintFiresBeforeSelectionChange() throws Exception {
+		filter.elements = new ArrayList(Arrays.asList(new Object[] { "2", "4" }));
+		DefaultComboBoxModel comboBoxModel = new DefaultComboBoxModel(elements);
+		FilteredComboBoxListModel filteredModel = new FilteredComboBoxListModel(comboBoxModel, filter);
+		filteredModel.setSelectedItem("2");
+		EventRecorder recorder = new EventRecorder();
+		filteredModel.addListDataListener(recorder);
+
+		filter.elements.remove("2");
+		filter.changed();
+		filter.notifyObservers(FilteredListModel.CONSTRAINT_NARROWED);
+		assertEquals("4", filteredModel.getSelectedItem());
+		ListDataEvent first = (ListDataEvent) recorder.events.get(0);
+		assertEquals(ListDataEvent.INTERVAL_REMOVED, first.getType());
+		assertEquals(0, first.getIndex0());
+		ListDataEvent last = (ListDataEvent) recorder.events.get(recorder.events.size() - 1);
+		assertEquals(ListDataEvent.CONTENTS_CHANGED, last.getType());
+	}
+
+	private static class EventRecorder implements ListDataListener {
+
+		List events = new ArrayList();
+
+		@Override
+		public void intervalAdded(ListDataEvent e) {
+			events.add(e);
+		}
+
+		@Override
+		public void intervalRemoved(ListDataEvent e) {
+			events.add(e);
+		}
+
+		@Override
+		public void contentsChanged(ListDataEvent e) {
+			events.add(e);
+		}
+
+		void assertEvent(int type, int index0, int index1) {
+			assertEquals(1, events.size());
+			ListDataEvent event = (ListDataEvent) events.remove(0);
+			assertEquals(type, event.getType());
+			assertEquals(index0, event.getIndex0());
+			assertEquals(index1, event.getIndex1());
+		}
+	}
+
 	private static class TestConstraint extends Observable implements Constraint {
 
 		boolean filter = true;
@@ -175,4 +338,23 @@ public class FilteredListModelTests {
 
 	private static class TestListModel extends DefaultListModel {
 	}
+
+	private static class TestComboBoxModel extends DefaultComboBoxModel {
+
+		int elementAtCalls;
+
+		TestComboBoxModel(Object[] items) {
+			super(items);
+		}
+
+		@Override
+		public Object getElementAt(int index) {
+			elementAtCalls++;
+			return super.getElementAt(index);
+		}
+
+		void elementChanged(int index) {
+			fireContentsChanged(this, index, index);
+		}
+	}
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.list;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import javax.swing.DefaultComboBoxModel;
+import javax.swing.DefaultListModel;
+
+import org.junit.jupiter.api.Test;
+
+public class PrefixIndexTests {
+
+	@Test
+	public void testLookup() {
+		DefaultListModel model = createModel(new String[] { "Brussels", "Antwerp", "berlin", "Bern", "Amsterdam" });
+		PrefixIndex index = new PrefixIndex(model);
+
+		assertEquals(0, index.indexOf("b"));
+		assertEquals(2, index.indexOf("BER"));
+		assertEquals(3, index.indexOf("bern"));
+		assertEquals(-1, index.indexOf("c"));
+		assertEquals(0, index.indexOf(""));
+		assertArrayEquals(new int[] { 1, 4 }, index.getMatchingIndexes("a"));
+		assertEquals("berlin", index.getString(2));
+	}
+
+	@Test
+	public void testIncrementalUpdates() {
+		DefaultListModel model = createModel(new String[] { "Brussels", "Antwerp", "Bern" });
+		PrefixIndex index = new PrefixIndex(model);
+		model.addListDataListener(index);
+		assertEquals(2, index.indexOf("Be"));
+
+		model.add(0, "Berlin");
+		assertEquals(0, index.indexOf("Be"));
+		assertEquals(2, index.indexOf("An"));
+
+		model.remove(0);
+		assertEquals(2, index.indexOf("Be"));
+		assertEquals(1, index.indexOf("An"));
+
+		model.set(1, "Amsterdam");
+		assertEquals(-1, index.indexOf("Antw"));
+		assertEquals(1, index.indexOf("Am"));
+
+		model.removeAllElements();
+		assertEquals(-1, index.indexOf(""));
+
+		for (int i = 0; i < 100; i++) {
+			model.addElement("item " + i);
+		}
+		assertEquals(42, index.indexOf("item 42"));
+		assertEquals(11, index.getMatchingIndexes("item 1").length);
+	}
+
+	@Test
+	public void testSelectionChangeKeepsIndex() {
+		final int[] converted = new int[1];
+		DefaultComboBoxModel model = new DefaultComboBoxModel(new String[] { "Brussels", "Antwerp", "Bern" });
+		PrefixIndex index = new PrefixIndex(model) {
+			@Override
+			protected String getStringFor(Object element) {
+				converted[0]++;
+				return super.getStringFor(element);
+			}
+		};
+		model.addListDataListener(index);
+		assertEquals(2, index.indexOf("Be"));
+		assertEquals(3, converted[0]);
+
+		model.setSelectedItem("Antwerp");
+		model.setSelectedItem("Bern");
+		assertEquals(1, index.indexOf("An"));
+		assertEquals(3, converted[0]);
+	}
+
+	@Test
+	public void testLookupMatchesScanAfterEdits() {
+		Random random = new Random(42);
+		DefaultListModel model = new DefaultListModel();
+		for (int i = 0; i < 200; i++) {
+			model.addElement(randomString(random));
+		}
+		PrefixIndex index = new PrefixIndex(model);
+		model.addListDataListener(index);
+		String[] prefixes = { "", "a", "b", "ab", "ba", "abc", "cab" };
+		for (int edit = 0; edit < 300; edit++) {
+			int operation = random.nextInt(3);
+			if (operation == 0 || model.isEmpty()) {
+				model.add(random.nextInt(model.getSize() + 1), randomString(random));
+			} else if (operation == 1) {
+				model.remove(random.nextInt(model.getSize()));
+			} else {
+				model.set(random.nextInt(model.getSize()), randomString(random));
+			}
+			for (int i = 0; i < prefixes.length; i++) {
+				assertEquals(scan(model, prefixes[i]), index.indexOf(prefixes[i]), prefixes[i]);
+			}
+		}
+	}
+
+	private String randomString(Random random) {
+		char[] chars = new char[1 + random.nextInt(4)];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = (char) ((random.nextBoolean() ? 'a' : 'A') + random.nextInt(3));
+		}
+		return new String(chars);
+	}
+
+	private int scan(DefaultListModel model, String prefix) {
+		for (int i = 0; i < model.getSize(); i++) {
+			if (((String) model.get(i)).toUpperCase().startsWith(prefix.toUpperCase())) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private DefaultListModel createModel(String[] elements) {
+		DefaultListModel model = new DefaultListModel();
+		for (int i = 0; i < elements.length; i++) {
+			model.addElement(elements[i]);
+		}
+		return model;
+	}
+}
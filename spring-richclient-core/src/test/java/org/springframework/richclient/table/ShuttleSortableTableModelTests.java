@@ -17,7 +17,9 @@ package org.springframework.richclient.table;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.text.Collator;
 import java.util.Comparator;
+import java.util.Locale;
 
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableModel;
@@ -88,4 +90,95 @@ public class ShuttleSortableTableModelTests {
 		assertEquals("Peter", shuttleSortableTableModel.getValueAt(1, 0));
 		assertEquals("Jan", shuttleSortableTableModel.getValueAt(2, 0));
 	}
+
+	@Test
+	public void testMultiColumnSort() {
+		Object[] columnNames = new Object[] { "name", "age", "score" };
+		Object[][] data = new Object[][] { { "b", Integer.valueOf(30), Double.valueOf(1.5) },
+				{ "a", Integer.valueOf(30), Double.valueOf(2.5) }, { "c", null, Double.valueOf(0.5) },
+				{ "d", Integer.valueOf(20), null } };
+		ShuttleSortableTableModel model = new ShuttleSortableTableModel(new DefaultTableModel(data, columnNames));
+
+		model.sortByColumns(new ColumnToSort[] { new ColumnToSort(0, 1, SortOrder.DESCENDING),
+				new ColumnToSort(1, 2) });
+
+		assertEquals("b", model.getValueAt(0, 0));
+		assertEquals("a", model.getValueAt(1, 0));
+		assertEquals("d", model.getValueAt(2, 0));
+		assertEquals("c", model.getValueAt(3, 0));
+
+		model.sortByColumns(new ColumnToSort[] { new ColumnToSort(0, 2, SortOrder.DESCENDING) });
+
+		assertEquals("a", model.getValueAt(0, 0));
+		assertEquals("d", model.getValueAt(3, 0));
+	}
+
+	@Test
+	public void testSortWithCollator() {
+		Object[][] data = new Object[][] { { "b" }, { "\u00e1" }, { "a" } };
+		ShuttleSortableTableModel model = new ShuttleSortableTableModel(new DefaultTableModel(data,
+				new Object[] { "name" }));
+
+		model.sortByColumns(new ColumnToSort[] { new ColumnToSort(0, 0) });
+		assertEquals("\u00e1", model.getValueAt(2, 0));
+
+		model.setCollator(Collator.getInstance(Locale.ENGLISH));
+		model.sortByColumns(new ColumnToSort[] { new ColumnToSort(0, 0) });
+		assertEquals("a", model.getValueAt(0, 0));
+		assertEquals("\u00e1", model.getValueAt(1, 0));
+		assertEquals("b", model.getValueAt(2, 0));
+	}
+
+	@Test
+	public void testUpdatedRowIsMoved() {
+		Object[][] data = new Object[10][];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = new Object[] { Integer.valueOf(i * 10), "row " + i };
+		}
+		DefaultTableModel tableModel = new DefaultTableModel(data, new Object[] { "value", "name" }) {
+			@Override
+			public Class getColumnClass(int columnIndex) {
+				return columnIndex == 0 ? Integer.class : String.class;
+			}
+		};
+		ShuttleSortableTableModel model = new ShuttleSortableTableModel(tableModel);
+		model.sortByColumns(new ColumnToSort[] { new ColumnToSort(0, 0) });
+
+		tableModel.setValueAt(Integer.valueOf(75), 2, 0);
+		assertEquals("row 2", model.getValueAt(7, 1));
+		assertEquals("row 3", model.getValueAt(2, 1));
+		assertEquals(7, model.convertModelToRowIndex(2));
+
+		tableModel.setValueAt(null, 9, 0);
+		assertEquals("row 9", model.getValueAt(0, 1));
+		assertEquals("row 0", model.getValueAt(1, 1));
+
+		tableModel.setValueAt("changed", 9, 1);
+		assertEquals("changed", model.getValueAt(0, 1));
+
+		tableModel.setValueAt(Long.valueOf(5), 1, 0);
+		assertEquals("row 1", model.getValueAt(2, 1));
+	}
+
+	@Test
+	public void testParallelSort() {
+		int rowCount = 5000;
+		Object[][] data = new Object[rowCount][];
+		for (int i = 0; i < rowCount; i++) {
+			data[i] = new Object[] { Long.valueOf((i * 7919L) % rowCount) };
+		}
+		ShuttleSortableTableModel model = new ShuttleSortableTableModel(new DefaultTableModel(data,
+				new Object[] { "value" }) {
+			@Override
+			public Class getColumnClass(int columnIndex) {
+				return Long.class;
+			}
+		});
+		model.setParallelSortThreshold(100);
+		model.sortByColumns(new ColumnToSort[] { new ColumnToSort(0, 0, SortOrder.DESCENDING) });
+
+		for (int i = 0; i < rowCount; i++) {
+			assertEquals(Long.valueOf(rowCount - 1 - i), model.getValueAt(i, 0));
+		}
+	}
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+import org.junit.jupiter.api.Test;
+
+public class TableUpdatePublisherTests {
+
+	@Test
+	public void testRowsArePublishedInBatches() throws Exception {
+		TableUpdatePublisher publisher = new TableUpdatePublisher();
+		publisher.setPublishInterval(50);
+		publisher.setMaxRowsPerPublish(1000);
+		TableDataProvider provider = new TableDataProvider();
+		RecordingTableModel model = new RecordingTableModel(2500);
+		publisher.register(provider, model);
+
+		for (int i = 0; i < 2500; i++) {
+			provider.put(Integer.valueOf(i));
+		}
+
+		assertTrue(model.complete.await(5, TimeUnit.SECONDS));
+		// let the last publish complete
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+			}
+		});
+		assertEquals(3, model.batches.size());
+		assertEquals(1000, ((List) model.batches.get(0)).size());
+		assertEquals(500, ((List) model.batches.get(2)).size());
+		assertEquals(Integer.valueOf(2499), model.rows.get(2499));
+		assertEquals(2500, publisher.getPublishedRowCount());
+		assertEquals(3, publisher.getPublishCount());
+	}
+
+	@Test
+	public void testProducerBlocksAtCapacity() throws Exception {
+		TableUpdatePublisher publisher = new TableUpdatePublisher();
+		publisher.setPublishInterval(0);
+		final TableDataProvider provider = new TableDataProvider(10);
+		RecordingTableModel model = new RecordingTableModel(100);
+		final TableUpdatePublisher.Registration registration = publisher.register(provider, model);
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				registration.setUpdatesEnabled(false);
+			}
+		});
+
+		Thread producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < 100; i++) {
+					provider.put(Integer.valueOf(i));
+				}
+			}
+		});
+		producer.start();
+		producer.join(200);
+		assertTrue(producer.isAlive());
+		assertFalse(model.complete.await(100, TimeUnit.MILLISECONDS));
+
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				registration.setUpdatesEnabled(true);
+			}
+		});
+		assertTrue(model.complete.await(5, TimeUnit.SECONDS));
+		assertEquals(Integer.valueOf(99), model.rows.get(99));
+	}
+
+	private static class RecordingTableModel extends AbstractTableModel implements MutableTableModel {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List rows = new ArrayList();
+
+		private final List batches = new ArrayList();
+
+		private final int expectedRows;
+
+		private final CountDownLatch complete = new CountDownLatch(1);
+
+		public RecordingTableModel(int expectedRows) {
+			this.expectedRows = expectedRows;
+		}
+
+		@Override
+		public void addRows(List newRows) {
+			assertTrue(SwingUtilities.isEventDispatchThread());
+			batches.add(newRows);
+			rows.addAll(newRows);
+			if (rows.size() == expectedRows) {
+				complete.countDown();
+			}
+		}
+
+		@Override
+		public void addRow(Object row) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void remove(int index) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void remove(int firstIndex, int lastIndex) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void remove(int[] indexes) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void clear() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int getRowCount() {
+			return rows.size();
+		}
+
+		@Override
+		public int getColumnCount() {
+			return 1;
+		}
+
+		@Override
+		public Object getValueAt(int rowIndex, int columnIndex) {
+			return rows.get(rowIndex);
+		}
+	}
+}
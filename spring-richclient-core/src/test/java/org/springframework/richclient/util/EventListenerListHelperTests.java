@@ -486,6 +486,42 @@ public class EventListenerListHelperTests {
 
 	}
 
+	/**
+	 * Test method for
+	 * {@link EventListenerListHelper#dispatch(EventListenerListHelper.Dispatcher, Object)}.
+	 */
+	@Test
+	public void testDispatch() {
+
+		EventListenerListHelper listHelper = new EventListenerListHelper(DummyEventListener.class);
+		String arg1 = "arg1";
+		EventListenerListHelper.Dispatcher<DummyEventListener, Object> dispatcher = new EventListenerListHelper.Dispatcher<DummyEventListener, Object>() {
+			@Override
+			public void dispatch(DummyEventListener listener, Object event) {
+				listener.onEvent2(event);
+			}
+		};
+
+		// nothing happens without listeners
+		listHelper.dispatch(dispatcher, arg1);
+
+		DummyEventListener listener1 = (DummyEventListener) EasyMock.createMock(DummyEventListener.class);
+		DummyEventListener listener2 = (DummyEventListener) EasyMock.createMock(DummyEventListener.class);
+		listener1.onEvent2(arg1);
+		listener2.onEvent2(arg1);
+		EasyMock.replay(listener1);
+		EasyMock.replay(listener2);
+
+		listHelper.add(listener1);
+		listHelper.add(listener2);
+
+		listHelper.dispatch(dispatcher, arg1);
+
+		EasyMock.verify(listener1);
+		EasyMock.verify(listener2);
+
+	}
+
 	private interface DummyEventListener {
 
 		public void onEvent1();
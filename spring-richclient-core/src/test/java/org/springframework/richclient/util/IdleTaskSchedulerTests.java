@@ -0,0 +1,104 @@
+/*
+ * Copyright 2002-2008 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.springframework.richclient.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class IdleTaskSchedulerTests {
+
+	/**
+	 * Scheduler running slices only when asked to.
+	 */
+	private static class TestScheduler extends IdleTaskScheduler {
+
+		private boolean pendingEvents;
+
+		@Override
+		protected boolean hasPendingEvents() {
+			return pendingEvents;
+		}
+	}
+
+	@Test
+	public void testPriorities() {
+		TestScheduler scheduler = new TestScheduler();
+		final List<String> order = new ArrayList<String>();
+		scheduler.schedule(new Recorder(order, "low"), IdleTaskScheduler.LOW_PRIORITY);
+		scheduler.schedule(new Recorder(order, "high"), IdleTaskScheduler.HIGH_PRIORITY);
+		scheduler.schedule(new Recorder(order, "normal1"));
+		scheduler.schedule(new Recorder(order, "normal2"));
+
+		assertFalse(scheduler.runSlice());
+		assertEquals("[high, normal1, normal2, low]", order.toString());
+		assertEquals(4, scheduler.getCompletedTaskCount());
+		assertEquals(0, scheduler.getTaskCount());
+	}
+
+	@Test
+	public void testStepsAndCancel() {
+		TestScheduler scheduler = new TestScheduler();
+		final int[] steps = new int[1];
+		IdleTaskScheduler.ScheduledTask task = scheduler.schedule(new IdleTaskScheduler.Task() {
+			@Override
+			public boolean run(long deadline) {
+				steps[0]++;
+				return steps[0] < 3;
+			}
+		}, IdleTaskScheduler.NORMAL_PRIORITY, 0);
+
+		// a slice ends as soon as events are waiting
+		scheduler.pendingEvents = true;
+		assertTrue(scheduler.runSlice());
+		assertEquals(1, steps[0]);
+		scheduler.pendingEvents = false;
+		assertFalse(scheduler.runSlice());
+		assertEquals(3, steps[0]);
+		assertTrue(task.isDone());
+
+		List<String> order = new ArrayList<String>();
+		IdleTaskScheduler.ScheduledTask cancelled = scheduler.schedule(new Recorder(order, "cancelled"));
+		cancelled.cancel();
+		assertFalse(scheduler.runSlice());
+		assertTrue(order.isEmpty());
+		assertTrue(cancelled.isCancelled());
+		assertEquals(1, scheduler.getCancelledTaskCount());
+		assertEquals(1, scheduler.getCompletedTaskCount());
+	}
+
+	private static class Recorder implements Runnable {
+
+		private final List<String> order;
+
+		private final String name;
+
+		Recorder(List<String> order, String name) {
+			this.order = order;
+			this.name = name;
+		}
+
+		@Override
+		public void run() {
+			order.add(name);
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package org.springframework.richclient.widget.editor.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class AbstractPagedDataProviderTests {
+
+	@Test
+	public void testGetListAssemblesPages() {
+		TestPagedDataProvider provider = new TestPagedDataProvider(25);
+		provider.setPageSize(10);
+
+		List rows = provider.getList("criteria");
+		assertEquals(25, rows.size());
+		for (int i = 0; i < rows.size(); i++) {
+			assertEquals(Integer.valueOf(i), rows.get(i));
+		}
+		assertEquals("[0, 10, 20]", provider.offsets.toString());
+		assertEquals("criteria", provider.lastCriteria);
+	}
+
+	@Test
+	public void testPageBoundaries() {
+		// a full last page needs an empty page to mark the end
+		TestPagedDataProvider provider = new TestPagedDataProvider(20);
+		provider.setPageSize(10);
+		assertEquals(20, provider.getList(null).size());
+		assertEquals("[0, 10, 20]", provider.offsets.toString());
+
+		provider = new TestPagedDataProvider(0);
+		provider.setPageSize(10);
+		assertEquals(0, provider.getList(null).size());
+		assertEquals("[0]", provider.offsets.toString());
+
+		provider = new TestPagedDataProvider(9);
+		provider.setPageSize(10);
+		assertEquals(9, provider.getList(null).size());
+		assertEquals("[0]", provider.offsets.toString());
+
+		try {
+			provider.setPageSize(0);
+			fail("page size must be positive");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testCancelRetrieval() {
+		TestPagedDataProvider provider = new TestPagedDataProvider(100);
+		provider.setPageSize(10);
+		final List<Integer> pageSizes = new ArrayList<Integer>();
+		PagedRetrieval retrieval = new PagedRetrieval(provider, null) {
+			@Override
+			protected void pageFetched(List page) {
+				pageSizes.add(Integer.valueOf(page.size()));
+				if (pageSizes.size() == 2) {
+					cancel();
+				}
+			}
+		};
+
+		List rows = retrieval.retrieve();
+		assertEquals(20, rows.size());
+		assertEquals("[10, 10]", pageSizes.toString());
+		assertEquals("[0, 10]", provider.offsets.toString());
+
+		// a cancelled retrieval doesn't fetch anything
+		provider.offsets.clear();
+		assertEquals(0, retrieval.retrieve().size());
+		assertEquals(0, provider.offsets.size());
+	}
+
+	private static class TestPagedDataProvider extends AbstractPagedDataProvider {
+
+		private final int rowCount;
+
+		final List<Integer> offsets = new ArrayList<Integer>();
+
+		Object lastCriteria;
+
+		TestPagedDataProvider(int rowCount) {
+			this.rowCount = rowCount;
+		}
+
+		@Override
+		public List getPage(Object criteria, int offset, int limit) {
+			offsets.add(Integer.valueOf(offset));
+			lastCriteria = criteria;
+			if (offset >= rowCount) {
+				return Collections.EMPTY_LIST;
+			}
+			List<Integer> page = new ArrayList<Integer>();
+			for (int i = offset; i < Math.min(offset + limit, rowCount); i++) {
+				page.add(Integer.valueOf(i));
+			}
+			return page;
+		}
+
+		@Override
+		public boolean supportsFiltering() {
+			return true;
+		}
+
+		@Override
+		public boolean supportsUpdate() {
+			return false;
+		}
+
+		@Override
+		public boolean supportsCreate() {
+			return false;
+		}
+
+		@Override
+		public boolean supportsClone() {
+			return false;
+		}
+
+		@Override
+		public boolean supportsDelete() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,198 @@
+package org.springframework.richclient.widget.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.function.BiConsumer;
+
+import org.junit.jupiter.api.Test;
+
+public class AccessorFactoryTests {
+
+	@Test
+	public void testAccessorsAreCached() {
+		assertSame(AccessorFactory.getAccessor(Person.class, "name"),
+				AccessorFactory.getAccessor(Person.class, "name"));
+		assertSame(AccessorFactory.getWriter(Person.class, "address.city"),
+				ClassUtils.getWriterForProperty(Person.class, "address.city"));
+	}
+
+	@Test
+	public void testSimpleAccess() throws Exception {
+		Person person = new Person();
+		person.setName("john");
+		person.setAge(42);
+		person.setActive(true);
+
+		assertEquals("john", AccessorFactory.getAccessor(Person.class, "name").getValue(person));
+		assertEquals(Integer.valueOf(42), AccessorFactory.getAccessor(Person.class, "age").getValue(person));
+		assertEquals(Boolean.TRUE, AccessorFactory.getAccessor(Person.class, "active").getValue(person));
+		assertEquals(Integer.class, AccessorFactory.getAccessor(Person.class, "age").getPropertyType());
+
+		AccessorFactory.getWriter(Person.class, "name").setValue(person, "jane");
+		assertEquals("jane", person.getName());
+	}
+
+	@Test
+	public void testNestedAccess() throws Exception {
+		Person person = new Person();
+		Accessor cityAccessor = AccessorFactory.getAccessor(Person.class, "address.city");
+		assertNull(cityAccessor.getValue(person));
+
+		person.setAddress(new Address());
+		AccessorFactory.getWriter(Person.class, "address.city").setValue(person, "Brussels");
+		assertEquals("Brussels", cityAccessor.getValue(person));
+		assertEquals(String.class, cityAccessor.getPropertyType());
+	}
+
+	@Test
+	public void testGetterExceptionIsWrapped() throws Exception {
+		try {
+			AccessorFactory.getAccessor(Person.class, "failing").getValue(new Person());
+			fail("Getter exception should be rethrown");
+		} catch (InvocationTargetException e) {
+			assertTrue(e.getCause() instanceof UnsupportedOperationException);
+		}
+	}
+
+	@Test
+	public void testCompiledPathIsUsed() throws Exception {
+		assertTrue(AccessorFactory.isCompiled(AccessorFactory.compileGetter(Person.class.getMethod("getAge"))));
+		assertTrue(AccessorFactory.isCompiled(AccessorFactory.compileSetter(Person.class.getMethod("setAge",
+				int.class))));
+		assertFalse(AccessorFactory.isCompiled(AccessorFactory.compileGetter(HiddenBean.class.getMethod("getName"))));
+		assertEquals("hidden", AccessorFactory.getAccessor(HiddenBean.class, "name").getValue(new HiddenBean()));
+	}
+
+	@Test
+	public void testArgumentErrorsAreNotWrapped() throws Exception {
+		Person person = new Person();
+		BiConsumer<Object, Object> ageSetter = AccessorFactory.compileSetter(Person.class.getMethod("setAge", int.class));
+		try {
+			AccessorFactory.invoke(ageSetter, person, null);
+			fail("null is not a valid int");
+		} catch (IllegalArgumentException e) {
+			// expected, as thrown by Method.invoke
+		}
+		try {
+			AccessorFactory.getAccessor(Person.class, "name").getValue(new Address());
+			fail("Address is not a Person");
+		} catch (IllegalArgumentException e) {
+			// expected, as thrown by Method.invoke
+		}
+
+		// widening conversions are still applied
+		AccessorFactory.invoke(ageSetter, person, Short.valueOf((short) 7));
+		assertEquals(7, person.getAge());
+	}
+
+	@Test
+	public void testNestedAccessByRuntimeType() throws Exception {
+		Holder holder = new Holder();
+		Accessor accessor = AccessorFactory.getAccessor(Holder.class, "content.label");
+		holder.setContent(new FirstContent());
+		assertEquals("first", accessor.getValue(holder));
+		holder.setContent(new SecondContent());
+		assertEquals("second", accessor.getValue(holder));
+		assertEquals(String.class, accessor.getPropertyType());
+	}
+
+	public static class Person {
+
+		private String name;
+
+		private int age;
+
+		private boolean active;
+
+		private Address address;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public boolean isActive() {
+			return active;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+
+		public Address getAddress() {
+			return address;
+		}
+
+		public void setAddress(Address address) {
+			this.address = address;
+		}
+
+		public String getFailing() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	public static class Address {
+
+		private String city;
+
+		public String getCity() {
+			return city;
+		}
+
+		public void setCity(String city) {
+			this.city = city;
+		}
+	}
+
+	public static class Holder {
+
+		private Object content;
+
+		public Object getContent() {
+			return content;
+		}
+
+		public void setContent(Object content) {
+			this.content = content;
+		}
+	}
+
+	public static class FirstContent {
+
+		public String getLabel() {
+			return "first";
+		}
+	}
+
+	public static class SecondContent {
+
+		public String getLabel() {
+			return "second";
+		}
+	}
+
+	static class HiddenBean {
+
+		public String getName() {
+			return "hidden";
+		}
+	}
+}
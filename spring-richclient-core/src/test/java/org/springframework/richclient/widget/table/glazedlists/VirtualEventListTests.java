@@ -0,0 +1,179 @@
+package org.springframework.richclient.widget.table.glazedlists;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+
+public class VirtualEventListTests {
+
+	private static final Executor DIRECT_EXECUTOR = new Executor() {
+		@Override
+		public void execute(Runnable command) {
+			command.run();
+		}
+	};
+
+	private VirtualEventList<Object> createList(CountingRowSource source, int pageSize, int maxCachedPages) {
+		VirtualEventList<Object> list = new VirtualEventList<Object>(source, pageSize, maxCachedPages);
+		list.setPrefetchExecutor(DIRECT_EXECUTOR);
+		list.setPrefetchPages(0);
+		return list;
+	}
+
+	@Test
+	public void testOnlyAccessedPagesAreFetched() {
+		CountingRowSource source = new CountingRowSource(1000);
+		VirtualEventList<Object> list = createList(source, 10, 5);
+		assertEquals(0, list.size());
+		list.refresh();
+		assertEquals(1000, list.size());
+		assertEquals(0, source.fetchedPages.size());
+
+		assertEquals("row 15", list.get(15));
+		assertEquals("row 19", list.get(19));
+		assertEquals(1, source.fetchedPages.size());
+		assertEquals(Integer.valueOf(10), source.fetchedPages.get(0));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedPagesAreEvicted() {
+		CountingRowSource source = new CountingRowSource(1000);
+		VirtualEventList<Object> list = createList(source, 10, 2);
+		list.refresh();
+		list.get(0);
+		list.get(10);
+		list.get(0);
+		list.get(20);
+		assertEquals(3, source.fetchedPages.size());
+		// page 0 was used more recently than page 1
+		list.get(0);
+		assertEquals(3, source.fetchedPages.size());
+		list.get(10);
+		assertEquals(4, source.fetchedPages.size());
+	}
+
+	@Test
+	public void testNeighbouringPagesArePrefetched() {
+		CountingRowSource source = new CountingRowSource(1000);
+		VirtualEventList<Object> list = createList(source, 10, 5);
+		list.setPrefetchPages(1);
+		list.refresh();
+		list.get(15);
+		assertEquals(3, source.fetchedPages.size());
+		list.get(5);
+		list.get(25);
+		assertEquals(4, source.fetchedPages.size());
+	}
+
+	@Test
+	public void testFilterAndSortArePassedToSource() {
+		CountingRowSource source = new CountingRowSource(1000);
+		VirtualEventList<Object> list = createList(source, 10, 5);
+		list.refresh();
+		list.get(0);
+
+		list.setFilterText("abc");
+		assertEquals(100, list.size());
+		list.setSort(2, false);
+		assertEquals("abc 2 false", list.get(0));
+		assertEquals(2, list.getSortColumn());
+
+		list.setFilterText("");
+		assertNull(list.getFilterText());
+		assertEquals(1000, list.size());
+	}
+
+	@Test
+	public void testIndexOfAndSetOnlyUseCachedPages() {
+		CountingRowSource source = new CountingRowSource(1000);
+		VirtualEventList<Object> list = createList(source, 10, 5);
+		list.refresh();
+		assertEquals(-1, list.indexOf("row 42"));
+		list.get(40);
+		assertEquals(42, list.indexOf("row 42"));
+
+		assertEquals("row 42", list.set(42, "changed"));
+		assertEquals("changed", list.get(42));
+		assertEquals(1, source.fetchedPages.size());
+	}
+
+	@Test
+	public void testMissedRowsAreNullUntilTheirPageIsFetched() {
+		CountingRowSource source = new CountingRowSource(1000);
+		VirtualEventList<Object> list = new VirtualEventList<Object>(source, 10, 5);
+		final LinkedList<Runnable> tasks = new LinkedList<Runnable>();
+		list.setPrefetchExecutor(new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				tasks.add(command);
+			}
+		});
+		list.setPrefetchPages(0);
+		list.refresh();
+
+		assertNull(list.get(15));
+		assertNull(list.get(16));
+		assertEquals(1, tasks.size());
+		assertEquals(0, source.fetchedPages.size());
+
+		tasks.removeFirst().run();
+		assertEquals("row 15", list.get(15));
+		assertEquals(1, source.fetchedPages.size());
+		assertEquals(0, tasks.size());
+	}
+
+	@Test
+	public void testPagesFetchedBeforeARefreshAreDiscarded() {
+		CountingRowSource source = new CountingRowSource(1000);
+		VirtualEventList<Object> list = new VirtualEventList<Object>(source, 10, 5);
+		final LinkedList<Runnable> tasks = new LinkedList<Runnable>();
+		list.setPrefetchExecutor(new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				tasks.add(command);
+			}
+		});
+		list.setPrefetchPages(0);
+		list.refresh();
+		assertNull(list.get(0));
+
+		list.setFilterText("abc");
+		tasks.removeFirst().run();
+		assertNull(list.get(0));
+		tasks.removeFirst().run();
+		assertEquals("abc -1 true", list.get(0));
+	}
+
+	private static class CountingRowSource implements VirtualEventList.RowSource<Object> {
+
+		private final List<Integer> fetchedPages = new ArrayList<Integer>();
+
+		private final int rowCount;
+
+		public CountingRowSource(int rowCount) {
+			this.rowCount = rowCount;
+		}
+
+		@Override
+		public int getRowCount(String filterText) {
+			return filterText == null ? rowCount : rowCount / 10;
+		}
+
+		@Override
+		public synchronized List<Object> getRows(String filterText, int sortColumn, boolean ascending, int offset,
+				int limit) {
+			fetchedPages.add(Integer.valueOf(offset));
+			List<Object> rows = new ArrayList<Object>();
+			for (int i = offset; i < Math.min(offset + limit, getRowCount(filterText)); i++) {
+				rows.add(filterText == null ? "row " + i : filterText + " " + sortColumn + " " + ascending);
+			}
+			return rows;
+		}
+	}
+}
@@ -250,6 +250,22 @@ public class RulesTests {
 		assertTrue(r.test(p));
 	}
 
+	@Test
+	public void testDependentConstraints() {
+		Rules r = new Rules(Person.class);
+		r.add(new RequiredIfOthersPresent("zip", "city,state"));
+		r.add("city", constraints.required());
+
+		assertEquals(1, r.getDependentConstraints("zip").size());
+		assertEquals(2, r.getDependentConstraints("city").size());
+		assertEquals(0, r.getDependentConstraints("firstName").size());
+		assertTrue(r.getDependentConstraints("city") == r.getDependentConstraints("city"));
+
+		// adding a constraint must invalidate the cached dependencies
+		r.add("firstName", constraints.required());
+		assertEquals(1, r.getDependentConstraints("firstName").size());
+	}
+
 	@Test
 	public void testMaxLengthConstraint() {
 		Constraint p = new StringLengthConstraint(5);